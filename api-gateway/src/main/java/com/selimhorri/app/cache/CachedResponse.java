@@ -0,0 +1,34 @@
+package com.selimhorri.app.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import lombok.Builder;
+import lombok.Value;
+
+// upstreamLatency is what the filling request waited for; every hit on the entry saves about that much
+@Value
+@Builder
+public class CachedResponse {
+	
+	HttpStatus status;
+	HttpHeaders headers;
+	byte[] body;
+	Instant storedAt;
+	Duration ttl;
+	Duration upstreamLatency;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,112 @@
+package com.selimhorri.app.cache;
+
+import java.net.URI;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.selimhorri.app.config.cache.ResponseCacheProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+// Entries are keyed by route, path and query, then by the values of whatever request headers the
+// cached response listed in Vary. The Vary names of each resource are kept in a small index of their own.
+@Component
+@Slf4j
+public class ResponseCache {
+	
+	public static final String CACHE_NAME = "gateway.responses";
+	
+	private final Cache<String, CachedResponse> responses;
+	private final Cache<String, List<String>> varyHeaders;
+	
+	public ResponseCache(final ResponseCacheProperties properties, final MeterRegistry meterRegistry) {
+		this.responses = Caffeine.newBuilder()
+				.maximumWeight(properties.getMaxSize().toBytes())
+				.weigher((final String key, final CachedResponse response) -> key.length() + response.getBody().length)
+				.expireAfter(new Expiry<String, CachedResponse>() {
+					@Override
+					public long expireAfterCreate(final String key, final CachedResponse response, final long currentTime) {
+						return response.getTtl().toNanos();
+					}
+					@Override
+					public long expireAfterUpdate(final String key, final CachedResponse response, final long currentTime, 
+							final long currentDuration) {
+						return response.getTtl().toNanos();
+					}
+					@Override
+					public long expireAfterRead(final String key, final CachedResponse response, final long currentTime, 
+							final long currentDuration) {
+						return currentDuration;
+					}
+				})
+				.recordStats()
+				.build();
+		this.varyHeaders = Caffeine.newBuilder()
+				.maximumSize(properties.getMaxEntries())
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, this.responses, CACHE_NAME);
+	}
+	
+	public static String resourceKey(final String routeId, final URI uri) {
+		return routeId + " " + uri.getRawPath() + ((uri.getRawQuery() == null) ? "" : "?" + uri.getRawQuery());
+	}
+	
+	public CachedResponse get(final String resourceKey, final HttpHeaders requestHeaders) {
+		final List<String> vary = this.varyHeaders.getIfPresent(resourceKey);
+		return this.responses.getIfPresent(variantKey(resourceKey, (vary == null) ? List.of() : vary, requestHeaders));
+	}
+	
+	public void put(final String resourceKey, final List<String> vary, final HttpHeaders requestHeaders, 
+			final CachedResponse response) {
+		this.varyHeaders.put(resourceKey, vary);
+		this.responses.put(variantKey(resourceKey, vary, requestHeaders), response);
+	}
+	
+	public void invalidateRoute(final String routeId) {
+		log.info("*** Void, response cache; invalidate cached responses of route {} *", routeId);
+		final String prefix = routeId + " ";
+		this.responses.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+		this.varyHeaders.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+	}
+	
+	public void invalidateAll() {
+		log.info("*** Void, response cache; invalidate all cached responses *");
+		this.responses.invalidateAll();
+		this.varyHeaders.invalidateAll();
+	}
+	
+	public long estimatedSize() {
+		return this.responses.estimatedSize();
+	}
+	
+	public double hitRate() {
+		return this.responses.stats().hitRate();
+	}
+	
+	private static String variantKey(final String resourceKey, final List<String> vary, final HttpHeaders requestHeaders) {
+		final var key = new StringBuilder(resourceKey);
+		vary.forEach(name -> key.append('\n')
+				.append(name)
+				.append('=')
+				.append(String.join(",", requestHeaders.getOrEmpty(name))));
+		return key.toString();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,47 @@
+package com.selimhorri.app.cache;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+// DELETE /actuator/responsecache purges everything, DELETE /actuator/responsecache/{routeId} one route
+@Component
+@Endpoint(id = "responsecache")
+@RequiredArgsConstructor
+public class ResponseCacheEndpoint {
+	
+	private final ResponseCache responseCache;
+	
+	@ReadOperation
+	public Map<String, Object> stats() {
+		return Map.of("entries", this.responseCache.estimatedSize(), 
+				"hitRate", this.responseCache.hitRate());
+	}
+	
+	@DeleteOperation
+	public void purge() {
+		this.responseCache.invalidateAll();
+	}
+	
+	@DeleteOperation
+	public void purgeRoute(@Selector final String routeId) {
+		this.responseCache.invalidateRoute(routeId);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,22 @@
+package com.selimhorri.app.config.admission;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionConfig {
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,57 @@
+package com.selimhorri.app.config.admission;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.admission")
+@Data
+public class AdmissionProperties {
+	
+	private RateLimit rateLimit = new RateLimit();
+	private Shedding shedding = new Shedding();
+	
+	@Data
+	public static class RateLimit {
+		
+		// per-route limits are set on each route's RequestRateLimiter filter; these bound the bucket table
+		private long maxBuckets = 100_000L;
+		private Duration idleTimeout = Duration.ofMinutes(10);
+		// callers behind one address presenting tokens share this many times the route limit; subjects are
+		// not verified at the gateway, so this is all that rotating made-up ones can reach
+		private int subjectsPerAddress = 10;
+		// proxies in front of the gateway that append to X-Forwarded-For; 0 keys on the socket's remote address
+		private int trustedProxies = 0;
+		
+	}
+	
+	@Data
+	public static class Shedding {
+		
+		// browse traffic starts being shed past the first threshold, checkout traffic only past the second
+		private Duration latencyThreshold = Duration.ofSeconds(1);
+		private Duration criticalLatencyThreshold = Duration.ofSeconds(3);
+		// weight of each new sample in the upstream latency average
+		private double smoothing = 0.1;
+		// never shed everything: the admitted remainder keeps measuring whether upstreams have recovered
+		private double maxShedRatio = 0.9;
+		private Duration retryAfter = Duration.ofSeconds(1);
+		private List<String> criticalPaths = List.of("/order-service/**", "/payment-service/**", 
+				"/app/api/carts/**", "/app/api/orders/**", "/app/api/payments/**");
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
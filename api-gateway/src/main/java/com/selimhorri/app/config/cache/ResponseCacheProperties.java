@@ -0,0 +1,32 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.response-cache")
+@Data
+public class ResponseCacheProperties {
+	
+	// bodies held across all cached routes
+	private DataSize maxSize = DataSize.ofMegabytes(64);
+	// larger responses still go through, they are just not kept
+	private DataSize maxEntrySize = DataSize.ofMegabytes(1);
+	private long maxEntries = 10_000L;
+	// for routes whose ResponseCache filter names no ttl of its own
+	private Duration defaultTtl = Duration.ofSeconds(30);
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,22 @@
+package com.selimhorri.app.config.deadline;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(DeadlineProperties.class)
+public class DeadlineConfig {
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
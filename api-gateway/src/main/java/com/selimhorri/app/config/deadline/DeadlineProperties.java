@@ -0,0 +1,28 @@
+package com.selimhorri.app.config.deadline;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.deadline")
+@Data
+public class DeadlineProperties {
+	
+	// what clients wait before giving up, for requests that do not state their own budget
+	private Duration defaultTimeout = Duration.ofSeconds(5);
+	// a budget stated by the client is honoured up to this bound
+	private Duration maxTimeout = Duration.ofSeconds(30);
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,84 @@
+package com.selimhorri.app.filter;
+
+import java.time.Duration;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.selimhorri.app.config.deadline.DeadlineProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+// Starts the deadline of every routed request: the budget the client states in the header, capped, or the
+// default one. The remaining budget goes upstream in the same header, which each service turns back into a
+// deadline and hands on to its own calls. Once it passes the gateway stops waiting, cancels the upstream call
+// and answers 504, so services see the connection go instead of working on for a client that already left.
+@Component
+public class DeadlineGlobalFilter implements GlobalFilter, Ordered {
+	
+	public static final String HEADER = "X-Request-Timeout";
+	public static final String METRIC = "request.deadline.exceeded";
+	
+	// inside the response writer, so the timeout covers everything up to the upstream response headers
+	public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER + 1;
+	
+	private final DeadlineProperties properties;
+	private final MeterRegistry meterRegistry;
+	
+	public DeadlineGlobalFilter(final DeadlineProperties properties, final MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+	}
+	
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+	
+	@Override
+	public Mono<Void> filter(final ServerWebExchange exchange, final GatewayFilterChain chain) {
+		final Duration budget = this.budget(exchange.getRequest().getHeaders().getFirst(HEADER));
+		final Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		final String routeId = (route == null) ? "" : route.getId();
+		
+		return chain.filter(exchange.mutate()
+					.request(request -> request.headers(headers -> headers.set(HEADER, String.valueOf(budget.toMillis()))))
+					.build())
+				.timeout(budget, Mono.defer(() -> {
+					this.meterRegistry.counter(METRIC, "stage", "gateway", "route", routeId).increment();
+					return Mono.error(new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Deadline exceeded"));
+				}));
+	}
+	
+	Duration budget(final String header) {
+		if (header == null || header.isBlank())
+			return this.properties.getDefaultTimeout();
+		try {
+			final Duration requested = Duration.ofMillis(Math.max(Long.parseLong(header.trim()), 0L));
+			return (requested.compareTo(this.properties.getMaxTimeout()) > 0) ? this.properties.getMaxTimeout() : requested;
+		}
+		catch (NumberFormatException e) {
+			return this.properties.getDefaultTimeout();
+		}
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,117 @@
+package com.selimhorri.app.filter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.selimhorri.app.config.admission.AdmissionProperties;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+// Sheds a growing share of requests once the smoothed upstream latency passes a threshold: browse traffic
+// past the first one, checkout traffic only past the second. The share ramps from zero at the threshold to
+// max-shed-ratio at twice the threshold, so admission backs off gradually instead of flapping.
+@Component
+public class LoadSheddingGlobalFilter implements GlobalFilter, Ordered {
+	
+	// after route filters, so cache hits and rate-limited requests never count, and before load balancing
+	public static final int ORDER = 1000;
+	
+	private static final String BROWSE = "browse";
+	private static final String CRITICAL = "critical";
+	
+	private final AdmissionProperties.Shedding properties;
+	private final List<PathPattern> criticalPaths;
+	private final MeterRegistry meterRegistry;
+	// Double bits, so the average is updated with a CAS instead of a lock
+	private final AtomicLong latencyNanos = new AtomicLong(Double.doubleToLongBits(0.0));
+	
+	public LoadSheddingGlobalFilter(final AdmissionProperties properties, final MeterRegistry meterRegistry) {
+		this.properties = properties.getShedding();
+		this.criticalPaths = this.properties.getCriticalPaths().stream()
+				.map(PathPatternParser.defaultInstance::parse)
+				.collect(Collectors.toUnmodifiableList());
+		this.meterRegistry = meterRegistry;
+		Gauge.builder("gateway.upstream.latency.smoothed", this, f -> f.latency() / 1_000_000_000.0)
+				.description("Smoothed upstream latency driving load shedding")
+				.baseUnit("seconds")
+				.register(meterRegistry);
+	}
+	
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+	
+	@Override
+	public Mono<Void> filter(final ServerWebExchange exchange, final GatewayFilterChain chain) {
+		final PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+		final boolean critical = this.criticalPaths.stream().anyMatch(pattern -> pattern.matches(path));
+		final String priority = critical ? CRITICAL : BROWSE;
+		final Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		final String routeId = (route == null) ? "" : route.getId();
+		
+		final Duration threshold = critical ? 
+				this.properties.getCriticalLatencyThreshold() : this.properties.getLatencyThreshold();
+		if (ThreadLocalRandom.current().nextDouble() < this.shedRatio(threshold.toNanos())) {
+			this.meterRegistry.counter("gateway.admission", "route", routeId, "outcome", "shed", "priority", priority).increment();
+			exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+			exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, 
+					String.valueOf(Math.max(1L, this.properties.getRetryAfter().toSeconds())));
+			return exchange.getResponse().setComplete();
+		}
+		
+		this.meterRegistry.counter("gateway.admission", "route", routeId, "outcome", "admitted", "priority", priority).increment();
+		// sampled when the response headers go out, so long streaming exports and slow client downloads
+		// do not count as upstream latency
+		final long startedAt = System.nanoTime();
+		exchange.getResponse().beforeCommit(() -> {
+			this.record(System.nanoTime() - startedAt);
+			return Mono.empty();
+		});
+		return chain.filter(exchange);
+	}
+	
+	double latency() {
+		return Double.longBitsToDouble(this.latencyNanos.get());
+	}
+	
+	void record(final long sampleNanos) {
+		final double smoothing = this.properties.getSmoothing();
+		this.latencyNanos.getAndUpdate(bits -> 
+				Double.doubleToLongBits(Double.longBitsToDouble(bits) * (1 - smoothing) + sampleNanos * smoothing));
+	}
+	
+	private double shedRatio(final long thresholdNanos) {
+		final double excess = (this.latency() - thresholdNanos) / thresholdNanos;
+		return (excess <= 0) ? 0.0 : Math.min(excess, 1.0) * this.properties.getMaxShedRatio();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,255 @@
+package com.selimhorri.app.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.selimhorri.app.cache.CachedResponse;
+import com.selimhorri.app.cache.ResponseCache;
+import com.selimhorri.app.config.cache.ResponseCacheProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Data;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Route filter: `- ResponseCache=PT30S` (route args bind durations in ISO-8601 only). It runs ahead of the
+// load-balancer filter, so a hit never reaches service discovery or the upstream. Only anonymous GETs are
+// served from or stored into the cache, and only responses whose Cache-Control lets a shared cache keep them.
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+	
+	public static final String X_CACHE = "X-Cache";
+	
+	// per-connection or per-requester headers, never replayed to someone else
+	private static final Set<String> UNSTORED_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding", 
+			"content-length", "set-cookie", X_CACHE.toLowerCase(Locale.ROOT));
+	private static final Set<MediaType> STREAMING_TYPES = Set.of(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_NDJSON);
+	
+	private final ResponseCache responseCache;
+	private final ResponseCacheProperties properties;
+	private final MeterRegistry meterRegistry;
+	
+	public ResponseCacheGatewayFilterFactory(final ResponseCache responseCache, final ResponseCacheProperties properties, 
+			final MeterRegistry meterRegistry) {
+		super(Config.class);
+		this.responseCache = responseCache;
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+	}
+	
+	@Override
+	public List<String> shortcutFieldOrder() {
+		return List.of("ttl");
+	}
+	
+	@Override
+	public GatewayFilter apply(final Config config) {
+		final Duration ttl = (config.getTtl() == null) ? this.properties.getDefaultTtl() : config.getTtl();
+		return (exchange, chain) -> {
+			final ServerHttpRequest request = exchange.getRequest();
+			final Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+			final String routeId = (route == null) ? "" : route.getId();
+			
+			if (request.getMethod() != HttpMethod.GET) {
+				// a successful write through the route may change what it reads
+				return chain.filter(exchange)
+						.doOnSuccess(v -> {
+							final HttpStatus status = exchange.getResponse().getStatusCode();
+							if (status != null && status.is2xxSuccessful())
+								this.responseCache.invalidateRoute(routeId);
+						});
+			}
+			if (request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+				this.count(routeId, "bypass");
+				return chain.filter(exchange);
+			}
+			
+			final String resourceKey = ResponseCache.resourceKey(routeId, request.getURI());
+			if (!directives(request.getHeaders()).contains("no-cache")) {
+				final CachedResponse cachedResponse = this.responseCache.get(resourceKey, request.getHeaders());
+				if (cachedResponse != null) {
+					this.count(routeId, "hit");
+					Timer.builder("gateway.response.cache.saved.latency")
+							.description("Upstream latency avoided by serving a response from the gateway cache")
+							.tag("route", routeId)
+							.register(this.meterRegistry)
+							.record(cachedResponse.getUpstreamLatency());
+					return writeCached(exchange, cachedResponse);
+				}
+			}
+			this.count(routeId, "miss");
+			return chain.filter(exchange.mutate()
+					.response(new CachingResponse(exchange, resourceKey, ttl, System.nanoTime()))
+					.build());
+		};
+	}
+	
+	private static Mono<Void> writeCached(final ServerWebExchange exchange, final CachedResponse cachedResponse) {
+		final ServerHttpResponse response = exchange.getResponse();
+		// set one by one: CORS headers already put on this response for this requester's origin stay as they are
+		cachedResponse.getHeaders().forEach(response.getHeaders()::put);
+		response.getHeaders().set(HttpHeaders.AGE, 
+				String.valueOf(Duration.between(cachedResponse.getStoredAt(), Instant.now()).toSeconds()));
+		response.getHeaders().set(X_CACHE, "HIT");
+		
+		final String eTag = cachedResponse.getHeaders().getETag();
+		if (eTag != null && exchange.getRequest().getHeaders().getIfNoneMatch().contains(eTag)) {
+			response.setStatusCode(HttpStatus.NOT_MODIFIED);
+			return response.setComplete();
+		}
+		response.setStatusCode(cachedResponse.getStatus());
+		response.getHeaders().setContentLength(cachedResponse.getBody().length);
+		return response.writeWith(Mono.just(response.bufferFactory().wrap(cachedResponse.getBody())));
+	}
+	
+	private void count(final String routeId, final String result) {
+		this.meterRegistry.counter("gateway.response.cache.requests", "route", routeId, "result", result).increment();
+	}
+	
+	private static Set<String> directives(final HttpHeaders headers) {
+		return headers.getOrEmpty(HttpHeaders.CACHE_CONTROL).stream()
+				.flatMap(value -> Set.of(value.split(",")).stream())
+				.map(directive -> directive.strip().toLowerCase(Locale.ROOT))
+				.collect(Collectors.toUnmodifiableSet());
+	}
+	
+	// the shared-cache lifetime the upstream allows, capped by the route's ttl; null when it may not be kept at all
+	private static Duration storableTtl(final HttpStatus status, final HttpHeaders headers, final Duration ttl) {
+		if (status != HttpStatus.OK || headers.containsKey(HttpHeaders.SET_COOKIE) || headers.getVary().contains("*"))
+			return null;
+		final MediaType contentType = headers.getContentType();
+		if (contentType != null && STREAMING_TYPES.stream().anyMatch(contentType::isCompatibleWith))
+			return null;
+		Duration lifetime = ttl;
+		Duration maxAge = null;
+		for (final String directive : directives(headers)) {
+			if (directive.equals("no-store") || directive.equals("no-cache") || directive.equals("private"))
+				return null;
+			try {
+				if (directive.startsWith("s-maxage="))
+					maxAge = Duration.ofSeconds(Long.parseLong(directive.substring("s-maxage=".length())));
+				else if (directive.startsWith("max-age=") && maxAge == null)
+					maxAge = Duration.ofSeconds(Long.parseLong(directive.substring("max-age=".length())));
+			}
+			catch (final NumberFormatException e) {
+				// e.g. a quoted max-age="60": the lifetime the upstream meant is unknown, so do not keep it
+				return null;
+			}
+		}
+		if (maxAge != null && maxAge.compareTo(lifetime) < 0)
+			lifetime = maxAge;
+		return (lifetime.isZero() || lifetime.isNegative()) ? null : lifetime;
+	}
+	
+	private final class CachingResponse extends ServerHttpResponseDecorator {
+		
+		private final ServerWebExchange exchange;
+		private final String resourceKey;
+		private final Duration ttl;
+		private final long startedAt;
+		
+		private CachingResponse(final ServerWebExchange exchange, final String resourceKey, final Duration ttl, final long startedAt) {
+			super(exchange.getResponse());
+			this.exchange = exchange;
+			this.resourceKey = resourceKey;
+			this.ttl = ttl;
+			this.startedAt = startedAt;
+		}
+		
+		@Override
+		public Mono<Void> writeWith(final Publisher<? extends DataBuffer> body) {
+			final Duration upstreamLatency = Duration.ofNanos(System.nanoTime() - this.startedAt);
+			final Duration lifetime = storableTtl(this.getStatusCode(), this.getHeaders(), this.ttl);
+			this.getHeaders().set(X_CACHE, "MISS");
+			if (lifetime == null)
+				return super.writeWith(body);
+			
+			final HttpHeaders storedHeaders = new HttpHeaders();
+			this.getHeaders().forEach((name, values) -> {
+				final String lowerCaseName = name.toLowerCase(Locale.ROOT);
+				if (!UNSTORED_HEADERS.contains(lowerCaseName) && !lowerCaseName.startsWith("access-control-"))
+					storedHeaders.put(name, values);
+			});
+			final List<String> vary = this.getHeaders().getVary().stream()
+					.map(name -> name.strip().toLowerCase(Locale.ROOT))
+					.distinct()
+					.sorted()
+					.collect(Collectors.toUnmodifiableList());
+			
+			// buffers go downstream as they arrive; a copy is kept on the side until the body outgrows an entry
+			final long maxEntrySize = properties.getMaxEntrySize().toBytes();
+			if (this.getHeaders().getContentLength() > maxEntrySize)
+				return super.writeWith(body);
+			final AtomicReference<ByteArrayOutputStream> copy = new AtomicReference<>(new ByteArrayOutputStream());
+			return super.writeWith(Flux.from(body)
+					.doOnNext(buffer -> {
+						final ByteArrayOutputStream bytes = copy.get();
+						if (bytes == null)
+							return;
+						if (bytes.size() + buffer.readableByteCount() > maxEntrySize) {
+							copy.set(null);
+							return;
+						}
+						final byte[] chunk = new byte[buffer.readableByteCount()];
+						final int readPosition = buffer.readPosition();
+						buffer.read(chunk);
+						buffer.readPosition(readPosition);
+						bytes.writeBytes(chunk);
+					})
+					.doOnComplete(() -> {
+						final ByteArrayOutputStream bytes = copy.getAndSet(null);
+						if (bytes != null)
+							responseCache.put(this.resourceKey, vary, this.exchange.getRequest().getHeaders(), CachedResponse.builder()
+									.status(HttpStatus.OK)
+									.headers(HttpHeaders.readOnlyHttpHeaders(storedHeaders))
+									.body(bytes.toByteArray())
+									.storedAt(Instant.now())
+									.ttl(lifetime)
+									.upstreamLatency(upstreamLatency)
+									.build());
+					}));
+		}
+		
+	}
+	
+	@Data
+	public static class Config {
+		
+		private Duration ttl;
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,84 @@
+package com.selimhorri.app.ratelimit;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.config.admission.AdmissionProperties;
+
+import reactor.core.publisher.Mono;
+
+// Buckets callers presenting a JWT by subject, so users sharing an address do not share a limit, and everyone
+// else by remote address. The token is only decoded, not verified, and most routes reach services that do no
+// authentication at all, so the address stays part of every key: LocalTokenBucketRateLimiter caps all the
+// subjects seen from one address together, and a subject made up per request gets nowhere past that cap.
+// Behind load balancers the address is read from X-Forwarded-For, counting back `trusted-proxies` hops, so
+// entries a client prepends itself are never used.
+@Component
+public class ClientKeyResolver implements KeyResolver {
+	
+	public static final String ADDRESS_PREFIX = "ip:";
+	public static final String SUBJECT_SEPARATOR = " sub:";
+	
+	private static final String BEARER_PREFIX = "Bearer ";
+	
+	private final ObjectMapper objectMapper;
+	private final RemoteAddressResolver remoteAddressResolver;
+	
+	public ClientKeyResolver(final ObjectMapper objectMapper, final AdmissionProperties properties) {
+		this.objectMapper = objectMapper;
+		final int trustedProxies = properties.getRateLimit().getTrustedProxies();
+		this.remoteAddressResolver = (trustedProxies > 0) ? 
+				XForwardedRemoteAddressResolver.maxTrustedIndex(trustedProxies) : new RemoteAddressResolver() {};
+	}
+	
+	@Override
+	public Mono<String> resolve(final ServerWebExchange exchange) {
+		final InetSocketAddress remoteAddress = this.remoteAddressResolver.resolve(exchange);
+		final String address = ADDRESS_PREFIX + ((remoteAddress == null || remoteAddress.getAddress() == null) ? 
+				"unknown" : remoteAddress.getAddress().getHostAddress());
+		final String subject = this.subject(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+		return Mono.just((subject == null) ? address : address + SUBJECT_SEPARATOR + subject);
+	}
+	
+	// the address part of a key carrying a subject, null for a plain address key
+	public static String addressOf(final String key) {
+		final int separator = key.indexOf(SUBJECT_SEPARATOR);
+		return (separator < 0) ? null : key.substring(0, separator);
+	}
+	
+	private String subject(final String authorization) {
+		if (authorization == null || !authorization.startsWith(BEARER_PREFIX))
+			return null;
+		final String[] parts = authorization.substring(BEARER_PREFIX.length()).strip().split("\\.");
+		if (parts.length != 3)
+			return null;
+		try {
+			final JsonNode claims = this.objectMapper.readTree(new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8));
+			return (claims.hasNonNull("sub")) ? claims.get("sub").asText() : null;
+		}
+		catch (final Exception e) {
+			return null;
+		}
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
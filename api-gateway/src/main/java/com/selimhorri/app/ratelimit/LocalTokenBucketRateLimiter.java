@@ -0,0 +1,109 @@
+package com.selimhorri.app.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.config.admission.AdmissionProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import reactor.core.publisher.Mono;
+
+// In-process backend for the stock RequestRateLimiter filter. Limits are per gateway instance and set per
+// route through `local-rate-limiter.replenishRate` and `local-rate-limiter.burstCapacity` filter args.
+// Keys carrying an unverified JWT subject are charged to both their address, which may carry
+// subjects-per-address callers' worth of the route limit, and the subject itself, only when both have a token.
+@Component
+public class LocalTokenBucketRateLimiter extends AbstractRateLimiter<LocalTokenBucketRateLimiter.Config> {
+	
+	public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+	
+	private final Cache<String, TokenBucket> buckets;
+	private final MeterRegistry meterRegistry;
+	private final int subjectsPerAddress;
+	private final Config defaultConfig = new Config();
+	
+	public LocalTokenBucketRateLimiter(final ConfigurationService configurationService, final AdmissionProperties properties, 
+			final MeterRegistry meterRegistry) {
+		super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+		this.buckets = Caffeine.newBuilder()
+				.maximumSize(properties.getRateLimit().getMaxBuckets())
+				.expireAfterAccess(properties.getRateLimit().getIdleTimeout())
+				.build();
+		this.meterRegistry = meterRegistry;
+		this.subjectsPerAddress = properties.getRateLimit().getSubjectsPerAddress();
+	}
+	
+	@Override
+	public Mono<Response> isAllowed(final String routeId, final String id) {
+		final Config config = this.getConfig().getOrDefault(routeId, this.defaultConfig);
+		final long now = System.nanoTime();
+		final String address = ClientKeyResolver.addressOf(id);
+		final TokenBucket subjectBucket = this.buckets.get(routeId + " " + id, key -> new TokenBucket(now));
+		final long wait;
+		if (address == null)
+			wait = subjectBucket.tryAcquire(config.getReplenishRate(), config.getBurstCapacity(), now);
+		else
+			wait = this.acquireBoth(this.buckets.get(routeId + " address " + address, key -> new TokenBucket(now)), 
+					subjectBucket, config, now);
+		if (wait == 0L)
+			return Mono.just(new Response(true, Map.of()));
+		this.meterRegistry.counter("gateway.admission", "route", routeId, "outcome", "rate_limited").increment();
+		return Mono.just(new Response(false, 
+				Map.of(HttpHeaders.RETRY_AFTER, String.valueOf(TimeUnit.NANOSECONDS.toSeconds(wait - 1L) + 1L))));
+	}
+	
+	// checks both buckets before taking from either, so a request the subject bucket turns away does not
+	// spend its address's tokens; if a concurrent request empties the subject bucket in between, the
+	// address token is handed back
+	private long acquireBoth(final TokenBucket addressBucket, final TokenBucket subjectBucket, final Config config, 
+			final long now) {
+		final double addressRate = config.getReplenishRate() * this.subjectsPerAddress;
+		final int addressBurst = (int) Math.min((long) config.getBurstCapacity() * this.subjectsPerAddress, Integer.MAX_VALUE);
+		final long wait = Math.max(addressBucket.waitTime(addressRate, addressBurst, now), 
+				subjectBucket.waitTime(config.getReplenishRate(), config.getBurstCapacity(), now));
+		if (wait > 0L)
+			return wait;
+		final long addressWait = addressBucket.tryAcquire(addressRate, addressBurst, now);
+		if (addressWait > 0L)
+			return addressWait;
+		final long subjectWait = subjectBucket.tryAcquire(config.getReplenishRate(), config.getBurstCapacity(), now);
+		if (subjectWait > 0L)
+			addressBucket.release(addressRate);
+		return subjectWait;
+	}
+	
+	@Validated
+	@Data
+	public static class Config {
+		
+		// tokens per second, may be fractional for slow routes
+		@DecimalMin(value = "0", inclusive = false)
+		private double replenishRate = 50;
+		@Min(1)
+		private int burstCapacity = 100;
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
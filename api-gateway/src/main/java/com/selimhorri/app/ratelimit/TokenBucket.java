@@ -0,0 +1,58 @@
+package com.selimhorri.app.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket kept as a single theoretical arrival time (the GCRA form): the bucket is full once the clock
+// has caught up with it, and each admitted request pushes it one emission interval further. One CAS per
+// request, no lock and no refill timer.
+public class TokenBucket {
+	
+	private final AtomicLong theoreticalArrival;
+	
+	public TokenBucket(final long nowNanos) {
+		this.theoreticalArrival = new AtomicLong(nowNanos);
+	}
+	
+	// how long until a token would be available, 0 when one is available now; takes nothing
+	public long waitTime(final double replenishRate, final int burstCapacity, final long nowNanos) {
+		if (replenishRate <= 0)
+			return Long.MAX_VALUE;
+		final long interval = (long) (1_000_000_000L / replenishRate);
+		final long tolerance = interval * (burstCapacity - 1L);
+		return Math.max(0L, Math.max(this.theoreticalArrival.get(), nowNanos) - tolerance - nowNanos);
+	}
+	
+	// 0 when admitted, otherwise how long until a token would be available; a bucket that never refills
+	// admits nothing, its emission interval would overflow the arithmetic below
+	public long tryAcquire(final double replenishRate, final int burstCapacity, final long nowNanos) {
+		if (replenishRate <= 0)
+			return Long.MAX_VALUE;
+		final long interval = (long) (1_000_000_000L / replenishRate);
+		final long tolerance = interval * (burstCapacity - 1L);
+		while (true) {
+			final long current = this.theoreticalArrival.get();
+			final long arrival = Math.max(current, nowNanos);
+			final long wait = arrival - tolerance - nowNanos;
+			if (wait > 0)
+				return wait;
+			if (this.theoreticalArrival.compareAndSet(current, arrival + interval))
+				return 0L;
+		}
+	}
+	
+	// gives back a token taken by tryAcquire when the request it was taken for is rejected after all
+	public void release(final double replenishRate) {
+		this.theoreticalArrival.addAndGet(-(long) (1_000_000_000L / replenishRate));
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
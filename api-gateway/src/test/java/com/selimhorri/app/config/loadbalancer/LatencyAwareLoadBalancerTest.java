@@ -0,0 +1,72 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+class LatencyAwareLoadBalancerTest {
+
+    private final ServiceInstance slow = new DefaultServiceInstance("slow", "PRODUCT-SERVICE", "10.0.0.1", 8500, false);
+    private final ServiceInstance fast = new DefaultServiceInstance("fast", "PRODUCT-SERVICE", "10.0.0.2", 8500, false);
+
+    private LatencyAwareLoadBalancer loadBalancer;
+
+    @BeforeEach
+    void setUp() {
+        this.loadBalancer = new LatencyAwareLoadBalancer(
+                ServiceInstanceListSuppliers.toProvider("PRODUCT-SERVICE", this.slow, this.fast),
+                "PRODUCT-SERVICE", new LatencyAwareLoadBalancerProperties());
+    }
+
+    @Test
+    void choose_shouldPreferTheInstanceWithTheLowerLatency() {
+        this.complete(this.slow, CompletionContext.Status.SUCCESS, 500);
+        this.complete(this.fast, CompletionContext.Status.SUCCESS, 5);
+
+        for (int i = 0; i < 100; i++)
+            assertThat(this.loadBalancer.choose(new DefaultRequest<>()).block().getServer()).isEqualTo(this.fast);
+    }
+
+    @Test
+    void choose_shouldProbeOneUnsampledInstanceAtATime() {
+        this.loadBalancer.onStartRequest(new DefaultRequest<>(new RequestDataContext()), new DefaultResponse(this.slow));
+
+        final long now = System.nanoTime();
+        for (int i = 0; i < 100; i++)
+            assertThat(this.loadBalancer.choose(List.of(this.slow, this.fast), now).getServer()).isEqualTo(this.fast);
+    }
+
+    @Test
+    void score_shouldPenaliseFailuresAndDecayWithoutFreshSamples() {
+        this.complete(this.slow, CompletionContext.Status.FAILED, 1);
+        this.complete(this.fast, CompletionContext.Status.SUCCESS, 5);
+        final long now = System.nanoTime();
+
+        assertThat(this.loadBalancer.score(this.slow, now)).isGreaterThan(TimeUnit.MILLISECONDS.toNanos(900));
+        assertThat(this.loadBalancer.score(this.slow, now + TimeUnit.SECONDS.toNanos(60)))
+                .isLessThan(this.loadBalancer.score(this.slow, now) / 100);
+    }
+
+    private void complete(final ServiceInstance instance, final CompletionContext.Status status, final long millis) {
+        final RequestDataContext context = new RequestDataContext();
+        final Request<Object> request = new DefaultRequest<>(context);
+        final Response<ServiceInstance> response = new DefaultResponse(instance);
+        this.loadBalancer.onStartRequest(request, response);
+        context.setRequestStartTime(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(millis));
+        this.loadBalancer.onComplete(new CompletionContext<>(status, request, response));
+    }
+
+}
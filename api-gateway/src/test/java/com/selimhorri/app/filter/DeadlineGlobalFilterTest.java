@@ -0,0 +1,65 @@
+package com.selimhorri.app.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.selimhorri.app.config.deadline.DeadlineProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class DeadlineGlobalFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DeadlineGlobalFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.filter = new DeadlineGlobalFilter(new DeadlineProperties(), this.meterRegistry);
+    }
+
+    @Test
+    void filter_shouldForwardTheClientBudgetCappedOrTheDefaultOne() {
+        final List<String> forwarded = new ArrayList<>();
+        final GatewayFilterChain upstream = exchange -> {
+            forwarded.add(exchange.getRequest().getHeaders().getFirst(DeadlineGlobalFilter.HEADER));
+            return Mono.empty();
+        };
+
+        this.filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/order-service/api/carts")
+                .header(DeadlineGlobalFilter.HEADER, "1500")), upstream).block();
+        this.filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/order-service/api/carts")
+                .header(DeadlineGlobalFilter.HEADER, "600000")), upstream).block();
+        this.filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/order-service/api/carts")), upstream).block();
+
+        assertThat(forwarded).containsExactly("1500", "30000", "5000");
+    }
+
+    @Test
+    void filter_shouldCancelTheUpstreamCallAndAnswerGatewayTimeoutOnceTheDeadlinePasses() {
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final GatewayFilterChain slowUpstream = exchange -> Mono.<Void>never()
+                .doOnCancel(() -> cancelled.set(true));
+
+        assertThatThrownBy(() -> this.filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/shipping-service/api/shippings")
+                .header(DeadlineGlobalFilter.HEADER, "50")), slowUpstream).block())
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                    e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT));
+        assertThat(cancelled).isTrue();
+        assertThat(this.meterRegistry.get(DeadlineGlobalFilter.METRIC).tag("stage", "gateway").counter().count()).isEqualTo(1.0);
+    }
+
+}
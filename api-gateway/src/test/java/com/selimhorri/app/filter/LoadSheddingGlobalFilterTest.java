@@ -0,0 +1,81 @@
+package com.selimhorri.app.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.selimhorri.app.config.admission.AdmissionProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class LoadSheddingGlobalFilterTest {
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final GatewayFilterChain upstream = exchange -> {
+        this.upstreamCalls.incrementAndGet();
+        return Mono.empty();
+    };
+    private SimpleMeterRegistry meterRegistry;
+    private LoadSheddingGlobalFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        final var properties = new AdmissionProperties();
+        properties.getShedding().setSmoothing(1.0);
+        properties.getShedding().setMaxShedRatio(1.0);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.filter = new LoadSheddingGlobalFilter(properties, this.meterRegistry);
+    }
+
+    @Test
+    void filter_shouldShedBrowseTrafficBeforeCheckoutTraffic() {
+        // twice the browse threshold, still under the checkout one
+        this.filter.record(Duration.ofSeconds(2).toNanos());
+
+        final MockServerWebExchange browse = MockServerWebExchange.from(MockServerHttpRequest.get("/product-service/api/products"));
+        this.filter.filter(browse, this.upstream).block();
+        final MockServerWebExchange checkout = MockServerWebExchange.from(MockServerHttpRequest.post("/order-service/api/orders"));
+        this.filter.filter(checkout, this.upstream).block();
+
+        assertThat(browse.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(browse.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(this.upstreamCalls).hasValue(1);
+        assertThat(this.meterRegistry.get("gateway.admission").tag("outcome", "shed").tag("priority", "browse")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(this.meterRegistry.get("gateway.admission").tag("outcome", "admitted").tag("priority", "critical")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void filter_shouldAdmitEverythingWhileUpstreamsAreFast() {
+        this.filter.record(Duration.ofMillis(50).toNanos());
+
+        for (int i = 0; i < 100; i++)
+            this.filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/product-service/api/products")),
+                    this.upstream).block();
+
+        assertThat(this.upstreamCalls).hasValue(100);
+    }
+
+    @Test
+    void filter_shouldSampleLatencyWhenTheResponseIsCommitted() {
+        // headers go out at once, then the body streams for a while longer
+        final GatewayFilterChain streaming = exchange -> exchange.getResponse().setComplete()
+                .then(Mono.delay(Duration.ofMillis(300))).then();
+
+        this.filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/app/api/orders/export")), streaming).block();
+
+        assertThat(this.filter.latency()).isLessThan(Duration.ofMillis(300).toNanos());
+    }
+
+}
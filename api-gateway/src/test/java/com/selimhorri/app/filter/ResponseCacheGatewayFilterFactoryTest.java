@@ -0,0 +1,159 @@
+package com.selimhorri.app.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+
+import com.selimhorri.app.cache.ResponseCache;
+import com.selimhorri.app.config.cache.ResponseCacheProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private static final String ROUTE_ID = "PRODUCT-SERVICE";
+    private static final String PRODUCTS = "/product-service/api/products";
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private ResponseCache responseCache;
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        final var properties = new ResponseCacheProperties();
+        properties.setMaxEntrySize(DataSize.ofBytes(16));
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.responseCache = new ResponseCache(properties, this.meterRegistry);
+        final var config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setTtl(Duration.ofMinutes(1));
+        this.filter = new ResponseCacheGatewayFilterFactory(this.responseCache, properties, this.meterRegistry).apply(config);
+    }
+
+    @Test
+    void filter_shouldServeRepeatedReadsWithoutCallingUpstream() {
+        final MockServerWebExchange first = this.exchange(MockServerHttpRequest.get(PRODUCTS));
+        this.filter.filter(first, this.upstream(new HttpHeaders())).block();
+        final MockServerWebExchange second = this.exchange(MockServerHttpRequest.get(PRODUCTS));
+        this.filter.filter(second, this.upstream(new HttpHeaders())).block();
+
+        assertThat(this.upstreamCalls).hasValue(1);
+        assertThat(first.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.X_CACHE)).isEqualTo("MISS");
+        assertThat(second.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.X_CACHE)).isEqualTo("HIT");
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("products-1");
+        assertThat(this.meterRegistry.get("gateway.response.cache.saved.latency").tag("route", ROUTE_ID)
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void filter_shouldKeepOneVariantPerVaryHeaderValue() {
+        final var headers = new HttpHeaders();
+        headers.setVary(List.of(HttpHeaders.ACCEPT_LANGUAGE));
+
+        this.filter.filter(this.exchange(MockServerHttpRequest.get(PRODUCTS).header(HttpHeaders.ACCEPT_LANGUAGE, "en")),
+                this.upstream(headers)).block();
+        this.filter.filter(this.exchange(MockServerHttpRequest.get(PRODUCTS).header(HttpHeaders.ACCEPT_LANGUAGE, "fr")),
+                this.upstream(headers)).block();
+        final MockServerWebExchange english = this.exchange(MockServerHttpRequest.get(PRODUCTS).header(HttpHeaders.ACCEPT_LANGUAGE, "en"));
+        this.filter.filter(english, this.upstream(headers)).block();
+
+        assertThat(this.upstreamCalls).hasValue(2);
+        assertThat(english.getResponse().getBodyAsString().block()).isEqualTo("products-1");
+    }
+
+    @Test
+    void filter_shouldNotStoreResponsesMarkedNoStore() {
+        final var headers = new HttpHeaders();
+        headers.setCacheControl("no-store");
+
+        this.filter.filter(this.exchange(MockServerHttpRequest.get(PRODUCTS)), this.upstream(headers)).block();
+        this.filter.filter(this.exchange(MockServerHttpRequest.get(PRODUCTS)), this.upstream(headers)).block();
+
+        assertThat(this.upstreamCalls).hasValue(2);
+        assertThat(this.responseCache.estimatedSize()).isZero();
+    }
+
+    @Test
+    void filter_shouldPassLargeBodiesThroughWithoutStoringThem() {
+        final GatewayFilterChain large = exchange -> {
+            this.upstreamCalls.incrementAndGet();
+            final ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            return response.writeWith(Flux.just("products-", "larger-than-", "one-entry")
+                    .map(part -> response.bufferFactory().wrap(part.getBytes(StandardCharsets.UTF_8))));
+        };
+
+        final MockServerWebExchange first = this.exchange(MockServerHttpRequest.get(PRODUCTS));
+        this.filter.filter(first, large).block();
+        this.filter.filter(this.exchange(MockServerHttpRequest.get(PRODUCTS)), large).block();
+
+        assertThat(first.getResponse().getBodyAsString().block()).isEqualTo("products-larger-than-one-entry");
+        assertThat(this.upstreamCalls).hasValue(2);
+        assertThat(this.responseCache.estimatedSize()).isZero();
+    }
+
+    @Test
+    void filter_shouldNotStoreResponsesWithAnUnparsableMaxAge() {
+        final var headers = new HttpHeaders();
+        headers.setCacheControl("max-age=\"60\"");
+
+        final MockServerWebExchange first = this.exchange(MockServerHttpRequest.get(PRODUCTS));
+        this.filter.filter(first, this.upstream(headers)).block();
+        this.filter.filter(this.exchange(MockServerHttpRequest.get(PRODUCTS)), this.upstream(headers)).block();
+
+        assertThat(first.getResponse().getBodyAsString().block()).isEqualTo("products-1");
+        assertThat(this.upstreamCalls).hasValue(2);
+        assertThat(this.responseCache.estimatedSize()).isZero();
+    }
+
+    @Test
+    void filter_shouldDropTheRouteAfterASuccessfulWrite() {
+        this.filter.filter(this.exchange(MockServerHttpRequest.get(PRODUCTS)), this.upstream(new HttpHeaders())).block();
+        this.filter.filter(this.exchange(MockServerHttpRequest.post(PRODUCTS)), this.upstream(new HttpHeaders())).block();
+        final MockServerWebExchange reread = this.exchange(MockServerHttpRequest.get(PRODUCTS));
+        this.filter.filter(reread, this.upstream(new HttpHeaders())).block();
+
+        assertThat(this.upstreamCalls).hasValue(3);
+        assertThat(reread.getResponse().getBodyAsString().block()).isEqualTo("products-3");
+    }
+
+    private MockServerWebExchange exchange(final MockServerHttpRequest.BaseBuilder<?> request) {
+        final MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id(ROUTE_ID)
+                .uri("lb://" + ROUTE_ID)
+                .predicate(e -> true)
+                .build());
+        return exchange;
+    }
+
+    private GatewayFilterChain upstream(final HttpHeaders headers) {
+        return exchange -> {
+            final int call = this.upstreamCalls.incrementAndGet();
+            final ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().putAll(headers);
+            return response.writeWith(Mono.just(response.bufferFactory()
+                    .wrap(("products-" + call).getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.selimhorri.app.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.config.admission.AdmissionProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LocalTokenBucketRateLimiterTest {
+
+    private static final String ROUTE_ID = "ORDER-SERVICE";
+
+    private ClientKeyResolver keyResolver;
+    private LocalTokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        final var properties = new AdmissionProperties();
+        properties.getRateLimit().setSubjectsPerAddress(2);
+        properties.getRateLimit().setTrustedProxies(1);
+        this.keyResolver = new ClientKeyResolver(new ObjectMapper(), properties);
+        this.rateLimiter = new LocalTokenBucketRateLimiter(
+                new ConfigurationService(new DefaultListableBeanFactory(), () -> null, () -> null),
+                properties, new SimpleMeterRegistry());
+        // a burst of 10 that practically never refills, so counts do not depend on how fast the test runs
+        final var config = new LocalTokenBucketRateLimiter.Config();
+        config.setReplenishRate(0.001);
+        config.setBurstCapacity(10);
+        this.rateLimiter.getConfig().put(ROUTE_ID, config);
+    }
+
+    @Test
+    void isAllowed_shouldStillLimitAnAddressRotatingForgedSubjects() {
+        int admitted = 0;
+        for (int i = 0; i < 100; i++)
+            if (this.isAllowed("203.0.113.7", forgedToken(UUID.randomUUID().toString())))
+                admitted++;
+
+        // two subjects' worth of burst
+        assertThat(admitted).isEqualTo(20);
+        assertThat(this.isAllowed("198.51.100.1", forgedToken("someone-else"))).isTrue();
+    }
+
+    @Test
+    void isAllowed_shouldKeepSeparateLimitsForSubjectsSharingAnAddress() {
+        int first = 0;
+        for (int i = 0; i < 15; i++)
+            if (this.isAllowed("203.0.113.7", forgedToken("alice")))
+                first++;
+
+        assertThat(first).isEqualTo(10);
+        assertThat(this.isAllowed("203.0.113.7", forgedToken("bob"))).isTrue();
+    }
+
+    @Test
+    void isAllowed_shouldNotSpendAddressTokensOnRequestsTheSubjectBucketRejects() {
+        for (int i = 0; i < 50; i++)
+            this.isAllowed("203.0.113.7", forgedToken("alice"));
+
+        // alice got her burst of 10; the other 40 left the address's 20 alone
+        int others = 0;
+        for (int i = 0; i < 20; i++)
+            if (this.isAllowed("203.0.113.7", forgedToken("user-" + i)))
+                others++;
+
+        assertThat(others).isEqualTo(10);
+    }
+
+    @Test
+    void resolve_shouldKeyOnTheAddressTheTrustedProxyForwarded() {
+        final String key = this.keyResolver.resolve(MockServerWebExchange.from(MockServerHttpRequest.get("/order-service/api/carts")
+                .remoteAddress(new InetSocketAddress("10.0.0.2", 40_000))
+                .header("X-Forwarded-For", "192.0.2.99, 203.0.113.7"))).block();
+
+        // the leftmost entry came from the client itself and is ignored
+        assertThat(key).isEqualTo(ClientKeyResolver.ADDRESS_PREFIX + "203.0.113.7");
+    }
+
+    private boolean isAllowed(final String address, final String authorization) {
+        final String key = this.keyResolver.resolve(MockServerWebExchange.from(MockServerHttpRequest.get("/order-service/api/carts")
+                .remoteAddress(new InetSocketAddress("10.0.0.2", 40_000))
+                .header("X-Forwarded-For", address)
+                .header(HttpHeaders.AUTHORIZATION, authorization))).block();
+        return this.rateLimiter.isAllowed(ROUTE_ID, key).block().isAllowed();
+    }
+
+    private static String forgedToken(final String subject) {
+        final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return "Bearer " + encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(("{\"sub\":\"" + subject + "\"}").getBytes(StandardCharsets.UTF_8)) + ".x";
+    }
+
+}
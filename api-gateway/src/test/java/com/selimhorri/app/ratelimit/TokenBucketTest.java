@@ -0,0 +1,65 @@
+package com.selimhorri.app.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_shouldAdmitTheBurstThenRefillAtTheReplenishRate() {
+        final var bucket = new TokenBucket(0L);
+
+        for (int i = 0; i < 5; i++)
+            assertThat(bucket.tryAcquire(10, 5, 0L)).isZero();
+        final long wait = bucket.tryAcquire(10, 5, 0L);
+
+        assertThat(wait).isEqualTo(SECOND / 10);
+        assertThat(bucket.tryAcquire(10, 5, wait)).isZero();
+        assertThat(bucket.tryAcquire(10, 5, wait)).isPositive();
+    }
+
+    @Test
+    void tryAcquire_shouldAdmitNothing_whenTheBucketNeverRefills() {
+        final var bucket = new TokenBucket(0L);
+
+        assertThat(bucket.waitTime(0, 100, 0L)).isEqualTo(Long.MAX_VALUE);
+        assertThat(bucket.tryAcquire(0, 100, 0L)).isEqualTo(Long.MAX_VALUE);
+        assertThat(bucket.tryAcquire(0, 100, 10 * SECOND)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void tryAcquire_shouldNeverAdmitMoreThanTheBurstUnderContention() throws Exception {
+        final var bucket = new TokenBucket(0L);
+        final var admitted = new AtomicInteger();
+        final var start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            for (int i = 0; i < 16; i++)
+                executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < 1_000; j++)
+                        if (bucket.tryAcquire(1, 100, 0L) == 0L)
+                            admitted.incrementAndGet();
+                    return null;
+                });
+            start.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(admitted).hasValue(100);
+    }
+
+}
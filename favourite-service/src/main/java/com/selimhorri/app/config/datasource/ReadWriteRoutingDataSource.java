@@ -0,0 +1,19 @@
+package com.selimhorri.app.config.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// must sit behind a LazyConnectionDataSourceProxy: the read-only flag is bound only after
+// the transaction manager has asked for a connection
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+	
+	public enum Route {
+		PRIMARY, REPLICA
+	}
+	
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.REPLICA : Route.PRIMARY;
+	}
+	
+}
@@ -0,0 +1,61 @@
+package com.selimhorri.app.config.enrichment;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+@Configuration
+@EnableConfigurationProperties(EnrichmentProperties.class)
+public class EnrichmentConfig {
+	
+	public static final String ENRICHMENT_EXECUTOR = "enrichmentExecutor";
+	
+	@Bean(name = ENRICHMENT_EXECUTOR)
+	public ThreadPoolTaskExecutor enrichmentExecutor(final EnrichmentProperties properties) {
+		final var executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(properties.getPoolSize());
+		executor.setMaxPoolSize(properties.getPoolSize());
+		executor.setQueueCapacity(properties.getQueueCapacity());
+		executor.setThreadNamePrefix("enrichment-");
+		// a saturated pool degrades to running chunks on the request thread instead of failing them
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		// chunks run on behalf of the request: its attributes carry the deadline the batch calls pass on
+		executor.setTaskDecorator(EnrichmentConfig::withRequestAttributes);
+		return executor;
+	}
+	
+	// restores rather than clears, since a chunk run by the caller itself must leave the request bound
+	private static Runnable withRequestAttributes(final Runnable task) {
+		final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		return () -> {
+			final RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+			RequestContextHolder.setRequestAttributes(requestAttributes);
+			try {
+				task.run();
+			}
+			finally {
+				if (previous == null)
+					RequestContextHolder.resetRequestAttributes();
+				else
+					RequestContextHolder.setRequestAttributes(previous);
+			}
+		};
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
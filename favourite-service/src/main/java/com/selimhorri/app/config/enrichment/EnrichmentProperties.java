@@ -0,0 +1,26 @@
+package com.selimhorri.app.config.enrichment;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.enrichment")
+@Data
+public class EnrichmentProperties {
+	
+	// ids per /batch call; the owning services reject more than 1000
+	private int chunkSize = 200;
+	private int poolSize = 8;
+	private int queueCapacity = 200;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,29 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.load-balancer")
+@Data
+public class LatencyAwareLoadBalancerProperties {
+	
+	// how quickly an instance's latency estimate forgets a slow response; an instance nobody picks 
+	// drifts back towards zero within a few decay times and gets probed again
+	private Duration decayTime = Duration.ofSeconds(10);
+	// latency recorded for a call that failed outright, so a fast connection-refused does not look attractive
+	private Duration failurePenalty = Duration.ofSeconds(1);
+	
+}
+
+
+
+
+
+
+
+
+
+
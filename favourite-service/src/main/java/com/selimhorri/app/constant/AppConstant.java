@@ -11,6 +11,21 @@ public abstract class AppConstant {
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	
+	public static final int DEFAULT_PAGE_LIMIT = 20;
+	public static final int MAX_PAGE_LIMIT = 500;
+	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class Projection {
+		
+		public static final String EVENTS_PATH = "/api/events";
+		public static final String DELETED = "DELETED";
+		
+		// aggregate types as published by their owners
+		public static final String USER = "user";
+		public static final String PRODUCT = "product";
+		
+	}
+	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
 		
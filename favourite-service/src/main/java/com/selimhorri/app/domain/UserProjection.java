@@ -0,0 +1,59 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Local copy of the user fields this service displays, kept current from the owner's change feed.
+@Entity
+@Table(name = "user_projections")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class UserProjection implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "user_id", unique = true, nullable = false, updatable = false)
+	private Integer userId;
+	
+	@Column(name = "first_name")
+	private String firstName;
+	
+	@Column(name = "last_name")
+	private String lastName;
+	
+	@Column(name = "image_url")
+	private String imageUrl;
+	
+	@Column(name = "email")
+	private String email;
+	
+	@Column(name = "phone")
+	private String phone;
+	
+	// snapshot generation that last wrote the row, see AbstractProjectionSyncService
+	@Column(name = "generation", nullable = false)
+	private Long generation;
+	
+}
+
+
+
+
+
+
+
+
+
+
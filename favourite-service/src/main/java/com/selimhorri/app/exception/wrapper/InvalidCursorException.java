@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class InvalidCursorException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public InvalidCursorException() {
+		super();
+	}
+	
+	public InvalidCursorException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public InvalidCursorException(String message) {
+		super(message);
+	}
+	
+	public InvalidCursorException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,66 @@
+package com.selimhorri.app.helper;
+
+import com.selimhorri.app.domain.ProductProjection;
+import com.selimhorri.app.domain.UserProjection;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.UserDto;
+
+public interface ProjectionMappingHelper {
+	
+	public static UserProjection map(final UserDto userDto, final Long generation) {
+		return UserProjection.builder()
+				.userId(userDto.getUserId())
+				.firstName(userDto.getFirstName())
+				.lastName(userDto.getLastName())
+				.imageUrl(userDto.getImageUrl())
+				.email(userDto.getEmail())
+				.phone(userDto.getPhone())
+				.generation(generation)
+				.build();
+	}
+	
+	public static UserDto map(final UserProjection userProjection) {
+		return UserDto.builder()
+				.userId(userProjection.getUserId())
+				.firstName(userProjection.getFirstName())
+				.lastName(userProjection.getLastName())
+				.imageUrl(userProjection.getImageUrl())
+				.email(userProjection.getEmail())
+				.phone(userProjection.getPhone())
+				.build();
+	}
+	
+	public static ProductProjection map(final ProductDto productDto, final Long generation) {
+		return ProductProjection.builder()
+				.productId(productDto.getProductId())
+				.productTitle(productDto.getProductTitle())
+				.imageUrl(productDto.getImageUrl())
+				.sku(productDto.getSku())
+				.priceUnit(productDto.getPriceUnit())
+				.generation(generation)
+				.build();
+	}
+	
+	public static ProductDto map(final ProductProjection productProjection) {
+		return ProductDto.builder()
+				.productId(productProjection.getProductId())
+				.productTitle(productProjection.getProductTitle())
+				.imageUrl(productProjection.getImageUrl())
+				.sku(productProjection.getSku())
+				.priceUnit(productProjection.getPriceUnit())
+				.build();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,12 +1,36 @@
 package com.selimhorri.app.repository;
 
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Favourite;
 import com.selimhorri.app.domain.id.FavouriteId;
 
 public interface FavouriteRepository extends JpaRepository<Favourite, FavouriteId> {
 	
+	Slice<Favourite> findAllByOrderByUserIdAscProductIdAscLikeDateAsc(final Pageable pageable);
 	
+	@Query("SELECT f FROM Favourite f "
+			+ "WHERE f.userId > :userId "
+			+ "OR (f.userId = :userId AND f.productId > :productId) "
+			+ "OR (f.userId = :userId AND f.productId = :productId AND f.likeDate > :likeDate) "
+			+ "ORDER BY f.userId ASC, f.productId ASC, f.likeDate ASC")
+	Slice<Favourite> findAllAfter(@Param("userId") final Integer userId, @Param("productId") final Integer productId, 
+			@Param("likeDate") final LocalDateTime likeDate, final Pageable pageable);
 	
 }
+
+
+
+
+
+
+
+
+
+
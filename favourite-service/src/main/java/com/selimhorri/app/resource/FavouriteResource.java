@@ -6,6 +6,7 @@ import java.time.format.DateTimeFormatter;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,12 +15,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.KeysetPageHelper;
 import com.selimhorri.app.service.FavouriteService;
 
 import lombok.RequiredArgsConstructor;
@@ -34,9 +37,16 @@ public class FavouriteResource {
 	private final FavouriteService favouriteService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<FavouriteDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<FavouriteDto>> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			@RequestParam(value = "limit", required = false) final Integer limit) {
 		log.info("*** FavouriteDto List, controller; fetch all favourites *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findAll()));
+		if (after == null && limit == null)
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findAll()));
+		final Slice<FavouriteDto> favouriteDtos = this.favouriteService.findAll(
+				(after == null) ? null : parseCursor(after), KeysetPageHelper.pageable(limit));
+		return ResponseEntity.ok(DtoCollectionResponse.of(favouriteDtos, f -> f.getUserId() + "," + f.getProductId() + "," 
+				+ f.getLikeDate().format(DateTimeFormatter.ofPattern(AppConstant.LOCAL_DATE_TIME_FORMAT))));
 	}
 	
 	@GetMapping("/{userId}/{productId}/{likeDate}")
@@ -98,6 +108,11 @@ public class FavouriteResource {
 		return ResponseEntity.ok(true);
 	}
 	
+	private static FavouriteId parseCursor(final String cursor) {
+		return KeysetPageHelper.cursor(cursor, 3, keys -> new FavouriteId(Integer.parseInt(keys[0]), Integer.parseInt(keys[1]), 
+				LocalDateTime.parse(keys[2], DateTimeFormatter.ofPattern(AppConstant.LOCAL_DATE_TIME_FORMAT))));
+	}
+	
 	
 	
 }
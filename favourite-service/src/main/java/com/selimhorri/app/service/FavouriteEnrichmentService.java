@@ -0,0 +1,21 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.FavouriteDto;
+
+public interface FavouriteEnrichmentService {
+	
+	List<FavouriteDto> enrich(final List<FavouriteDto> favouriteDtos);
+	
+}
+
+
+
+
+
+
+
+
+
+
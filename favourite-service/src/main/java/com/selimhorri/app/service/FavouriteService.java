@@ -2,12 +2,16 @@ package com.selimhorri.app.service;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 
 public interface FavouriteService {
 	
 	List<FavouriteDto> findAll();
+	Slice<FavouriteDto> findAll(final FavouriteId after, final Pageable pageable);
 	FavouriteDto findById(final FavouriteId favouriteId);
 	FavouriteDto save(final FavouriteDto favouriteDto);
 	FavouriteDto update(final FavouriteDto favouriteDto);
@@ -0,0 +1,202 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.config.projection.ProjectionProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.ProjectionCursor;
+import com.selimhorri.app.dto.DomainEventDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.repository.ProjectionCursorRepository;
+import com.selimhorri.app.service.ProjectionSyncService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+// Seeds a local projection from its owner's keyset listing, then follows the owner's change feed from the
+// position read just before the snapshot. Events carry the aggregate's full state, so replaying the ones
+// that raced the snapshot settles every row on its latest version.
+// A snapshot writes its rows under the next generation, one listing page per transaction, with its progress
+// kept on the cursor: the previous generation stays readable meanwhile, a failed page is retried on its own,
+// and the rows the finished snapshot did not reach are swept in its last step.
+@Slf4j
+public abstract class AbstractProjectionSyncService<T> implements ProjectionSyncService {
+	
+	private static final ParameterizedTypeReference<DtoCollectionResponse<DomainEventDto>> FEED_TYPE = 
+			new ParameterizedTypeReference<DtoCollectionResponse<DomainEventDto>>() {};
+	
+	private final RestTemplate restTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ProjectionCursorRepository projectionCursorRepository;
+	private final ObjectMapper objectMapper;
+	private final ProjectionProperties properties;
+	private final MeterRegistry meterRegistry;
+	
+	protected AbstractProjectionSyncService(final RestTemplate restTemplate, final TransactionTemplate transactionTemplate, 
+			final ProjectionCursorRepository projectionCursorRepository, final ObjectMapper objectMapper, 
+			final ProjectionProperties properties, final MeterRegistry meterRegistry) {
+		this.restTemplate = restTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.projectionCursorRepository = projectionCursorRepository;
+		this.objectMapper = objectMapper;
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+	}
+	
+	// aggregate type as published by the owner, also the cursor key and metric tag
+	protected abstract String projection();
+	protected abstract String host();
+	protected abstract String apiUrl();
+	protected abstract Class<T> dtoType();
+	protected abstract ParameterizedTypeReference<DtoCollectionResponse<T>> snapshotType();
+	protected abstract void deleteAllBefore(final Long generation);
+	protected abstract void upsertAll(final Collection<T> dtos, final Long generation);
+	protected abstract void deleteAllById(final Collection<Integer> ids);
+	
+	@Override
+	@Scheduled(fixedDelayString = "${app.projection.poll-interval}")
+	public void sync() {
+		try {
+			for (int page = 0; page < this.properties.getMaxPagesPerRun(); page++)
+				if (!Boolean.TRUE.equals(this.transactionTemplate.execute(status -> this.syncPage())))
+					return;
+		}
+		catch (final RuntimeException e) {
+			log.warn("*** Void, service; {} projection sync failed, retrying on next run *", this.projection(), e);
+			Counter.builder("projection.sync.failures")
+					.description("Projection sync steps rolled back and left for the next run")
+					.tag("projection", this.projection())
+					.register(this.meterRegistry)
+					.increment();
+		}
+	}
+	
+	private boolean syncPage() {
+		final Optional<ProjectionCursor> cursor = this.projectionCursorRepository.findByIdForUpdate(this.projection());
+		if (cursor.isEmpty())
+			return this.snapshotPage(this.startSnapshot(ProjectionCursor.builder()
+					.projection(this.projection())
+					.generation(0L)
+					.build()));
+		if (cursor.get().getSnapshotPosition() != null)
+			return this.snapshotPage(cursor.get());
+		if (cursor.get().getSyncedAt().isBefore(Instant.now().minus(this.properties.getResnapshotAfter())))
+			return this.snapshotPage(this.startSnapshot(cursor.get()));
+		return this.follow(cursor.get());
+	}
+	
+	private ProjectionCursor startSnapshot(final ProjectionCursor cursor) {
+		log.info("*** Void, service; snapshot {} projection *", this.projection());
+		// read before the listing: whatever changes while it is paged through is replayed from the feed afterwards
+		final Long position = this.restTemplate.getForObject(
+				this.host() + AppConstant.Projection.EVENTS_PATH + "/position", Long.class);
+		cursor.setSnapshotPosition(position);
+		cursor.setSnapshotAfter(null);
+		if (cursor.getFeedPosition() == null) {
+			cursor.setFeedPosition(position);
+			cursor.setSyncedAt(Instant.now());
+		}
+		return cursor;
+	}
+	
+	// one listing page per step; the last one sweeps the previous generation and hands over to the feed
+	private boolean snapshotPage(final ProjectionCursor cursor) {
+		final Long generation = cursor.getGeneration() + 1;
+		final DtoCollectionResponse<T> page = this.restTemplate.exchange(UriComponentsBuilder.fromHttpUrl(this.apiUrl())
+				.queryParam("limit", this.properties.getSnapshotPageSize())
+				.queryParamIfPresent("after", Optional.ofNullable(cursor.getSnapshotAfter()))
+				.toUriString(), HttpMethod.GET, null, this.snapshotType())
+				.getBody();
+		this.upsertAll(page.getCollection(), generation);
+		cursor.setSnapshotAfter(page.getNextCursor());
+		final boolean more = page.getNextCursor() != null;
+		if (!more) {
+			this.deleteAllBefore(generation);
+			cursor.setGeneration(generation);
+			cursor.setFeedPosition(cursor.getSnapshotPosition());
+			cursor.setSnapshotPosition(null);
+			cursor.setSyncedAt(Instant.now());
+		}
+		this.projectionCursorRepository.save(cursor);
+		return more;
+	}
+	
+	private boolean follow(final ProjectionCursor cursor) {
+		final DtoCollectionResponse<DomainEventDto> page = this.restTemplate.exchange(UriComponentsBuilder
+				.fromHttpUrl(this.host() + AppConstant.Projection.EVENTS_PATH)
+				.queryParam("after", cursor.getFeedPosition())
+				.queryParam("aggregateType", this.projection())
+				.queryParam("limit", this.properties.getFeedBatchSize())
+				.toUriString(), HttpMethod.GET, null, FEED_TYPE)
+				.getBody();
+		final List<DomainEventDto> domainEventDtos = List.copyOf(page.getCollection());
+		
+		// only the last event of each aggregate in the page needs applying
+		final Map<Integer, DomainEventDto> latest = new LinkedHashMap<>();
+		domainEventDtos.forEach(e -> latest.put(Integer.valueOf(e.getAggregateId()), e));
+		final List<Integer> deletedIds = latest.values().stream()
+				.filter(e -> AppConstant.Projection.DELETED.equals(e.getEventType()))
+				.map(e -> Integer.valueOf(e.getAggregateId()))
+				.collect(Collectors.toUnmodifiableList());
+		final List<T> dtos = latest.values().stream()
+				.filter(e -> !AppConstant.Projection.DELETED.equals(e.getEventType()))
+				.map(e -> this.deserialize(e.getPayload()))
+				.collect(Collectors.toUnmodifiableList());
+		if (!deletedIds.isEmpty())
+			this.deleteAllById(deletedIds);
+		if (!dtos.isEmpty())
+			this.upsertAll(dtos, cursor.getGeneration());
+		
+		final Instant syncedAt = Instant.now();
+		if (!domainEventDtos.isEmpty()) {
+			final DomainEventDto last = domainEventDtos.get(domainEventDtos.size() - 1);
+			cursor.setFeedPosition(last.getPosition());
+			Timer.builder("projection.sync.lag")
+					.description("Time from a change being recorded by its owner to it being applied locally")
+					.tag("projection", this.projection())
+					.register(this.meterRegistry)
+					.record(Duration.between(last.getOccurredAt(), syncedAt));
+		}
+		// touched on empty polls too: the age of this stamp is what tells a stalled follower to re-snapshot
+		cursor.setSyncedAt(syncedAt);
+		return page.getNextCursor() != null;
+	}
+	
+	private T deserialize(final String payload) {
+		try {
+			return this.objectMapper.readValue(payload, this.dtoType());
+		}
+		catch (final JsonProcessingException e) {
+			throw new IllegalStateException("Change feed payload is not readable as " + this.dtoType().getSimpleName(), e);
+		}
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,191 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.config.deadline.DeadlineGuard;
+import com.selimhorri.app.config.enrichment.EnrichmentConfig;
+import com.selimhorri.app.config.enrichment.EnrichmentProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoBatchResponse;
+import com.selimhorri.app.helper.ProjectionMappingHelper;
+import com.selimhorri.app.repository.ProductProjectionRepository;
+import com.selimhorri.app.repository.UserProjectionRepository;
+import com.selimhorri.app.service.FavouriteEnrichmentService;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class FavouriteEnrichmentServiceImpl implements FavouriteEnrichmentService {
+	
+	private static final String USERS = "users";
+	private static final String PRODUCTS = "products";
+	
+	private final UserProjectionRepository userProjectionRepository;
+	private final ProductProjectionRepository productProjectionRepository;
+	private final RestTemplate restTemplate;
+	private final Executor executor;
+	private final EnrichmentProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final DeadlineGuard deadlineGuard;
+	private final Timer enrichmentTimer;
+	
+	public FavouriteEnrichmentServiceImpl(final UserProjectionRepository userProjectionRepository,
+			final ProductProjectionRepository productProjectionRepository, final RestTemplate restTemplate,
+			@Qualifier(EnrichmentConfig.ENRICHMENT_EXECUTOR) final Executor executor,
+			final EnrichmentProperties properties, final MeterRegistry meterRegistry, final DeadlineGuard deadlineGuard) {
+		this.userProjectionRepository = userProjectionRepository;
+		this.productProjectionRepository = productProjectionRepository;
+		this.restTemplate = restTemplate;
+		this.executor = executor;
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+		this.deadlineGuard = deadlineGuard;
+		this.enrichmentTimer = Timer.builder("favourite.enrichment.latency")
+				.description("Time spent resolving remote users and products for a favourite list")
+				.register(meterRegistry);
+	}
+	
+	@Override
+	public List<FavouriteDto> enrich(final List<FavouriteDto> favouriteDtos) {
+		log.info("*** FavouriteDto List, enrichment service; enrich favourites with users and products *");
+		return this.enrichmentTimer.record(() -> {
+			
+			// local projections first; only ids they do not hold yet go to the owning services
+			final List<Integer> userIds = distinctIds(favouriteDtos, FavouriteDto::getUserId);
+			final Map<Integer, UserDto> users = this.findAllLocally(AppConstant.Projection.USER, userIds,
+					this.userProjectionRepository::findAllById, ProjectionMappingHelper::map, UserDto::getUserId);
+			final List<Integer> productIds = distinctIds(favouriteDtos, FavouriteDto::getProductId);
+			final Map<Integer, ProductDto> products = this.findAllLocally(AppConstant.Projection.PRODUCT, productIds,
+					this.productProjectionRepository::findAllById, ProjectionMappingHelper::map, ProductDto::getProductId);
+			
+			// past the caller's deadline nobody waits for the remote half: the projection hits are all it gets
+			if (!this.deadlineGuard.isExceeded(DeadlineGuard.ENRICHMENT)) {
+				final CompletableFuture<Map<Integer, UserDto>> userDtos = this.findAllByIds(USERS,
+						AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL, missingIds(userIds, users),
+						new ParameterizedTypeReference<DtoBatchResponse<UserDto>>() {}, UserDto::getUserId);
+				final CompletableFuture<Map<Integer, ProductDto>> productDtos = this.findAllByIds(PRODUCTS,
+						AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL, missingIds(productIds, products),
+						new ParameterizedTypeReference<DtoBatchResponse<ProductDto>>() {}, ProductDto::getProductId);
+				
+				users.putAll(join(userDtos));
+				products.putAll(join(productDtos));
+			}
+			
+			favouriteDtos.forEach(f -> {
+				f.setUserDto(users.getOrDefault(f.getUserId(), f.getUserDto()));
+				f.setProductDto(products.getOrDefault(f.getProductId(), f.getProductDto()));
+			});
+			
+			return favouriteDtos;
+		});
+	}
+	
+	private <E, T> Map<Integer, T> findAllLocally(final String projection, final List<Integer> ids,
+			final Function<List<Integer>, List<E>> finder, final Function<E, T> mapper, final Function<T, Integer> idExtractor) {
+		final Map<Integer, T> found = (ids.isEmpty()) ? new HashMap<>() : finder.apply(ids).stream()
+				.map(mapper)
+				.collect(Collectors.toMap(idExtractor, Function.identity(), (a, b) -> a, HashMap::new));
+		this.meterRegistry.counter("projection.lookups", "projection", projection, "result", "hit").increment(found.size());
+		this.meterRegistry.counter("projection.lookups", "projection", projection, "result", "miss").increment(ids.size() - found.size());
+		return found;
+	}
+	
+	private <T> CompletableFuture<Map<Integer, T>> findAllByIds(final String target, final String apiUrl,
+			final List<Integer> ids, final ParameterizedTypeReference<DtoBatchResponse<T>> responseType,
+			final Function<T, Integer> idExtractor) {
+		
+		DistributionSummary.builder("favourite.enrichment.fanout")
+				.description("Distinct remote ids resolved per favourite list")
+				.tag("target", target)
+				.register(this.meterRegistry)
+				.record(ids.size());
+		
+		final int chunkSize = this.properties.getChunkSize();
+		final List<CompletableFuture<Collection<T>>> chunks = IntStream.range(0, (ids.size() + chunkSize - 1) / chunkSize)
+				.mapToObj(i -> ids.subList(i * chunkSize, Math.min(ids.size(), (i + 1) * chunkSize)))
+				.map(chunk -> CompletableFuture.supplyAsync(() -> this.findChunk(apiUrl, chunk, responseType), this.executor))
+				.collect(Collectors.toUnmodifiableList());
+		
+		return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+				.thenApply(v -> chunks.stream()
+						.flatMap(chunk -> chunk.join().stream())
+						.collect(Collectors.toMap(idExtractor, Function.identity(), (a, b) -> a)));
+	}
+	
+	// a chunk the owning service cannot answer leaves its favourites with id-only dtos
+	private <T> Collection<T> findChunk(final String apiUrl, final List<Integer> chunk,
+			final ParameterizedTypeReference<DtoBatchResponse<T>> responseType) {
+		try {
+			return this.restTemplate.exchange(apiUrl + "/batch", HttpMethod.POST, new HttpEntity<>(chunk), responseType)
+					.getBody()
+					.getCollection();
+		}
+		catch (RestClientException e) {
+			log.warn("*** FavouriteDto List, enrichment service; {} unavailable, keeping ids only: {} *", apiUrl, e.getMessage());
+			return List.of();
+		}
+	}
+	
+	private static List<Integer> distinctIds(final List<FavouriteDto> favouriteDtos, final Function<FavouriteDto, Integer> idExtractor) {
+		return favouriteDtos.stream()
+				.map(idExtractor)
+				.filter(Objects::nonNull)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private static List<Integer> missingIds(final List<Integer> ids, final Map<Integer, ?> found) {
+		return ids.stream()
+				.filter(id -> !found.containsKey(id))
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private static <T> T join(final CompletableFuture<T> future) {
+		try {
+			return future.join();
+		}
+		catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw e;
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -3,19 +3,17 @@ package com.selimhorri.app.service.impl;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
-import com.selimhorri.app.dto.ProductDto;
-import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 import com.selimhorri.app.helper.FavouriteMappingHelper;
 import com.selimhorri.app.repository.FavouriteRepository;
+import com.selimhorri.app.service.FavouriteEnrichmentService;
 import com.selimhorri.app.service.FavouriteService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,41 +26,39 @@ import lombok.extern.slf4j.Slf4j;
 public class FavouriteServiceImpl implements FavouriteService {
 	
 	private final FavouriteRepository favouriteRepository;
-	private final RestTemplate restTemplate;
+	private final FavouriteEnrichmentService favouriteEnrichmentService;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<FavouriteDto> findAll() {
 		log.info("*** FavouriteDto List, service; fetch all favourites *");
-		return this.favouriteRepository.findAll()
+		return this.favouriteEnrichmentService.enrich(this.favouriteRepository.findAll()
 				.stream()
 					.map(FavouriteMappingHelper::map)
-					.map(f -> {
-						f.setUserDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-						f.setProductDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
-						return f;
-					})
 					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Slice<FavouriteDto> findAll(final FavouriteId after, final Pageable pageable) {
+		log.info("*** FavouriteDto Slice, service; fetch favourites after cursor *");
+		final Slice<FavouriteDto> favouriteDtos = ((after == null) ? 
+					this.favouriteRepository.findAllByOrderByUserIdAscProductIdAscLikeDateAsc(pageable) 
+					: this.favouriteRepository.findAllAfter(after.getUserId(), after.getProductId(), after.getLikeDate(), pageable))
+				.map(FavouriteMappingHelper::map);
+		this.favouriteEnrichmentService.enrich(favouriteDtos.getContent());
+		return favouriteDtos;
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public FavouriteDto findById(final FavouriteId favouriteId) {
 		log.info("*** FavouriteDto, service; fetch favourite by id *");
 		return this.favouriteRepository.findById(favouriteId)
 				.map(FavouriteMappingHelper::map)
-				.map(f -> {
-					f.setUserDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-					f.setProductDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
-					return f;
-				})
+				// same path as the listings: local projections, then guarded batch calls with id-only fallbacks
+				.map(f -> this.favouriteEnrichmentService.enrich(List.of(f)).get(0))
 				.orElseThrow(() -> new FavouriteNotFoundException(
 						String.format("Favourite with id: [%s] not found!", favouriteId)));
 	}
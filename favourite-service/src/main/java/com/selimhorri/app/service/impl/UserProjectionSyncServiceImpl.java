@@ -0,0 +1,89 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.config.projection.ProjectionProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.ProjectionMappingHelper;
+import com.selimhorri.app.repository.UserProjectionRepository;
+import com.selimhorri.app.repository.ProjectionCursorRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Service
+public class UserProjectionSyncServiceImpl extends AbstractProjectionSyncService<UserDto> {
+	
+	private final UserProjectionRepository userProjectionRepository;
+	
+	public UserProjectionSyncServiceImpl(final RestTemplate restTemplate, final TransactionTemplate transactionTemplate, 
+			final ProjectionCursorRepository projectionCursorRepository, final ObjectMapper objectMapper, 
+			final ProjectionProperties properties, final MeterRegistry meterRegistry, 
+			final UserProjectionRepository userProjectionRepository) {
+		super(restTemplate, transactionTemplate, projectionCursorRepository, objectMapper, properties, meterRegistry);
+		this.userProjectionRepository = userProjectionRepository;
+	}
+	
+	@Override
+	protected String projection() {
+		return AppConstant.Projection.USER;
+	}
+	
+	@Override
+	protected String host() {
+		return AppConstant.DiscoveredDomainsApi.USER_SERVICE_HOST;
+	}
+	
+	@Override
+	protected String apiUrl() {
+		return AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL;
+	}
+	
+	@Override
+	protected Class<UserDto> dtoType() {
+		return UserDto.class;
+	}
+	
+	@Override
+	protected ParameterizedTypeReference<DtoCollectionResponse<UserDto>> snapshotType() {
+		return new ParameterizedTypeReference<DtoCollectionResponse<UserDto>>() {};
+	}
+	
+	@Override
+	protected void deleteAllBefore(final Long generation) {
+		this.userProjectionRepository.deleteAllByGenerationBefore(generation);
+	}
+	
+	@Override
+	protected void upsertAll(final Collection<UserDto> userDtos, final Long generation) {
+		this.userProjectionRepository.saveAll(userDtos.stream()
+				.map(userDto -> ProjectionMappingHelper.map(userDto, generation))
+				.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@Override
+	protected void deleteAllById(final Collection<Integer> userIds) {
+		this.userProjectionRepository.deleteAllByIdInBatch(userIds);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
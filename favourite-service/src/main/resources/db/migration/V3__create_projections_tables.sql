@@ -0,0 +1,24 @@
+
+CREATE TABLE user_projections (
+	user_id INT(11) NOT NULL PRIMARY KEY,
+	first_name VARCHAR(255),
+	last_name VARCHAR(255),
+	image_url VARCHAR(255),
+	email VARCHAR(255),
+	phone VARCHAR(255)
+);
+
+CREATE TABLE product_projections (
+	product_id INT(11) NOT NULL PRIMARY KEY,
+	product_title VARCHAR(255),
+	image_url VARCHAR(255),
+	sku VARCHAR(255),
+	price_unit DECIMAL(7, 2)
+);
+
+CREATE TABLE projection_cursors (
+	projection VARCHAR(64) NOT NULL PRIMARY KEY,
+	feed_position BIGINT NOT NULL,
+	synced_at TIMESTAMP NOT NULL
+);
+
@@ -0,0 +1,8 @@
+
+ALTER TABLE user_projections ADD COLUMN generation BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE product_projections ADD COLUMN generation BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE projection_cursors ADD COLUMN generation BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE projection_cursors ADD COLUMN snapshot_position BIGINT;
+ALTER TABLE projection_cursors ADD COLUMN snapshot_after VARCHAR(255);
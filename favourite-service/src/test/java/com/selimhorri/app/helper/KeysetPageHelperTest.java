@@ -0,0 +1,38 @@
+package com.selimhorri.app.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.id.FavouriteId;
+import com.selimhorri.app.exception.wrapper.InvalidCursorException;
+
+class KeysetPageHelperTest {
+
+    @Test
+    void cursor_shouldParseCompositeKeys() {
+        final FavouriteId favouriteId = KeysetPageHelper.cursor("1, 2, 17-10-2026__10:15:30:000000", 3,
+                keys -> new FavouriteId(Integer.parseInt(keys[0]), Integer.parseInt(keys[1]),
+                        LocalDateTime.parse(keys[2], DateTimeFormatter.ofPattern(AppConstant.LOCAL_DATE_TIME_FORMAT))));
+
+        assertThat(favouriteId.getUserId()).isEqualTo(1);
+        assertThat(favouriteId.getProductId()).isEqualTo(2);
+        assertThat(KeysetPageHelper.intCursor(" 42 ")).isEqualTo(42);
+    }
+
+    @Test
+    void cursor_shouldRejectMalformedCursorsAsInvalid() {
+        assertThatThrownBy(() -> KeysetPageHelper.intCursor("abc")).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> KeysetPageHelper.intCursor("1,2")).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> KeysetPageHelper.cursor("1,2", 3, keys -> keys[2])).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> KeysetPageHelper.cursor("1,2,yesterday", 3,
+                keys -> LocalDateTime.parse(keys[2], DateTimeFormatter.ofPattern(AppConstant.LOCAL_DATE_TIME_FORMAT))))
+            .isInstanceOf(InvalidCursorException.class);
+    }
+
+}
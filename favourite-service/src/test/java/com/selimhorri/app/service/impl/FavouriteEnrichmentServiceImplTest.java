@@ -0,0 +1,174 @@
+package com.selimhorri.app.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.selimhorri.app.config.deadline.Deadline;
+import com.selimhorri.app.config.deadline.DeadlineGuard;
+import com.selimhorri.app.config.enrichment.EnrichmentProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Favourite;
+import com.selimhorri.app.domain.ProductProjection;
+import com.selimhorri.app.domain.UserProjection;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoBatchResponse;
+import com.selimhorri.app.helper.FavouriteMappingHelper;
+import com.selimhorri.app.repository.ProductProjectionRepository;
+import com.selimhorri.app.repository.UserProjectionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class FavouriteEnrichmentServiceImplTest {
+
+    @Mock
+    private UserProjectionRepository userProjectionRepository;
+
+    @Mock
+    private ProductProjectionRepository productProjectionRepository;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private FavouriteEnrichmentServiceImpl favouriteEnrichmentService;
+
+    @BeforeEach
+    void setUp() {
+        final var properties = new EnrichmentProperties();
+        properties.setChunkSize(2);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.favouriteEnrichmentService = new FavouriteEnrichmentServiceImpl(this.userProjectionRepository,
+                this.productProjectionRepository, this.restTemplate, Runnable::run, properties, this.meterRegistry,
+                new DeadlineGuard(this.meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void enrich_shouldResolveDistinctIdsInChunks() {
+        when(this.restTemplate.exchange(startsWith(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL), eq(HttpMethod.POST),
+                this.<HttpEntity<List<Integer>>>anyArg(), this.<ParameterizedTypeReference<DtoBatchResponse<UserDto>>>anyArg()))
+            .thenAnswer(invocation -> ResponseEntity.ok(new DtoBatchResponse<>(
+                    requestedIds(invocation).stream()
+                        .map(id -> UserDto.builder().userId(id).firstName("user" + id).build())
+                        .collect(Collectors.toList()), List.of())));
+        when(this.restTemplate.exchange(startsWith(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL), eq(HttpMethod.POST),
+                this.<HttpEntity<List<Integer>>>anyArg(), this.<ParameterizedTypeReference<DtoBatchResponse<ProductDto>>>anyArg()))
+            .thenAnswer(invocation -> ResponseEntity.ok(new DtoBatchResponse<>(
+                    requestedIds(invocation).stream()
+                        .map(id -> ProductDto.builder().productId(id).productTitle("product" + id).build())
+                        .collect(Collectors.toList()), List.of())));
+
+        // 3 distinct users and 1 product across 5 favourites
+        final List<FavouriteDto> favouriteDtos = List.of(
+                favourite(1, 10), favourite(2, 10), favourite(1, 10), favourite(3, 10), favourite(2, 10));
+
+        final List<FavouriteDto> enriched = this.favouriteEnrichmentService.enrich(favouriteDtos);
+
+        assertThat(enriched).extracting(f -> f.getUserDto().getFirstName())
+                .containsExactly("user1", "user2", "user1", "user3", "user2");
+        assertThat(enriched).extracting(f -> f.getProductDto().getProductTitle())
+                .containsOnly("product10");
+        verify(this.restTemplate, times(2)).exchange(startsWith(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL),
+                eq(HttpMethod.POST), this.<HttpEntity<List<Integer>>>anyArg(), this.<ParameterizedTypeReference<DtoBatchResponse<Object>>>anyArg());
+        verify(this.restTemplate, times(1)).exchange(startsWith(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL),
+                eq(HttpMethod.POST), this.<HttpEntity<List<Integer>>>anyArg(), this.<ParameterizedTypeReference<DtoBatchResponse<Object>>>anyArg());
+        assertThat(this.meterRegistry.get("favourite.enrichment.fanout").tag("target", "users")
+                .summary().totalAmount()).isEqualTo(3.0);
+    }
+
+    @Test
+    void enrich_shouldOnlyCallOwnersForProjectionMisses() {
+        when(this.userProjectionRepository.findAllById(any()))
+            .thenReturn(List.of(UserProjection.builder().userId(1).firstName("local1").build()));
+        when(this.productProjectionRepository.findAllById(any()))
+            .thenReturn(List.of(ProductProjection.builder().productId(10).productTitle("local10").build()));
+        when(this.restTemplate.exchange(startsWith(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL), eq(HttpMethod.POST),
+                this.<HttpEntity<List<Integer>>>anyArg(), this.<ParameterizedTypeReference<DtoBatchResponse<UserDto>>>anyArg()))
+            .thenAnswer(invocation -> ResponseEntity.ok(new DtoBatchResponse<>(
+                    requestedIds(invocation).stream()
+                        .map(id -> UserDto.builder().userId(id).firstName("remote" + id).build())
+                        .collect(Collectors.toList()), List.of())));
+
+        final List<FavouriteDto> enriched = this.favouriteEnrichmentService.enrich(List.of(favourite(1, 10), favourite(2, 10)));
+
+        assertThat(enriched).extracting(f -> f.getUserDto().getFirstName()).containsExactly("local1", "remote2");
+        assertThat(enriched).extracting(f -> f.getProductDto().getProductTitle()).containsOnly("local10");
+        verify(this.restTemplate, times(1)).exchange(startsWith(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL),
+                eq(HttpMethod.POST), this.<HttpEntity<List<Integer>>>anyArg(), this.<ParameterizedTypeReference<DtoBatchResponse<Object>>>anyArg());
+        verify(this.restTemplate, never()).exchange(startsWith(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL),
+                eq(HttpMethod.POST), this.<HttpEntity<List<Integer>>>anyArg(), this.<ParameterizedTypeReference<DtoBatchResponse<Object>>>anyArg());
+        assertThat(this.meterRegistry.get("projection.lookups").tag("projection", AppConstant.Projection.USER)
+                .tag("result", "miss").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void enrich_shouldKeepProjectionHitsOnlyOnceTheDeadlineHasPassed() {
+        final var request = new MockHttpServletRequest();
+        request.setAttribute(Deadline.ATTRIBUTE, Deadline.after(Duration.ZERO));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        when(this.userProjectionRepository.findAllById(any()))
+            .thenReturn(List.of(UserProjection.builder().userId(1).firstName("local1").build()));
+
+        final List<FavouriteDto> enriched = this.favouriteEnrichmentService.enrich(List.of(favourite(1, 10), favourite(2, 10)));
+
+        assertThat(enriched).extracting(f -> f.getUserDto().getFirstName()).containsExactly("local1", null);
+        assertThat(enriched).extracting(f -> f.getProductDto().getProductId()).containsOnly(10);
+        verify(this.restTemplate, never()).exchange(any(String.class), any(HttpMethod.class), this.<HttpEntity<List<Integer>>>anyArg(),
+                this.<ParameterizedTypeReference<DtoBatchResponse<Object>>>anyArg());
+        assertThat(this.meterRegistry.get(DeadlineGuard.METRIC).tag("stage", DeadlineGuard.ENRICHMENT)
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    // typed stand-in for any(Class), whose raw HttpEntity and ParameterizedTypeReference make the stubs unchecked
+    private <T> T anyArg() {
+        return any();
+    }
+
+    private static List<Integer> requestedIds(final InvocationOnMock invocation) {
+        final HttpEntity<List<Integer>> request = invocation.getArgument(2);
+        return request.getBody();
+    }
+
+    private static FavouriteDto favourite(final Integer userId, final Integer productId) {
+        return FavouriteMappingHelper.map(Favourite.builder()
+                .userId(userId)
+                .productId(productId)
+                .likeDate(LocalDateTime.now())
+                .build());
+    }
+
+}
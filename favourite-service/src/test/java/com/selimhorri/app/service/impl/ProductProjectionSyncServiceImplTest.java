@@ -0,0 +1,192 @@
+package com.selimhorri.app.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.config.projection.ProjectionProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.ProductProjection;
+import com.selimhorri.app.domain.ProjectionCursor;
+import com.selimhorri.app.dto.DomainEventDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.repository.ProductProjectionRepository;
+import com.selimhorri.app.repository.ProjectionCursorRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ProductProjectionSyncServiceImplTest {
+
+    private static final String FEED_URL = AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_HOST + AppConstant.Projection.EVENTS_PATH;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private ProjectionCursorRepository projectionCursorRepository;
+
+    @Mock
+    private ProductProjectionRepository productProjectionRepository;
+
+    @Captor
+    private ArgumentCaptor<List<ProductProjection>> upserted;
+
+    private ObjectMapper objectMapper;
+    private ProductProjectionSyncServiceImpl productProjectionSyncService;
+
+    @BeforeEach
+    void setUp() {
+        this.objectMapper = new ObjectMapper().findAndRegisterModules();
+        this.productProjectionSyncService = new ProductProjectionSyncServiceImpl(this.restTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), this.projectionCursorRepository,
+                this.objectMapper, new ProjectionProperties(), new SimpleMeterRegistry(), this.productProjectionRepository);
+    }
+
+    @Test
+    void sync_shouldSnapshotAndStartFollowingFromThePriorPosition_whenNoCursorExists() {
+        final AtomicReference<ProjectionCursor> stored = this.storedCursor(null);
+        when(this.restTemplate.getForObject(FEED_URL + "/position", Long.class)).thenReturn(7L);
+        when(this.restTemplate.exchange(startsWith(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL), eq(HttpMethod.GET),
+                isNull(), this.<ParameterizedTypeReference<DtoCollectionResponse<Object>>>anyArg()))
+            .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(product(1, "first")), "1")))
+            .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(product(2, "second")))));
+
+        this.productProjectionSyncService.sync();
+
+        verify(this.productProjectionRepository, times(2)).saveAll(this.upserted.capture());
+        assertThat(this.upserted.getAllValues()).flatExtracting(rows -> rows).extracting(ProductProjection::getGeneration)
+                .containsOnly(1L);
+        verify(this.productProjectionRepository).deleteAllByGenerationBefore(1L);
+        verify(this.productProjectionRepository, never()).deleteAllInBatch();
+        assertThat(stored.get().getProjection()).isEqualTo(AppConstant.Projection.PRODUCT);
+        assertThat(stored.get().getFeedPosition()).isEqualTo(7L);
+        assertThat(stored.get().getGeneration()).isEqualTo(1L);
+        assertThat(stored.get().getSnapshotPosition()).isNull();
+    }
+
+    @Test
+    void sync_shouldKeepThePreviousGenerationAndResumeFromTheFailedPage_whenASnapshotPageFails() {
+        final AtomicReference<ProjectionCursor> stored = this.storedCursor(ProjectionCursor.builder()
+                .projection(AppConstant.Projection.PRODUCT)
+                .feedPosition(3L)
+                .syncedAt(Instant.now().minus(Duration.ofDays(2)))
+                .generation(4L)
+                .build());
+        when(this.restTemplate.getForObject(FEED_URL + "/position", Long.class)).thenReturn(7L);
+        when(this.restTemplate.exchange(startsWith(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL), eq(HttpMethod.GET),
+                isNull(), this.<ParameterizedTypeReference<DtoCollectionResponse<Object>>>anyArg()))
+            .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(product(1, "first")), "1")))
+            .thenThrow(new ResourceAccessException("product-service went away"))
+            .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(product(2, "second")))));
+
+        this.productProjectionSyncService.sync();
+
+        verify(this.productProjectionRepository, never()).deleteAllByGenerationBefore(any());
+        assertThat(stored.get().getSnapshotAfter()).isEqualTo("1");
+        assertThat(stored.get().getGeneration()).isEqualTo(4L);
+
+        this.productProjectionSyncService.sync();
+
+        verify(this.restTemplate, times(1)).getForObject(FEED_URL + "/position", Long.class);
+        verify(this.restTemplate, times(2)).exchange(contains("after=1"), eq(HttpMethod.GET),
+                isNull(), this.<ParameterizedTypeReference<DtoCollectionResponse<Object>>>anyArg());
+        verify(this.productProjectionRepository).deleteAllByGenerationBefore(5L);
+        assertThat(stored.get().getGeneration()).isEqualTo(5L);
+        assertThat(stored.get().getFeedPosition()).isEqualTo(7L);
+    }
+
+    @Test
+    void sync_shouldApplyTheLatestEventPerProductAndAdvanceTheCursor() throws Exception {
+        final ProjectionCursor cursor = ProjectionCursor.builder()
+                .projection(AppConstant.Projection.PRODUCT)
+                .feedPosition(7L)
+                .syncedAt(Instant.now())
+                .generation(1L)
+                .build();
+        when(this.projectionCursorRepository.findByIdForUpdate(AppConstant.Projection.PRODUCT)).thenReturn(Optional.of(cursor));
+        when(this.restTemplate.exchange(startsWith(FEED_URL + "?after=7"), eq(HttpMethod.GET),
+                isNull(), this.<ParameterizedTypeReference<DtoCollectionResponse<Object>>>anyArg()))
+            .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(
+                    event(8L, 1, "UPDATED", product(1, "renamed once")),
+                    event(9L, 1, "UPDATED", product(1, "renamed twice")),
+                    event(10L, 2, "DELETED", null)))));
+
+        this.productProjectionSyncService.sync();
+
+        verify(this.productProjectionRepository).saveAll(this.upserted.capture());
+        assertThat(this.upserted.getValue()).extracting(ProductProjection::getProductTitle).containsExactly("renamed twice");
+        verify(this.productProjectionRepository).deleteAllByIdInBatch(List.of(2));
+        verify(this.productProjectionRepository, never()).deleteAllInBatch();
+        assertThat(cursor.getFeedPosition()).isEqualTo(10L);
+    }
+
+    // typed stand-in for any(ParameterizedTypeReference.class), which leaves the exchange stubs unchecked
+    private <T> T anyArg() {
+        return any();
+    }
+
+    // stands in for the cursor row: what a step saves is what the next step locks and reads
+    private AtomicReference<ProjectionCursor> storedCursor(final ProjectionCursor initial) {
+        final AtomicReference<ProjectionCursor> stored = new AtomicReference<>(initial);
+        when(this.projectionCursorRepository.findByIdForUpdate(AppConstant.Projection.PRODUCT))
+            .thenAnswer(invocation -> Optional.ofNullable(stored.get()));
+        when(this.projectionCursorRepository.save(any(ProjectionCursor.class))).thenAnswer(invocation -> {
+            stored.set(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        return stored;
+    }
+
+    private static ProductDto product(final Integer productId, final String productTitle) {
+        return ProductDto.builder()
+                .productId(productId)
+                .productTitle(productTitle)
+                .priceUnit(9.99)
+                .build();
+    }
+
+    private DomainEventDto event(final Long position, final Integer productId, final String eventType,
+            final ProductDto payload) throws Exception {
+        return DomainEventDto.builder()
+                .position(position)
+                .aggregateType(AppConstant.Projection.PRODUCT)
+                .aggregateId(String.valueOf(productId))
+                .eventType(eventType)
+                .payload((payload == null) ? null : this.objectMapper.writeValueAsString(payload))
+                .occurredAt(Instant.now())
+                .build();
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.selimhorri.app.config.outbox;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+// relay-interval and purge-interval sit under the same prefix but are read by the @Scheduled placeholders
+@ConfigurationProperties(prefix = "app.outbox")
+@Data
+public class OutboxProperties {
+	
+	private int batchSize = 200;
+	// relayed events are kept this long for consumers that replay the feed
+	private Duration retention = Duration.ofDays(7);
+	
+}
@@ -13,6 +13,9 @@ import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
@@ -41,7 +44,11 @@ public final class Order extends AbstractMappedEntity implements Serializable {
 	private static final long serialVersionUID = 1L;
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+	@GenericGenerator(name = "orders_seq", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+			@Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "orders_seq"), 
+			@Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = AppConstant.ID_ALLOCATION_SIZE), 
+			@Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")})
 	@Column(name = "order_id", unique = true, nullable = false, updatable = false)
 	private Integer orderId;
 	
@@ -58,7 +65,7 @@ public final class Order extends AbstractMappedEntity implements Serializable {
 	@Column(name = "order_fee", columnDefinition = "decimal")
 	private Double orderFee;
 	
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "cart_id")
 	private Cart cart;
 	
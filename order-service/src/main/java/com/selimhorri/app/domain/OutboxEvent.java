@@ -0,0 +1,72 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import com.selimhorri.app.constant.AppConstant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Written by the services only; the relay reads and marks rows over plain JDBC and never loads them as entities.
+@Entity
+@Table(name = "outbox")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class OutboxEvent implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	// pooled ids keep event inserts in the same JDBC batches as the entity inserts they describe
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+	@GenericGenerator(name = "outbox_seq", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+			@Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "outbox_seq"), 
+			@Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = AppConstant.ID_ALLOCATION_SIZE), 
+			@Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")})
+	@Column(name = "event_id", unique = true, nullable = false, updatable = false)
+	private Long eventId;
+	
+	@Column(name = "aggregate_type", nullable = false, updatable = false)
+	private String aggregateType;
+	
+	@Column(name = "aggregate_id", nullable = false, updatable = false)
+	private String aggregateId;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name = "event_type", nullable = false, updatable = false)
+	private OutboxEventType eventType;
+	
+	@Lob
+	@Column(name = "payload", updatable = false)
+	private String payload;
+	
+	@Column(name = "created_at", nullable = false, updatable = false)
+	private Instant createdAt;
+	
+	@Column(name = "published_at")
+	private Instant publishedAt;
+	
+	// assigned by the relay as the row is published; the change feed is served in this order
+	@Column(name = "feed_position", insertable = false, updatable = false)
+	private Long feedPosition;
+	
+}
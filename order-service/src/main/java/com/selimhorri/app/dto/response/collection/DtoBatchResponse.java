@@ -0,0 +1,46 @@
+package com.selimhorri.app.dto.response.collection;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class DtoBatchResponse<T> {
+	
+	private Collection<T> collection;
+	private Collection<Integer> missingIds;
+	
+	public static <T> DtoBatchResponse<T> of(final List<Integer> requestedIds, final Collection<T> collection,
+			final Function<T, Integer> idExtractor) {
+		final Set<Integer> foundIds = collection.stream()
+				.map(idExtractor)
+				.collect(Collectors.toUnmodifiableSet());
+		return new DtoBatchResponse<>(collection, requestedIds.stream()
+				.filter(Objects::nonNull)
+				.distinct()
+				.filter(id -> !foundIds.contains(id))
+				.collect(Collectors.toUnmodifiableList()));
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
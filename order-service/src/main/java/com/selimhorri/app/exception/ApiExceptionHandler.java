@@ -3,6 +3,8 @@ package com.selimhorri.app.exception;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
+import javax.validation.ConstraintViolationException;
+
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -13,6 +15,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.selimhorri.app.exception.payload.ExceptionMsg;
 import com.selimhorri.app.exception.wrapper.CartNotFoundException;
+import com.selimhorri.app.exception.wrapper.InvalidCursorException;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
 
 import lombok.RequiredArgsConstructor;
@@ -45,6 +48,8 @@ public class ApiExceptionHandler {
 		CartNotFoundException.class,
 		OrderNotFoundException.class,
 		IllegalStateException.class,
+		InvalidCursorException.class,
+		ConstraintViolationException.class,
 	})
 	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleApiRequestException(final T e) {
 		
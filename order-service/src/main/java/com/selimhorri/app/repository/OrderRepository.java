@@ -1,11 +1,44 @@
 package com.selimhorri.app.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Order;
 
 public interface OrderRepository extends JpaRepository<Order, Integer> {
 	
+	@Query("SELECT o FROM Order o LEFT JOIN FETCH o.cart")
+	List<Order> findAllWithCart();
+	
+	@Query("SELECT o FROM Order o LEFT JOIN FETCH o.cart WHERE o.orderId = :orderId")
+	Optional<Order> findByIdWithCart(@Param("orderId") final Integer orderId);
+	
+	@Query("SELECT o FROM Order o LEFT JOIN FETCH o.cart WHERE o.orderId IN :orderIds")
+	List<Order> findAllByIdWithCart(@Param("orderIds") final Collection<Integer> orderIds);
+	
+	@EntityGraph(attributePaths = "cart")
+	Slice<Order> findByOrderIdGreaterThanOrderByOrderIdAsc(final Integer orderId, final Pageable pageable);
 	
+	@QueryHints({
+		@QueryHint(name = HINT_FETCH_SIZE, value = AppConstant.EXPORT_FETCH_SIZE), 
+		@QueryHint(name = HINT_READONLY, value = "true")})
+	@Query("SELECT o FROM Order o LEFT JOIN FETCH o.cart")
+	Stream<Order> streamAll();
 	
 }
@@ -4,6 +4,7 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +13,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.KeysetPageHelper;
 import com.selimhorri.app.service.CartService;
 
 import lombok.RequiredArgsConstructor;
@@ -30,9 +33,15 @@ public class CartResource {
 	private final CartService cartService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<CartDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<CartDto>> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			@RequestParam(value = "limit", required = false) final Integer limit) {
 		log.info("*** CartDto List, controller; fetch all categories *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartService.findAll()));
+		if (after == null && limit == null)
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartService.findAll()));
+		final Slice<CartDto> cartDtos = this.cartService.findAll(
+				(after == null) ? null : KeysetPageHelper.intCursor(after), KeysetPageHelper.pageable(limit));
+		return ResponseEntity.ok(DtoCollectionResponse.of(cartDtos, d -> String.valueOf(d.getCartId())));
 	}
 	
 	@GetMapping("/{cartId}")
@@ -0,0 +1,57 @@
+package com.selimhorri.app.resource;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.event.DomainEvent;
+import com.selimhorri.app.helper.KeysetPageHelper;
+import com.selimhorri.app.service.OutboxService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// change feed over the published outbox, read by services keeping local projections of this one's data
+@RestController
+@RequestMapping("/api/events")
+@Slf4j
+@RequiredArgsConstructor
+public class DomainEventResource {
+	
+	private final OutboxService outboxService;
+	
+	@GetMapping
+	public ResponseEntity<DtoCollectionResponse<DomainEvent>> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			@RequestParam(value = "aggregateType", required = false) final List<String> aggregateTypes, 
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		log.info("*** DomainEvent List, controller; fetch published events after position *");
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.outboxService.findAllPublishedAfter(
+				(after == null) ? 0L : KeysetPageHelper.longCursor(after), aggregateTypes, KeysetPageHelper.pageable(limit)), 
+				e -> String.valueOf(e.getPosition())));
+	}
+	
+	@GetMapping("/position")
+	public ResponseEntity<Long> findLatestPosition() {
+		log.info("*** Long, controller; fetch latest published event position *");
+		return ResponseEntity.ok(this.outboxService.findLatestPosition());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
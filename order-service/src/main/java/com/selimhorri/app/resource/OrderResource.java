@@ -1,10 +1,18 @@
 package com.selimhorri.app.resource;
 
+import java.util.Arrays;
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,27 +20,51 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.collection.DtoBatchResponse;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.KeysetPageHelper;
+import com.selimhorri.app.helper.NdjsonHelper;
 import com.selimhorri.app.service.OrderService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @RestController
+@Validated
 @RequestMapping("/api/orders")
 @Slf4j
 @RequiredArgsConstructor
 public class OrderResource {
 	
 	private final OrderService orderService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			@RequestParam(value = "limit", required = false) final Integer limit) {
 		log.info("*** OrderDto List, controller; fetch all orders *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAll()));
+		if (after == null && limit == null)
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAll()));
+		final Slice<OrderDto> orderDtos = this.orderService.findAll(
+				(after == null) ? null : KeysetPageHelper.intCursor(after), KeysetPageHelper.pageable(limit));
+		return ResponseEntity.ok(DtoCollectionResponse.of(orderDtos, d -> String.valueOf(d.getOrderId())));
+	}
+	
+	@GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> exportAll() {
+		log.info("*** OrderDto Stream, resource; export all orders *");
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(outputStream -> this.orderService.exportAll(NdjsonHelper
+						.lineWriter(this.objectMapper.writerFor(OrderDto.class), outputStream)));
 	}
 	
 	@GetMapping("/{orderId}")
@@ -44,6 +76,23 @@ public class OrderResource {
 		return ResponseEntity.ok(this.orderService.findById(Integer.parseInt(orderId)));
 	}
 	
+	@GetMapping("/batch")
+	public ResponseEntity<DtoBatchResponse<OrderDto>> findAllByIds(
+			@RequestParam("ids") 
+			@NotNull(message = "Input must not be NULL") 
+			@Size(max = AppConstant.MAX_BATCH_SIZE, message = "Input must not exceed " + AppConstant.MAX_BATCH_SIZE + " ids") final List<Integer> orderIds) {
+		log.info("*** OrderDto List, resource; fetch orders by ids *");
+		return ResponseEntity.ok(DtoBatchResponse.of(orderIds, this.orderService.findAllByIds(orderIds), OrderDto::getOrderId));
+	}
+	
+	@PostMapping("/batch")
+	public ResponseEntity<DtoBatchResponse<OrderDto>> findAllByIds(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Size(max = AppConstant.MAX_BATCH_SIZE, message = "Input must not exceed " + AppConstant.MAX_BATCH_SIZE + " ids") final Integer[] orderIds) {
+		return this.findAllByIds(Arrays.asList(orderIds));
+	}
+	
 	@PostMapping
 	public ResponseEntity<OrderDto> save(
 			@RequestBody 
@@ -53,6 +102,16 @@ public class OrderResource {
 		return ResponseEntity.ok(this.orderService.save(orderDto));
 	}
 	
+	@PostMapping("/bulk")
+	public ResponseEntity<DtoCollectionResponse<OrderDto>> saveAll(
+			@RequestBody 
+			@NotEmpty(message = "Input must not be empty") 
+			@Size(max = AppConstant.MAX_BULK_SIZE, message = "Input must not exceed " + AppConstant.MAX_BULK_SIZE + " rows") 
+			@Valid final List<OrderDto> orderDtos) {
+		log.info("*** OrderDto List, resource; save orders in bulk *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.saveAll(orderDtos)));
+	}
+	
 	@PutMapping
 	public ResponseEntity<OrderDto> update(
 			@RequestBody 
@@ -1,14 +1,22 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.selimhorri.app.dto.OrderDto;
 
 public interface OrderService {
 	
 	List<OrderDto> findAll();
+	Slice<OrderDto> findAll(final Integer after, final Pageable pageable);
+	void exportAll(final Consumer<OrderDto> consumer);
 	OrderDto findById(final Integer orderId);
+	List<OrderDto> findAllByIds(final List<Integer> orderIds);
 	OrderDto save(final OrderDto orderDto);
+	List<OrderDto> saveAll(final List<OrderDto> orderDtos);
 	OrderDto update(final OrderDto orderDto);
 	OrderDto update(final Integer orderId, final OrderDto orderDto);
 	void deleteById(final Integer orderId);
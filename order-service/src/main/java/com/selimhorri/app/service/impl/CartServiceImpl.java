@@ -1,20 +1,32 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.config.deadline.DeadlineGuard;
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OutboxEventType;
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoBatchResponse;
 import com.selimhorri.app.exception.wrapper.CartNotFoundException;
 import com.selimhorri.app.helper.CartMappingHelper;
 import com.selimhorri.app.repository.CartRepository;
 import com.selimhorri.app.service.CartService;
+import com.selimhorri.app.service.OutboxService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,30 +39,39 @@ public class CartServiceImpl implements CartService {
 	
 	private final CartRepository cartRepository;
 	private final RestTemplate restTemplate;
+	private final OutboxService outboxService;
+	private final DeadlineGuard deadlineGuard;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<CartDto> findAll() {
 		log.info("*** CartDto List, service; fetch all carts *");
-		return this.cartRepository.findAll()
+		return this.enrich(this.cartRepository.findAll()
 				.stream()
 					.map(CartMappingHelper::map)
-					.map(c -> {
-						c.setUserDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.USER_SERVICE_API_URL + "/" + c.getUserDto().getUserId(), UserDto.class));
-						return c;
-					})
 					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList()));
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
+	public Slice<CartDto> findAll(final Integer after, final Pageable pageable) {
+		log.info("*** CartDto Slice, service; fetch carts after cursor *");
+		final Slice<CartDto> cartDtos = this.cartRepository
+				.findByCartIdGreaterThanOrderByCartIdAsc((after == null) ? Integer.MIN_VALUE : after, pageable)
+				.map(CartMappingHelper::map);
+		this.enrich(cartDtos.getContent());
+		return cartDtos;
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
 	public CartDto findById(final Integer cartId) {
 		log.info("*** CartDto, service; fetch cart by id *");
 		return this.cartRepository.findById(cartId)
 				.map(CartMappingHelper::map)
 				.map(c -> {
-					c.setUserDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.USER_SERVICE_API_URL + "/" + c.getUserDto().getUserId(), UserDto.class));
+					c.setUserDto(this.findUser(c.getUserDto()));
 					return c;
 				})
 				.orElseThrow(() -> new CartNotFoundException(String
@@ -60,28 +81,84 @@ public class CartServiceImpl implements CartService {
 	@Override
 	public CartDto save(final CartDto cartDto) {
 		log.info("*** CartDto, service; save cart *");
-		return CartMappingHelper.map(this.cartRepository
+		final CartDto savedCartDto = CartMappingHelper.map(this.cartRepository
 				.save(CartMappingHelper.map(cartDto)));
+		this.outboxService.record(AppConstant.Outbox.CART, savedCartDto.getCartId(), 
+				OutboxEventType.CREATED, savedCartDto);
+		return savedCartDto;
 	}
 	
 	@Override
 	public CartDto update(final CartDto cartDto) {
 		log.info("*** CartDto, service; update cart *");
-		return CartMappingHelper.map(this.cartRepository
+		final CartDto updatedCartDto = CartMappingHelper.map(this.cartRepository
 				.save(CartMappingHelper.map(cartDto)));
+		this.outboxService.record(AppConstant.Outbox.CART, updatedCartDto.getCartId(), 
+				OutboxEventType.UPDATED, updatedCartDto);
+		return updatedCartDto;
 	}
 	
 	@Override
 	public CartDto update(final Integer cartId, final CartDto cartDto) {
 		log.info("*** CartDto, service; update cart with cartId *");
-		return CartMappingHelper.map(this.cartRepository
+		final CartDto updatedCartDto = CartMappingHelper.map(this.cartRepository
 				.save(CartMappingHelper.map(this.findById(cartId))));
+		this.outboxService.record(AppConstant.Outbox.CART, updatedCartDto.getCartId(), 
+				OutboxEventType.UPDATED, updatedCartDto);
+		return updatedCartDto;
 	}
 	
 	@Override
 	public void deleteById(final Integer cartId) {
 		log.info("*** Void, service; delete cart by id *");
 		this.cartRepository.deleteById(cartId);
+		this.outboxService.record(AppConstant.Outbox.CART, cartId, OutboxEventType.DELETED, null);
+	}
+	
+	private List<CartDto> enrich(final List<CartDto> cartDtos) {
+		if (this.deadlineGuard.isExceeded(DeadlineGuard.ENRICHMENT))
+			return cartDtos;
+		final Map<Integer, UserDto> userDtos = this.findUsersByIds(cartDtos.stream()
+				.map(CartDto::getUserId)
+				.filter(Objects::nonNull)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList()));
+		cartDtos.forEach(c -> c.setUserDto(userDtos.getOrDefault(c.getUserId(), c.getUserDto())));
+		return cartDtos;
+	}
+	
+	// when user-service cannot answer, or the caller has stopped waiting for it, 
+	// carts keep the id-only user they were mapped with
+	private UserDto findUser(final UserDto userDto) {
+		if (this.deadlineGuard.isExceeded(DeadlineGuard.ENRICHMENT))
+			return userDto;
+		try {
+			return this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+					.USER_SERVICE_API_URL + "/" + userDto.getUserId(), UserDto.class);
+		}
+		catch (RestClientException e) {
+			log.warn("*** UserDto, service; user unavailable, keeping id only: {} *", e.getMessage());
+			return userDto;
+		}
+	}
+	
+	private Map<Integer, UserDto> findUsersByIds(final List<Integer> userIds) {
+		final Map<Integer, UserDto> userDtos = new HashMap<>();
+		for (int from = 0; from < userIds.size(); from += AppConstant.BATCH_LOOKUP_CHUNK_SIZE) {
+			final List<Integer> chunk = userIds.subList(from, Math.min(userIds.size(), from + AppConstant.BATCH_LOOKUP_CHUNK_SIZE));
+			try {
+				this.restTemplate.exchange(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/batch", 
+							HttpMethod.POST, new HttpEntity<>(chunk), 
+							new ParameterizedTypeReference<DtoBatchResponse<UserDto>>() {})
+						.getBody()
+						.getCollection()
+						.forEach(userDto -> userDtos.put(userDto.getUserId(), userDto));
+			}
+			catch (RestClientException e) {
+				log.warn("*** UserDto Map, service; users unavailable, keeping ids only: {} *", e.getMessage());
+			}
+		}
+		return userDtos;
 	}
 	
 	
@@ -1,17 +1,31 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import javax.transaction.Transactional;
+import javax.persistence.EntityManager;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.domain.OutboxEventType;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
 import com.selimhorri.app.helper.OrderMappingHelper;
 import com.selimhorri.app.repository.OrderRepository;
 import com.selimhorri.app.service.OrderService;
+import com.selimhorri.app.service.OutboxService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,11 +37,14 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderServiceImpl implements OrderService {
 	
 	private final OrderRepository orderRepository;
+	private final EntityManager entityManager;
+	private final OutboxService outboxService;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<OrderDto> findAll() {
 		log.info("*** OrderDto List, service; fetch all orders *");
-		return this.orderRepository.findAll()
+		return this.orderRepository.findAllWithCart()
 				.stream()
 					.map(OrderMappingHelper::map)
 					.distinct()
@@ -35,39 +52,112 @@ public class OrderServiceImpl implements OrderService {
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
+	public Slice<OrderDto> findAll(final Integer after, final Pageable pageable) {
+		log.info("*** OrderDto Slice, service; fetch orders after cursor *");
+		return this.orderRepository.findByOrderIdGreaterThanOrderByOrderIdAsc((after == null) ? Integer.MIN_VALUE : after, pageable)
+				.map(OrderMappingHelper::map);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public void exportAll(final Consumer<OrderDto> consumer) {
+		log.info("*** Void, service; export all orders *");
+		try (final Stream<Order> orders = this.orderRepository.streamAll()) {
+			final Iterator<Order> iterator = orders.iterator();
+			for (int i = 1; iterator.hasNext(); i++) {
+				final Order order = iterator.next();
+				consumer.accept(OrderMappingHelper.map(order));
+				this.entityManager.detach(order);
+				if (i % AppConstant.EXPORT_CLEAR_INTERVAL == 0)
+					this.entityManager.clear();
+			}
+		}
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
 	public OrderDto findById(final Integer orderId) {
 		log.info("*** OrderDto, service; fetch order by id *");
-		return this.orderRepository.findById(orderId)
+		return this.orderRepository.findByIdWithCart(orderId)
 				.map(OrderMappingHelper::map)
 				.orElseThrow(() -> new OrderNotFoundException(String
 						.format("Order with id: %d not found", orderId)));
 	}
 	
+	@Override
+	@Transactional(readOnly = true)
+	public List<OrderDto> findAllByIds(final List<Integer> orderIds) {
+		log.info("*** OrderDto List, service; fetch orders by ids *");
+		final Map<Integer, OrderDto> orderDtos = this.orderRepository.findAllByIdWithCart(orderIds.stream()
+					.filter(Objects::nonNull)
+					.collect(Collectors.toUnmodifiableSet()))
+				.stream()
+					.map(OrderMappingHelper::map)
+					.collect(Collectors.toMap(OrderDto::getOrderId, Function.identity()));
+		return orderIds.stream()
+				.filter(Objects::nonNull)
+				.distinct()
+				.filter(orderDtos::containsKey)
+				.map(orderDtos::get)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public OrderDto save(final OrderDto orderDto) {
 		log.info("*** OrderDto, service; save order *");
-		return OrderMappingHelper.map(this.orderRepository
+		final OrderDto savedOrderDto = OrderMappingHelper.map(this.orderRepository
 				.save(OrderMappingHelper.map(orderDto)));
+		this.outboxService.record(AppConstant.Outbox.ORDER, savedOrderDto.getOrderId(), 
+				OutboxEventType.CREATED, savedOrderDto);
+		return savedOrderDto;
+	}
+	
+	@Override
+	public List<OrderDto> saveAll(final List<OrderDto> orderDtos) {
+		log.info("*** OrderDto List, service; save orders in bulk *");
+		final List<OrderDto> savedOrderDtos = new ArrayList<>(orderDtos.size());
+		for (int from = 0; from < orderDtos.size(); from += AppConstant.BULK_CHUNK_SIZE) {
+			final List<Order> orders = orderDtos.subList(from, Math.min(from + AppConstant.BULK_CHUNK_SIZE, orderDtos.size()))
+					.stream()
+						.map(OrderMappingHelper::map)
+						.collect(Collectors.toUnmodifiableList());
+			// persist rather than save(): no merge SELECT per row, inserts go out as JDBC batches on flush
+			orders.forEach(this.entityManager::persist);
+			orders.forEach(order -> this.outboxService.record(AppConstant.Outbox.ORDER, order.getOrderId(), 
+					OutboxEventType.CREATED, OrderMappingHelper.map(order)));
+			this.entityManager.flush();
+			orders.forEach(order -> savedOrderDtos.add(OrderMappingHelper.map(order)));
+			this.entityManager.clear();
+		}
+		return savedOrderDtos;
 	}
 	
 	@Override
 	public OrderDto update(final OrderDto orderDto) {
 		log.info("*** OrderDto, service; update order *");
-		return OrderMappingHelper.map(this.orderRepository
+		final OrderDto updatedOrderDto = OrderMappingHelper.map(this.orderRepository
 				.save(OrderMappingHelper.map(orderDto)));
+		this.outboxService.record(AppConstant.Outbox.ORDER, updatedOrderDto.getOrderId(), 
+				OutboxEventType.UPDATED, updatedOrderDto);
+		return updatedOrderDto;
 	}
 	
 	@Override
 	public OrderDto update(final Integer orderId, final OrderDto orderDto) {
 		log.info("*** OrderDto, service; update order with orderId *");
-		return OrderMappingHelper.map(this.orderRepository
+		final OrderDto updatedOrderDto = OrderMappingHelper.map(this.orderRepository
 				.save(OrderMappingHelper.map(this.findById(orderId))));
+		this.outboxService.record(AppConstant.Outbox.ORDER, updatedOrderDto.getOrderId(), 
+				OutboxEventType.UPDATED, updatedOrderDto);
+		return updatedOrderDto;
 	}
 	
 	@Override
 	public void deleteById(final Integer orderId) {
 		log.info("*** Void, service; delete order by id *");
 		this.orderRepository.delete(OrderMappingHelper.map(this.findById(orderId)));
+		this.outboxService.record(AppConstant.Outbox.ORDER, orderId, OutboxEventType.DELETED, null);
 	}
 	
 	
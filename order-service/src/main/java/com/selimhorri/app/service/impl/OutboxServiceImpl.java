@@ -0,0 +1,189 @@
+package com.selimhorri.app.service.impl;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.config.outbox.OutboxProperties;
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.domain.OutboxEventType;
+import com.selimhorri.app.event.DomainEvent;
+import com.selimhorri.app.event.DomainEventBus;
+import com.selimhorri.app.repository.OutboxEventRepository;
+import com.selimhorri.app.service.OutboxService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class OutboxServiceImpl implements OutboxService {
+	
+	// the relay works on raw rows: it stays out of the persistence context, the second-level cache and session statistics
+	private static final String SELECT_PENDING = "SELECT feed_position, event_id, aggregate_type, aggregate_id, event_type, payload, created_at "
+			+ "FROM outbox WHERE published_at IS NULL ORDER BY event_id LIMIT :limit FOR UPDATE";
+	// one statement per row in event id order, so positions within a batch follow the event ids
+	private static final String MARK_PUBLISHED = "UPDATE outbox SET published_at = :publishedAt, "
+			+ "feed_position = NEXT VALUE FOR outbox_feed_position_seq WHERE event_id = :eventId";
+	private static final String SELECT_FEED = "SELECT feed_position, event_id, aggregate_type, aggregate_id, event_type, payload, created_at "
+			+ "FROM outbox WHERE feed_position > :position ORDER BY feed_position LIMIT :limit";
+	private static final String SELECT_FEED_BY_TYPES = "SELECT feed_position, event_id, aggregate_type, aggregate_id, event_type, payload, created_at "
+			+ "FROM outbox WHERE feed_position > :position AND aggregate_type IN (:aggregateTypes) ORDER BY feed_position LIMIT :limit";
+	private static final String SELECT_LATEST_POSITION = "SELECT COALESCE(MAX(feed_position), 0) FROM outbox";
+	private static final String DELETE_PUBLISHED = "DELETE FROM outbox WHERE published_at < :publishedBefore";
+	
+	private final OutboxEventRepository outboxEventRepository;
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final DomainEventBus domainEventBus;
+	private final ObjectMapper objectMapper;
+	private final OutboxProperties outboxProperties;
+	private final Timer relayLag;
+	private final DistributionSummary relayBatchSize;
+	private final Counter relayFailures;
+	
+	public OutboxServiceImpl(final OutboxEventRepository outboxEventRepository, final NamedParameterJdbcTemplate jdbcTemplate,
+			final TransactionTemplate transactionTemplate, final DomainEventBus domainEventBus, final ObjectMapper objectMapper,
+			final OutboxProperties outboxProperties, final MeterRegistry meterRegistry) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.domainEventBus = domainEventBus;
+		this.objectMapper = objectMapper;
+		this.outboxProperties = outboxProperties;
+		this.relayLag = Timer.builder("outbox.relay.lag")
+				.description("Time from an outbox event being recorded to its batch being published")
+				.register(meterRegistry);
+		this.relayBatchSize = DistributionSummary.builder("outbox.relay.batch.size")
+				.description("Events published per relay batch")
+				.register(meterRegistry);
+		this.relayFailures = Counter.builder("outbox.relay.failures")
+				.description("Relay batches rolled back and left for the next run")
+				.register(meterRegistry);
+	}
+	
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void record(final String aggregateType, final Object aggregateId, 
+			final OutboxEventType eventType, final Object payload) {
+		// updates and deletes take the aggregate's row lock before the event draws its id, so one aggregate's
+		// events are numbered in commit order; inserts have no earlier writer to race
+		if (eventType != OutboxEventType.CREATED)
+			this.outboxEventRepository.flush();
+		this.outboxEventRepository.save(OutboxEvent.builder()
+				.aggregateType(aggregateType)
+				.aggregateId(String.valueOf(aggregateId))
+				.eventType(eventType)
+				.payload((payload == null) ? null : this.serialize(payload))
+				.createdAt(Instant.now())
+				.build());
+	}
+	
+	@Override
+	@Scheduled(fixedDelayString = "${app.outbox.relay-interval}")
+	public void relay() {
+		Integer relayed;
+		do {
+			try {
+				relayed = this.transactionTemplate.execute(status -> this.relayBatch());
+			}
+			catch (final RuntimeException e) {
+				log.warn("*** Void, service; outbox relay batch failed, retrying on next run *", e);
+				this.relayFailures.increment();
+				return;
+			}
+		}
+		while (relayed == this.outboxProperties.getBatchSize());
+	}
+	
+	@Override
+	@Scheduled(fixedDelayString = "${app.outbox.purge-interval}")
+	public void purge() {
+		log.info("*** Void, service; purge relayed outbox events *");
+		this.transactionTemplate.executeWithoutResult(status -> this.jdbcTemplate.update(DELETE_PUBLISHED, 
+				Map.of("publishedBefore", Timestamp.from(Instant.now().minus(this.outboxProperties.getRetention())))));
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Slice<DomainEvent> findAllPublishedAfter(final long position, final List<String> aggregateTypes, final Pageable pageable) {
+		log.info("*** DomainEvent Slice, service; fetch published events after position *");
+		final var params = new MapSqlParameterSource()
+				.addValue("position", position)
+				.addValue("limit", pageable.getPageSize() + 1);
+		final List<DomainEvent> domainEvents = (aggregateTypes == null || aggregateTypes.isEmpty()) ? 
+				this.jdbcTemplate.query(SELECT_FEED, params, OutboxServiceImpl::mapRow) 
+				: this.jdbcTemplate.query(SELECT_FEED_BY_TYPES, params.addValue("aggregateTypes", aggregateTypes), OutboxServiceImpl::mapRow);
+		final boolean hasNext = domainEvents.size() > pageable.getPageSize();
+		return new SliceImpl<>(hasNext ? domainEvents.subList(0, pageable.getPageSize()) : domainEvents, pageable, hasNext);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public long findLatestPosition() {
+		log.info("*** Long, service; fetch latest published event position *");
+		return this.jdbcTemplate.queryForObject(SELECT_LATEST_POSITION, Map.of(), Long.class);
+	}
+	
+	// pending rows stay locked until the batch is marked, so concurrent relays never publish the same batch twice
+	// and draw feed positions one batch after another: the feed never commits a position below one already visible
+	private int relayBatch() {
+		final List<DomainEvent> domainEvents = this.jdbcTemplate.query(SELECT_PENDING, 
+				Map.of("limit", this.outboxProperties.getBatchSize()), OutboxServiceImpl::mapRow);
+		if (domainEvents.isEmpty())
+			return 0;
+		this.domainEventBus.publish(domainEvents);
+		final Instant publishedAt = Instant.now();
+		this.jdbcTemplate.batchUpdate(MARK_PUBLISHED, domainEvents.stream()
+				.map(domainEvent -> new MapSqlParameterSource()
+						.addValue("publishedAt", Timestamp.from(publishedAt))
+						.addValue("eventId", domainEvent.getEventId()))
+				.toArray(SqlParameterSource[]::new));
+		domainEvents.forEach(domainEvent -> this.relayLag.record(Duration.between(domainEvent.getOccurredAt(), publishedAt)));
+		this.relayBatchSize.record(domainEvents.size());
+		return domainEvents.size();
+	}
+	
+	private String serialize(final Object payload) {
+		try {
+			return this.objectMapper.writeValueAsString(payload);
+		}
+		catch (final JsonProcessingException e) {
+			throw new IllegalStateException("Outbox payload is not serializable", e);
+		}
+	}
+	
+	private static DomainEvent mapRow(final ResultSet resultSet, final int rowNum) throws SQLException {
+		return DomainEvent.builder()
+				.position(resultSet.getObject("feed_position", Long.class))
+				.eventId(resultSet.getLong("event_id"))
+				.aggregateType(resultSet.getString("aggregate_type"))
+				.aggregateId(resultSet.getString("aggregate_id"))
+				.eventType(OutboxEventType.valueOf(resultSet.getString("event_type")))
+				.payload(resultSet.getString("payload"))
+				.occurredAt(resultSet.getTimestamp("created_at").toInstant())
+				.build();
+	}
+	
+}
@@ -0,0 +1,6 @@
+
+CREATE SEQUENCE orders_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE orders_seq RESTART WITH (SELECT COALESCE(MAX(order_id), 0) + 1 FROM orders);
+ALTER TABLE orders ALTER COLUMN order_id SET DEFAULT NEXT VALUE FOR orders_seq;
+
+
@@ -0,0 +1,15 @@
+
+CREATE TABLE outbox (
+	event_id BIGINT NOT NULL PRIMARY KEY,
+	aggregate_type VARCHAR(64) NOT NULL,
+	aggregate_id VARCHAR(64) NOT NULL,
+	event_type VARCHAR(16) NOT NULL,
+	payload CLOB,
+	created_at TIMESTAMP NOT NULL,
+	published_at TIMESTAMP
+);
+
+CREATE INDEX idx_outbox_published_at ON outbox (published_at, event_id);
+
+CREATE SEQUENCE outbox_seq START WITH 1 INCREMENT BY 50;
+
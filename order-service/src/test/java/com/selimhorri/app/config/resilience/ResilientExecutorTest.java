@@ -0,0 +1,164 @@
+package com.selimhorri.app.config.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.selimhorri.app.config.deadline.Deadline;
+import com.selimhorri.app.config.deadline.DeadlineGuard;
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ResilientExecutorTest {
+
+    private static final String USER_SERVICE = "USER-SERVICE";
+
+    private ExecutorService executorService;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private BulkheadRegistry bulkheadRegistry;
+    private SimpleMeterRegistry meterRegistry;
+    private ResilientExecutor resilientExecutor;
+
+    @BeforeEach
+    void setUp() {
+        this.executorService = Executors.newCachedThreadPool();
+        this.circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .build());
+        this.bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.resilientExecutor = new ResilientExecutor(this.circuitBreakerRegistry, this.bulkheadRegistry,
+                TimeLimiterRegistry.of(TimeLimiterConfig.custom().timeoutDuration(Duration.ofMillis(200)).build()),
+                this.executorService, this.meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.executorService.shutdownNow();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void execute_shouldOpenTheBreakerOnFailedResultsAndThenRejectWithoutCalling() throws Exception {
+        for (int i = 0; i < 4; i++)
+            this.resilientExecutor.execute(USER_SERVICE, () -> 503, status -> status >= 500);
+
+        assertThat(this.circuitBreakerRegistry.circuitBreaker(USER_SERVICE).getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> this.resilientExecutor.execute(USER_SERVICE, () -> {
+            throw new IOException("must not be called");
+        }, status -> false)).isInstanceOf(CallNotPermittedException.class);
+    }
+
+    @Test
+    void execute_shouldGiveUpAfterTheTimeLimitButHoldTheBulkheadUntilTheCallEnds() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        // like a blocking socket read, the call ignores the interrupt sent when the time limiter gives up
+        assertThatThrownBy(() -> this.resilientExecutor.execute(USER_SERVICE, () -> {
+            while (release.getCount() > 0)
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            return 200;
+        }, status -> false)).isInstanceOf(TimeoutException.class);
+        assertThat(this.meterRegistry.get("remote.bulkhead.saturation").tag("name", USER_SERVICE).gauge().value()).isEqualTo(1.0);
+        assertThatThrownBy(() -> this.resilientExecutor.execute(USER_SERVICE, () -> 200, status -> false))
+                .isInstanceOf(BulkheadFullException.class);
+
+        release.countDown();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (this.bulkheadRegistry.bulkhead(USER_SERVICE).getMetrics().getAvailableConcurrentCalls() == 0
+                && System.nanoTime() < deadline)
+            Thread.sleep(10);
+        assertThat(this.resilientExecutor.execute(USER_SERVICE, () -> 200, status -> false)).isEqualTo(200);
+    }
+
+    @Test
+    void execute_shouldGiveUpAtTheCallersDeadlineWithoutCountingAgainstTheDownstream() {
+        final var request = new MockHttpServletRequest();
+        request.setAttribute(Deadline.ATTRIBUTE, Deadline.after(Duration.ofMillis(50)));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        final long start = System.nanoTime();
+        assertThatThrownBy(() -> this.resilientExecutor.execute(USER_SERVICE, () -> {
+            Thread.sleep(1_000);
+            return 200;
+        }, status -> false)).isInstanceOf(TimeoutException.class);
+
+        // well under the 200ms time limit, and the breaker saw neither a failure nor a success
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(200));
+        assertThat(this.circuitBreakerRegistry.circuitBreaker(USER_SERVICE).getMetrics().getNumberOfBufferedCalls()).isZero();
+        assertThat(this.meterRegistry.get(DeadlineGuard.METRIC).tag("stage", DeadlineGuard.OUTBOUND)
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void execute_shouldReleaseTheConnectionOfAResponseArrivingAfterTheCallerGaveUp() throws Exception {
+        // answers after the 200ms time limit but well within the socket timeout
+        final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(400));
+            final byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        final var connectionManager = new PoolingHttpClientConnectionManager();
+        try {
+            final var restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(
+                    HttpClients.custom().setConnectionManager(connectionManager).build()));
+            restTemplate.getInterceptors().add(new ResilienceInterceptor(this.resilientExecutor));
+
+            assertThatThrownBy(() -> restTemplate.getForObject("http://localhost:" + server.getAddress().getPort() + "/", String.class))
+                    .isInstanceOf(ResourceAccessException.class);
+
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (connectionManager.getTotalStats().getLeased() > 0 && System.nanoTime() < deadline)
+                Thread.sleep(10);
+            assertThat(connectionManager.getTotalStats().getLeased()).isZero();
+        }
+        finally {
+            connectionManager.shutdown();
+            server.stop(0);
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.domain.Cart;
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.repository.CartRepository;
+import com.selimhorri.app.repository.OrderRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+@ActiveProfiles("test")
+class OrderServiceQueryCountTest {
+
+    private static final int CART_COUNT = 20;
+    private static final int ORDER_COUNT = 100;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        List<Cart> carts = cartRepository.saveAll(IntStream.range(0, CART_COUNT)
+                .mapToObj(i -> Cart.builder().userId(i + 1).build())
+                .collect(Collectors.toList()));
+        orderRepository.saveAll(IntStream.range(0, ORDER_COUNT)
+                .mapToObj(i -> Order.builder()
+                        .orderDate(LocalDateTime.now())
+                        .orderDesc("order-" + i)
+                        .orderFee(10.0)
+                        .cart(carts.get(i % CART_COUNT))
+                        .build())
+                .collect(Collectors.toList()));
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAll_shouldLoadOrdersAndCartsWithOneStatement() {
+        List<OrderDto> orders = orderService.findAll();
+
+        assertThat(orders.size()).isGreaterThanOrEqualTo(ORDER_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findAllAfterCursor_shouldLoadPageWithOneStatement() {
+        assertThat(orderService.findAll(null, PageRequest.of(0, 25)).getContent()).hasSize(25);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.selimhorri.app.config.datasource;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.selimhorri.app.config.datasource.ReadWriteRoutingDataSource.Route;
+import com.zaxxer.hikari.HikariDataSource;
+
+@Configuration
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class DataSourceRoutingConfig {
+	
+	public static final String PRIMARY_POOL_NAME = "primary";
+	public static final String REPLICA_POOL_NAME = "replica";
+	
+	@Bean
+	@ConfigurationProperties(prefix = "spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(final DataSourceProperties properties) {
+		final HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+				.type(HikariDataSource.class)
+				.build();
+		dataSource.setPoolName(PRIMARY_POOL_NAME);
+		return dataSource;
+	}
+	
+	@Bean
+	@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+	@ConfigurationProperties(prefix = "app.datasource.replica.hikari")
+	public HikariDataSource replicaDataSource(final ReplicaDataSourceProperties properties) {
+		final HikariDataSource dataSource = DataSourceBuilder.create()
+				.type(HikariDataSource.class)
+				.url(properties.getUrl())
+				.username(properties.getUsername())
+				.password(properties.getPassword())
+				.build();
+		dataSource.setPoolName(REPLICA_POOL_NAME);
+		dataSource.setReadOnly(true);
+		return dataSource;
+	}
+	
+	// also what Flyway migrates through: outside a transaction it resolves to the primary
+	@Bean
+	@Primary
+	public DataSource dataSource(@Qualifier("primaryDataSource") final DataSource primaryDataSource,
+			@Qualifier("replicaDataSource") final ObjectProvider<DataSource> replicaDataSource) {
+		final var routingDataSource = new ReadWriteRoutingDataSource();
+		routingDataSource.setTargetDataSources(Map.of(
+				Route.PRIMARY, primaryDataSource,
+				Route.REPLICA, replicaDataSource.getIfAvailable(() -> primaryDataSource)));
+		routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+		routingDataSource.afterPropertiesSet();
+		return new LazyConnectionDataSourceProxy(routingDataSource);
+	}
+	
+}
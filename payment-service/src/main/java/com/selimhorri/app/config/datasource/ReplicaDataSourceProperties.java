@@ -0,0 +1,16 @@
+package com.selimhorri.app.config.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+// pool tuning lives under app.datasource.replica.hikari; without a url every transaction stays on the primary
+@ConfigurationProperties(prefix = "app.datasource.replica")
+@Data
+public class ReplicaDataSourceProperties {
+	
+	private String url;
+	private String username;
+	private String password;
+	
+}
@@ -0,0 +1,29 @@
+package com.selimhorri.app.config.outbox;
+
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.selimhorri.app.event.DomainEventBus;
+import com.selimhorri.app.event.DomainEventSubscriber;
+import com.selimhorri.app.event.InProcessDomainEventBus;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+	
+	// a broker-backed DomainEventBus bean replaces the in-process one without touching the relay
+	@Bean
+	@ConditionalOnMissingBean(DomainEventBus.class)
+	public InProcessDomainEventBus domainEventBus(final ObjectProvider<DomainEventSubscriber> subscribers) {
+		return new InProcessDomainEventBus(subscribers.orderedStream()
+				.collect(Collectors.toList()));
+	}
+	
+}
@@ -0,0 +1,68 @@
+package com.selimhorri.app.config.resilience;
+
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Guards every call of the load-balanced RestTemplate with the resilience instances of the target
+ * service. Registered ahead of the load-balancer interceptor, so the URI host is still the logical
+ * service id. Rejections and time-outs surface as {@link ResourceAccessException}, so callers handle
+ * every way the downstream can fail as one {@code RestClientException}.
+ */
+@RequiredArgsConstructor
+public class ResilienceInterceptor implements ClientHttpRequestInterceptor {
+	
+	private final ResilientExecutor resilientExecutor;
+	
+	@Override
+	public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+			final ClientHttpRequestExecution execution) throws IOException {
+		final String name = request.getURI().getHost();
+		try {
+			return this.resilientExecutor.execute(name, () -> execution.execute(request, body), 
+					ResilienceInterceptor::isServerError);
+		}
+		catch (CallNotPermittedException | BulkheadFullException e) {
+			throw new ResourceAccessException(e.getMessage(), new IOException(e));
+		}
+		catch (TimeoutException e) {
+			throw new ResourceAccessException(String.format("%s did not answer in time", name), new IOException(e));
+		}
+		catch (IOException | RuntimeException e) {
+			throw e;
+		}
+		catch (Exception e) {
+			throw new ResourceAccessException(e.getMessage(), new IOException(e));
+		}
+	}
+	
+	private static boolean isServerError(final ClientHttpResponse response) {
+		try {
+			return response.getRawStatusCode() >= 500;
+		}
+		catch (IOException e) {
+			return true;
+		}
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
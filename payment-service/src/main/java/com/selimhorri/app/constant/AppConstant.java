@@ -11,6 +11,27 @@ public abstract class AppConstant {
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	
+	public static final int DEFAULT_PAGE_LIMIT = 20;
+	public static final int MAX_PAGE_LIMIT = 500;
+	
+	// ids per /batch call this service makes, kept under the owners' MAX_BATCH_SIZE
+	public static final int BATCH_LOOKUP_CHUNK_SIZE = 500;
+	
+	public static final String EXPORT_FETCH_SIZE = "500";
+	public static final int EXPORT_CLEAR_INTERVAL = 500;
+	
+	public static final int BULK_CHUNK_SIZE = 1000;
+	public static final int MAX_BULK_SIZE = 10_000;
+	public static final String ID_ALLOCATION_SIZE = "50";
+	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class Outbox {
+		
+		// aggregate types as published to subscribers
+		public static final String PAYMENT = "payment";
+		
+	}
+	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
 		
@@ -0,0 +1,9 @@
+package com.selimhorri.app.domain;
+
+public enum OutboxEventType {
+	
+	CREATED, 
+	UPDATED, 
+	DELETED;
+	
+}
@@ -11,6 +11,12 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import com.selimhorri.app.constant.AppConstant;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -29,7 +35,11 @@ public final class Payment extends AbstractMappedEntity implements Serializable
 	private static final long serialVersionUID = 1L;
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq")
+	@GenericGenerator(name = "payments_seq", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+			@Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "payments_seq"), 
+			@Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = AppConstant.ID_ALLOCATION_SIZE), 
+			@Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")})
 	@Column(name = "payment_id", unique = true, nullable = false, updatable = false)
 	private Integer paymentId;
 	
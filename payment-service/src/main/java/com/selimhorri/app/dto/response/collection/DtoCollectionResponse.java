@@ -1,6 +1,12 @@
 package com.selimhorri.app.dto.response.collection;
 
 import java.util.Collection;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Slice;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,6 +21,19 @@ public class DtoCollectionResponse<T> {
 	
 	private Collection<T> collection;
 	
+	@JsonInclude(Include.NON_NULL)
+	private String nextCursor;
+	
+	public DtoCollectionResponse(final Collection<T> collection) {
+		this(collection, null);
+	}
+	
+	public static <T> DtoCollectionResponse<T> of(final Slice<T> slice, final Function<T, String> cursorExtractor) {
+		final var content = slice.getContent();
+		return new DtoCollectionResponse<>(content, (slice.hasNext() && !content.isEmpty()) ? 
+				cursorExtractor.apply(content.get(content.size() - 1)) : null);
+	}
+	
 }
 
 
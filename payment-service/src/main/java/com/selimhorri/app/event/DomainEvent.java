@@ -0,0 +1,25 @@
+package com.selimhorri.app.event;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.selimhorri.app.domain.OutboxEventType;
+
+import lombok.Builder;
+import lombok.Value;
+
+// payload is the entity's DTO as JSON, null for deletions
+@Value
+@Builder
+public class DomainEvent implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	Long eventId;
+	String aggregateType;
+	String aggregateId;
+	OutboxEventType eventType;
+	String payload;
+	Instant occurredAt;
+	
+}
@@ -1,11 +1,32 @@
 package com.selimhorri.app.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Payment;
 
 public interface PaymentRepository extends JpaRepository<Payment, Integer> {
 	
+	Slice<Payment> findByPaymentIdGreaterThanOrderByPaymentIdAsc(final Integer paymentId, final Pageable pageable);
+	
+	List<Payment> findAllByOrderIdOrderByPaymentIdAsc(final Integer orderId);
 	
+	@QueryHints({
+		@QueryHint(name = HINT_FETCH_SIZE, value = AppConstant.EXPORT_FETCH_SIZE), 
+		@QueryHint(name = HINT_READONLY, value = "true")})
+	@Query("SELECT p FROM Payment p")
+	Stream<Payment> streamAll();
 	
 }
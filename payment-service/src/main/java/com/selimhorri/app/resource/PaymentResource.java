@@ -1,9 +1,15 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +18,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.PaymentDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.KeysetPageHelper;
+import com.selimhorri.app.helper.NdjsonHelper;
 import com.selimhorri.app.service.PaymentService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,11 +40,36 @@ import lombok.extern.slf4j.Slf4j;
 public class PaymentResource {
 	
 	private final PaymentService paymentService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			@RequestParam(value = "limit", required = false) final Integer limit) {
 		log.info("*** PaymentDto List, controller; fetch all payments *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAll()));
+		if (after == null && limit == null)
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAll()));
+		final Slice<PaymentDto> paymentDtos = this.paymentService.findAll(
+				(after == null) ? null : KeysetPageHelper.intCursor(after), KeysetPageHelper.pageable(limit));
+		return ResponseEntity.ok(DtoCollectionResponse.of(paymentDtos, d -> String.valueOf(d.getPaymentId())));
+	}
+	
+	@GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> exportAll() {
+		log.info("*** PaymentDto Stream, resource; export all payments *");
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(outputStream -> this.paymentService.exportAll(NdjsonHelper
+						.lineWriter(this.objectMapper.writerFor(PaymentDto.class), outputStream)));
+	}
+	
+	@GetMapping("/orders/{orderId}")
+	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAllByOrderId(
+			@PathVariable("orderId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String orderId) {
+		log.info("*** PaymentDto List, resource; fetch payments by orderId *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAllByOrderId(Integer.parseInt(orderId))));
 	}
 	
 	@GetMapping("/{paymentId}")
@@ -53,6 +90,16 @@ public class PaymentResource {
 		return ResponseEntity.ok(this.paymentService.save(paymentDto));
 	}
 	
+	@PostMapping("/bulk")
+	public ResponseEntity<DtoCollectionResponse<PaymentDto>> saveAll(
+			@RequestBody 
+			@NotEmpty(message = "Input must not be empty") 
+			@Size(max = AppConstant.MAX_BULK_SIZE, message = "Input must not exceed " + AppConstant.MAX_BULK_SIZE + " rows") 
+			@Valid final List<PaymentDto> paymentDtos) {
+		log.info("*** PaymentDto List, resource; save payments in bulk *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.saveAll(paymentDtos)));
+	}
+	
 	@PutMapping
 	public ResponseEntity<PaymentDto> update(
 			@RequestBody 
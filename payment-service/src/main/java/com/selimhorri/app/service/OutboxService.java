@@ -0,0 +1,11 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.domain.OutboxEventType;
+
+public interface OutboxService {
+	
+	void record(final String aggregateType, final Object aggregateId, final OutboxEventType eventType, final Object payload);
+	void relay();
+	void purge();
+	
+}
@@ -1,14 +1,22 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.selimhorri.app.dto.PaymentDto;
 
 public interface PaymentService {
 	
 	List<PaymentDto> findAll();
+	Slice<PaymentDto> findAll(final Integer after, final Pageable pageable);
+	List<PaymentDto> findAllByOrderId(final Integer orderId);
+	void exportAll(final Consumer<PaymentDto> consumer);
 	PaymentDto findById(final Integer paymentId);
 	PaymentDto save(final PaymentDto paymentDto);
+	List<PaymentDto> saveAll(final List<PaymentDto> paymentDtos);
 	PaymentDto update(final PaymentDto paymentDto);
 	void deleteById(final Integer paymentId);
 	
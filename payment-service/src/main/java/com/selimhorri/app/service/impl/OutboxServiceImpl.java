@@ -0,0 +1,154 @@
+package com.selimhorri.app.service.impl;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.config.outbox.OutboxProperties;
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.domain.OutboxEventType;
+import com.selimhorri.app.event.DomainEvent;
+import com.selimhorri.app.event.DomainEventBus;
+import com.selimhorri.app.repository.OutboxEventRepository;
+import com.selimhorri.app.service.OutboxService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class OutboxServiceImpl implements OutboxService {
+	
+	// the relay works on raw rows: it stays out of the persistence context, the second-level cache and session statistics
+	private static final String SELECT_PENDING = "SELECT event_id, aggregate_type, aggregate_id, event_type, payload, created_at "
+			+ "FROM outbox WHERE published_at IS NULL ORDER BY event_id LIMIT :limit FOR UPDATE";
+	private static final String MARK_PUBLISHED = "UPDATE outbox SET published_at = :publishedAt WHERE event_id IN (:eventIds)";
+	private static final String DELETE_PUBLISHED = "DELETE FROM outbox WHERE published_at < :publishedBefore";
+	
+	private final OutboxEventRepository outboxEventRepository;
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final DomainEventBus domainEventBus;
+	private final ObjectMapper objectMapper;
+	private final OutboxProperties outboxProperties;
+	private final Timer relayLag;
+	private final DistributionSummary relayBatchSize;
+	private final Counter relayFailures;
+	
+	public OutboxServiceImpl(final OutboxEventRepository outboxEventRepository, final NamedParameterJdbcTemplate jdbcTemplate,
+			final TransactionTemplate transactionTemplate, final DomainEventBus domainEventBus, final ObjectMapper objectMapper,
+			final OutboxProperties outboxProperties, final MeterRegistry meterRegistry) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.domainEventBus = domainEventBus;
+		this.objectMapper = objectMapper;
+		this.outboxProperties = outboxProperties;
+		this.relayLag = Timer.builder("outbox.relay.lag")
+				.description("Time from an outbox event being recorded to its batch being published")
+				.register(meterRegistry);
+		this.relayBatchSize = DistributionSummary.builder("outbox.relay.batch.size")
+				.description("Events published per relay batch")
+				.register(meterRegistry);
+		this.relayFailures = Counter.builder("outbox.relay.failures")
+				.description("Relay batches rolled back and left for the next run")
+				.register(meterRegistry);
+	}
+	
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void record(final String aggregateType, final Object aggregateId, 
+			final OutboxEventType eventType, final Object payload) {
+		// updates and deletes take the aggregate's row lock before the event draws its id, so one aggregate's
+		// events are numbered in commit order; inserts have no earlier writer to race
+		if (eventType != OutboxEventType.CREATED)
+			this.outboxEventRepository.flush();
+		this.outboxEventRepository.save(OutboxEvent.builder()
+				.aggregateType(aggregateType)
+				.aggregateId(String.valueOf(aggregateId))
+				.eventType(eventType)
+				.payload((payload == null) ? null : this.serialize(payload))
+				.createdAt(Instant.now())
+				.build());
+	}
+	
+	@Override
+	@Scheduled(fixedDelayString = "${app.outbox.relay-interval}")
+	public void relay() {
+		Integer relayed;
+		do {
+			try {
+				relayed = this.transactionTemplate.execute(status -> this.relayBatch());
+			}
+			catch (final RuntimeException e) {
+				log.warn("*** Void, service; outbox relay batch failed, retrying on next run *", e);
+				this.relayFailures.increment();
+				return;
+			}
+		}
+		while (relayed == this.outboxProperties.getBatchSize());
+	}
+	
+	@Override
+	@Scheduled(fixedDelayString = "${app.outbox.purge-interval}")
+	public void purge() {
+		log.info("*** Void, service; purge relayed outbox events *");
+		this.transactionTemplate.executeWithoutResult(status -> this.jdbcTemplate.update(DELETE_PUBLISHED, 
+				Map.of("publishedBefore", Timestamp.from(Instant.now().minus(this.outboxProperties.getRetention())))));
+	}
+	
+	// pending rows stay locked until the batch is marked, so concurrent relays never publish the same batch twice
+	private int relayBatch() {
+		final List<DomainEvent> domainEvents = this.jdbcTemplate.query(SELECT_PENDING, 
+				Map.of("limit", this.outboxProperties.getBatchSize()), OutboxServiceImpl::mapRow);
+		if (domainEvents.isEmpty())
+			return 0;
+		this.domainEventBus.publish(domainEvents);
+		final Instant publishedAt = Instant.now();
+		this.jdbcTemplate.update(MARK_PUBLISHED, Map.of("publishedAt", Timestamp.from(publishedAt), 
+				"eventIds", domainEvents.stream()
+						.map(DomainEvent::getEventId)
+						.collect(Collectors.toUnmodifiableList())));
+		domainEvents.forEach(domainEvent -> this.relayLag.record(Duration.between(domainEvent.getOccurredAt(), publishedAt)));
+		this.relayBatchSize.record(domainEvents.size());
+		return domainEvents.size();
+	}
+	
+	private String serialize(final Object payload) {
+		try {
+			return this.objectMapper.writeValueAsString(payload);
+		}
+		catch (final JsonProcessingException e) {
+			throw new IllegalStateException("Outbox payload is not serializable", e);
+		}
+	}
+	
+	private static DomainEvent mapRow(final ResultSet resultSet, final int rowNum) throws SQLException {
+		return DomainEvent.builder()
+				.eventId(resultSet.getLong("event_id"))
+				.aggregateType(resultSet.getString("aggregate_type"))
+				.aggregateId(resultSet.getString("aggregate_id"))
+				.eventType(OutboxEventType.valueOf(resultSet.getString("event_type")))
+				.payload(resultSet.getString("payload"))
+				.occurredAt(resultSet.getTimestamp("created_at").toInstant())
+				.build();
+	}
+	
+}
@@ -1,19 +1,38 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import javax.transaction.Transactional;
+import javax.persistence.EntityManager;
 
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.config.deadline.DeadlineGuard;
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OutboxEventType;
+import com.selimhorri.app.domain.Payment;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.response.collection.DtoBatchResponse;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
 import com.selimhorri.app.helper.PaymentMappingHelper;
 import com.selimhorri.app.repository.PaymentRepository;
+import com.selimhorri.app.service.OutboxService;
 import com.selimhorri.app.service.PaymentService;
 
 import lombok.RequiredArgsConstructor;
@@ -26,31 +45,68 @@ import lombok.extern.slf4j.Slf4j;
 public class PaymentServiceImpl implements PaymentService {
 	
 	private final PaymentRepository paymentRepository;
+	private final EntityManager entityManager;
 	private final RestTemplate restTemplate;
+	private final OutboxService outboxService;
+	private final DeadlineGuard deadlineGuard;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<PaymentDto> findAll() {
 		log.info("*** PaymentDto List, service; fetch all payments *");
-		return this.paymentRepository.findAll()
+		return this.enrich(this.paymentRepository.findAll()
 				.stream()
 					.map(PaymentMappingHelper::map)
-					.map(p -> {
-						p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
-						return p;
-					})
 					.distinct()
+					.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Slice<PaymentDto> findAll(final Integer after, final Pageable pageable) {
+		log.info("*** PaymentDto Slice, service; fetch payments after cursor *");
+		final Slice<PaymentDto> paymentDtos = this.paymentRepository
+				.findByPaymentIdGreaterThanOrderByPaymentIdAsc((after == null) ? Integer.MIN_VALUE : after, pageable)
+				.map(PaymentMappingHelper::map);
+		this.enrich(paymentDtos.getContent());
+		return paymentDtos;
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<PaymentDto> findAllByOrderId(final Integer orderId) {
+		log.info("*** PaymentDto List, service; fetch payments by orderId *");
+		// callers already hold the order, so payments are returned without the order-service round-trip
+		return this.paymentRepository.findAllByOrderIdOrderByPaymentIdAsc(orderId)
+				.stream()
+					.map(PaymentMappingHelper::map)
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
+	public void exportAll(final Consumer<PaymentDto> consumer) {
+		log.info("*** Void, service; export all payments *");
+		try (final Stream<Payment> payments = this.paymentRepository.streamAll()) {
+			final Iterator<Payment> iterator = payments.iterator();
+			for (int i = 1; iterator.hasNext(); i++) {
+				final Payment payment = iterator.next();
+				consumer.accept(PaymentMappingHelper.map(payment));
+				this.entityManager.detach(payment);
+				if (i % AppConstant.EXPORT_CLEAR_INTERVAL == 0)
+					this.entityManager.clear();
+			}
+		}
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
 	public PaymentDto findById(final Integer paymentId) {
 		log.info("*** PaymentDto, service; fetch payment by id *");
 		return this.paymentRepository.findById(paymentId)
 				.map(PaymentMappingHelper::map)
 				.map(p -> {
-					p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
+					p.setOrderDto(this.findOrder(p.getOrderDto()));
 					return p;
 				})
 				.orElseThrow(() -> new PaymentNotFoundException(String.format("Payment with id: %d not found", paymentId)));
@@ -59,21 +115,94 @@ public class PaymentServiceImpl implements PaymentService {
 	@Override
 	public PaymentDto save(final PaymentDto paymentDto) {
 		log.info("*** PaymentDto, service; save payment *");
-		return PaymentMappingHelper.map(this.paymentRepository
+		final PaymentDto savedPaymentDto = PaymentMappingHelper.map(this.paymentRepository
 				.save(PaymentMappingHelper.map(paymentDto)));
+		this.outboxService.record(AppConstant.Outbox.PAYMENT, savedPaymentDto.getPaymentId(), 
+				OutboxEventType.CREATED, savedPaymentDto);
+		return savedPaymentDto;
+	}
+	
+	@Override
+	public List<PaymentDto> saveAll(final List<PaymentDto> paymentDtos) {
+		log.info("*** PaymentDto List, service; save payments in bulk *");
+		final List<PaymentDto> savedPaymentDtos = new ArrayList<>(paymentDtos.size());
+		for (int from = 0; from < paymentDtos.size(); from += AppConstant.BULK_CHUNK_SIZE) {
+			final List<Payment> payments = paymentDtos.subList(from, Math.min(from + AppConstant.BULK_CHUNK_SIZE, paymentDtos.size()))
+					.stream()
+						.map(PaymentMappingHelper::map)
+						.collect(Collectors.toUnmodifiableList());
+			// persist rather than save(): no merge SELECT per row, inserts go out as JDBC batches on flush
+			payments.forEach(this.entityManager::persist);
+			payments.forEach(payment -> this.outboxService.record(AppConstant.Outbox.PAYMENT, payment.getPaymentId(), 
+					OutboxEventType.CREATED, PaymentMappingHelper.map(payment)));
+			this.entityManager.flush();
+			payments.forEach(payment -> savedPaymentDtos.add(PaymentMappingHelper.map(payment)));
+			this.entityManager.clear();
+		}
+		return savedPaymentDtos;
 	}
 	
 	@Override
 	public PaymentDto update(final PaymentDto paymentDto) {
 		log.info("*** PaymentDto, service; update payment *");
-		return PaymentMappingHelper.map(this.paymentRepository
+		final PaymentDto updatedPaymentDto = PaymentMappingHelper.map(this.paymentRepository
 				.save(PaymentMappingHelper.map(paymentDto)));
+		this.outboxService.record(AppConstant.Outbox.PAYMENT, updatedPaymentDto.getPaymentId(), 
+				OutboxEventType.UPDATED, updatedPaymentDto);
+		return updatedPaymentDto;
 	}
 	
 	@Override
 	public void deleteById(final Integer paymentId) {
 		log.info("*** Void, service; delete payment by id *");
 		this.paymentRepository.deleteById(paymentId);
+		this.outboxService.record(AppConstant.Outbox.PAYMENT, paymentId, OutboxEventType.DELETED, null);
+	}
+	
+	private List<PaymentDto> enrich(final List<PaymentDto> paymentDtos) {
+		if (this.deadlineGuard.isExceeded(DeadlineGuard.ENRICHMENT))
+			return paymentDtos;
+		final Map<Integer, OrderDto> orderDtos = this.findOrdersByIds(paymentDtos.stream()
+				.map(p -> p.getOrderDto().getOrderId())
+				.filter(Objects::nonNull)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList()));
+		paymentDtos.forEach(p -> p.setOrderDto(orderDtos.getOrDefault(p.getOrderDto().getOrderId(), p.getOrderDto())));
+		return paymentDtos;
+	}
+	
+	// when order-service cannot answer, or the caller has stopped waiting for it, 
+	// payments keep the id-only order they were mapped with
+	private OrderDto findOrder(final OrderDto orderDto) {
+		if (this.deadlineGuard.isExceeded(DeadlineGuard.ENRICHMENT))
+			return orderDto;
+		try {
+			return this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+					.ORDER_SERVICE_API_URL + "/" + orderDto.getOrderId(), OrderDto.class);
+		}
+		catch (RestClientException e) {
+			log.warn("*** OrderDto, service; order unavailable, keeping id only: {} *", e.getMessage());
+			return orderDto;
+		}
+	}
+	
+	private Map<Integer, OrderDto> findOrdersByIds(final List<Integer> orderIds) {
+		final Map<Integer, OrderDto> orderDtos = new HashMap<>();
+		for (int from = 0; from < orderIds.size(); from += AppConstant.BATCH_LOOKUP_CHUNK_SIZE) {
+			final List<Integer> chunk = orderIds.subList(from, Math.min(orderIds.size(), from + AppConstant.BATCH_LOOKUP_CHUNK_SIZE));
+			try {
+				this.restTemplate.exchange(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/batch", 
+							HttpMethod.POST, new HttpEntity<>(chunk), 
+							new ParameterizedTypeReference<DtoBatchResponse<OrderDto>>() {})
+						.getBody()
+						.getCollection()
+						.forEach(orderDto -> orderDtos.put(orderDto.getOrderId(), orderDto));
+			}
+			catch (RestClientException e) {
+				log.warn("*** OrderDto Map, service; orders unavailable, keeping ids only: {} *", e.getMessage());
+			}
+		}
+		return orderDtos;
 	}
 	
 	
@@ -88,3 +217,4 @@ public class PaymentServiceImpl implements PaymentService {
 
 
 
+
@@ -0,0 +1,6 @@
+
+CREATE SEQUENCE payments_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE payments_seq RESTART WITH (SELECT COALESCE(MAX(payment_id), 0) + 1 FROM payments);
+ALTER TABLE payments ALTER COLUMN payment_id SET DEFAULT NEXT VALUE FOR payments_seq;
+
+
@@ -0,0 +1,47 @@
+package com.selimhorri.app.config.client;
+
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpClientFactoryTest {
+
+    @Test
+    void connectionManager_shouldApplyPoolLimitsAndRouteOverrides() {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setMaxTotal(64);
+        properties.setMaxPerRoute(8);
+        properties.setRoutes(Map.of("order-service:8300", 32));
+
+        PoolingHttpClientConnectionManager connectionManager = HttpClientFactory.connectionManager(properties);
+
+        assertThat(connectionManager.getMaxTotal()).isEqualTo(64);
+        assertThat(connectionManager.getDefaultMaxPerRoute()).isEqualTo(8);
+        assertThat(connectionManager.getMaxPerRoute(new HttpRoute(new HttpHost("order-service", 8300)))).isEqualTo(32);
+        assertThat(connectionManager.getMaxPerRoute(new HttpRoute(new HttpHost("user-service", 8700)))).isEqualTo(8);
+    }
+
+    @Test
+    void poolMetrics_shouldExposeLeasedPendingAndAvailableGauges() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PoolingHttpClientConnectionManager connectionManager = HttpClientFactory.connectionManager(new HttpClientProperties());
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, ClientConfig.POOL_NAME).bindTo(meterRegistry);
+
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "leased").gauge().value()).isZero();
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "available").gauge().value()).isZero();
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.pending").gauge().value()).isZero();
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max").gauge().value()).isEqualTo(200.0);
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.repository.PaymentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the bulk path against the single-row path it replaces for partner feeds: one
+ * transaction and one INSERT round-trip per row versus chunked transactions flushed as JDBC batches.
+ */
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class PaymentBulkInsertThroughputTest {
+
+    private static final int ROW_COUNT = 2_000;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Integer> insertedIds = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        paymentRepository.deleteAllByIdInBatch(insertedIds);
+        insertedIds.clear();
+    }
+
+    @Test
+    void saveAll_shouldIssueFarFewerStatementsThanSingleRowSaves() {
+        long start = System.nanoTime();
+        for (PaymentDto paymentDto : paymentDtos())
+            insertedIds.add(paymentService.save(paymentDto).getPaymentId());
+        long singleRowNanos = System.nanoTime() - start;
+        long singleRowStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        start = System.nanoTime();
+        List<PaymentDto> saved = paymentService.saveAll(paymentDtos());
+        long bulkNanos = System.nanoTime() - start;
+        long bulkStatements = statistics.getPrepareStatementCount();
+        saved.forEach(paymentDto -> insertedIds.add(paymentDto.getPaymentId()));
+
+        log.info("single-row: {} rows/s, {} statements; bulk: {} rows/s, {} statements",
+                ROW_COUNT * 1_000_000_000L / singleRowNanos, singleRowStatements,
+                ROW_COUNT * 1_000_000_000L / bulkNanos, bulkStatements);
+
+        assertThat(saved).hasSize(ROW_COUNT);
+        assertThat(insertedIds).doesNotHaveDuplicates();
+        assertThat(singleRowStatements).isGreaterThanOrEqualTo(ROW_COUNT);
+        assertThat(bulkStatements * 10).isLessThan(singleRowStatements);
+    }
+
+    private static List<PaymentDto> paymentDtos() {
+        return IntStream.range(0, ROW_COUNT)
+                .mapToObj(i -> PaymentDto.builder()
+                        .isPayed(false)
+                        .paymentStatus(PaymentStatus.NOT_STARTED)
+                        .orderDto(OrderDto.builder().orderId(i + 1).build())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+}
@@ -13,6 +13,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -129,4 +130,20 @@ class PaymentServiceIntegrationTest {
         });
     }
 
+    @Test
+    void exportAll_shouldStreamEveryPayment() {
+        paymentRepository.saveAndFlush(payment);
+        paymentRepository.saveAndFlush(Payment.builder()
+                .orderId(2)
+                .isPayed(UPDATED_IS_PAYED)
+                .paymentStatus(UPDATED_PAYMENT_STATUS)
+                .build());
+
+        List<PaymentDto> exported = new ArrayList<>();
+        paymentService.exportAll(exported::add);
+
+        assertThat(exported).extracting(p -> p.getOrderDto().getOrderId())
+                .containsExactlyInAnyOrder(DEFAULT_ORDER_ID, 2);
+    }
+
 }
@@ -0,0 +1,34 @@
+package com.selimhorri.app.config.deadline;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class DeadlineConfig {
+	
+	@Bean
+	public DeadlineGuard deadlineGuard(final MeterRegistry meterRegistry) {
+		return new DeadlineGuard(meterRegistry);
+	}
+	
+	@Bean
+	public FilterRegistrationBean<DeadlineFilter> deadlineFilter(final DeadlineGuard deadlineGuard) {
+		final FilterRegistrationBean<DeadlineFilter> registration = new FilterRegistrationBean<>(new DeadlineFilter(deadlineGuard));
+		registration.setOrder(DeadlineFilter.ORDER);
+		return registration;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
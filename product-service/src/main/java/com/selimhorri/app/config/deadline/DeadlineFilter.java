@@ -0,0 +1,54 @@
+package com.selimhorri.app.config.deadline;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Turns the budget header into the deadline of the request before anything else runs, and answers 504 at
+// once when the budget is already spent: the caller has stopped waiting, so any query or downstream call
+// the request would start is wasted.
+@Slf4j
+@RequiredArgsConstructor
+public class DeadlineFilter extends OncePerRequestFilter {
+	
+	// after the tracing filter, so rejections still show up in traces, and ahead of everything else
+	public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+	
+	private final DeadlineGuard deadlineGuard;
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain) throws ServletException, IOException {
+		final Optional<Deadline> deadline = Deadline.fromHeader(request.getHeader(Deadline.HEADER));
+		if (deadline.isPresent() && deadline.get().isExpired()) {
+			this.deadlineGuard.record(DeadlineGuard.INBOUND);
+			log.warn("*** Deadline filter; {} {} arrived past its deadline *", request.getMethod(), request.getRequestURI());
+			response.sendError(HttpStatus.GATEWAY_TIMEOUT.value(), "Deadline exceeded");
+			return;
+		}
+		deadline.ifPresent(d -> request.setAttribute(Deadline.ATTRIBUTE, d));
+		filterChain.doFilter(request, response);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,31 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+// Applied to every per-service load-balancer child context, replacing the default round-robin. Deliberately 
+// not a @Configuration: a component-scanned copy would land in the application context, where no service id is set.
+public class LatencyAwareLoadBalancerConfiguration {
+	
+	// declared with its concrete type so the client lifecycle lookup finds it as a LoadBalancerLifecycle too
+	@Bean
+	public LatencyAwareLoadBalancer latencyAwareLoadBalancer(final Environment environment,
+			final LoadBalancerClientFactory loadBalancerClientFactory, final LatencyAwareLoadBalancerProperties properties) {
+		final String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+		return new LatencyAwareLoadBalancer(loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), 
+				serviceId, properties);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
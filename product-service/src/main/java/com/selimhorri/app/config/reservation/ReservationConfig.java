@@ -0,0 +1,30 @@
+package com.selimhorri.app.config.reservation;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.selimhorri.app.stock.StockLedger;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ReservationProperties.class)
+public class ReservationConfig {
+	
+	@Bean
+	public StockLedger stockLedger(final ReservationProperties reservationProperties) {
+		return new StockLedger(reservationProperties.getLockStripes());
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,30 @@
+package com.selimhorri.app.config.reservation;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+// flush-interval and expiry-interval sit under the same prefix but are read by the @Scheduled placeholders
+@ConfigurationProperties(prefix = "app.reservation")
+@Data
+public class ReservationProperties {
+	
+	// units taken off the product row per lease: bounds both the row updates saved and the stock parked in one instance
+	private int leaseSize = 100;
+	private Duration ttl = Duration.ofMinutes(15);
+	private int lockStripes = 64;
+	private int expiryBatchSize = 500;
+	
+}
+
+
+
+
+
+
+
+
+
+
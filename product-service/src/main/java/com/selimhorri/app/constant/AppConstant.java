@@ -11,6 +11,43 @@ public abstract class AppConstant {
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	
+	public static final int DEFAULT_PAGE_LIMIT = 20;
+	public static final int MAX_PAGE_LIMIT = 500;
+	
+	// ids per /batch lookup, so one request cannot grow an IN list without bound
+	public static final int MAX_BATCH_SIZE = 1000;
+	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class CacheRegion {
+		
+		// sized and expired in ehcache.xml, keep both in sync
+		public static final String PRODUCT = "product";
+		public static final String CATEGORY = "category";
+		
+	}
+	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class Search {
+		
+		public static final int DEFAULT_LIMIT = 20;
+		public static final int MAX_LIMIT = 100;
+		public static final int DEFAULT_SUGGEST_LIMIT = 10;
+		public static final int MAX_SUGGEST_LIMIT = 20;
+		public static final String INDEX_FETCH_SIZE = "1000";
+		
+	}
+	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class Outbox {
+		
+		public static final String ID_ALLOCATION_SIZE = "50";
+		
+		// aggregate types as published to subscribers
+		public static final String CATEGORY = "category";
+		public static final String PRODUCT = "product";
+		
+	}
+	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
 		
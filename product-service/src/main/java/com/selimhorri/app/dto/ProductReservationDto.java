@@ -0,0 +1,37 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+import com.selimhorri.app.domain.ReservationStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ProductReservationDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	private Integer reservationId;
+	private Integer productId;
+	
+	@NotNull(message = "Reservation quantity must not be NULL")
+	@Positive(message = "Reservation quantity must be positive")
+	private Integer quantity;
+	
+	private ReservationStatus status;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant expiresAt;
+	
+}
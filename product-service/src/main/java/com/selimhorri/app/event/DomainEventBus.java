@@ -0,0 +1,9 @@
+package com.selimhorri.app.event;
+
+import java.util.List;
+
+public interface DomainEventBus {
+	
+	void publish(final List<DomainEvent> domainEvents);
+	
+}
@@ -0,0 +1,29 @@
+package com.selimhorri.app.event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Local stand-in for a broker: relayed batches go straight to the subscribers registered in this instance.
+public class InProcessDomainEventBus implements DomainEventBus {
+	
+	private final List<DomainEventSubscriber> subscribers;
+	
+	public InProcessDomainEventBus(final List<DomainEventSubscriber> subscribers) {
+		this.subscribers = new CopyOnWriteArrayList<>(subscribers);
+	}
+	
+	public void subscribe(final DomainEventSubscriber subscriber) {
+		this.subscribers.add(subscriber);
+	}
+	
+	public void unsubscribe(final DomainEventSubscriber subscriber) {
+		this.subscribers.remove(subscriber);
+	}
+	
+	@Override
+	public void publish(final List<DomainEvent> domainEvents) {
+		if (!domainEvents.isEmpty())
+			this.subscribers.forEach(subscriber -> subscriber.onEvents(domainEvents));
+	}
+	
+}
@@ -0,0 +1,31 @@
+package com.selimhorri.app.helper;
+
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.selimhorri.app.repository.projection.VersionStamp;
+
+public interface ETagHelper {
+	
+	public static String weak(final Object... parts) {
+		return Stream.of(parts)
+				.map(String::valueOf)
+				.collect(Collectors.joining("-", "W/\"", "\""));
+	}
+	
+	public static String stamp(final VersionStamp versionStamp) {
+		return versionStamp.getCount() + "." + ((versionStamp.getLastModified() == null) ?
+				0L : versionStamp.getLastModified().toEpochMilli());
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
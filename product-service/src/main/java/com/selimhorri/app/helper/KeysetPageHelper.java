@@ -0,0 +1,53 @@
+package com.selimhorri.app.helper;
+
+import java.time.DateTimeException;
+import java.util.Arrays;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.exception.wrapper.InvalidCursorException;
+
+public interface KeysetPageHelper {
+	
+	public static Pageable pageable(final Integer limit) {
+		final int size = (limit == null) ? AppConstant.DEFAULT_PAGE_LIMIT : limit;
+		return PageRequest.of(0, Math.max(1, Math.min(size, AppConstant.MAX_PAGE_LIMIT)));
+	}
+	
+	public static Integer intCursor(final String cursor) {
+		return cursor(cursor, 1, keys -> Integer.parseInt(keys[0]));
+	}
+	
+	public static Long longCursor(final String cursor) {
+		return cursor(cursor, 1, keys -> Long.parseLong(keys[0]));
+	}
+	
+	// cursors are comma-separated keys; one the client altered or made up is a bad request, not a server error
+	public static <T> T cursor(final String cursor, final int keyCount, final Function<String[], T> parser) {
+		final String[] keys = Arrays.stream(cursor.split(",", -1))
+				.map(String::strip)
+				.toArray(String[]::new);
+		if (keys.length != keyCount)
+			throw new InvalidCursorException(String.format("Invalid cursor: %s", cursor));
+		try {
+			return parser.apply(keys);
+		}
+		catch (NumberFormatException | DateTimeException e) {
+			throw new InvalidCursorException(String.format("Invalid cursor: %s", cursor), e);
+		}
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
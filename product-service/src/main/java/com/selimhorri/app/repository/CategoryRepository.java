@@ -1,11 +1,30 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.repository.projection.VersionStamp;
 
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
 	
+	@Query("SELECT c FROM Category c LEFT JOIN FETCH c.parentCategory")
+	List<Category> findAllWithParentCategory();
+	
+	@Query("SELECT COUNT(c) AS count, MAX(COALESCE(c.updatedAt, c.createdAt)) AS lastModified FROM Category c")
+	VersionStamp findVersionStamp();
+	
+	@Query("SELECT COUNT(c) AS count, MAX(COALESCE(c.updatedAt, c.createdAt)) AS lastModified FROM Category c "
+			+ "WHERE c.categoryId = :categoryId")
+	VersionStamp findVersionStampByCategoryId(@Param("categoryId") final Integer categoryId);
 	
+	@EntityGraph(attributePaths = "parentCategory")
+	Slice<Category> findByCategoryIdGreaterThanOrderByCategoryIdAsc(final Integer categoryId, final Pageable pageable);
 	
 }
@@ -1,11 +1,59 @@
 package com.selimhorri.app.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.repository.projection.VersionStamp;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
 	
+	@Query("SELECT p FROM Product p LEFT JOIN FETCH p.category")
+	List<Product> findAllWithCategory();
+	
+	@Query("SELECT p FROM Product p LEFT JOIN FETCH p.category WHERE p.productId IN :productIds")
+	List<Product> findAllByIdWithCategory(@Param("productIds") final Collection<Integer> productIds);
+	
+	// feeds the search index rebuild: streamed in id order and kept out of the second-level cache
+	@QueryHints({
+		@QueryHint(name = HINT_FETCH_SIZE, value = AppConstant.Search.INDEX_FETCH_SIZE), 
+		@QueryHint(name = HINT_READONLY, value = "true"), 
+		@QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")})
+	@Query("SELECT p FROM Product p LEFT JOIN FETCH p.category ORDER BY p.productId")
+	Stream<Product> streamAllWithCategory();
+	
+	@Query("SELECT COUNT(p) AS count, MAX(COALESCE(p.updatedAt, p.createdAt)) AS lastModified FROM Product p")
+	VersionStamp findVersionStamp();
+	
+	@Query("SELECT COUNT(p) AS count, MAX(COALESCE(p.updatedAt, p.createdAt)) AS lastModified FROM Product p "
+			+ "WHERE p.productId = :productId")
+	VersionStamp findVersionStampByProductId(@Param("productId") final Integer productId);
+	
+	// stock moves go through the managed entity rather than a bulk update, which would evict the whole product region
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT p FROM Product p WHERE p.productId = :productId")
+	Optional<Product> findByIdForUpdate(@Param("productId") final Integer productId);
 	
+	@EntityGraph(attributePaths = "category")
+	Slice<Product> findByProductIdGreaterThanOrderByProductIdAsc(final Integer productId, final Pageable pageable);
 	
 }
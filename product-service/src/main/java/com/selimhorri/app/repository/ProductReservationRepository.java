@@ -0,0 +1,44 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selimhorri.app.domain.ProductReservation;
+import com.selimhorri.app.domain.ReservationStatus;
+
+public interface ProductReservationRepository extends JpaRepository<ProductReservation, Integer> {
+	
+	Optional<ProductReservation> findByReservationIdAndProductId(final Integer reservationId, final Integer productId);
+	
+	List<ProductReservation> findByStatusAndExpiresAtBefore(final ReservationStatus status, final Instant expiresAt, final Pageable pageable);
+	
+	// conditional on the current status so that exactly one of confirm, release and expiry wins a race
+	@Transactional
+	@Modifying
+	@Query("UPDATE ProductReservation r SET r.status = :to, r.updatedAt = :now "
+			+ "WHERE r.reservationId = :reservationId AND r.status = :from AND r.expiresAt > :notExpiredAt")
+	int transition(@Param("reservationId") final Integer reservationId,
+			@Param("from") final ReservationStatus from,
+			@Param("to") final ReservationStatus to,
+			@Param("notExpiredAt") final Instant notExpiredAt,
+			@Param("now") final Instant now);
+	
+}
+
+
+
+
+
+
+
+
+
+
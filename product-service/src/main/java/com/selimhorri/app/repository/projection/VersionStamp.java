@@ -0,0 +1,20 @@
+package com.selimhorri.app.repository.projection;
+
+import java.time.Instant;
+
+public interface VersionStamp {
+	
+	Long getCount();
+	Instant getLastModified();
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -4,6 +4,8 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +14,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.selimhorri.app.dto.CategoryDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.KeysetPageHelper;
 import com.selimhorri.app.service.CategoryService;
 
 import lombok.RequiredArgsConstructor;
@@ -30,18 +35,34 @@ public class CategoryResource {
 	private final CategoryService categoryService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			@RequestParam(value = "limit", required = false) final Integer limit, 
+			final WebRequest webRequest) {
 		log.info("*** CategoryDto List, controller; fetch all categories *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryService.findAll()));
+		if (after == null && limit == null) {
+			final String eTag = this.categoryService.computeETag();
+			if (webRequest.checkNotModified(eTag))
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+			return ResponseEntity.ok().eTag(eTag).body(new DtoCollectionResponse<>(this.categoryService.findAll()));
+		}
+		final Slice<CategoryDto> categoryDtos = this.categoryService.findAll(
+				(after == null) ? null : KeysetPageHelper.intCursor(after), KeysetPageHelper.pageable(limit));
+		return ResponseEntity.ok(DtoCollectionResponse.of(categoryDtos, d -> String.valueOf(d.getCategoryId())));
 	}
 	
 	@GetMapping("/{categoryId}")
 	public ResponseEntity<CategoryDto> findById(
 			@PathVariable("categoryId") 
 			@NotBlank(message = "Input must not be blank") 
-			@Valid final String categoryId) {
+			@Valid final String categoryId, 
+			final WebRequest webRequest) {
 		log.info("*** CategoryDto, resource; fetch category by id *");
-		return ResponseEntity.ok(this.categoryService.findById(Integer.parseInt(categoryId)));
+		final Integer id = Integer.parseInt(categoryId);
+		final String eTag = this.categoryService.computeETag(id);
+		if (webRequest.checkNotModified(eTag))
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+		return ResponseEntity.ok().eTag(eTag).body(this.categoryService.findById(id));
 	}
 	
 	@PostMapping
@@ -0,0 +1,78 @@
+package com.selimhorri.app.resource;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.ProductReservationDto;
+import com.selimhorri.app.service.ProductReservationService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/products/{productId}/reservations")
+@Slf4j
+@RequiredArgsConstructor
+public class ProductReservationResource {
+	
+	private final ProductReservationService productReservationService;
+	
+	@PostMapping
+	public ResponseEntity<ProductReservationDto> reserve(
+			@PathVariable("productId") 
+			@NotBlank(message = "Input must not be blank!")
+			@Valid final String productId, 
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!")
+			@Valid final ProductReservationDto productReservationDto) {
+		log.info("*** ProductReservationDto, resource; reserve product stock *");
+		return ResponseEntity.status(HttpStatus.CREATED).body(this.productReservationService
+				.reserve(Integer.parseInt(productId.strip()), productReservationDto.getQuantity()));
+	}
+	
+	@PostMapping("/{reservationId}/confirm")
+	public ResponseEntity<ProductReservationDto> confirm(
+			@PathVariable("productId") 
+			@NotBlank(message = "Input must not be blank!")
+			@Valid final String productId, 
+			@PathVariable("reservationId") 
+			@NotBlank(message = "Input must not be blank!")
+			@Valid final String reservationId) {
+		log.info("*** ProductReservationDto, resource; confirm product reservation *");
+		return ResponseEntity.ok(this.productReservationService
+				.confirm(Integer.parseInt(productId.strip()), Integer.parseInt(reservationId.strip())));
+	}
+	
+	@PostMapping("/{reservationId}/release")
+	public ResponseEntity<ProductReservationDto> release(
+			@PathVariable("productId") 
+			@NotBlank(message = "Input must not be blank!")
+			@Valid final String productId, 
+			@PathVariable("reservationId") 
+			@NotBlank(message = "Input must not be blank!")
+			@Valid final String reservationId) {
+		log.info("*** ProductReservationDto, resource; release product reservation *");
+		return ResponseEntity.ok(this.productReservationService
+				.release(Integer.parseInt(productId.strip()), Integer.parseInt(reservationId.strip())));
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
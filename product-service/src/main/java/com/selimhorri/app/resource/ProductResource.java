@@ -1,10 +1,17 @@
 package com.selimhorri.app.resource;
 
+import java.util.Arrays;
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,36 +19,98 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoBatchResponse;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.KeysetPageHelper;
+import com.selimhorri.app.service.ProductSearchService;
 import com.selimhorri.app.service.ProductService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @RestController
+@Validated
 @RequestMapping("/api/products")
 @Slf4j
 @RequiredArgsConstructor
 public class ProductResource {
 	
 	private final ProductService productService;
+	private final ProductSearchService productSearchService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			@RequestParam(value = "limit", required = false) final Integer limit, 
+			final WebRequest webRequest) {
 		log.info("*** ProductDto List, controller; fetch all categories *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAll()));
+		if (after == null && limit == null) {
+			final String eTag = this.productService.computeETag();
+			if (webRequest.checkNotModified(eTag))
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+			return ResponseEntity.ok().eTag(eTag).body(new DtoCollectionResponse<>(this.productService.findAll()));
+		}
+		final Slice<ProductDto> productDtos = this.productService.findAll(
+				(after == null) ? null : KeysetPageHelper.intCursor(after), KeysetPageHelper.pageable(limit));
+		return ResponseEntity.ok(DtoCollectionResponse.of(productDtos, d -> String.valueOf(d.getProductId())));
+	}
+	
+	@GetMapping("/search")
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> search(
+			@RequestParam("q") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String query, 
+			@RequestParam(value = "category", required = false) final Integer categoryId, 
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		log.info("*** ProductDto List, resource; search products *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productSearchService.search(query, categoryId, limit)));
+	}
+	
+	@GetMapping("/suggest")
+	public ResponseEntity<DtoCollectionResponse<String>> suggest(
+			@RequestParam("prefix") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String prefix, 
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		log.info("*** String List, resource; suggest product titles *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productSearchService.suggest(prefix, limit)));
 	}
 	
 	@GetMapping("/{productId}")
 	public ResponseEntity<ProductDto> findById(
 			@PathVariable("productId") 
 			@NotBlank(message = "Input must not be blank!") 
-			@Valid final String productId) {
+			@Valid final String productId, 
+			final WebRequest webRequest) {
 		log.info("*** ProductDto, resource; fetch product by id *");
-		return ResponseEntity.ok(this.productService.findById(Integer.parseInt(productId)));
+		final Integer id = Integer.parseInt(productId);
+		final String eTag = this.productService.computeETag(id);
+		if (webRequest.checkNotModified(eTag))
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+		return ResponseEntity.ok().eTag(eTag).body(this.productService.findById(id));
+	}
+	
+	@GetMapping("/batch")
+	public ResponseEntity<DtoBatchResponse<ProductDto>> findAllByIds(
+			@RequestParam("ids") 
+			@NotNull(message = "Input must not be NULL") 
+			@Size(max = AppConstant.MAX_BATCH_SIZE, message = "Input must not exceed " + AppConstant.MAX_BATCH_SIZE + " ids") final List<Integer> productIds) {
+		log.info("*** ProductDto List, resource; fetch products by ids *");
+		return ResponseEntity.ok(DtoBatchResponse.of(productIds, this.productService.findAllByIds(productIds), ProductDto::getProductId));
+	}
+	
+	@PostMapping("/batch")
+	public ResponseEntity<DtoBatchResponse<ProductDto>> findAllByIds(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Size(max = AppConstant.MAX_BATCH_SIZE, message = "Input must not exceed " + AppConstant.MAX_BATCH_SIZE + " ids") final Integer[] productIds) {
+		return this.findAllByIds(Arrays.asList(productIds));
 	}
 	
 	@PostMapping
@@ -0,0 +1,548 @@
+package com.selimhorri.app.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import lombok.Value;
+
+// In-memory inverted index over product title, sku and category title.
+// Readers never lock: posting lists are immutable and replaced per term on every write.
+// Incremental writers are serialized on the index monitor; a full rebuild reads its source without it
+// and only takes the monitor to replay the writes that arrived meanwhile and swap the maps in.
+public class ProductSearchIndex {
+	
+	public static final int DEFAULT_MAX_PREFIX_EXPANSIONS = 64;
+	
+	private static final byte TITLE = 1;
+	private static final byte SKU = 2;
+	private static final byte CATEGORY = 4;
+	private static final byte ANY_FIELD = 0;
+	
+	// indexed by field bitmask: a sku match outranks a title match, which outranks a category match
+	private static final float[] FIELD_WEIGHTS = { 0f, 2f, 3f, 5f, 1f, 3f, 4f, 6f };
+	
+	// never produced by the tokenizer, so category filters cannot collide with text terms
+	private static final String CATEGORY_FILTER_TERM = "\u0000category:";
+	
+	private final int maxPrefixExpansions;
+	private volatile ConcurrentSkipListMap<String, Posting> postings = new ConcurrentSkipListMap<>();
+	private volatile ConcurrentHashMap<Integer, Document> documents = new ConcurrentHashMap<>();
+	// latest write per product since the running rebuild opened its source, null for a removal;
+	// the map itself is null while no rebuild runs. Guarded by the index monitor
+	private Map<Integer, Document> writesDuringRebuild;
+	private final Object rebuildLock = new Object();
+	
+	public ProductSearchIndex() {
+		this(DEFAULT_MAX_PREFIX_EXPANSIONS);
+	}
+	
+	public ProductSearchIndex(final int maxPrefixExpansions) {
+		this.maxPrefixExpansions = maxPrefixExpansions;
+	}
+	
+	public int size() {
+		return this.documents.size();
+	}
+	
+	// the source is opened only once writes are being recorded, so none can fall between its snapshot and the swap
+	public void rebuild(final Supplier<? extends Stream<Document>> source) {
+		synchronized (this.rebuildLock) {
+			synchronized (this) {
+				this.writesDuringRebuild = new HashMap<>();
+			}
+			try {
+				final Map<String, PostingBuilder> builders = new HashMap<>();
+				final ConcurrentHashMap<Integer, Document> rebuiltDocuments = new ConcurrentHashMap<>();
+				try (final Stream<Document> documents = source.get()) {
+					final Iterator<Document> iterator = documents.iterator();
+					while (iterator.hasNext()) {
+						final Document document = iterator.next();
+						if (rebuiltDocuments.put(document.getProductId(), document) != null)
+							continue;
+						terms(document).forEach((term, fields) -> builders
+								.computeIfAbsent(term, t -> new PostingBuilder())
+								.add(document.getProductId(), fields));
+					}
+				}
+				final ConcurrentSkipListMap<String, Posting> rebuiltPostings = new ConcurrentSkipListMap<>();
+				builders.forEach((term, builder) -> rebuiltPostings.put(term, builder.build()));
+				synchronized (this) {
+					this.writesDuringRebuild.forEach((productId, document) -> {
+						if (document == null)
+							remove(rebuiltPostings, rebuiltDocuments, productId);
+						else
+							put(rebuiltPostings, rebuiltDocuments, document);
+					});
+					this.postings = rebuiltPostings;
+					this.documents = rebuiltDocuments;
+				}
+			}
+			finally {
+				synchronized (this) {
+					this.writesDuringRebuild = null;
+				}
+			}
+		}
+	}
+	
+	public synchronized void put(final Document document) {
+		put(this.postings, this.documents, document);
+		if (this.writesDuringRebuild != null)
+			this.writesDuringRebuild.put(document.getProductId(), document);
+	}
+	
+	public synchronized void remove(final int productId) {
+		remove(this.postings, this.documents, productId);
+		if (this.writesDuringRebuild != null)
+			this.writesDuringRebuild.put(productId, null);
+	}
+	
+	private static void put(final ConcurrentSkipListMap<String, Posting> postings, 
+			final Map<Integer, Document> documents, final Document document) {
+		final int productId = document.getProductId();
+		final Document previous = documents.put(productId, document);
+		final Map<String, Byte> previousTerms = (previous == null) ? Map.of() : terms(previous);
+		final Map<String, Byte> terms = terms(document);
+		previousTerms.keySet().stream()
+				.filter(term -> !terms.containsKey(term))
+				.forEach(term -> postings.computeIfPresent(term, (t, posting) -> posting.without(productId)));
+		terms.forEach((term, fields) -> {
+			if (!fields.equals(previousTerms.get(term)))
+				postings.compute(term, (t, posting) -> (posting == null) ? 
+						Posting.of(productId, fields) : posting.with(productId, fields));
+		});
+	}
+	
+	private static void remove(final ConcurrentSkipListMap<String, Posting> postings, 
+			final Map<Integer, Document> documents, final int productId) {
+		final Document previous = documents.remove(productId);
+		if (previous != null)
+			terms(previous).keySet()
+					.forEach(term -> postings.computeIfPresent(term, (t, posting) -> posting.without(productId)));
+	}
+	
+	// every query token must match some field; results are ranked by the summed field-weighted idf
+	public List<Integer> search(final String query, final Integer categoryId, final int limit) {
+		return this.rank(tokenize(query), false, ANY_FIELD, categoryId, limit);
+	}
+	
+	// completes the last token as a prefix of a title term, earlier tokens must match title terms exactly
+	public List<String> suggest(final String prefix, final int limit) {
+		final List<Integer> productIds = this.rank(tokenize(prefix), true, TITLE, null, limit * 2);
+		final Map<Integer, Document> documents = this.documents;
+		final Set<String> titles = new LinkedHashSet<>();
+		for (final Integer productId : productIds) {
+			final Document document = documents.get(productId);
+			if (document != null && document.getProductTitle() != null)
+				titles.add(document.getProductTitle());
+			if (titles.size() == limit)
+				break;
+		}
+		return List.copyOf(titles);
+	}
+	
+	private List<Integer> rank(final List<String> tokens, final boolean prefixLast, final byte fields, 
+			final Integer categoryId, final int limit) {
+		if (tokens.isEmpty() || limit <= 0)
+			return List.of();
+		final ConcurrentSkipListMap<String, Posting> postings = this.postings;
+		final int documentCount = Math.max(1, this.documents.size());
+		final List<Clause> clauses = new ArrayList<>(tokens.size() + 1);
+		for (int i = 0; i < tokens.size(); i++) {
+			final Posting[] matches = (prefixLast && i == tokens.size() - 1) ? 
+					this.expand(postings, tokens.get(i)) : exact(postings, tokens.get(i));
+			if (matches.length == 0)
+				return List.of();
+			clauses.add(new Clause(matches, fields, documentCount, false));
+		}
+		if (categoryId != null) {
+			final Posting[] matches = exact(postings, CATEGORY_FILTER_TERM + categoryId);
+			if (matches.length == 0)
+				return List.of();
+			clauses.add(new Clause(matches, ANY_FIELD, documentCount, true));
+		}
+		clauses.sort(Comparator.comparingInt(Clause::size));
+		float bound = 0;
+		for (final Clause clause : clauses)
+			bound += clause.maxScore();
+		
+		// the smallest clause drives, the others are probed by binary search; products arrive in id order,
+		// so once the worst kept hit reaches the best achievable score no later product can displace it
+		final ClauseCursor driver = new ClauseCursor(clauses.get(0));
+		final TopHits top = new TopHits(limit);
+		while (driver.next()) {
+			if (top.isFull() && top.lowestScore() >= bound)
+				break;
+			float score = driver.score();
+			final int productId = driver.productId();
+			for (int c = 1; c < clauses.size() && score >= 0; c++) {
+				final float clauseScore = clauses.get(c).score(productId);
+				score = (clauseScore < 0) ? -1 : score + clauseScore;
+			}
+			if (score >= 0)
+				top.offer(productId, score);
+		}
+		return top.productIds();
+	}
+	
+	private Posting[] expand(final ConcurrentSkipListMap<String, Posting> postings, final String prefix) {
+		final ConcurrentNavigableMap<String, Posting> matches = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+		return matches.values().stream()
+				.limit(this.maxPrefixExpansions)
+				.toArray(Posting[]::new);
+	}
+	
+	private static Posting[] exact(final ConcurrentSkipListMap<String, Posting> postings, final String term) {
+		final Posting posting = postings.get(term);
+		return (posting == null) ? new Posting[0] : new Posting[] { posting };
+	}
+	
+	private static Map<String, Byte> terms(final Document document) {
+		final Map<String, Byte> terms = new HashMap<>();
+		addTerms(terms, document.getProductTitle(), TITLE);
+		addTerms(terms, document.getSku(), SKU);
+		addTerms(terms, document.getCategoryTitle(), CATEGORY);
+		if (document.getCategoryId() != null)
+			terms.put(CATEGORY_FILTER_TERM + document.getCategoryId(), ANY_FIELD);
+		return terms;
+	}
+	
+	private static void addTerms(final Map<String, Byte> terms, final String text, final byte field) {
+		for (final String token : tokenize(text))
+			terms.merge(token, field, (a, b) -> (byte) (a | b));
+	}
+	
+	// lower-cased runs of letters and digits, "Asus-X555 Laptop" -> [asus, x555, laptop]
+	static List<String> tokenize(final String text) {
+		if (text == null || text.isBlank())
+			return List.of();
+		final String normalized = text.toLowerCase(Locale.ROOT);
+		final List<String> tokens = new ArrayList<>();
+		int start = -1;
+		for (int i = 0; i <= normalized.length(); i++) {
+			final boolean tokenChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+			if (tokenChar && start < 0)
+				start = i;
+			else if (!tokenChar && start >= 0) {
+				tokens.add(normalized.substring(start, i));
+				start = -1;
+			}
+		}
+		return tokens;
+	}
+	
+	@Value
+	public static class Document {
+		
+		int productId;
+		String productTitle;
+		String sku;
+		Integer categoryId;
+		String categoryTitle;
+		
+	}
+	
+	// product ids ascending, with the fields each product matched the term in
+	private static final class Posting {
+		
+		private final int[] productIds;
+		private final byte[] fields;
+		// upper bound only: removals do not lower it
+		private final float maxWeight;
+		
+		private Posting(final int[] productIds, final byte[] fields, final float maxWeight) {
+			this.productIds = productIds;
+			this.fields = fields;
+			this.maxWeight = maxWeight;
+		}
+		
+		static Posting of(final int productId, final byte fields) {
+			return new Posting(new int[] { productId }, new byte[] { fields }, FIELD_WEIGHTS[fields & 7]);
+		}
+		
+		int indexOf(final int productId) {
+			return Arrays.binarySearch(this.productIds, productId);
+		}
+		
+		Posting with(final int productId, final byte fields) {
+			final int index = this.indexOf(productId);
+			if (index >= 0) {
+				final byte[] updatedFields = this.fields.clone();
+				updatedFields[index] = fields;
+				return new Posting(this.productIds, updatedFields, Math.max(this.maxWeight, FIELD_WEIGHTS[fields & 7]));
+			}
+			final int insertion = -index - 1;
+			final int[] productIds = new int[this.productIds.length + 1];
+			final byte[] allFields = new byte[this.fields.length + 1];
+			System.arraycopy(this.productIds, 0, productIds, 0, insertion);
+			System.arraycopy(this.fields, 0, allFields, 0, insertion);
+			productIds[insertion] = productId;
+			allFields[insertion] = fields;
+			System.arraycopy(this.productIds, insertion, productIds, insertion + 1, this.productIds.length - insertion);
+			System.arraycopy(this.fields, insertion, allFields, insertion + 1, this.fields.length - insertion);
+			return new Posting(productIds, allFields, Math.max(this.maxWeight, FIELD_WEIGHTS[fields & 7]));
+		}
+		
+		// null once empty, so that compute() drops the term
+		Posting without(final int productId) {
+			final int index = this.indexOf(productId);
+			if (index < 0)
+				return this;
+			if (this.productIds.length == 1)
+				return null;
+			final int[] productIds = new int[this.productIds.length - 1];
+			final byte[] remainingFields = new byte[this.fields.length - 1];
+			System.arraycopy(this.productIds, 0, productIds, 0, index);
+			System.arraycopy(this.fields, 0, remainingFields, 0, index);
+			System.arraycopy(this.productIds, index + 1, productIds, index, productIds.length - index);
+			System.arraycopy(this.fields, index + 1, remainingFields, index, remainingFields.length - index);
+			return new Posting(productIds, remainingFields, this.maxWeight);
+		}
+		
+	}
+	
+	private static final class PostingBuilder {
+		
+		private int[] productIds = new int[4];
+		private byte[] fields = new byte[4];
+		private int size;
+		private boolean sorted = true;
+		
+		void add(final int productId, final byte fields) {
+			if (this.size == this.productIds.length) {
+				this.productIds = Arrays.copyOf(this.productIds, this.size * 2);
+				this.fields = Arrays.copyOf(this.fields, this.size * 2);
+			}
+			this.sorted &= this.size == 0 || this.productIds[this.size - 1] < productId;
+			this.productIds[this.size] = productId;
+			this.fields[this.size++] = fields;
+		}
+		
+		Posting build() {
+			float maxWeight = 0;
+			for (int i = 0; i < this.size; i++)
+				maxWeight = Math.max(maxWeight, FIELD_WEIGHTS[this.fields[i] & 7]);
+			if (this.sorted)
+				return new Posting(Arrays.copyOf(this.productIds, this.size), Arrays.copyOf(this.fields, this.size), maxWeight);
+			// pack (productId, fields) so a single primitive sort keeps them together
+			final long[] packed = new long[this.size];
+			for (int i = 0; i < this.size; i++)
+				packed[i] = ((long) this.productIds[i] << 8) | (this.fields[i] & 0xFF);
+			Arrays.sort(packed);
+			final int[] productIds = new int[this.size];
+			final byte[] fields = new byte[this.size];
+			for (int i = 0; i < this.size; i++) {
+				productIds[i] = (int) (packed[i] >> 8);
+				fields[i] = (byte) packed[i];
+			}
+			return new Posting(productIds, fields, maxWeight);
+		}
+		
+	}
+	
+	// one query token: its matching postings (several for a prefix) sharing one idf
+	private static final class Clause {
+		
+		private final Posting[] postings;
+		private final byte requiredFields;
+		private final int size;
+		private final float idf;
+		private final float maxScore;
+		// probes arrive in ascending product id order, so each posting is searched onwards from the last one
+		private final int[] probes;
+		
+		Clause(final Posting[] postings, final byte requiredFields, final int documentCount, final boolean filter) {
+			this.postings = postings;
+			this.requiredFields = requiredFields;
+			this.probes = new int[postings.length];
+			int size = 0;
+			float maxWeight = 0;
+			for (final Posting posting : postings) {
+				size += posting.productIds.length;
+				maxWeight = Math.max(maxWeight, posting.maxWeight);
+			}
+			this.size = size;
+			this.idf = filter ? 0f : (float) Math.log(1.0 + (double) documentCount / size);
+			this.maxScore = this.idf * ((requiredFields == ANY_FIELD) ? maxWeight : FIELD_WEIGHTS[requiredFields]);
+		}
+		
+		int size() {
+			return this.size;
+		}
+		
+		float maxScore() {
+			return this.maxScore;
+		}
+		
+		// only the required fields count when some are required, -1 when none of them matched
+		float score(final byte fields) {
+			if (this.requiredFields == ANY_FIELD)
+				return this.idf * FIELD_WEIGHTS[fields & 7];
+			return ((fields & this.requiredFields) == 0) ? -1 : this.idf * FIELD_WEIGHTS[this.requiredFields];
+		}
+		
+		// best score over the postings containing the product, -1 when none does
+		float score(final int productId) {
+			float best = -1;
+			for (int p = 0; p < this.postings.length; p++) {
+				final int index = this.seek(p, productId);
+				if (index >= 0)
+					best = Math.max(best, this.score(this.postings[p].fields[index]));
+			}
+			return best;
+		}
+		
+		// galloping search: cheap both when the driver is much smaller than this posting and when it is not
+		private int seek(final int posting, final int productId) {
+			final int[] productIds = this.postings[posting].productIds;
+			int low = this.probes[posting];
+			int high = low;
+			for (int step = 1; high < productIds.length && productIds[high] < productId; step <<= 1) {
+				low = high + 1;
+				high += step;
+			}
+			final int index = Arrays.binarySearch(productIds, low, Math.min(high + 1, productIds.length), productId);
+			this.probes[posting] = (index >= 0) ? index : -index - 1;
+			return index;
+		}
+		
+	}
+	
+	// walks the union of a clause's postings in ascending product id order (a k-way merge for prefixes)
+	private static final class ClauseCursor {
+		
+		private final Clause clause;
+		private final int[] positions;
+		// posting indices, min-heap on the product id at their current position
+		private final int[] heap;
+		private int heapSize;
+		private int productId;
+		private float score;
+		
+		ClauseCursor(final Clause clause) {
+			this.clause = clause;
+			this.positions = new int[clause.postings.length];
+			this.heap = new int[clause.postings.length];
+			for (int p = 0; p < clause.postings.length; p++) {
+				this.heap[this.heapSize] = p;
+				this.siftUp(this.heapSize++);
+			}
+		}
+		
+		boolean next() {
+			if (this.heapSize == 0)
+				return false;
+			this.productId = this.head(this.heap[0]);
+			this.score = -1;
+			while (this.heapSize > 0 && this.head(this.heap[0]) == this.productId) {
+				final int p = this.heap[0];
+				this.score = Math.max(this.score, this.clause.score(this.clause.postings[p].fields[this.positions[p]]));
+				if (++this.positions[p] == this.clause.postings[p].productIds.length)
+					this.heap[0] = this.heap[--this.heapSize];
+				this.siftDown(0);
+			}
+			return true;
+		}
+		
+		int productId() {
+			return this.productId;
+		}
+		
+		float score() {
+			return this.score;
+		}
+		
+		private int head(final int posting) {
+			return this.clause.postings[posting].productIds[this.positions[posting]];
+		}
+		
+		private void siftUp(int index) {
+			while (index > 0 && this.head(this.heap[index]) < this.head(this.heap[(index - 1) / 2])) {
+				this.swap(index, (index - 1) / 2);
+				index = (index - 1) / 2;
+			}
+		}
+		
+		private void siftDown(int index) {
+			while (true) {
+				int smallest = index;
+				for (int child = 2 * index + 1; child <= 2 * index + 2 && child < this.heapSize; child++)
+					if (this.head(this.heap[child]) < this.head(this.heap[smallest]))
+						smallest = child;
+				if (smallest == index)
+					return;
+				this.swap(index, smallest);
+				index = smallest;
+			}
+		}
+		
+		private void swap(final int i, final int j) {
+			final int posting = this.heap[i];
+			this.heap[i] = this.heap[j];
+			this.heap[j] = posting;
+		}
+		
+	}
+	
+	// bounded best-first list, ordered by score then by ascending product id
+	private static final class TopHits {
+		
+		private final int[] productIds;
+		private final float[] scores;
+		private int size;
+		
+		TopHits(final int limit) {
+			this.productIds = new int[limit];
+			this.scores = new float[limit];
+		}
+		
+		void offer(final int productId, final float score) {
+			final int limit = this.productIds.length;
+			if (this.size == limit && !this.ranksBefore(productId, score, this.size - 1))
+				return;
+			int position = Math.min(this.size, limit - 1);
+			while (position > 0 && this.ranksBefore(productId, score, position - 1))
+				position--;
+			final int moved = Math.min(this.size, limit - 1) - position;
+			System.arraycopy(this.productIds, position, this.productIds, position + 1, moved);
+			System.arraycopy(this.scores, position, this.scores, position + 1, moved);
+			this.productIds[position] = productId;
+			this.scores[position] = score;
+			this.size = Math.min(this.size + 1, limit);
+		}
+		
+		boolean isFull() {
+			return this.size == this.productIds.length;
+		}
+		
+		float lowestScore() {
+			return this.scores[this.size - 1];
+		}
+		
+		private boolean ranksBefore(final int productId, final float score, final int index) {
+			return score > this.scores[index] || (score == this.scores[index] && productId < this.productIds[index]);
+		}
+		
+		List<Integer> productIds() {
+			final List<Integer> productIds = new ArrayList<>(this.size);
+			for (int i = 0; i < this.size; i++)
+				productIds.add(this.productIds[i]);
+			return productIds;
+		}
+		
+	}
+	
+}
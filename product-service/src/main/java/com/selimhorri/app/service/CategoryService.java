@@ -2,12 +2,18 @@ package com.selimhorri.app.service;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
 import com.selimhorri.app.dto.CategoryDto;
 
 public interface CategoryService {
 	
 	List<CategoryDto> findAll();
+	Slice<CategoryDto> findAll(final Integer after, final Pageable pageable);
 	CategoryDto findById(final Integer categoryId);
+	String computeETag();
+	String computeETag(final Integer categoryId);
 	CategoryDto save(final CategoryDto categoryDto);
 	CategoryDto update(final CategoryDto categoryDto);
 	CategoryDto update(final Integer categoryId, final CategoryDto categoryDto);
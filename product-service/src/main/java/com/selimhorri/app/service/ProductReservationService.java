@@ -0,0 +1,23 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.dto.ProductReservationDto;
+
+public interface ProductReservationService {
+	
+	ProductReservationDto reserve(final Integer productId, final Integer quantity);
+	ProductReservationDto confirm(final Integer productId, final Integer reservationId);
+	ProductReservationDto release(final Integer productId, final Integer reservationId);
+	void releaseExpired();
+	void flush();
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,15 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.ProductDto;
+
+public interface ProductSearchService {
+	
+	List<ProductDto> search(final String query, final Integer categoryId, final Integer limit);
+	List<String> suggest(final String prefix, final Integer limit);
+	void index(final ProductDto productDto);
+	void remove(final Integer productId);
+	void rebuild();
+	
+}
@@ -2,12 +2,19 @@ package com.selimhorri.app.service;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
 import com.selimhorri.app.dto.ProductDto;
 
 public interface ProductService {
 	
 	List<ProductDto> findAll();
+	Slice<ProductDto> findAll(final Integer after, final Pageable pageable);
 	ProductDto findById(final Integer productId);
+	String computeETag();
+	String computeETag(final Integer productId);
+	List<ProductDto> findAllByIds(final List<Integer> productIds);
 	ProductDto save(final ProductDto productDto);
 	ProductDto update(final ProductDto productDto);
 	ProductDto update(final Integer productId, final ProductDto productDto);
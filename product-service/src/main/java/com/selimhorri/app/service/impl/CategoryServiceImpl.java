@@ -3,15 +3,20 @@ package com.selimhorri.app.service.impl;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OutboxEventType;
 import com.selimhorri.app.dto.CategoryDto;
 import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
 import com.selimhorri.app.helper.CategoryMappingHelper;
+import com.selimhorri.app.helper.ETagHelper;
 import com.selimhorri.app.repository.CategoryRepository;
 import com.selimhorri.app.service.CategoryService;
+import com.selimhorri.app.service.OutboxService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,11 +28,13 @@ import lombok.extern.slf4j.Slf4j;
 public class CategoryServiceImpl implements CategoryService {
 	
 	private final CategoryRepository categoryRepository;
+	private final OutboxService outboxService;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<CategoryDto> findAll() {
 		log.info("*** CategoryDto List, service; fetch all categorys *");
-		return this.categoryRepository.findAll()
+		return this.categoryRepository.findAllWithParentCategory()
 				.stream()
 					.map(CategoryMappingHelper::map)
 					.distinct()
@@ -35,6 +42,15 @@ public class CategoryServiceImpl implements CategoryService {
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
+	public Slice<CategoryDto> findAll(final Integer after, final Pageable pageable) {
+		log.info("*** CategoryDto Slice, service; fetch categories after cursor *");
+		return this.categoryRepository.findByCategoryIdGreaterThanOrderByCategoryIdAsc((after == null) ? Integer.MIN_VALUE : after, pageable)
+				.map(CategoryMappingHelper::map);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
 	public CategoryDto findById(final Integer categoryId) {
 		log.info("*** CategoryDto, service; fetch category by id *");
 		return this.categoryRepository.findById(categoryId)
@@ -42,31 +58,57 @@ public class CategoryServiceImpl implements CategoryService {
 				.orElseThrow(() -> new CategoryNotFoundException(String.format("Category with id: %d not found", categoryId)));
 	}
 	
+	@Override
+	@Transactional(readOnly = true)
+	public String computeETag() {
+		log.info("*** String, service; compute categories collection etag *");
+		return ETagHelper.weak(ETagHelper.stamp(this.categoryRepository.findVersionStamp()));
+	}
+	
+	// a category embeds its parent, so any category write revalidates every category entry
+	@Override
+	@Transactional(readOnly = true)
+	public String computeETag(final Integer categoryId) {
+		log.info("*** String, service; compute category etag *");
+		return ETagHelper.weak(categoryId, ETagHelper.stamp(this.categoryRepository.findVersionStampByCategoryId(categoryId)), 
+				ETagHelper.stamp(this.categoryRepository.findVersionStamp()));
+	}
+	
 	@Override
 	public CategoryDto save(final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; save category *");
-		return CategoryMappingHelper.map(this.categoryRepository
+		final CategoryDto savedCategoryDto = CategoryMappingHelper.map(this.categoryRepository
 				.save(CategoryMappingHelper.map(categoryDto)));
+		this.outboxService.record(AppConstant.Outbox.CATEGORY, savedCategoryDto.getCategoryId(), 
+				OutboxEventType.CREATED, savedCategoryDto);
+		return savedCategoryDto;
 	}
 	
 	@Override
 	public CategoryDto update(final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; update category *");
-		return CategoryMappingHelper.map(this.categoryRepository
+		final CategoryDto updatedCategoryDto = CategoryMappingHelper.map(this.categoryRepository
 				.save(CategoryMappingHelper.map(categoryDto)));
+		this.outboxService.record(AppConstant.Outbox.CATEGORY, updatedCategoryDto.getCategoryId(), 
+				OutboxEventType.UPDATED, updatedCategoryDto);
+		return updatedCategoryDto;
 	}
 	
 	@Override
 	public CategoryDto update(final Integer categoryId, final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; update category with categoryId *");
-		return CategoryMappingHelper.map(this.categoryRepository
+		final CategoryDto updatedCategoryDto = CategoryMappingHelper.map(this.categoryRepository
 				.save(CategoryMappingHelper.map(this.findById(categoryId))));
+		this.outboxService.record(AppConstant.Outbox.CATEGORY, updatedCategoryDto.getCategoryId(), 
+				OutboxEventType.UPDATED, updatedCategoryDto);
+		return updatedCategoryDto;
 	}
 	
 	@Override
 	public void deleteById(final Integer categoryId) {
 		log.info("*** Void, service; delete category by id *");
 		this.categoryRepository.deleteById(categoryId);
+		this.outboxService.record(AppConstant.Outbox.CATEGORY, categoryId, OutboxEventType.DELETED, null);
 	}
 	
 	
@@ -0,0 +1,185 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.config.reservation.ReservationProperties;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.domain.ProductReservation;
+import com.selimhorri.app.domain.ReservationStatus;
+import com.selimhorri.app.dto.ProductReservationDto;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
+import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.exception.wrapper.ReservationNotFoundException;
+import com.selimhorri.app.exception.wrapper.ReservationStateException;
+import com.selimhorri.app.helper.ProductReservationMappingHelper;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.ProductReservationRepository;
+import com.selimhorri.app.service.ProductReservationService;
+import com.selimhorri.app.stock.StockLedger;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// No class-level transaction: each step commits on its own so a product row is never locked for longer
+// than one lease or restock, and stock taken from the ledger is handed back if the reservation insert fails.
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProductReservationServiceImpl implements ProductReservationService {
+	
+	private final ProductRepository productRepository;
+	private final ProductReservationRepository productReservationRepository;
+	private final StockLedger stockLedger;
+	private final ReservationProperties reservationProperties;
+	private final TransactionTemplate transactionTemplate;
+	
+	@Override
+	public ProductReservationDto reserve(final Integer productId, final Integer quantity) {
+		log.info("*** ProductReservationDto, service; reserve product stock *");
+		if (!this.stockLedger.tryTake(productId, quantity) && !this.lease(productId, quantity))
+			throw new InsufficientStockException(String
+					.format("Product with id: %d has fewer than %d units in stock", productId, quantity));
+		try {
+			return ProductReservationMappingHelper.map(this.productReservationRepository.save(ProductReservation.builder()
+					.productId(productId)
+					.quantity(quantity)
+					.status(ReservationStatus.PENDING)
+					.expiresAt(Instant.now().plus(this.reservationProperties.getTtl()))
+					.build()));
+		}
+		catch (final RuntimeException e) {
+			this.stockLedger.give(productId, quantity);
+			throw e;
+		}
+	}
+	
+	@Override
+	public ProductReservationDto confirm(final Integer productId, final Integer reservationId) {
+		log.info("*** ProductReservationDto, service; confirm product reservation *");
+		final ProductReservation productReservation = this.findReservation(productId, reservationId);
+		final Instant now = Instant.now();
+		if (this.productReservationRepository.transition(reservationId,
+				ReservationStatus.PENDING, ReservationStatus.CONFIRMED, now, now) == 0)
+			throw this.rejection(reservationId, "confirmed");
+		productReservation.setStatus(ReservationStatus.CONFIRMED);
+		return ProductReservationMappingHelper.map(productReservation);
+	}
+	
+	@Override
+	public ProductReservationDto release(final Integer productId, final Integer reservationId) {
+		log.info("*** ProductReservationDto, service; release product reservation *");
+		final ProductReservation productReservation = this.findReservation(productId, reservationId);
+		if (!this.release(productReservation))
+			throw this.rejection(reservationId, "released");
+		productReservation.setStatus(ReservationStatus.RELEASED);
+		return ProductReservationMappingHelper.map(productReservation);
+	}
+	
+	@Override
+	@Scheduled(fixedDelayString = "${app.reservation.expiry-interval}")
+	public void releaseExpired() {
+		log.info("*** Void, service; release expired product reservations *");
+		final int batchSize = this.reservationProperties.getExpiryBatchSize();
+		List<ProductReservation> expired;
+		do {
+			expired = this.productReservationRepository.findByStatusAndExpiresAtBefore(
+					ReservationStatus.PENDING, Instant.now(), PageRequest.of(0, batchSize));
+			expired.forEach(this::release);
+		}
+		while (expired.size() == batchSize);
+	}
+	
+	// hands units released back to their product rows; until then they keep serving reservations from the ledger
+	@Override
+	@PreDestroy
+	@Scheduled(fixedDelayString = "${app.reservation.flush-interval}")
+	public void flush() {
+		final Map<Integer, Integer> drained = this.stockLedger.drain();
+		drained.forEach((productId, quantity) -> {
+			try {
+				final boolean restocked = this.transactionTemplate.execute(status -> this.productRepository
+						.findByIdForUpdate(productId)
+						.map(product -> {
+							product.setQuantity(quantity(product) + quantity);
+							return true;
+						})
+						.orElse(false));
+				if (!restocked)
+					log.warn("*** Void, service; dropped {} units held for deleted product {} *", quantity, productId);
+			}
+			catch (final RuntimeException e) {
+				log.warn("*** Void, service; restock of product {} failed, keeping units in ledger *", productId, e);
+				this.stockLedger.give(productId, quantity);
+			}
+		});
+	}
+	
+	// takes a batch off the product row when the ledger runs dry; falls back to the exact quantity near sell-out
+	private boolean lease(final int productId, final int quantity) {
+		return this.stockLedger.withLock(productId, () -> {
+			if (this.stockLedger.tryTake(productId, quantity))
+				return true;
+			final int batch = Math.max(quantity, this.reservationProperties.getLeaseSize());
+			final int leased = this.transactionTemplate.execute(status -> {
+				final Product product = this.productRepository.findByIdForUpdate(productId)
+						.orElseThrow(() -> new ProductNotFoundException(String
+								.format("Product with id: %d not found", productId)));
+				final int inStock = quantity(product);
+				if (inStock < quantity)
+					return 0;
+				product.setQuantity(inStock - Math.min(batch, inStock));
+				return Math.min(batch, inStock);
+			});
+			if (leased == 0)
+				return false;
+			// the surplus only becomes reservable once the decrement has committed
+			this.stockLedger.give(productId, leased - quantity);
+			return true;
+		});
+	}
+	
+	private boolean release(final ProductReservation productReservation) {
+		if (this.productReservationRepository.transition(productReservation.getReservationId(),
+				ReservationStatus.PENDING, ReservationStatus.RELEASED, Instant.EPOCH, Instant.now()) == 0)
+			return false;
+		this.stockLedger.give(productReservation.getProductId(), productReservation.getQuantity());
+		return true;
+	}
+	
+	private ProductReservation findReservation(final Integer productId, final Integer reservationId) {
+		return this.productReservationRepository.findByReservationIdAndProductId(reservationId, productId)
+				.orElseThrow(() -> new ReservationNotFoundException(String
+						.format("Reservation with id: %d not found for product with id: %d", reservationId, productId)));
+	}
+	
+	private ReservationStateException rejection(final Integer reservationId, final String action) {
+		return this.productReservationRepository.findById(reservationId)
+				.map(r -> new ReservationStateException(String.format("Reservation with id: %d is %s and cannot be %s",
+						reservationId, (r.getStatus() == ReservationStatus.PENDING) ? "expired" : r.getStatus().name().toLowerCase(), action)))
+				.orElseGet(() -> new ReservationStateException(String.format("Reservation with id: %d cannot be %s", reservationId, action)));
+	}
+	
+	private static int quantity(final Product product) {
+		return (product.getQuantity() == null) ? 0 : product.getQuantity();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,130 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.search.ProductSearchIndex;
+import com.selimhorri.app.search.ProductSearchIndex.Document;
+import com.selimhorri.app.service.ProductSearchService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProductSearchServiceImpl implements ProductSearchService {
+	
+	private final ProductRepository productRepository;
+	private final EntityManager entityManager;
+	private final ProductSearchIndex productSearchIndex = new ProductSearchIndex();
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<ProductDto> search(final String query, final Integer categoryId, final Integer limit) {
+		log.info("*** ProductDto List, service; search products *");
+		final List<Integer> productIds = this.productSearchIndex.search(query, categoryId, 
+				clamp(limit, AppConstant.Search.DEFAULT_LIMIT, AppConstant.Search.MAX_LIMIT));
+		if (productIds.isEmpty())
+			return List.of();
+		final Map<Integer, ProductDto> productDtos = this.productRepository.findAllByIdWithCategory(productIds)
+				.stream()
+					.map(ProductMappingHelper::map)
+					.collect(Collectors.toMap(ProductDto::getProductId, Function.identity()));
+		// keep the index ranking, dropping hits deleted since they were indexed
+		return productIds.stream()
+				.filter(productDtos::containsKey)
+				.map(productDtos::get)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public List<String> suggest(final String prefix, final Integer limit) {
+		log.info("*** String List, service; suggest product titles *");
+		return this.productSearchIndex.suggest(prefix, 
+				clamp(limit, AppConstant.Search.DEFAULT_SUGGEST_LIMIT, AppConstant.Search.MAX_SUGGEST_LIMIT));
+	}
+	
+	@Override
+	public void index(final ProductDto productDto) {
+		log.info("*** Void, service; index product *");
+		final Document document = document(productDto);
+		afterCommit(() -> this.productSearchIndex.put(document));
+	}
+	
+	@Override
+	public void remove(final Integer productId) {
+		log.info("*** Void, service; remove product from index *");
+		afterCommit(() -> this.productSearchIndex.remove(productId));
+	}
+	
+	@Override
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public void rebuild() {
+		log.info("*** Void, service; rebuild product search index *");
+		final long start = System.nanoTime();
+		this.productSearchIndex.rebuild(() -> this.productRepository.streamAllWithCategory()
+				.map(this::detachedDocument));
+		log.info("*** Void, service; indexed {} products in {} ms *", 
+				this.productSearchIndex.size(), (System.nanoTime() - start) / 1_000_000);
+	}
+	
+	// the index must never show a write that was rolled back
+	private static void afterCommit(final Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+			
+		});
+	}
+	
+	private static int clamp(final Integer limit, final int defaultLimit, final int maxLimit) {
+		return (limit == null || limit <= 0) ? defaultLimit : Math.min(limit, maxLimit);
+	}
+	
+	// categories stay attached, there are few of them and every product row joins one
+	private Document detachedDocument(final Product product) {
+		final Document document = document(product);
+		this.entityManager.detach(product);
+		return document;
+	}
+	
+	private static Document document(final Product product) {
+		return new Document(product.getProductId(), product.getProductTitle(), product.getSku(), 
+				(product.getCategory() == null) ? null : product.getCategory().getCategoryId(), 
+				(product.getCategory() == null) ? null : product.getCategory().getCategoryTitle());
+	}
+	
+	private static Document document(final ProductDto productDto) {
+		return new Document(productDto.getProductId(), productDto.getProductTitle(), productDto.getSku(), 
+				(productDto.getCategoryDto() == null) ? null : productDto.getCategoryDto().getCategoryId(), 
+				(productDto.getCategoryDto() == null) ? null : productDto.getCategoryDto().getCategoryTitle());
+	}
+	
+	
+	
+}
@@ -1,16 +1,28 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OutboxEventType;
+import com.selimhorri.app.domain.Product;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.helper.ETagHelper;
 import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.repository.CategoryRepository;
 import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.OutboxService;
+import com.selimhorri.app.service.ProductSearchService;
 import com.selimhorri.app.service.ProductService;
 
 import lombok.RequiredArgsConstructor;
@@ -23,11 +35,15 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductServiceImpl implements ProductService {
 	
 	private final ProductRepository productRepository;
+	private final CategoryRepository categoryRepository;
+	private final ProductSearchService productSearchService;
+	private final OutboxService outboxService;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<ProductDto> findAll() {
 		log.info("*** ProductDto List, service; fetch all products *");
-		return this.productRepository.findAll()
+		return this.productRepository.findAllWithCategory()
 				.stream()
 					.map(ProductMappingHelper::map)
 					.distinct()
@@ -35,32 +51,85 @@ public class ProductServiceImpl implements ProductService {
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
+	public Slice<ProductDto> findAll(final Integer after, final Pageable pageable) {
+		log.info("*** ProductDto Slice, service; fetch products after cursor *");
+		return this.productRepository.findByProductIdGreaterThanOrderByProductIdAsc((after == null) ? Integer.MIN_VALUE : after, pageable)
+				.map(ProductMappingHelper::map);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
 	public ProductDto findById(final Integer productId) {
 		log.info("*** ProductDto, service; fetch product by id *");
+		// served from the second-level cache for both the product and its category when warm
 		return this.productRepository.findById(productId)
 				.map(ProductMappingHelper::map)
 				.orElseThrow(() -> new ProductNotFoundException(String.format("Product with id: %d not found", productId)));
 	}
 	
+	@Override
+	@Transactional(readOnly = true)
+	public String computeETag() {
+		log.info("*** String, service; compute products collection etag *");
+		return ETagHelper.weak(ETagHelper.stamp(this.productRepository.findVersionStamp()), 
+				ETagHelper.stamp(this.categoryRepository.findVersionStamp()));
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public String computeETag(final Integer productId) {
+		log.info("*** String, service; compute product etag *");
+		return ETagHelper.weak(productId, ETagHelper.stamp(this.productRepository.findVersionStampByProductId(productId)), 
+				ETagHelper.stamp(this.categoryRepository.findVersionStamp()));
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<ProductDto> findAllByIds(final List<Integer> productIds) {
+		log.info("*** ProductDto List, service; fetch products by ids *");
+		final Map<Integer, ProductDto> productDtos = this.productRepository.findAllByIdWithCategory(productIds.stream()
+					.filter(Objects::nonNull)
+					.collect(Collectors.toUnmodifiableSet()))
+				.stream()
+					.map(ProductMappingHelper::map)
+					.collect(Collectors.toMap(ProductDto::getProductId, Function.identity()));
+		return productIds.stream()
+				.filter(Objects::nonNull)
+				.distinct()
+				.filter(productDtos::containsKey)
+				.map(productDtos::get)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public ProductDto save(final ProductDto productDto) {
 		log.info("*** ProductDto, service; save product *");
-		return ProductMappingHelper.map(this.productRepository
-				.save(ProductMappingHelper.map(productDto)));
+		final ProductDto savedProductDto = this.persist(productDto);
+		this.productSearchService.index(savedProductDto);
+		this.outboxService.record(AppConstant.Outbox.PRODUCT, savedProductDto.getProductId(), 
+				OutboxEventType.CREATED, savedProductDto);
+		return savedProductDto;
 	}
 	
 	@Override
 	public ProductDto update(final ProductDto productDto) {
 		log.info("*** ProductDto, service; update product *");
-		return ProductMappingHelper.map(this.productRepository
-				.save(ProductMappingHelper.map(productDto)));
+		final ProductDto updatedProductDto = this.persist(productDto);
+		this.productSearchService.index(updatedProductDto);
+		this.outboxService.record(AppConstant.Outbox.PRODUCT, updatedProductDto.getProductId(), 
+				OutboxEventType.UPDATED, updatedProductDto);
+		return updatedProductDto;
 	}
 	
 	@Override
 	public ProductDto update(final Integer productId, final ProductDto productDto) {
 		log.info("*** ProductDto, service; update product with productId *");
-		return ProductMappingHelper.map(this.productRepository
-				.save(ProductMappingHelper.map(this.findById(productId))));
+		final ProductDto updatedProductDto = this.persist(this.findById(productId));
+		this.productSearchService.index(updatedProductDto);
+		this.outboxService.record(AppConstant.Outbox.PRODUCT, updatedProductDto.getProductId(), 
+				OutboxEventType.UPDATED, updatedProductDto);
+		return updatedProductDto;
 	}
 	
 	@Override
@@ -68,6 +137,18 @@ public class ProductServiceImpl implements ProductService {
 		log.info("*** Void, service; delete product by id *");
 		this.productRepository.delete(ProductMappingHelper
 				.map(this.findById(productId)));
+		this.productSearchService.remove(productId);
+		this.outboxService.record(AppConstant.Outbox.PRODUCT, productId, OutboxEventType.DELETED, null);
+	}
+	
+	// The request only names the category by id; the managed one is attached before saving so the returned
+	// dto, the search index and the outbox payload carry its stored title rather than whatever the request sent.
+	private ProductDto persist(final ProductDto productDto) {
+		final Integer categoryId = productDto.getCategoryDto().getCategoryId();
+		final Product product = ProductMappingHelper.map(productDto);
+		product.setCategory(this.categoryRepository.findById(categoryId)
+				.orElseThrow(() -> new CategoryNotFoundException(String.format("Category with id: %d not found", categoryId))));
+		return ProductMappingHelper.map(this.productRepository.save(product));
 	}
 	
 	
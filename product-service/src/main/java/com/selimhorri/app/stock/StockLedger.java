@@ -0,0 +1,83 @@
+package com.selimhorri.app.stock;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Units already taken off Product.quantity and held in memory, per product. Reservations are served
+// from here with a CAS, so a hot product only touches its row once per lease rather than once per
+// reservation; units returned by releases pile up here until drained back to the row.
+public class StockLedger {
+	
+	private final Map<Integer, AtomicInteger> units = new ConcurrentHashMap<>();
+	private final ReentrantLock[] stripes;
+	
+	public StockLedger(final int lockStripes) {
+		if (lockStripes < 1)
+			throw new IllegalArgumentException("lockStripes must be positive");
+		this.stripes = new ReentrantLock[lockStripes];
+		for (int i = 0; i < lockStripes; i++)
+			this.stripes[i] = new ReentrantLock();
+	}
+	
+	public boolean tryTake(final int productId, final int quantity) {
+		final AtomicInteger held = this.units.get(productId);
+		if (held == null)
+			return false;
+		int current;
+		do {
+			current = held.get();
+			if (current < quantity)
+				return false;
+		}
+		while (!held.compareAndSet(current, current - quantity));
+		return true;
+	}
+	
+	public void give(final int productId, final int quantity) {
+		if (quantity > 0)
+			this.units.computeIfAbsent(productId, id -> new AtomicInteger()).addAndGet(quantity);
+	}
+	
+	public int available(final int productId) {
+		final AtomicInteger held = this.units.get(productId);
+		return (held == null) ? 0 : held.get();
+	}
+	
+	// serialises leases per product (and its stripe neighbours) so a burst of misses takes one lease, not one each
+	public <T> T withLock(final int productId, final Supplier<T> action) {
+		final ReentrantLock lock = this.stripes[Math.floorMod(productId * 0x9E3779B9, this.stripes.length)];
+		lock.lock();
+		try {
+			return action.get();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+	
+	// empties every product's holding; entries stay in the map so concurrent gives are never lost
+	public Map<Integer, Integer> drain() {
+		final Map<Integer, Integer> drained = new HashMap<>();
+		this.units.forEach((productId, held) -> {
+			final int quantity = held.getAndSet(0);
+			if (quantity > 0)
+				drained.put(productId, quantity);
+		});
+		return drained;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,13 @@
+
+CREATE TABLE product_reservations (
+	reservation_id INT(11) NOT NULL PRIMARY KEY AUTO_INCREMENT,
+	product_id INT(11) NOT NULL,
+	quantity INT(11) NOT NULL,
+	status VARCHAR(16) NOT NULL,
+	expires_at TIMESTAMP NOT NULL,
+	created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT,
+	updated_at TIMESTAMP
+);
+
+CREATE INDEX idx_product_reservations_status_expires_at ON product_reservations (status, expires_at);
+
@@ -0,0 +1,135 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.selimhorri.app.search.ProductSearchIndex;
+import com.selimhorri.app.search.ProductSearchIndex.Document;
+
+/**
+ * Index build time and query latency of the product search index over a synthetic catalog.
+ * Title words are drawn with a heavy skew, so the first vocabulary words behave like the
+ * common terms of a real catalog ("laptop", "black") and later ones like rare model names.
+ * 
+ * Run with: mvn -pl product-service test-compile exec:java -Dexec.classpathScope=test 
+ *   -Dexec.mainClass=com.selimhorri.app.benchmark.ProductSearchIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ProductSearchIndexBenchmark {
+
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mi", "ne", "ru", "sa", "ti", "vo", "be", "da",
+            "fi", "go", "ha", "ji", "ku", "le", "ma", "no", "pe", "ro"};
+    private static final int VOCABULARY_SIZE = 8_000;
+    private static final int CATEGORY_COUNT = 500;
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private List<Document> documents;
+    private ProductSearchIndex index;
+
+    private String commonTerm;
+    private String rareTerm;
+    private String twoTerms;
+    private int categoryId;
+    private String prefix;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        this.documents = new ArrayList<>(this.size);
+        for (int i = 1; i <= this.size; i++) {
+            final int category = 1 + random.nextInt(CATEGORY_COUNT);
+            final StringBuilder title = new StringBuilder();
+            for (int w = 3 + random.nextInt(4); w > 0; w--)
+                title.append(word(skewed(random))).append(' ');
+            this.documents.add(new Document(i, title.toString().strip(), "SKU-" + Integer.toString(i * 7919, 36),
+                    category, word(category) + " " + word(category * 7)));
+        }
+        this.index = new ProductSearchIndex();
+        this.index.rebuild(this.documents::stream);
+
+        this.commonTerm = word(0);
+        this.rareTerm = word(VOCABULARY_SIZE / 2);
+        this.twoTerms = word(3) + " " + word(40);
+        this.categoryId = 17;
+        this.prefix = word(5).substring(0, 3);
+    }
+
+    // cubic skew: index 0 shows up in roughly a fifth of the titles, the tail in a handful
+    private static int skewed(final Random random) {
+        final double u = random.nextDouble();
+        return (int) (VOCABULARY_SIZE * u * u * u);
+    }
+
+    private static String word(final int index) {
+        return SYLLABLES[index % 20] + SYLLABLES[(index / 20) % 20] + SYLLABLES[(index / 400) % 20];
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public int build() {
+        final ProductSearchIndex rebuilt = new ProductSearchIndex();
+        rebuilt.rebuild(this.documents::stream);
+        return rebuilt.size();
+    }
+
+    @Benchmark
+    public List<Integer> searchCommonTerm() {
+        return this.index.search(this.commonTerm, null, 20);
+    }
+
+    @Benchmark
+    public List<Integer> searchRareTerm() {
+        return this.index.search(this.rareTerm, null, 20);
+    }
+
+    @Benchmark
+    public List<Integer> searchTwoTerms() {
+        return this.index.search(this.twoTerms, null, 20);
+    }
+
+    @Benchmark
+    public List<Integer> searchCommonTermInCategory() {
+        return this.index.search(this.commonTerm, this.categoryId, 20);
+    }
+
+    @Benchmark
+    public List<String> suggestPrefix() {
+        return this.index.suggest(this.prefix, 10);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductSearchIndexBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.selimhorri.app.config.datasource;
+
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.ProductService;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two in-memory H2 databases stand in for the primary and its replica. Replication is not
+// simulated, so a row written to only one side shows which side a transaction was routed to.
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadWriteRoutingDataSourceTest.PRIMARY_URL,
+        "app.datasource.replica.url=" + ReadWriteRoutingDataSourceTest.REPLICA_URL,
+        "app.datasource.replica.username=sa"
+})
+@ActiveProfiles("test")
+class ReadWriteRoutingDataSourceTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1";
+
+    private static final int REPLICA_ONLY_PRODUCT_ID = 900_001;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @BeforeAll
+    static void migrateReplica() {
+        // the primary is migrated by Flyway on startup; a real replica would receive the schema through replication
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        new JdbcTemplate(replicaDataSource).update("MERGE INTO products (product_id, category_id, product_title, sku, price_unit, quantity) "
+                + "KEY (product_id) VALUES (?, 1, 'replica-only', 'replica-only-sku', 1.00, 1)", REPLICA_ONLY_PRODUCT_ID);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void readOnlyTransaction_shouldBeServedByReplica() {
+        assertThat(productService.findAll())
+                .extracting(ProductDto::getProductId)
+                .contains(REPLICA_ONLY_PRODUCT_ID);
+        assertThat(countBySku(primaryDataSource, "replica-only-sku")).isZero();
+    }
+
+    @Test
+    void readWriteTransaction_shouldBeServedByPrimary() {
+        productService.save(ProductDto.builder()
+                .productTitle("primary-only")
+                .sku("primary-only-sku")
+                .priceUnit(2.0)
+                .quantity(2)
+                .categoryDto(CategoryDto.builder().categoryId(1).build())
+                .build());
+
+        assertThat(countBySku(primaryDataSource, "primary-only-sku")).isOne();
+        assertThat(countBySku(replicaDataSource, "primary-only-sku")).isZero();
+    }
+
+    @Test
+    void readOnlyTransaction_shouldNotFlushDirtyEntities() {
+        final TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readOnly.executeWithoutResult(status -> {
+            final Product product = productRepository.findById(REPLICA_ONLY_PRODUCT_ID).orElseThrow();
+            product.setProductTitle("changed-in-read-only-transaction");
+        });
+
+        assertThat(new JdbcTemplate(replicaDataSource).queryForObject(
+                "SELECT product_title FROM products WHERE product_id = ?", String.class, REPLICA_ONLY_PRODUCT_ID))
+                .isEqualTo("replica-only");
+    }
+
+    private static int countBySku(final DataSource dataSource, final String sku) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM products WHERE sku = ?", Integer.class, sku);
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.selimhorri.app.search;
+
+import com.selimhorri.app.search.ProductSearchIndex.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.rebuild(List.of(
+                new Document(1, "Asus Laptop 15", "asus-l15", 1, "Computer"),
+                new Document(2, "Gaming Mouse", "laptop-mouse-2", 1, "Computer"),
+                new Document(3, "Laptop Sleeve", "sleeve-3", 2, "Mode"),
+                new Document(4, "Chess Board", "chess-4", 3, "Laptop Games"),
+                new Document(5, "Asus Monitor", "asus-m27", 1, "Computer"))::stream);
+    }
+
+    @Test
+    void search_shouldRankSkuAboveTitleAboveCategory() {
+        assertThat(index.search("laptop", null, 10)).containsExactly(2, 1, 3, 4);
+    }
+
+    @Test
+    void search_shouldRequireEveryToken() {
+        assertThat(index.search("asus laptop", null, 10)).containsExactly(1);
+        assertThat(index.search("asus keyboard", null, 10)).isEmpty();
+    }
+
+    @Test
+    void search_shouldMatchCaseAndPunctuationInsensitively() {
+        assertThat(index.search("ASUS-M27", null, 10)).containsExactly(5);
+    }
+
+    @Test
+    void search_shouldFilterByCategory() {
+        assertThat(index.search("laptop", 2, 10)).containsExactly(3);
+        assertThat(index.search("laptop", 42, 10)).isEmpty();
+    }
+
+    @Test
+    void search_shouldHonourLimit() {
+        assertThat(index.search("laptop", null, 2)).containsExactly(2, 1);
+    }
+
+    @Test
+    void search_shouldStillFindBetterHitsPastTheFirstFullPage() {
+        index.rebuild(() -> IntStream.rangeClosed(1, 1_000)
+                .mapToObj(i -> (i == 1_000) ?
+                        new Document(i, "Laptop", "sku-" + i, 1, "Laptop") :
+                        new Document(i, "Laptop " + i, "sku-" + i, 2, "Computer")));
+
+        assertThat(index.search("laptop", null, 3)).containsExactly(1_000, 1, 2);
+    }
+
+    @Test
+    void rebuild_shouldKeepWritesThatArriveWhileTheSourceIsRead() {
+        index.rebuild(() -> {
+            // the source snapshot is taken here: neither write below is part of it
+            final Stream<Document> snapshot = Stream.of(
+                    new Document(1, "Asus Laptop 15", "asus-l15", 1, "Computer"),
+                    new Document(3, "Laptop Sleeve", "sleeve-3", 2, "Mode"),
+                    new Document(5, "Asus Monitor", "asus-m27", 1, "Computer"));
+            index.put(new Document(6, "Laptop Stand", "stand-6", 2, "Mode"));
+            return snapshot.peek(document -> {
+                if (document.getProductId() == 3) {
+                    index.put(new Document(3, "Tablet Sleeve", "sleeve-3", 2, "Mode"));
+                    index.remove(5);
+                }
+            });
+        });
+
+        assertThat(index.search("laptop", 2, 10)).containsExactly(6);
+        assertThat(index.search("tablet", null, 10)).containsExactly(3);
+        assertThat(index.search("asus", null, 10)).containsExactly(1);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void put_shouldReplacePreviouslyIndexedTerms() {
+        index.put(new Document(3, "Tablet Sleeve", "sleeve-3", 2, "Mode"));
+
+        assertThat(index.search("laptop", null, 10)).doesNotContain(3);
+        assertThat(index.search("tablet", null, 10)).containsExactly(3);
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    void put_shouldIndexNewProducts() {
+        index.put(new Document(6, "Laptop Stand", "stand-6", 2, "Mode"));
+
+        assertThat(index.search("laptop", 2, 10)).containsExactly(3, 6);
+    }
+
+    @Test
+    void remove_shouldDropProductFromEveryTerm() {
+        index.remove(1);
+
+        assertThat(index.search("asus", null, 10)).containsExactly(5);
+        assertThat(index.suggest("asus l", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void suggest_shouldCompleteLastTokenAgainstTitlesOnly() {
+        assertThat(index.suggest("lap", 10)).containsExactly("Asus Laptop 15", "Laptop Sleeve");
+        assertThat(index.suggest("asus mon", 10)).containsExactly("Asus Monitor");
+        assertThat(index.suggest("gam", 10)).containsExactly("Gaming Mouse");
+    }
+
+    @Test
+    void suggest_shouldReturnDistinctTitles() {
+        index.put(new Document(7, "Laptop Sleeve", "sleeve-7", 2, "Mode"));
+
+        assertThat(index.suggest("sleeve", 10)).containsExactly("Laptop Sleeve");
+    }
+
+    @Test
+    void tokenize_shouldSplitOnNonAlphanumerics() {
+        assertThat(ProductSearchIndex.tokenize("Asus-X555 Laptop, 15\"")).containsExactly("asus", "x555", "laptop", "15");
+        assertThat(ProductSearchIndex.tokenize("  ")).isEmpty();
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.selimhorri.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OutboxEventType;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.event.DomainEvent;
+import com.selimhorri.app.event.DomainEventSubscriber;
+import com.selimhorri.app.event.InProcessDomainEventBus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Not @Transactional: events only exist once the writing transaction has committed.
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxRelayIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private InProcessDomainEventBus domainEventBus;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<DomainEvent> received = new CopyOnWriteArrayList<>();
+    private final DomainEventSubscriber subscriber = received::addAll;
+
+    @BeforeEach
+    void setUp() {
+        domainEventBus.subscribe(subscriber);
+    }
+
+    @AfterEach
+    void tearDown() {
+        domainEventBus.unsubscribe(subscriber);
+    }
+
+    @Test
+    void relay_shouldPublishCommittedChangesInOrder() {
+        ProductDto saved = productService.save(ProductDto.builder()
+                .productTitle("outbox-product")
+                .sku("outbox-product")
+                .priceUnit(10.0)
+                .quantity(1)
+                .categoryDto(CategoryDto.builder().categoryId(1).build())
+                .build());
+        saved.setProductTitle("outbox-product-renamed");
+        productService.update(saved);
+        productService.deleteById(saved.getProductId());
+
+        outboxService.relay();
+
+        List<DomainEvent> events = eventsFor(AppConstant.Outbox.PRODUCT, saved.getProductId());
+        assertThat(events).extracting(DomainEvent::getEventType)
+                .containsExactly(OutboxEventType.CREATED, OutboxEventType.UPDATED, OutboxEventType.DELETED);
+        assertThat(events.get(1).getPayload()).contains("outbox-product-renamed");
+        assertThat(events.get(2).getPayload()).isNull();
+        assertThat(meterRegistry.get("outbox.relay.batch.size").summary().count()).isPositive();
+        assertThat(meterRegistry.get("outbox.relay.lag").timer().count()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void relay_shouldNotPublishRolledBackChanges() {
+        assertThatThrownBy(() -> productService.save(ProductDto.builder()
+                .productTitle("outbox-orphan")
+                .sku("outbox-orphan")
+                .categoryDto(CategoryDto.builder().categoryId(Integer.MAX_VALUE).build())
+                .build()))
+                .isInstanceOf(RuntimeException.class);
+
+        outboxService.relay();
+
+        assertThat(received).noneMatch(event -> event.getPayload() != null && event.getPayload().contains("outbox-orphan"));
+    }
+
+    @Test
+    void findAllPublishedAfter_shouldPageThroughTheFeedInPositionOrder() {
+        final long start = outboxService.findLatestPosition();
+        ProductDto saved = productService.save(ProductDto.builder()
+                .productTitle("feed-product")
+                .sku("feed-product")
+                .priceUnit(10.0)
+                .quantity(1)
+                .categoryDto(CategoryDto.builder().categoryId(1).build())
+                .build());
+        saved.setProductTitle("feed-product-renamed");
+        productService.update(saved);
+
+        outboxService.relay();
+
+        final Slice<DomainEvent> first = outboxService.findAllPublishedAfter(
+                start, List.of(AppConstant.Outbox.PRODUCT), PageRequest.of(0, 1));
+        assertThat(first.hasNext()).isTrue();
+        final Slice<DomainEvent> second = outboxService.findAllPublishedAfter(
+                first.getContent().get(0).getPosition(), List.of(AppConstant.Outbox.PRODUCT), PageRequest.of(0, 10));
+        assertThat(first.getContent()).extracting(DomainEvent::getEventType).containsExactly(OutboxEventType.CREATED);
+        assertThat(second.getContent()).extracting(DomainEvent::getEventType).containsExactly(OutboxEventType.UPDATED);
+        assertThat(second.getContent().get(0).getPosition()).isGreaterThan(first.getContent().get(0).getPosition());
+        assertThat(outboxService.findLatestPosition()).isEqualTo(second.getContent().get(0).getPosition());
+        assertThat(outboxService.findAllPublishedAfter(start, List.of(AppConstant.Outbox.CATEGORY), PageRequest.of(0, 10)))
+                .isEmpty();
+    }
+
+    private List<DomainEvent> eventsFor(final String aggregateType, final Integer aggregateId) {
+        return received.stream()
+                .filter(event -> event.getAggregateType().equals(aggregateType)
+                        && event.getAggregateId().equals(String.valueOf(aggregateId)))
+                .collect(Collectors.toList());
+    }
+
+}
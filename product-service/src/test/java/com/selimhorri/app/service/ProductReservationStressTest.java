@@ -0,0 +1,141 @@
+package com.selimhorri.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.selimhorri.app.domain.ProductReservation;
+import com.selimhorri.app.domain.ReservationStatus;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.ProductReservationDto;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
+import com.selimhorri.app.exception.wrapper.ReservationStateException;
+import com.selimhorri.app.repository.ProductReservationRepository;
+
+// Not @Transactional: every reservation step commits on its own, and the ledger only ever sees committed stock.
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductReservationStressTest {
+
+    private static final int STOCK = 1_000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductReservationService productReservationService;
+
+    @Autowired
+    private ProductReservationRepository productReservationRepository;
+
+    @Test
+    void reserve_shouldNeverOversellOrLoseUnits_whenHammeredConcurrently() throws Exception {
+        final int productId = product(STOCK);
+        final var start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++)
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int held = 0;
+                    int misses = 0;
+                    while (misses < 20) {
+                        final int quantity = ThreadLocalRandom.current().nextInt(1, 4);
+                        final ProductReservationDto reserved;
+                        try {
+                            reserved = productReservationService.reserve(productId, quantity);
+                        }
+                        catch (final InsufficientStockException e) {
+                            misses++;
+                            continue;
+                        }
+                        // a third of the reservations are abandoned, feeding units back while others compete for them
+                        if (ThreadLocalRandom.current().nextInt(3) == 0)
+                            productReservationService.release(productId, reserved.getReservationId());
+                        else {
+                            productReservationService.confirm(productId, reserved.getReservationId());
+                            held += quantity;
+                        }
+                    }
+                    return held;
+                }));
+            start.countDown();
+            int confirmed = 0;
+            for (final Future<Integer> future : futures)
+                confirmed += future.get();
+
+            productReservationService.flush();
+
+            // sold out: whatever a thread could not take was taken by another, never twice
+            assertThat(confirmed).isEqualTo(sumOf(productId, ReservationStatus.CONFIRMED));
+            assertThat(sumOf(productId, ReservationStatus.PENDING)).isZero();
+            assertThat(confirmed + productService.findById(productId).getQuantity()).isEqualTo(STOCK);
+            assertThat(confirmed).isGreaterThan(STOCK - THREADS * 3);
+        }
+        finally {
+            executor.shutdownNow();
+            productService.deleteById(productId);
+        }
+    }
+
+    @Test
+    void reserve_shouldHonourReleasedUnits_andRejectStaleTransitions() {
+        final int productId = product(5);
+        try {
+            final ProductReservationDto all = productReservationService.reserve(productId, 5);
+            assertThat(all.getStatus()).isEqualTo(ReservationStatus.PENDING);
+            assertThatThrownBy(() -> productReservationService.reserve(productId, 1))
+                    .isInstanceOf(InsufficientStockException.class);
+
+            assertThat(productReservationService.release(productId, all.getReservationId()).getStatus())
+                    .isEqualTo(ReservationStatus.RELEASED);
+            assertThatThrownBy(() -> productReservationService.confirm(productId, all.getReservationId()))
+                    .isInstanceOf(ReservationStateException.class);
+
+            final ProductReservationDto again = productReservationService.reserve(productId, 5);
+            assertThat(productReservationService.confirm(productId, again.getReservationId()).getStatus())
+                    .isEqualTo(ReservationStatus.CONFIRMED);
+            assertThatThrownBy(() -> productReservationService.release(productId, again.getReservationId()))
+                    .isInstanceOf(ReservationStateException.class);
+
+            productReservationService.flush();
+            assertThat(productService.findById(productId).getQuantity()).isZero();
+        }
+        finally {
+            productService.deleteById(productId);
+        }
+    }
+
+    private int product(final int quantity) {
+        return productService.save(ProductDto.builder()
+                .productTitle("Reservation Fixture")
+                .sku("reservation-fixture")
+                .priceUnit(10.0)
+                .quantity(quantity)
+                .categoryDto(CategoryDto.builder().categoryId(1).build())
+                .build()).getProductId();
+    }
+
+    private int sumOf(final int productId, final ReservationStatus status) {
+        return productReservationRepository.findAll().stream()
+                .filter(r -> r.getProductId() == productId && r.getStatus() == status)
+                .mapToInt(ProductReservation::getQuantity)
+                .sum();
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Deliberately not @Transactional: the index only sees writes once they have committed.
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductSearchServiceIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Test
+    void search_shouldFollowProductWrites() {
+        ProductDto saved = productService.save(ProductDto.builder()
+                .productTitle("Zephyrus Ultrabook")
+                .sku("zephyrus-g14")
+                .priceUnit(1500.0)
+                .quantity(3)
+                .categoryDto(CategoryDto.builder().categoryId(1).build())
+                .build());
+
+        assertThat(productSearchService.search("zephyrus", null, null))
+                .extracting(ProductDto::getProductId)
+                .containsExactly(saved.getProductId());
+        assertThat(productSearchService.search("zephyrus", 1, null)).hasSize(1);
+        assertThat(productSearchService.suggest("zeph", null)).containsExactly("Zephyrus Ultrabook");
+
+        productService.deleteById(saved.getProductId());
+
+        assertThat(productSearchService.search("zephyrus", null, null)).isEmpty();
+    }
+
+    @Test
+    void save_shouldIndexTheStoredCategoryTitle() {
+        ProductDto saved = productService.save(ProductDto.builder()
+                .productTitle("Quillon Keyboard")
+                .sku("quillon-kb")
+                .priceUnit(80.0)
+                .quantity(5)
+                .categoryDto(CategoryDto.builder().categoryId(1).categoryTitle("made up").build())
+                .build());
+
+        assertThat(saved.getCategoryDto().getCategoryTitle()).isEqualTo("Computer");
+        assertThat(productSearchService.search("quillon", null, null))
+                .singleElement()
+                .satisfies(productDto -> assertThat(productDto.getCategoryDto().getCategoryTitle()).isEqualTo("Computer"));
+
+        productService.deleteById(saved.getProductId());
+    }
+
+    @Test
+    void search_shouldServeProductsIndexedAtStartup() {
+        assertThat(productSearchService.search("computer", null, null))
+                .isNotEmpty()
+                .allSatisfy(productDto -> assertThat(productDto.getCategoryDto().getCategoryTitle()).isEqualTo("Computer"));
+    }
+
+}
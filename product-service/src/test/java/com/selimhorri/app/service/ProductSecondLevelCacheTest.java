@@ -0,0 +1,96 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Deliberately not @Transactional: every service call must open its own session,
+// otherwise the persistence context answers the second lookup instead of the L2 cache.
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductSecondLevelCacheTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+    private Category category;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(Category.builder().categoryTitle("l2-category").build());
+        product = productRepository.save(Product.builder()
+                .productTitle("l2-product")
+                .sku("l2-cache-sku")
+                .priceUnit(10.0)
+                .quantity(5)
+                .category(category)
+                .build());
+
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteById(product.getProductId());
+        categoryRepository.deleteById(category.getCategoryId());
+    }
+
+    @Test
+    void findById_shouldServeRepeatedLookupsFromSecondLevelCache() {
+        ProductDto cold = productService.findById(product.getProductId());
+        long coldStatements = statistics.getPrepareStatementCount();
+
+        assertThat(coldStatements).isPositive();
+        assertThat(statistics.getDomainDataRegionStatistics(AppConstant.CacheRegion.PRODUCT).getMissCount()).isEqualTo(1);
+
+        ProductDto warm = productService.findById(product.getProductId());
+
+        assertThat(warm.getProductTitle()).isEqualTo(cold.getProductTitle());
+        assertThat(warm.getCategoryDto().getCategoryTitle()).isEqualTo("l2-category");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(coldStatements);
+        assertThat(statistics.getDomainDataRegionStatistics(AppConstant.CacheRegion.PRODUCT).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(AppConstant.CacheRegion.CATEGORY).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void update_shouldRefreshCachedEntry() {
+        productService.findById(product.getProductId());
+        product.setProductTitle("l2-product-renamed");
+        productRepository.save(product);
+        statistics.clear();
+
+        assertThat(productService.findById(product.getProductId()).getProductTitle()).isEqualTo("l2-product-renamed");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+@ActiveProfiles("test")
+class ProductServiceQueryCountTest {
+
+    private static final int CATEGORY_COUNT = 10;
+    private static final int PRODUCT_COUNT = 50;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Category root = categoryRepository.save(Category.builder().categoryTitle("root").build());
+        Category parent = root;
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORY_COUNT; i++) {
+            parent = categoryRepository.save(Category.builder()
+                    .categoryTitle("category-" + i)
+                    .parentCategory(parent)
+                    .build());
+            categories.add(parent);
+        }
+        productRepository.saveAll(IntStream.range(0, PRODUCT_COUNT)
+                .mapToObj(i -> Product.builder()
+                        .productTitle("product-" + i)
+                        .sku("query-count-sku-" + i)
+                        .priceUnit(10.0)
+                        .quantity(5)
+                        .category(categories.get(i % CATEGORY_COUNT))
+                        .build())
+                .collect(Collectors.toList()));
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAll_shouldLoadProductsAndCategoriesWithOneStatement() {
+        List<ProductDto> products = productService.findAll();
+
+        assertThat(products.size()).isGreaterThanOrEqualTo(PRODUCT_COUNT);
+        assertThat(products).allSatisfy(p -> assertThat(p.getCategoryDto().getCategoryTitle()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findAllByIds_shouldLoadRequestedProductsWithOneStatement() {
+        List<Integer> productIds = productRepository.findAll().stream()
+                .map(Product::getProductId)
+                .collect(Collectors.toList());
+        entityManager.clear();
+        statistics.clear();
+
+        assertThat(productService.findAllByIds(productIds)).hasSize(productIds.size());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findAllCategories_shouldNotRecurseIntoParentChain() {
+        assertThat(categoryService.findAll().size()).isGreaterThanOrEqualTo(CATEGORY_COUNT + 1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+}
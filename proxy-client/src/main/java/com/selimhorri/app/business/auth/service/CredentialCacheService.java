@@ -0,0 +1,21 @@
+package com.selimhorri.app.business.auth.service;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+public interface CredentialCacheService {
+	
+	UserDetails loadUserByUsername(final String username);
+	void invalidate(final String username);
+	void invalidateByCredentialId(final Integer credentialId);
+	
+}
+
+
+
+
+
+
+
+
+
+
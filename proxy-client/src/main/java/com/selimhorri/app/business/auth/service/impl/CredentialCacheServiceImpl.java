@@ -0,0 +1,68 @@
+package com.selimhorri.app.business.auth.service.impl;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.selimhorri.app.business.auth.service.CredentialCacheService;
+import com.selimhorri.app.business.user.model.UserDetailsImpl;
+import com.selimhorri.app.config.cache.CredentialCacheProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class CredentialCacheServiceImpl implements CredentialCacheService {
+	
+	public static final String CACHE_NAME = "proxy.credentials";
+	
+	private final LoadingCache<String, UserDetails> cache;
+	
+	public CredentialCacheServiceImpl(final UserDetailsService userDetailsService,
+			final CredentialCacheProperties properties, final MeterRegistry meterRegistry) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(properties.getMaxSize())
+				.expireAfterWrite(properties.getTtl())
+				.recordStats()
+				.build(userDetailsService::loadUserByUsername);
+		CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+	}
+	
+	@Override
+	public UserDetails loadUserByUsername(final String username) {
+		log.info("*** UserDetails, cache service; load user by username *");
+		return this.cache.get(username);
+	}
+	
+	@Override
+	public void invalidate(final String username) {
+		log.info("*** Void, cache service; invalidate cached credential by username *");
+		if (username != null)
+			this.cache.invalidate(username);
+	}
+	
+	@Override
+	public void invalidateByCredentialId(final Integer credentialId) {
+		log.info("*** Void, cache service; invalidate cached credential by credentialId *");
+		this.cache.asMap().values().removeIf(userDetails ->
+				userDetails instanceof UserDetailsImpl
+					&& credentialId.equals(((UserDetailsImpl) userDetails).getCredentialId()));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -8,12 +8,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.selimhorri.app.business.favourite.model.FavouriteDto;
 import com.selimhorri.app.business.favourite.model.FavouriteId;
-import com.selimhorri.app.business.favourite.model.response.FavouriteFavouriteServiceCollectionDtoResponse;
 import com.selimhorri.app.business.favourite.service.FavouriteClientService;
+import com.selimhorri.app.helper.PassThroughHelper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -25,8 +27,10 @@ public class FavouriteController {
 	private final FavouriteClientService favouriteClientService;
 	
 	@GetMapping
-	public ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.favouriteClientService.findAll().getBody());
+	public ResponseEntity<StreamingResponseBody> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return PassThroughHelper.passThrough(this.favouriteClientService.findAllRaw(after, limit));
 	}
 	
 	@GetMapping("/{userId}/{productId}/{likeDate}")
@@ -12,11 +12,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.selimhorri.app.business.order.model.CartDto;
-import com.selimhorri.app.business.order.model.response.CartOrderServiceDtoCollectionResponse;
 import com.selimhorri.app.business.order.service.CartClientService;
+import com.selimhorri.app.helper.PassThroughHelper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -28,8 +30,10 @@ public class CartController {
 	private final CartClientService cartClientService;
 	
 	@GetMapping
-	public ResponseEntity<CartOrderServiceDtoCollectionResponse> findAll() {
-		return ResponseEntity.ok(this.cartClientService.findAll().getBody());
+	public ResponseEntity<StreamingResponseBody> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return PassThroughHelper.passThrough(this.cartClientService.findAllRaw(after, limit));
 	}
 	
 	@GetMapping("/{cartId}")
@@ -12,11 +12,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.selimhorri.app.business.order.model.OrderDetailsDto;
 import com.selimhorri.app.business.order.model.OrderDto;
-import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
 import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.order.service.OrderDetailsService;
+import com.selimhorri.app.helper.PassThroughHelper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -26,10 +30,13 @@ import lombok.RequiredArgsConstructor;
 public class OrderController {
 	
 	private final OrderClientService orderClientService;
+	private final OrderDetailsService orderDetailsService;
 	
 	@GetMapping
-	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAll() {
-		return ResponseEntity.ok(this.orderClientService.findAll().getBody());
+	public ResponseEntity<StreamingResponseBody> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return PassThroughHelper.passThrough(this.orderClientService.findAllRaw(after, limit));
 	}
 	
 	@GetMapping("/{orderId}")
@@ -40,6 +47,14 @@ public class OrderController {
 		return ResponseEntity.ok(this.orderClientService.findById(orderId).getBody());
 	}
 	
+	@GetMapping("/{orderId}/details")
+	public ResponseEntity<OrderDetailsDto> findDetailsById(
+			@PathVariable("orderId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String orderId) {
+		return ResponseEntity.ok(this.orderDetailsService.findDetailsById(orderId));
+	}
+	
 	@PostMapping
 	public ResponseEntity<OrderDto> save(
 			@RequestBody 
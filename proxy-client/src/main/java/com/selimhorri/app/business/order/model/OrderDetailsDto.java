@@ -0,0 +1,54 @@
+package com.selimhorri.app.business.order.model;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.payment.model.PaymentDto;
+import com.selimhorri.app.business.product.model.ProductDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderDetailsDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@JsonProperty("order")
+	private OrderDto orderDto;
+	
+	@JsonProperty("payments")
+	private List<PaymentDto> paymentDtos;
+	
+	@JsonProperty("orderItems")
+	private List<OrderItemDto> orderItemDtos;
+	
+	@JsonProperty("products")
+	private List<ProductDto> productDtos;
+	
+	private Boolean partial;
+	
+	@JsonInclude(Include.NON_EMPTY)
+	private Set<String> missing;
+	
+}
+
+
+
+
+
+
+
+
+
+
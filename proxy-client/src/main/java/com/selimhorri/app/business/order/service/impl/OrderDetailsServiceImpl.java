@@ -0,0 +1,179 @@
+package com.selimhorri.app.business.order.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.selimhorri.app.business.order.model.OrderDetailsDto;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.order.service.OrderDetailsService;
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.orderItem.service.OrderItemClientService;
+import com.selimhorri.app.business.payment.model.PaymentDto;
+import com.selimhorri.app.business.payment.service.PaymentClientService;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.service.CatalogCacheService;
+import com.selimhorri.app.config.aggregation.AggregationConfig;
+import com.selimhorri.app.config.aggregation.AggregationProperties;
+import com.selimhorri.app.config.deadline.Deadline;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OrderDetailsServiceImpl implements OrderDetailsService {
+	
+	public static final String PART_ORDER = "order";
+	public static final String PART_PAYMENTS = "payments";
+	public static final String PART_ORDER_ITEMS = "orderItems";
+	public static final String PART_PRODUCTS = "products";
+	
+	private final OrderClientService orderClientService;
+	private final PaymentClientService paymentClientService;
+	private final OrderItemClientService orderItemClientService;
+	private final CatalogCacheService catalogCacheService;
+	private final ExecutorService aggregationExecutor;
+	private final AggregationProperties properties;
+	private final MeterRegistry meterRegistry;
+	
+	@Override
+	public OrderDetailsDto findDetailsById(final String orderId) {
+		log.info("*** OrderDetailsDto, service; fetch order details by order id *");
+		// the time budget, or less when the caller's own deadline is closer
+		final long deadline = System.nanoTime() + Deadline.current()
+				.map(Deadline::remaining)
+				.filter(remaining -> remaining.compareTo(this.properties.getTimeBudget()) < 0)
+				.orElse(this.properties.getTimeBudget())
+				.toNanos();
+		
+		final CompletableFuture<OrderDto> order = this.submit(() ->
+				this.orderClientService.findById(orderId).getBody());
+		final CompletableFuture<Collection<PaymentDto>> payments = this.submit(() ->
+				this.paymentClientService.findAllByOrderId(orderId).getBody().getCollection());
+		final CompletableFuture<Collection<OrderItemDto>> orderItems = this.submit(() ->
+				this.orderItemClientService.findAllByOrderId(orderId).getBody().getCollection());
+		
+		// product lookups depend on the item list, so they are fanned out as soon as it arrives
+		final List<CompletableFuture<ProductDto>> products = new ArrayList<>();
+		if (await(orderItems, deadline))
+			orderItems.join().stream()
+					.map(OrderItemDto::getProductId)
+					.filter(Objects::nonNull)
+					.distinct()
+					.forEach(productId -> products.add(this.submit(() ->
+							this.catalogCacheService.findProductById(String.valueOf(productId)))));
+		
+		final List<CompletableFuture<?>> pending = new ArrayList<>(products);
+		pending.add(order);
+		pending.add(payments);
+		await(CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)), deadline);
+		
+		final Set<String> missing = new LinkedHashSet<>();
+		final OrderDetailsDto orderDetailsDto = OrderDetailsDto.builder()
+				.orderDto(this.resolve(order, PART_ORDER, missing))
+				.paymentDtos(listOf(this.resolve(payments, PART_PAYMENTS, missing)))
+				.orderItemDtos(listOf(this.resolve(orderItems, PART_ORDER_ITEMS, missing)))
+				.productDtos(products.stream()
+						.map(product -> this.resolve(product, PART_PRODUCTS, missing))
+						.filter(Objects::nonNull)
+						.collect(Collectors.toUnmodifiableList()))
+				.build();
+		orderDetailsDto.setPartial(!missing.isEmpty());
+		orderDetailsDto.setMissing(missing);
+		return orderDetailsDto;
+	}
+	
+	// parts carry the request attributes, so their Feign calls pass the deadline on and are refused once
+	// it has passed, e.g. when they only leave the queue after the response was sent
+	private <T> CompletableFuture<T> submit(final Supplier<T> supplier) {
+		final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		try {
+			return CompletableFuture.supplyAsync(() -> {
+				RequestContextHolder.setRequestAttributes(requestAttributes);
+				try {
+					return supplier.get();
+				}
+				finally {
+					RequestContextHolder.resetRequestAttributes();
+				}
+			}, this.aggregationExecutor);
+		}
+		catch (RejectedExecutionException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+	
+	private <T> T resolve(final CompletableFuture<T> future, final String part, final Set<String> missing) {
+		if (future.isDone() && !future.isCompletedExceptionally())
+			return future.join();
+		
+		// a not-found or rejected order is the caller's error, not a degraded dependency
+		if (PART_ORDER.equals(part) && future.isCompletedExceptionally()) {
+			try {
+				future.join();
+			}
+			catch (CompletionException e) {
+				if (e.getCause() instanceof FeignException.FeignClientException)
+					throw (FeignException) e.getCause();
+			}
+		}
+		
+		future.cancel(true);
+		missing.add(part);
+		this.meterRegistry.counter(AggregationConfig.EXECUTOR_NAME + ".missing", "part", part).increment();
+		log.warn("*** OrderDetailsDto, service; part {} unavailable within the time budget *", part);
+		return null;
+	}
+	
+	private static boolean await(final CompletableFuture<?> future, final long deadline) {
+		try {
+			future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			return true;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+		catch (ExecutionException | TimeoutException e) {
+			return false;
+		}
+	}
+	
+	private static <T> List<T> listOf(final Collection<T> collection) {
+		return (collection == null) ? null : List.copyOf(collection);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
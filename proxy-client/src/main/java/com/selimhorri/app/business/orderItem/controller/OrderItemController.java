@@ -8,12 +8,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.selimhorri.app.business.orderItem.model.OrderItemDto;
 import com.selimhorri.app.business.orderItem.model.OrderItemId;
-import com.selimhorri.app.business.orderItem.model.response.OrderItemOrderItemServiceDtoCollectionResponse;
 import com.selimhorri.app.business.orderItem.service.OrderItemClientService;
+import com.selimhorri.app.helper.PassThroughHelper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -25,8 +27,10 @@ public class OrderItemController {
 	private final OrderItemClientService orderItemClientService;
 	
 	@GetMapping
-	public ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> findAll() {
-		return ResponseEntity.ok(this.orderItemClientService.findAll().getBody());
+	public ResponseEntity<StreamingResponseBody> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return PassThroughHelper.passThrough(this.orderItemClientService.findAllRaw(after, limit));
 	}
 	
 	@GetMapping("/{orderId}/{productId}")
@@ -8,11 +8,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.selimhorri.app.business.payment.model.PaymentDto;
-import com.selimhorri.app.business.payment.model.response.PaymentPaymentServiceDtoCollectionResponse;
 import com.selimhorri.app.business.payment.service.PaymentClientService;
+import com.selimhorri.app.helper.PassThroughHelper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -24,8 +26,10 @@ public class PaymentController {
 	private final PaymentClientService paymentClientService;
 	
 	@GetMapping
-	public ResponseEntity<PaymentPaymentServiceDtoCollectionResponse> findAll() {
-		return ResponseEntity.ok(this.paymentClientService.findAll().getBody());
+	public ResponseEntity<StreamingResponseBody> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return PassThroughHelper.passThrough(this.paymentClientService.findAllRaw(after, limit));
 	}
 	
 	@GetMapping("/{paymentId}")
@@ -8,10 +8,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.product.model.CategoryDto;
 import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.service.CatalogCacheService;
 import com.selimhorri.app.business.product.service.CategoryClientService;
 
 import lombok.RequiredArgsConstructor;
@@ -22,36 +24,49 @@ import lombok.RequiredArgsConstructor;
 public class CategoryController {
 	
 	private final CategoryClientService categoryClientService;
+	private final CatalogCacheService catalogCacheService;
 	
 	@GetMapping
-	public ResponseEntity<CategoryProductServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.categoryClientService.findAll().getBody());
+	public ResponseEntity<CategoryProductServiceCollectionDtoResponse> findAll(
+			@RequestParam(value = "after", required = false) final String after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		if (after == null && limit == null)
+			return ResponseEntity.ok(this.catalogCacheService.findAllCategories());
+		return ResponseEntity.ok(this.categoryClientService.findAll(after, limit).getBody());
 	}
 	
 	@GetMapping("/{categoryId}")
 	public ResponseEntity<CategoryDto> findById(@PathVariable("categoryId") final String categoryId) {
-		return ResponseEntity.ok(this.categoryClientService.findById(categoryId).getBody());
+		return ResponseEntity.ok(this.catalogCacheService.findCategoryById(categoryId));
 	}
 	
 	@PostMapping
 	public ResponseEntity<CategoryDto> save(@RequestBody final CategoryDto categoryDto) {
-		return ResponseEntity.ok(this.categoryClientService.save(categoryDto).getBody());
+		final CategoryDto saved = this.categoryClientService.save(categoryDto).getBody();
+		this.catalogCacheService.invalidateCategories();
+		return ResponseEntity.ok(saved);
 	}
 	
 	@PutMapping
 	public ResponseEntity<CategoryDto> update(@RequestBody final CategoryDto categoryDto) {
-		return ResponseEntity.ok(this.categoryClientService.update(categoryDto).getBody());
+		final CategoryDto updated = this.categoryClientService.update(categoryDto).getBody();
+		this.catalogCacheService.invalidateCategories();
+		return ResponseEntity.ok(updated);
 	}
 	
 	@PutMapping("/{categoryId}")
-	public ResponseEntity<CategoryDto> update(@PathVariable("categoryId") final String categoryId, 
+	public ResponseEntity<CategoryDto> update(@PathVariable("categoryId") final String categoryId,
 			@RequestBody final CategoryDto categoryDto) {
-		return ResponseEntity.ok(this.categoryClientService.update(categoryId, categoryDto).getBody());
+		final CategoryDto updated = this.categoryClientService.update(categoryId, categoryDto).getBody();
+		this.catalogCacheService.invalidateCategories();
+		return ResponseEntity.ok(updated);
 	}
 	
 	@DeleteMapping("/{categoryId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("categoryId") final String categoryId) {
-		return ResponseEntity.ok(this.categoryClientService.deleteById(categoryId).getBody());
+		final Boolean deleted = this.categoryClientService.deleteById(categoryId).getBody();
+		this.catalogCacheService.invalidateCategories();
+		return ResponseEntity.ok(deleted);
 	}
 	
 	
@@ -8,10 +8,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.product.model.ProductDto;
 import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.service.CatalogCacheService;
 import com.selimhorri.app.business.product.service.ProductClientService;
 
 import lombok.RequiredArgsConstructor;
@@ -22,36 +24,51 @@ import lombok.RequiredArgsConstructor;
 public class ProductController {
 	
 	private final ProductClientService productClientService;
+	private final CatalogCacheService catalogCacheService;
 	
 	@GetMapping
-	public ResponseEntity<ProductProductServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.productClientService.findAll().getBody());
+	public ResponseEntity<ProductProductServiceCollectionDtoResponse> findAll(
+			@RequestParam(value = "after", required = false) final String after,
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		if (after == null && limit == null)
+			return ResponseEntity.ok(this.catalogCacheService.findAllProducts());
+		return ResponseEntity.ok(this.productClientService.findAll(after, limit).getBody());
 	}
 	
 	@GetMapping("/{productId}")
 	public ResponseEntity<ProductDto> findById(@PathVariable("productId") final String productId) {
-		return ResponseEntity.ok(this.productClientService.findById(productId).getBody());
+		return ResponseEntity.ok(this.catalogCacheService.findProductById(productId));
 	}
 	
 	@PostMapping
 	public ResponseEntity<ProductDto> save(@RequestBody final ProductDto productDto) {
-		return ResponseEntity.ok(this.productClientService.save(productDto).getBody());
+		final ProductDto saved = this.productClientService.save(productDto).getBody();
+		this.catalogCacheService.invalidateProduct(null);
+		return ResponseEntity.ok(saved);
 	}
 	
 	@PutMapping
 	public ResponseEntity<ProductDto> update(@RequestBody final ProductDto productDto) {
-		return ResponseEntity.ok(this.productClientService.update(productDto).getBody());
+		final ProductDto updated = this.productClientService.update(productDto).getBody();
+		// keyed on the stored id: the request body may not carry one
+		this.catalogCacheService.invalidateProduct((updated == null || updated.getProductId() == null) ? 
+				null : String.valueOf(updated.getProductId()));
+		return ResponseEntity.ok(updated);
 	}
 	
 	@PutMapping("/{productId}")
-	public ResponseEntity<ProductDto> update(@PathVariable("productId") final String productId, 
+	public ResponseEntity<ProductDto> update(@PathVariable("productId") final String productId,
 			@RequestBody final ProductDto productDto) {
-		return ResponseEntity.ok(this.productClientService.update(productId, productDto).getBody());
+		final ProductDto updated = this.productClientService.update(productId, productDto).getBody();
+		this.catalogCacheService.invalidateProduct(productId);
+		return ResponseEntity.ok(updated);
 	}
 	
 	@DeleteMapping("/{productId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("productId") final String productId) {
-		return ResponseEntity.ok(this.productClientService.deleteById(productId).getBody());
+		final Boolean deleted = this.productClientService.deleteById(productId).getBody();
+		this.catalogCacheService.invalidateProduct(productId);
+		return ResponseEntity.ok(deleted);
 	}
 	
 	
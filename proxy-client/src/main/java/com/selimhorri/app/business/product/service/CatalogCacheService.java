@@ -0,0 +1,28 @@
+package com.selimhorri.app.business.product.service;
+
+import com.selimhorri.app.business.product.model.CategoryDto;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+
+public interface CatalogCacheService {
+	
+	ProductProductServiceCollectionDtoResponse findAllProducts();
+	ProductDto findProductById(final String productId);
+	CategoryProductServiceCollectionDtoResponse findAllCategories();
+	CategoryDto findCategoryById(final String categoryId);
+	void invalidateProduct(final String productId);
+	void invalidateCategories();
+	void invalidateAll();
+	
+}
+
+
+
+
+
+
+
+
+
+
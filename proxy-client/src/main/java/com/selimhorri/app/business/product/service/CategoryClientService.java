@@ -5,6 +5,7 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,15 +13,21 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.selimhorri.app.business.product.model.CategoryDto;
 import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
 
+import feign.Response;
+
 @FeignClient(name = "PRODUCT-SERVICE", contextId = "categoryClientService", path = "/product-service/api/categories")
 public interface CategoryClientService {
 	
 	@GetMapping
-	ResponseEntity<CategoryProductServiceCollectionDtoResponse> findAll();
+	ResponseEntity<CategoryProductServiceCollectionDtoResponse> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			@RequestParam(value = "limit", required = false) final Integer limit);
 	
 	@GetMapping("/{categoryId}")
 	ResponseEntity<CategoryDto> findById(
@@ -28,6 +35,15 @@ public interface CategoryClientService {
 			@NotBlank(message = "Input must not be blank!") 
 			@Valid final String categoryId);
 	
+	@GetMapping
+	Response revalidateAll(
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String eTag);
+	
+	@GetMapping("/{categoryId}")
+	Response revalidateById(
+			@PathVariable("categoryId") final String categoryId, 
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String eTag);
+	
 	@PostMapping
 	ResponseEntity<CategoryDto> save(
 			@RequestBody 
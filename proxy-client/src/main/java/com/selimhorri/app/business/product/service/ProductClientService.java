@@ -5,6 +5,7 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,15 +13,21 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.selimhorri.app.business.product.model.ProductDto;
 import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
 
+import feign.Response;
+
 @FeignClient(name = "PRODUCT-SERVICE", contextId = "productClientService", path = "/product-service/api/products")
 public interface ProductClientService {
 	
 	@GetMapping
-	ResponseEntity<ProductProductServiceCollectionDtoResponse> findAll();
+	ResponseEntity<ProductProductServiceCollectionDtoResponse> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			@RequestParam(value = "limit", required = false) final Integer limit);
 	
 	@GetMapping("/{productId}")
 	ResponseEntity<ProductDto> findById(
@@ -28,6 +35,15 @@ public interface ProductClientService {
 			@NotBlank(message = "Input must not be blank!") 
 			@Valid final String productId);
 	
+	@GetMapping
+	Response revalidateAll(
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String eTag);
+	
+	@GetMapping("/{productId}")
+	Response revalidateById(
+			@PathVariable("productId") final String productId, 
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String eTag);
+	
 	@PostMapping
 	ResponseEntity<ProductDto> save(
 			@RequestBody 
@@ -0,0 +1,221 @@
+package com.selimhorri.app.business.product.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.selimhorri.app.business.product.model.CategoryDto;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.service.CatalogCacheService;
+import com.selimhorri.app.business.product.service.CategoryClientService;
+import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.config.cache.CatalogCacheProperties;
+
+import feign.FeignException;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class CatalogCacheServiceImpl implements CatalogCacheService {
+	
+	public static final String CACHE_NAME = "proxy.catalog";
+	
+	private final ProductClientService productClientService;
+	private final CategoryClientService categoryClientService;
+	private final ObjectMapper objectMapper;
+	private final LoadingCache<Key, Entry> cache;
+	private final Counter notModified;
+	private final Counter modified;
+	
+	public CatalogCacheServiceImpl(final ProductClientService productClientService,
+			final CategoryClientService categoryClientService, final ObjectMapper objectMapper,
+			final CatalogCacheProperties properties, final MeterRegistry meterRegistry) {
+		this.productClientService = productClientService;
+		this.categoryClientService = categoryClientService;
+		this.objectMapper = objectMapper;
+		// a LoadingCache lets a single caller load a missing key while concurrent callers wait on it,
+		// and refreshAfterWrite serves the stale entry while one background revalidation is in flight
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(properties.getMaxSize())
+				.refreshAfterWrite(properties.getRefreshAfter())
+				.expireAfterWrite(properties.getTtl())
+				.recordStats()
+				.build(new RevalidatingLoader());
+		CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+		this.notModified = Counter.builder(CACHE_NAME + ".revalidations")
+				.tag("result", "not_modified")
+				.register(meterRegistry);
+		this.modified = Counter.builder(CACHE_NAME + ".revalidations")
+				.tag("result", "modified")
+				.register(meterRegistry);
+	}
+	
+	@Override
+	public ProductProductServiceCollectionDtoResponse findAllProducts() {
+		log.info("*** ProductProductServiceCollectionDtoResponse, cache service; fetch all products *");
+		return Kind.PRODUCTS.cast(this.cache.get(new Key(Kind.PRODUCTS, null)).getBody());
+	}
+	
+	@Override
+	public ProductDto findProductById(final String productId) {
+		log.info("*** ProductDto, cache service; fetch product by id *");
+		return Kind.PRODUCT.cast(this.cache.get(new Key(Kind.PRODUCT, productId)).getBody());
+	}
+	
+	@Override
+	public CategoryProductServiceCollectionDtoResponse findAllCategories() {
+		log.info("*** CategoryProductServiceCollectionDtoResponse, cache service; fetch all categories *");
+		return Kind.CATEGORIES.cast(this.cache.get(new Key(Kind.CATEGORIES, null)).getBody());
+	}
+	
+	@Override
+	public CategoryDto findCategoryById(final String categoryId) {
+		log.info("*** CategoryDto, cache service; fetch category by id *");
+		return Kind.CATEGORY.cast(this.cache.get(new Key(Kind.CATEGORY, categoryId)).getBody());
+	}
+	
+	@Override
+	public void invalidateProduct(final String productId) {
+		log.info("*** Void, cache service; invalidate cached product *");
+		this.cache.invalidate(new Key(Kind.PRODUCTS, null));
+		if (productId != null)
+			this.cache.invalidate(new Key(Kind.PRODUCT, productId));
+	}
+	
+	@Override
+	public void invalidateCategories() {
+		log.info("*** Void, cache service; invalidate cached categories and dependent products *");
+		// products embed their category, so every product entry goes along with the categories
+		this.cache.invalidateAll();
+	}
+	
+	@Override
+	public void invalidateAll() {
+		log.info("*** Void, cache service; invalidate whole catalog cache *");
+		this.cache.invalidateAll();
+	}
+	
+	private Entry fetch(final Key key, final Entry cached) {
+		final String eTag = (cached != null) ? cached.getETag() : null;
+		try (final Response response = key.getKind().request(this, key.getId(), eTag)) {
+			
+			if (cached != null && response.status() == HttpStatus.NOT_MODIFIED.value()) {
+				this.notModified.increment();
+				return cached;
+			}
+			if (response.status() < 200 || response.status() >= 300)
+				throw FeignException.errorStatus(key.getKind().name(), response);
+			if (cached != null)
+				this.modified.increment();
+			
+			try (final InputStream body = response.body().asInputStream()) {
+				return new Entry(this.objectMapper.readValue(body, key.getKind().getType()),
+						firstHeader(response, HttpHeaders.ETAG));
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private static String firstHeader(final Response response, final String name) {
+		return response.headers().entrySet().stream()
+				.filter(header -> header.getKey().equalsIgnoreCase(name))
+				.map(Map.Entry::getValue)
+				.flatMap(Collection::stream)
+				.findFirst()
+				.orElse(null);
+	}
+	
+	private final class RevalidatingLoader implements CacheLoader<Key, Entry> {
+		
+		@Override
+		public Entry load(final Key key) {
+			return fetch(key, null);
+		}
+		
+		@Override
+		public Entry reload(final Key key, final Entry oldValue) {
+			return fetch(key, oldValue);
+		}
+	
+	}
+	
+	@AllArgsConstructor
+	private enum Kind {
+		
+		PRODUCTS(ProductProductServiceCollectionDtoResponse.class,
+				(service, id, eTag) -> service.productClientService.revalidateAll(eTag)),
+		PRODUCT(ProductDto.class,
+				(service, id, eTag) -> service.productClientService.revalidateById(id, eTag)),
+		CATEGORIES(CategoryProductServiceCollectionDtoResponse.class,
+				(service, id, eTag) -> service.categoryClientService.revalidateAll(eTag)),
+		CATEGORY(CategoryDto.class,
+				(service, id, eTag) -> service.categoryClientService.revalidateById(id, eTag));
+		
+		private final Class<?> type;
+		private final Requester requester;
+		
+		Class<?> getType() {
+			return this.type;
+		}
+		
+		Response request(final CatalogCacheServiceImpl service, final String id, final String eTag) {
+			return this.requester.request(service, id, eTag);
+		}
+		
+		@SuppressWarnings("unchecked")
+		<T> T cast(final Object body) {
+			return (T) this.type.cast(body);
+		}
+	
+	}
+	
+	@FunctionalInterface
+	private interface Requester {
+		Response request(final CatalogCacheServiceImpl service, final String id, final String eTag);
+	}
+	
+	@Value
+	private static class Key {
+		Kind kind;
+		String id;
+	}
+	
+	@Value
+	private static class Entry {
+		Object body;
+		String eTag;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
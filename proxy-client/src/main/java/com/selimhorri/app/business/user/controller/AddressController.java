@@ -8,11 +8,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.selimhorri.app.business.user.model.AddressDto;
-import com.selimhorri.app.business.user.model.response.AddressUserServiceCollectionDtoResponse;
 import com.selimhorri.app.business.user.service.AddressClientService;
+import com.selimhorri.app.helper.PassThroughHelper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -24,8 +26,10 @@ public class AddressController {
 	private final AddressClientService addressClientService;
 	
 	@GetMapping
-	public ResponseEntity<AddressUserServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.addressClientService.findAll().getBody());
+	public ResponseEntity<StreamingResponseBody> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return PassThroughHelper.passThrough(this.addressClientService.findAllRaw(after, limit));
 	}
 	
 	@GetMapping("/{addressId}")
@@ -8,8 +8,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.business.auth.service.CredentialCacheService;
 import com.selimhorri.app.business.user.model.CredentialDto;
 import com.selimhorri.app.business.user.model.response.CredentialUserServiceCollectionDtoResponse;
 import com.selimhorri.app.business.user.service.CredentialClientService;
@@ -22,10 +24,13 @@ import lombok.RequiredArgsConstructor;
 public class CredentialController {
 	
 	private final CredentialClientService credentialClientService;
+	private final CredentialCacheService credentialCacheService;
 	
 	@GetMapping
-	public ResponseEntity<CredentialUserServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.credentialClientService.findAll().getBody());
+	public ResponseEntity<CredentialUserServiceCollectionDtoResponse> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return ResponseEntity.ok(this.credentialClientService.findAll(after, limit).getBody());
 	}
 	
 	@GetMapping("/{credentialId}")
@@ -45,17 +50,43 @@ public class CredentialController {
 	
 	@PutMapping
 	public ResponseEntity<CredentialDto> update(@RequestBody final CredentialDto credentialDto) {
-		return ResponseEntity.ok(this.credentialClientService.update(credentialDto).getBody());
+		final String storedUsername = this.findStoredUsername(credentialDto.getCredentialId());
+		final CredentialDto updated = this.credentialClientService.update(credentialDto).getBody();
+		this.invalidateCredential(storedUsername, updated);
+		return ResponseEntity.ok(updated);
 	}
 	
 	@PutMapping("/{credentialId}")
 	public ResponseEntity<CredentialDto> update(@PathVariable("credentialId") final String credentialId, @RequestBody final CredentialDto credentialDto) {
-		return ResponseEntity.ok(this.credentialClientService.update(credentialDto).getBody());
+		final String storedUsername = this.findStoredUsername(Integer.parseInt(credentialId.strip()));
+		final CredentialDto updated = this.credentialClientService.update(credentialDto).getBody();
+		this.invalidateCredential(storedUsername, updated);
+		return ResponseEntity.ok(updated);
 	}
 	
 	@DeleteMapping("/{credentialId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("credentialId") final String credentialId) {
-		return ResponseEntity.ok(this.credentialClientService.deleteById(credentialId).getBody());
+		final String storedUsername = this.findStoredUsername(Integer.parseInt(credentialId.strip()));
+		final Boolean deleted = this.credentialClientService.deleteById(credentialId).getBody();
+		this.credentialCacheService.invalidate(storedUsername);
+		return ResponseEntity.ok(deleted);
+	}
+	
+	/**
+	 * Reads the username currently stored for the credential, so a rename
+	 * evicts the entry cached under the old name as well as the new one.
+	 */
+	private String findStoredUsername(final Integer credentialId) {
+		if (credentialId == null)
+			return null;
+		final CredentialDto stored = this.credentialClientService.findById(String.valueOf(credentialId)).getBody();
+		return stored != null ? stored.getUsername() : null;
+	}
+	
+	private void invalidateCredential(final String storedUsername, final CredentialDto updated) {
+		this.credentialCacheService.invalidate(storedUsername);
+		if (updated != null)
+			this.credentialCacheService.invalidate(updated.getUsername());
 	}
 	
 	
@@ -8,11 +8,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.selimhorri.app.business.auth.service.CredentialCacheService;
 import com.selimhorri.app.business.user.model.UserDto;
-import com.selimhorri.app.business.user.model.response.UserUserServiceCollectionDtoResponse;
 import com.selimhorri.app.business.user.service.UserClientService;
+import com.selimhorri.app.helper.PassThroughHelper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,10 +25,13 @@ import lombok.RequiredArgsConstructor;
 public class UserController {
 	
 	private final UserClientService userClientService;
+	private final CredentialCacheService credentialCacheService;
 	
 	@GetMapping
-	public ResponseEntity<UserUserServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.userClientService.findAll().getBody());
+	public ResponseEntity<StreamingResponseBody> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return PassThroughHelper.passThrough(this.userClientService.findAllRaw(after, limit));
 	}
 	
 	@GetMapping("/{userId}")
@@ -45,17 +51,43 @@ public class UserController {
 	
 	@PutMapping
 	public ResponseEntity<UserDto> update(@RequestBody final UserDto userDto) {
-		return ResponseEntity.ok(this.userClientService.update(userDto).getBody());
+		final String storedUsername = this.findStoredUsername(userDto.getUserId());
+		final UserDto updated = this.userClientService.update(userDto).getBody();
+		this.invalidateCredential(storedUsername, updated);
+		return ResponseEntity.ok(updated);
 	}
 	
 	@PutMapping("/{userId}")
 	public ResponseEntity<UserDto> update(@PathVariable("userId") final String userId, @RequestBody final UserDto userDto) {
-		return ResponseEntity.ok(this.userClientService.update(userDto).getBody());
+		final String storedUsername = this.findStoredUsername(Integer.parseInt(userId.strip()));
+		final UserDto updated = this.userClientService.update(userDto).getBody();
+		this.invalidateCredential(storedUsername, updated);
+		return ResponseEntity.ok(updated);
 	}
 	
 	@DeleteMapping("/{userId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("userId") final String userId) {
-		return ResponseEntity.ok(this.userClientService.deleteById(userId).getBody());
+		final String storedUsername = this.findStoredUsername(Integer.parseInt(userId.strip()));
+		final Boolean deleted = this.userClientService.deleteById(userId).getBody();
+		this.credentialCacheService.invalidate(storedUsername);
+		return ResponseEntity.ok(deleted);
+	}
+	
+	/**
+	 * Reads the username currently stored for the user's credential, so a rename
+	 * evicts the entry cached under the old name as well as the new one.
+	 */
+	private String findStoredUsername(final Integer userId) {
+		if (userId == null)
+			return null;
+		final UserDto stored = this.userClientService.findById(String.valueOf(userId)).getBody();
+		return stored != null && stored.getCredentialDto() != null ? stored.getCredentialDto().getUsername() : null;
+	}
+	
+	private void invalidateCredential(final String storedUsername, final UserDto updated) {
+		this.credentialCacheService.invalidate(storedUsername);
+		if (updated != null && updated.getCredentialDto() != null)
+			this.credentialCacheService.invalidate(updated.getCredentialDto().getUsername());
 	}
 	
 	
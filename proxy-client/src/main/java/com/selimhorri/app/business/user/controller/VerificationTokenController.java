@@ -8,6 +8,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.user.model.VerificationTokenDto;
@@ -24,8 +25,10 @@ public class VerificationTokenController {
 	private final VerificationTokenClientService verificationTokenClientService;
 	
 	@GetMapping
-	public ResponseEntity<VerificationUserTokenServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.verificationTokenClientService.findAll().getBody());
+	public ResponseEntity<VerificationUserTokenServiceCollectionDtoResponse> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return ResponseEntity.ok(this.verificationTokenClientService.findAll(after, limit).getBody());
 	}
 	
 	@GetMapping("/{verificationTokenId}")
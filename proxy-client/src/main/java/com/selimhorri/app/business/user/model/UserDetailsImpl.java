@@ -20,6 +20,10 @@ public class UserDetailsImpl implements UserDetails {
 		return List.of(new SimpleGrantedAuthority(this.credential.getRoleBasedAuthority().name()));
 	}
 	
+	public Integer getCredentialId() {
+		return this.credential.getCredentialId();
+	}
+	
 	@Override
 	public String getUsername() {
 		return this.credential.getUsername();
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.selimhorri.app.business.user.model.CredentialDto;
 import com.selimhorri.app.business.user.model.response.CredentialUserServiceCollectionDtoResponse;
@@ -20,7 +21,9 @@ import com.selimhorri.app.business.user.model.response.CredentialUserServiceColl
 public interface CredentialClientService {
 	
 	@GetMapping
-	ResponseEntity<CredentialUserServiceCollectionDtoResponse> findAll();
+	ResponseEntity<CredentialUserServiceCollectionDtoResponse> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			@RequestParam(value = "limit", required = false) final Integer limit);
 	
 	@GetMapping("/{credentialId}")
 	ResponseEntity<CredentialDto> findById(
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.selimhorri.app.business.user.model.VerificationTokenDto;
 import com.selimhorri.app.business.user.model.response.VerificationUserTokenServiceCollectionDtoResponse;
@@ -20,7 +21,9 @@ import com.selimhorri.app.business.user.model.response.VerificationUserTokenServ
 public interface VerificationTokenClientService {
 	
 	@GetMapping
-	ResponseEntity<VerificationUserTokenServiceCollectionDtoResponse> findAll();
+	ResponseEntity<VerificationUserTokenServiceCollectionDtoResponse> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			@RequestParam(value = "limit", required = false) final Integer limit);
 	
 	@GetMapping("/{verificationTokenId}")
 	ResponseEntity<VerificationTokenDto> findById(
@@ -0,0 +1,43 @@
+package com.selimhorri.app.config.aggregation;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Configuration
+public class AggregationConfig {
+	
+	public static final String EXECUTOR_NAME = "proxy.aggregation";
+	
+	@Bean(destroyMethod = "shutdown")
+	public ExecutorService aggregationExecutor(final AggregationProperties properties, final MeterRegistry meterRegistry) {
+		// bounded on both threads and queue: once saturated, new fan-out calls are rejected
+		// and reported as missing parts instead of queueing past the time budget
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+				properties.getPoolSize(), properties.getPoolSize(), 60L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(properties.getQueueCapacity()),
+				new CustomizableThreadFactory("aggregation-"),
+				new ThreadPoolExecutor.AbortPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		return ExecutorServiceMetrics.monitor(meterRegistry, executor, EXECUTOR_NAME);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
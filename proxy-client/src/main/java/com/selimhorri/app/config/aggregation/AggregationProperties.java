@@ -0,0 +1,32 @@
+package com.selimhorri.app.config.aggregation;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.aggregation")
+@Data
+public class AggregationProperties {
+	
+	private int poolSize = 32;
+	private int queueCapacity = 256;
+	
+	/**
+	 * Wall-clock budget for one composite request; parts still outstanding when
+	 * it runs out are left out of the response and reported as missing.
+	 */
+	private Duration timeBudget = Duration.ofSeconds(2);
+	
+}
+
+
+
+
+
+
+
+
+
+
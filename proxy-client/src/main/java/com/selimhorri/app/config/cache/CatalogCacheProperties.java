@@ -0,0 +1,35 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.cache.catalog")
+@Data
+public class CatalogCacheProperties {
+	
+	/**
+	 * Age after which an entry is revalidated against product-service (If-None-Match)
+	 * on next access, while the stale copy keeps being served.
+	 */
+	private Duration refreshAfter = Duration.ofSeconds(30);
+	
+	/**
+	 * Hard upper bound on how long an entry may live without a successful revalidation.
+	 */
+	private Duration ttl = Duration.ofMinutes(10);
+	private long maxSize = 10_000L;
+	
+}
+
+
+
+
+
+
+
+
+
+
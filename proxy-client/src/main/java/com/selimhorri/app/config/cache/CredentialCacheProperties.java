@@ -0,0 +1,26 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.cache.credentials")
+@Data
+public class CredentialCacheProperties {
+	
+	private Duration ttl = Duration.ofMinutes(5);
+	private long maxSize = 10_000L;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,26 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.cache.tokens")
+@Data
+public class TokenCacheProperties {
+	
+	private Duration ttl = Duration.ofMinutes(1);
+	private long maxSize = 10_000L;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,35 @@
+package com.selimhorri.app.config.coalescing;
+
+import java.util.Set;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class CoalescingConfig {
+	
+	@Bean
+	public RequestCoalescer requestCoalescer(final MeterRegistry meterRegistry) {
+		return new RequestCoalescer(meterRegistry);
+	}
+	
+	@Bean
+	public CoalescingInterceptor coalescingInterceptor(final RequestCoalescer requestCoalescer,
+			final CoalescingProperties properties) {
+		return new CoalescingInterceptor(requestCoalescer,
+				properties.isEnabled() ? properties.getTemplateHosts() : Set.of());
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
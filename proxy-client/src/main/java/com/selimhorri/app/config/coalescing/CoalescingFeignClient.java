@@ -0,0 +1,103 @@
+package com.selimhorri.app.config.coalescing;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.HttpHeaders;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Request.Options;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Util;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Shares one in-flight downstream call between identical concurrent GETs of the configured
+ * Feign clients. Sits in front of load-balancing so the key is the logical service URL; the
+ * body is buffered once and every waiter receives its own copy.
+ */
+@RequiredArgsConstructor
+public class CoalescingFeignClient implements Client {
+	
+	private final Client delegate;
+	private final RequestCoalescer requestCoalescer;
+	private final Set<String> feignClients;
+	
+	@Override
+	public Response execute(final Request request, final Options options) throws IOException {
+		final String clientName = clientName(request.requestTemplate());
+		if (request.httpMethod() != HttpMethod.GET || !this.feignClients.contains(clientName))
+			return this.delegate.execute(request, options);
+		
+		final BufferedResponse buffered = this.requestCoalescer.execute(clientName, key(request),
+				() -> BufferedResponse.of(this.delegate.execute(request, options)));
+		return buffered.toResponse(request);
+	}
+	
+	private static String key(final Request request) {
+		// only the conditional header changes what comes back; per-call headers such as the deadline stay out
+		return request.httpMethod() + " " + request.url() + " " + ifNoneMatch(request.headers());
+	}
+	
+	private static Collection<String> ifNoneMatch(final Map<String, Collection<String>> headers) {
+		return headers.entrySet().stream()
+				.filter(header -> HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(header.getKey()))
+				.map(Map.Entry::getValue)
+				.findFirst()
+				.orElse(List.of());
+	}
+	
+	private static String clientName(final RequestTemplate template) {
+		return (template != null && template.feignTarget() != null) ?
+				template.feignTarget().type().getSimpleName() : "unknown";
+	}
+	
+	@RequiredArgsConstructor
+	private static final class BufferedResponse {
+		
+		private final int status;
+		private final String reason;
+		private final Map<String, Collection<String>> headers;
+		private final byte[] body;
+		
+		static BufferedResponse of(final Response response) throws IOException {
+			try (response) {
+				byte[] body = null;
+				if (response.body() != null)
+					try (final InputStream inputStream = response.body().asInputStream()) {
+						body = Util.toByteArray(inputStream);
+					}
+				return new BufferedResponse(response.status(), response.reason(), response.headers(), body);
+			}
+		}
+		
+		Response toResponse(final Request request) {
+			return Response.builder()
+					.status(this.status)
+					.reason(this.reason)
+					.headers(this.headers)
+					.body(this.body)
+					.request(request)
+					.build();
+		}
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,103 @@
+package com.selimhorri.app.config.coalescing;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * RestTemplate counterpart of {@link CoalescingFeignClient}, used for the auth path lookups
+ * that go through the load-balanced template. Registered ahead of the load-balancer
+ * interceptor so the key carries the discovered service name rather than an instance.
+ */
+@RequiredArgsConstructor
+public class CoalescingInterceptor implements ClientHttpRequestInterceptor {
+	
+	public static final String SOURCE = "restTemplate";
+	
+	private final RequestCoalescer requestCoalescer;
+	private final Set<String> templateHosts;
+	
+	@Override
+	public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+			final ClientHttpRequestExecution execution) throws IOException {
+		if (request.getMethod() != HttpMethod.GET || !this.templateHosts.contains(request.getURI().getHost()))
+			return execution.execute(request, body);
+		
+		final String key = request.getMethod() + " " + request.getURI() + " " + request.getHeaders().getIfNoneMatch();
+		return this.requestCoalescer.execute(SOURCE + ":" + request.getURI().getHost(), key,
+				() -> BufferedResponse.of(execution.execute(request, body)));
+	}
+	
+	@RequiredArgsConstructor
+	private static final class BufferedResponse implements ClientHttpResponse {
+		
+		private final int rawStatusCode;
+		private final String statusText;
+		private final HttpHeaders headers;
+		private final byte[] body;
+		
+		static BufferedResponse of(final ClientHttpResponse response) throws IOException {
+			try (response) {
+				final HttpHeaders headers = new HttpHeaders();
+				headers.putAll(response.getHeaders());
+				return new BufferedResponse(response.getRawStatusCode(), response.getStatusText(),
+						HttpHeaders.readOnlyHttpHeaders(headers), StreamUtils.copyToByteArray(response.getBody()));
+			}
+		}
+		
+		@Override
+		public HttpStatus getStatusCode() throws IOException {
+			return HttpStatus.valueOf(this.rawStatusCode);
+		}
+		
+		@Override
+		public int getRawStatusCode() {
+			return this.rawStatusCode;
+		}
+		
+		@Override
+		public String getStatusText() {
+			return this.statusText;
+		}
+		
+		@Override
+		public HttpHeaders getHeaders() {
+			return this.headers;
+		}
+		
+		// the buffer is shared between waiters, each read gets its own stream over it
+		@Override
+		public InputStream getBody() {
+			return new ByteArrayInputStream(this.body);
+		}
+		
+		@Override
+		public void close() {
+			// nothing to release, the connection was returned when the body was buffered
+		}
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
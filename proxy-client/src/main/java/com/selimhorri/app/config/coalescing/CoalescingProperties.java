@@ -0,0 +1,32 @@
+package com.selimhorri.app.config.coalescing;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.coalescing")
+@Data
+public class CoalescingProperties {
+	
+	private boolean enabled = true;
+	
+	// Feign client interfaces whose GETs may share one in-flight call, by simple name
+	private Set<String> feignClients = new HashSet<>(Set.of("ProductClientService", "CategoryClientService"));
+	
+	// discovered hosts whose load-balanced RestTemplate GETs may share one in-flight call
+	private Set<String> templateHosts = new HashSet<>(Set.of("USER-SERVICE"));
+	
+}
+
+
+
+
+
+
+
+
+
+
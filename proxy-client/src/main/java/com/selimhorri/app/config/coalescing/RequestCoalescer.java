@@ -0,0 +1,107 @@
+package com.selimhorri.app.config.coalescing;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.selimhorri.app.config.deadline.Deadline;
+import com.selimhorri.app.config.deadline.DeadlineGuard;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Single-flight execution: while a call for a key is in flight, identical calls wait
+ * for its outcome instead of issuing their own. Nothing is retained once the call completes.
+ */
+public class RequestCoalescer {
+	
+	public static final String METRIC_NAME = "proxy.coalescing.requests";
+	
+	private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+	private final MeterRegistry meterRegistry;
+	private final DeadlineGuard deadlineGuard;
+	
+	public RequestCoalescer(final MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+		this.deadlineGuard = new DeadlineGuard(meterRegistry);
+		meterRegistry.gaugeMapSize("proxy.coalescing.inflight", Tags.empty(), this.inFlight);
+	}
+	
+	@SuppressWarnings("unchecked")
+	public <T> T execute(final String source, final String key, final Call<T> call) throws IOException {
+		final CompletableFuture<Object> flight = new CompletableFuture<>();
+		final CompletableFuture<Object> leader = this.inFlight.putIfAbsent(key, flight);
+		
+		if (leader != null) {
+			this.record(source, "coalesced");
+			return (T) this.await(leader);
+		}
+		
+		this.record(source, "leader");
+		try {
+			final T result = call.execute();
+			flight.complete(result);
+			return result;
+		}
+		catch (IOException | RuntimeException | Error e) {
+			flight.completeExceptionally(e);
+			throw e;
+		}
+		finally {
+			this.inFlight.remove(key, flight);
+		}
+	}
+	
+	private void record(final String source, final String result) {
+		this.meterRegistry.counter(METRIC_NAME, "source", source, "result", result).increment();
+	}
+	
+	// a waiter gives up when its own deadline passes, not the leader's: the leader may have been sent with more time
+	private Object await(final CompletableFuture<Object> leader) throws IOException {
+		final Deadline deadline = Deadline.current().orElse(null);
+		try {
+			if (deadline == null)
+				return leader.get();
+			return leader.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+		}
+		catch (TimeoutException e) {
+			this.deadlineGuard.record(DeadlineGuard.OUTBOUND);
+			throw new IOException("Deadline exceeded while waiting for coalesced request", e);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for coalesced request", e);
+		}
+		catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof IOException)
+				throw new IOException(cause.getMessage(), cause);
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IOException(cause);
+		}
+	}
+	
+	@FunctionalInterface
+	public interface Call<T> {
+		T execute() throws IOException;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
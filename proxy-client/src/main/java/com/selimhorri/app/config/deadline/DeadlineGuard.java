@@ -0,0 +1,40 @@
+package com.selimhorri.app.config.deadline;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+// Counts the work given up on because the caller's deadline passed, tagged by where that was noticed:
+// on arrival, before remote enrichment, or before or during an outbound call.
+@RequiredArgsConstructor
+public class DeadlineGuard {
+	
+	public static final String METRIC = "request.deadline.exceeded";
+	public static final String INBOUND = "inbound";
+	public static final String ENRICHMENT = "enrichment";
+	public static final String OUTBOUND = "outbound";
+	
+	private final MeterRegistry meterRegistry;
+	
+	// true, and counted against the stage, once the deadline of the current request has passed
+	public boolean isExceeded(final String stage) {
+		if (!Deadline.current().map(Deadline::isExpired).orElse(false))
+			return false;
+		this.record(stage);
+		return true;
+	}
+	
+	public void record(final String stage) {
+		this.meterRegistry.counter(METRIC, "stage", stage).increment();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
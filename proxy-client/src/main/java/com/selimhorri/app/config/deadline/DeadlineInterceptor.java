@@ -0,0 +1,49 @@
+package com.selimhorri.app.config.deadline;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Hands the remaining budget of the current request on to the next service, and refuses to start a call
+ * once that budget is spent. Registered first, so a refused call holds no breaker or bulkhead permit; the
+ * refusal surfaces as {@link ResourceAccessException}, which callers already answer with partial data.
+ */
+@RequiredArgsConstructor
+public class DeadlineInterceptor implements ClientHttpRequestInterceptor {
+	
+	private final DeadlineGuard deadlineGuard;
+	
+	@Override
+	public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+			final ClientHttpRequestExecution execution) throws IOException {
+		final Optional<Deadline> deadline = Deadline.current();
+		if (deadline.isPresent()) {
+			if (deadline.get().isExpired()) {
+				this.deadlineGuard.record(DeadlineGuard.OUTBOUND);
+				throw new ResourceAccessException(String.format("Deadline exceeded before calling %s", 
+						request.getURI().getHost()));
+			}
+			request.getHeaders().set(Deadline.HEADER, deadline.get().toHeader());
+		}
+		return execution.execute(request, body);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,41 @@
+package com.selimhorri.app.config.deadline;
+
+import java.util.Optional;
+
+import com.selimhorri.app.exception.wrapper.DeadlineExceededException;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import lombok.RequiredArgsConstructor;
+
+// The Feign counterpart of DeadlineInterceptor: passes the remaining budget on, or refuses the call once it is
+// spent. Applied before the client runs, so a refused call never reaches coalescing, the breakers or the pool.
+@RequiredArgsConstructor
+public class DeadlineRequestInterceptor implements RequestInterceptor {
+	
+	private final DeadlineGuard deadlineGuard;
+	
+	@Override
+	public void apply(final RequestTemplate template) {
+		final Optional<Deadline> deadline = Deadline.current();
+		if (deadline.isEmpty())
+			return;
+		if (deadline.get().isExpired()) {
+			this.deadlineGuard.record(DeadlineGuard.OUTBOUND);
+			throw new DeadlineExceededException(String.format("Deadline exceeded before calling %s", 
+					template.feignTarget().name()));
+		}
+		template.header(Deadline.HEADER, deadline.get().toHeader());
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,54 @@
+package com.selimhorri.app.config.feign;
+
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.openfeign.loadbalancer.FeignBlockingLoadBalancerClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.config.coalescing.CoalescingFeignClient;
+import com.selimhorri.app.config.coalescing.CoalescingProperties;
+import com.selimhorri.app.config.coalescing.RequestCoalescer;
+import com.selimhorri.app.config.resilience.ResilientExecutor;
+import com.selimhorri.app.config.resilience.StaleResponseProperties;
+
+import feign.Client;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class FeignClientConfig {
+	
+	@Bean
+	public FeignClientPools feignClientPools(final FeignPoolProperties properties, final MeterRegistry meterRegistry) {
+		return new FeignClientPools(properties, meterRegistry);
+	}
+	
+	// replaces the HttpURLConnection based default; load-balancing still resolves instances before the pooled call, 
+	// each call runs under its service's breaker, bulkhead and time limiter, and identical concurrent GETs 
+	// are coalesced before all of that so they share one guarded call
+	@Bean
+	public Client feignClient(final FeignClientPools feignClientPools, final LoadBalancerClient loadBalancerClient,
+			final LoadBalancerProperties loadBalancerProperties, final LoadBalancerClientFactory loadBalancerClientFactory, 
+			final RequestCoalescer requestCoalescer, final CoalescingProperties coalescingProperties,
+			final ResilientExecutor resilientExecutor, final StaleResponseProperties staleResponseProperties,
+			final MeterRegistry meterRegistry) {
+		final Client loadBalanced = new FeignBlockingLoadBalancerClient(feignClientPools::execute,
+				loadBalancerClient, loadBalancerProperties, loadBalancerClientFactory);
+		final Client resilient = new ResilientFeignClient(loadBalanced, resilientExecutor, staleResponseProperties, meterRegistry);
+		if (!coalescingProperties.isEnabled())
+			return resilient;
+		return new CoalescingFeignClient(resilient, requestCoalescer, coalescingProperties.getFeignClients());
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
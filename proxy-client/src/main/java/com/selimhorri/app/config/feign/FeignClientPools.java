@@ -0,0 +1,105 @@
+package com.selimhorri.app.config.feign;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+
+import com.selimhorri.app.config.template.HttpClientFactory;
+import com.selimhorri.app.config.template.HttpClientProperties;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.Options;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.httpclient.ApacheHttpClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class FeignClientPools implements Closeable {
+	
+	public static final String METRIC_NAME = "proxy.feign.requests";
+	public static final String DEFAULT_POOL = "default";
+	
+	private final FeignPoolProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, CloseableHttpClient> httpClients = new ConcurrentHashMap<>();
+	private final Map<String, Client> clients = new ConcurrentHashMap<>();
+	
+	public FeignClientPools(final FeignPoolProperties properties, final MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+		properties.getClients().keySet().forEach(this::client);
+	}
+	
+	public Response execute(final Request request, final Options options) throws IOException {
+		final RequestTemplate template = request.requestTemplate();
+		final String serviceName = serviceName(template);
+		final Timer.Sample sample = Timer.start(this.meterRegistry);
+		String status = "IO_ERROR";
+		try {
+			final Response response = this.client(serviceName).execute(request, options);
+			status = String.valueOf(response.status());
+			return response;
+		}
+		finally {
+			sample.stop(Timer.builder(METRIC_NAME)
+					.tag("client", clientName(template))
+					.tag("method", methodName(template))
+					.tag("service", serviceName)
+					.tag("status", status)
+					.register(this.meterRegistry));
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		for (final CloseableHttpClient httpClient : this.httpClients.values())
+			httpClient.close();
+	}
+	
+	private Client client(final String serviceName) {
+		return this.clients.computeIfAbsent(serviceName, name -> {
+			log.info("*** Client, feign pools; create connection pool for {} *", name);
+			final HttpClientProperties poolProperties = this.properties.resolve(name);
+			final var connectionManager = HttpClientFactory.connectionManager(poolProperties);
+			new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "feign-" + name)
+					.bindTo(this.meterRegistry);
+			final CloseableHttpClient httpClient = HttpClientFactory.httpClient(connectionManager, poolProperties);
+			this.httpClients.put(name, httpClient);
+			return new ApacheHttpClient(httpClient);
+		});
+	}
+	
+	private static String serviceName(final RequestTemplate template) {
+		return (template != null && template.feignTarget() != null) ?
+				template.feignTarget().name() : DEFAULT_POOL;
+	}
+	
+	private static String clientName(final RequestTemplate template) {
+		return (template != null && template.feignTarget() != null) ?
+				template.feignTarget().type().getSimpleName() : "unknown";
+	}
+	
+	private static String methodName(final RequestTemplate template) {
+		return (template != null && template.methodMetadata() != null) ?
+				template.methodMetadata().method().getName() : "unknown";
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
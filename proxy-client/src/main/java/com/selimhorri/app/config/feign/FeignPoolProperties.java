@@ -0,0 +1,34 @@
+package com.selimhorri.app.config.feign;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.selimhorri.app.config.template.HttpClientProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.feign")
+@Data
+public class FeignPoolProperties {
+	
+	private HttpClientProperties defaults = new HttpClientProperties();
+	// pools keyed by discovered service name, e.g. PRODUCT-SERVICE
+	private Map<String, HttpClientProperties> clients = new HashMap<>();
+	
+	public HttpClientProperties resolve(final String serviceName) {
+		return this.clients.getOrDefault(serviceName, this.defaults);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,158 @@
+package com.selimhorri.app.config.feign;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.config.resilience.ResilientExecutor;
+import com.selimhorri.app.config.resilience.StaleResponseProperties;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Request.Options;
+import feign.Response;
+import feign.Util;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs every Feign call under the circuit breaker, bulkhead and time limiter of the target service,
+ * named after the logical host in the URL. Small successful GET responses are remembered for a while
+ * and handed back, marked stale, when the breaker is open, the bulkhead is full or the call fails, so
+ * reads degrade to slightly old data instead of an error. Everything else fails fast as an
+ * {@link IOException}, which Feign reports as a {@code RetryableException}.
+ */
+@Slf4j
+public class ResilientFeignClient implements Client {
+	
+	static final String STALE_WARNING = "110 - \"Response is Stale\"";
+	
+	private final Client delegate;
+	private final ResilientExecutor resilientExecutor;
+	private final StaleResponseProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final Cache<String, StaleResponse> staleResponses;
+	
+	public ResilientFeignClient(final Client delegate, final ResilientExecutor resilientExecutor,
+			final StaleResponseProperties properties, final MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+		this.resilientExecutor = resilientExecutor;
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+		this.staleResponses = Caffeine.newBuilder()
+				.maximumSize(properties.getMaxEntries())
+				.expireAfterWrite(properties.getTtl())
+				.build();
+	}
+	
+	@Override
+	public Response execute(final Request request, final Options options) throws IOException {
+		final String name = URI.create(request.url()).getHost();
+		final boolean cacheable = this.properties.isEnabled() && request.httpMethod() == HttpMethod.GET;
+		final Response response;
+		try {
+			response = this.resilientExecutor.execute(name, () -> this.delegate.execute(request, options), 
+					r -> r.status() >= 500);
+		}
+		catch (CallNotPermittedException | BulkheadFullException e) {
+			return this.staleOrThrow(name, request, cacheable, new IOException(e.getMessage(), e));
+		}
+		catch (TimeoutException e) {
+			return this.staleOrThrow(name, request, cacheable, 
+					new IOException(String.format("%s did not answer in time", name), e));
+		}
+		catch (IOException e) {
+			return this.staleOrThrow(name, request, cacheable, e);
+		}
+		catch (RuntimeException e) {
+			throw e;
+		}
+		catch (Exception e) {
+			throw new IOException(e.getMessage(), e);
+		}
+		
+		if (!cacheable)
+			return response;
+		if (response.status() >= 500) {
+			final StaleResponse stale = this.staleResponses.getIfPresent(request.url());
+			if (stale == null)
+				return response;
+			response.close();
+			return this.serveStale(name, request, stale);
+		}
+		return (response.status() / 100 == 2) ? this.remember(request, response) : response;
+	}
+	
+	private Response remember(final Request request, final Response response) throws IOException {
+		if (response.body() == null || response.body().length() == null 
+				|| response.body().length() > this.properties.getMaxEntrySize().toBytes())
+			return response;
+		try (response) {
+			final byte[] body;
+			try (final InputStream inputStream = response.body().asInputStream()) {
+				body = Util.toByteArray(inputStream);
+			}
+			final StaleResponse stale = new StaleResponse(response.status(), response.reason(), response.headers(), body);
+			this.staleResponses.put(request.url(), stale);
+			return stale.toResponse(request, response.headers());
+		}
+	}
+	
+	private Response staleOrThrow(final String name, final Request request, final boolean cacheable, 
+			final IOException e) throws IOException {
+		final StaleResponse stale = cacheable ? this.staleResponses.getIfPresent(request.url()) : null;
+		if (stale == null)
+			throw e;
+		log.warn("*** Response, feign client; serving stale response for {}: {} *", request.url(), e.getMessage());
+		return this.serveStale(name, request, stale);
+	}
+	
+	private Response serveStale(final String name, final Request request, final StaleResponse stale) {
+		this.meterRegistry.counter("remote.stale.responses", "name", name).increment();
+		final Map<String, Collection<String>> headers = new LinkedHashMap<>(stale.headers);
+		headers.put("Warning", List.of(STALE_WARNING));
+		return stale.toResponse(request, headers);
+	}
+	
+	@RequiredArgsConstructor
+	private static final class StaleResponse {
+		
+		private final int status;
+		private final String reason;
+		private final Map<String, Collection<String>> headers;
+		private final byte[] body;
+		
+		Response toResponse(final Request request, final Map<String, Collection<String>> headers) {
+			return Response.builder()
+					.status(this.status)
+					.reason(this.reason)
+					.headers(headers)
+					.body(this.body)
+					.request(request)
+					.build();
+		}
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -10,13 +10,16 @@ import javax.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.selimhorri.app.business.auth.service.CredentialCacheService;
+import com.selimhorri.app.config.jwt.JwtProperties;
 import com.selimhorri.app.jwt.service.JwtService;
 
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -25,8 +28,9 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class JwtRequestFilter extends OncePerRequestFilter {
 	
-	private final UserDetailsService userDetailsService;
+	private final CredentialCacheService credentialCacheService;
 	private final JwtService jwtService;
+	private final JwtProperties jwtProperties;
 	
 	@Override
 	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain) 
@@ -36,19 +40,13 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		
 		final var authorizationHeader = request.getHeader("Authorization");
 		
-		String username = null;
-		String jwt = null;
-		
-		if ( authorizationHeader != null && authorizationHeader.startsWith("Bearer ") ) {
-			jwt = authorizationHeader.substring(7);
-			username = jwtService.extractUsername(jwt);
-		}
-		
-		if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+		if ( authorizationHeader != null && authorizationHeader.startsWith("Bearer ") 
+				&& SecurityContextHolder.getContext().getAuthentication() == null ) {
 			
-			final UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+			final String jwt = authorizationHeader.substring(7);
+			final UserDetails userDetails = this.resolveUserDetails(jwt);
 			
-			if (this.jwtService.validateToken(jwt, userDetails)) {
+			if (userDetails != null) {
 				final UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
 						new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 				usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -61,6 +59,27 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		log.info("**Jwt request filtered!*\n");
 	}
 	
+	private UserDetails resolveUserDetails(final String jwt) {
+		try {
+			if (this.jwtProperties.isStateless()) {
+				final UserDetails userDetails = this.jwtService.extractUserDetails(jwt);
+				if (userDetails != null)
+					return (userDetails.isEnabled() && userDetails.isAccountNonLocked()) ? userDetails : null;
+			}
+			final UserDetails userDetails = this.credentialCacheService.loadUserByUsername(this.jwtService.extractUsername(jwt));
+			return this.jwtService.validateToken(jwt, userDetails) ? userDetails : null;
+		}
+		catch (JwtException e) {
+			log.info("**Jwt request filter, rejected token: {}*\n", e.getMessage());
+			return null;
+		}
+		catch (RestClientException e) {
+			// user-service unreachable or its breaker open: treat the request as anonymous rather than hold the thread
+			log.warn("**Jwt request filter, credentials unavailable: {}*\n", e.getMessage());
+			return null;
+		}
+	}
+	
 	
 	
 }
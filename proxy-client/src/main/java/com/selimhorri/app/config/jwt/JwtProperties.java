@@ -0,0 +1,23 @@
+package com.selimhorri.app.config.jwt;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.jwt")
+@Data
+public class JwtProperties {
+	
+	private boolean stateless = true;
+	
+}
+
+
+
+
+
+
+
+
+
+
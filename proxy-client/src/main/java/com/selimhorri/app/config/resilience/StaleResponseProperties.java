@@ -0,0 +1,31 @@
+package com.selimhorri.app.config.resilience;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.resilience.stale-responses")
+@Data
+public class StaleResponseProperties {
+	
+	private boolean enabled = true;
+	private long maxEntries = 10_000L;
+	// only responses with a known length up to this size are kept, so streamed listings stay unbuffered
+	private DataSize maxEntrySize = DataSize.ofKilobytes(256);
+	// how old a response may be and still stand in for a failed call
+	private Duration ttl = Duration.ofMinutes(10);
+	
+}
+
+
+
+
+
+
+
+
+
+
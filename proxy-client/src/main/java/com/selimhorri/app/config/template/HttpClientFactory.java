@@ -0,0 +1,52 @@
+package com.selimhorri.app.config.template;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+public interface HttpClientFactory {
+	
+	public static PoolingHttpClientConnectionManager connectionManager(final HttpClientProperties properties) {
+		final var connectionManager = new PoolingHttpClientConnectionManager(
+				properties.getTimeToLive().toMillis(), TimeUnit.MILLISECONDS);
+		connectionManager.setMaxTotal(properties.getMaxTotal());
+		connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+		connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+		properties.getRoutes().forEach((route, maxPerRoute) ->
+				connectionManager.setMaxPerRoute(new HttpRoute(HttpHost.create(route)), maxPerRoute));
+		return connectionManager;
+	}
+	
+	public static CloseableHttpClient httpClient(final PoolingHttpClientConnectionManager connectionManager,
+			final HttpClientProperties properties) {
+		final var builder = HttpClientBuilder.create()
+				.setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+						.setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+						.setSocketTimeout((int) properties.getReadTimeout().toMillis())
+						.build())
+				.evictExpiredConnections()
+				.evictIdleConnections(properties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+				.useSystemProperties();
+		if (!properties.isCompression())
+			builder.disableContentCompression();
+		return builder.build();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
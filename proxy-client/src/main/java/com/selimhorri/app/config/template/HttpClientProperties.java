@@ -0,0 +1,37 @@
+package com.selimhorri.app.config.template;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.http-client")
+@Data
+public class HttpClientProperties {
+	
+	private int maxTotal = 200;
+	private int maxPerRoute = 50;
+	// per-route overrides keyed by resolved instance "host:port"
+	private Map<String, Integer> routes = new HashMap<>();
+	private Duration connectTimeout = Duration.ofSeconds(2);
+	private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+	private Duration readTimeout = Duration.ofSeconds(5);
+	private Duration idleTimeout = Duration.ofSeconds(30);
+	private Duration timeToLive = Duration.ofMinutes(5);
+	private Duration validateAfterInactivity = Duration.ofSeconds(2);
+	private boolean compression = true;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,20 +1,54 @@
 package com.selimhorri.app.config.template;
 
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.config.coalescing.CoalescingInterceptor;
+import com.selimhorri.app.config.deadline.DeadlineInterceptor;
+import com.selimhorri.app.config.resilience.ResilienceInterceptor;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+
 @Configuration
 public class TemplateConfig {
 	
-	@LoadBalanced
+	public static final String POOL_NAME = "loadbalanced";
+	
+	@Bean
+	public PoolingHttpClientConnectionManager restTemplateConnectionManager(final HttpClientProperties properties) {
+		return HttpClientFactory.connectionManager(properties);
+	}
+	
 	@Bean
-	public RestTemplate restTemplateBean() {
-		return new RestTemplate();
+	public CloseableHttpClient restTemplateHttpClient(final PoolingHttpClientConnectionManager restTemplateConnectionManager,
+			final HttpClientProperties properties) {
+		return HttpClientFactory.httpClient(restTemplateConnectionManager, properties);
 	}
 	
+	@Bean
+	public MeterBinder restTemplateConnectionPoolMetrics(final PoolingHttpClientConnectionManager restTemplateConnectionManager) {
+		return new PoolingHttpClientConnectionManagerMetricsBinder(restTemplateConnectionManager, POOL_NAME);
+	}
 	
+	@LoadBalanced
+	@Bean
+	public RestTemplate restTemplateBean(final RestTemplateBuilder restTemplateBuilder,
+			final CloseableHttpClient restTemplateHttpClient, final DeadlineInterceptor deadlineInterceptor,
+			final CoalescingInterceptor coalescingInterceptor, final ResilienceInterceptor resilienceInterceptor) {
+		// built through RestTemplateBuilder so http.client.requests timers are tagged per downstream clientName; 
+		// the deadline, coalescing and resilience interceptors are registered ahead of the load-balancer one appended at startup
+		return restTemplateBuilder
+				.requestFactory(() -> new HttpComponentsClientHttpRequestFactory(restTemplateHttpClient))
+				.additionalInterceptors(deadlineInterceptor, coalescingInterceptor, resilienceInterceptor)
+				.build();
+	}
 	
 }
 
@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.selimhorri.app.exception.payload.ExceptionMsg;
 import com.selimhorri.app.exception.wrapper.CredentialNotFoundException;
+import com.selimhorri.app.exception.wrapper.DeadlineExceededException;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.exception.wrapper.VerificationTokenNotFoundException;
@@ -20,6 +21,7 @@ import com.selimhorri.app.exception.wrapper.VerificationTokenNotFoundException;
 import feign.FeignException;
 import feign.FeignException.FeignClientException;
 import feign.FeignException.FeignServerException;
+import feign.RetryableException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -47,6 +49,36 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	@ExceptionHandler(value = RetryableException.class)
+	public ResponseEntity<ExceptionMsg> handleUnavailableException(final RetryableException e) {
+		
+		log.info("**ApiExceptionHandler controller, handle unavailable downstream service*\n");
+		final var serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg(e.getMessage())
+					.httpStatus(serviceUnavailable)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), serviceUnavailable);
+	}
+	
+	@ExceptionHandler(value = DeadlineExceededException.class)
+	public ResponseEntity<ExceptionMsg> handleDeadlineExceededException(final DeadlineExceededException e) {
+		
+		log.info("**ApiExceptionHandler controller, handle exceeded request deadline*\n");
+		final var gatewayTimeout = HttpStatus.GATEWAY_TIMEOUT;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg(e.getMessage())
+					.httpStatus(gatewayTimeout)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), gatewayTimeout);
+	}
+	
 	@ExceptionHandler(value = {
 		MethodArgumentNotValidException.class,
 		HttpMessageNotReadableException.class
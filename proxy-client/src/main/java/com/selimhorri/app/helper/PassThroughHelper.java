@@ -0,0 +1,69 @@
+package com.selimhorri.app.helper;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import feign.FeignException;
+import feign.Response;
+
+public interface PassThroughHelper {
+	
+	public static final Set<String> FORWARDED_HEADERS = Set.of(
+			HttpHeaders.CONTENT_TYPE.toLowerCase(Locale.ROOT),
+			HttpHeaders.ETAG.toLowerCase(Locale.ROOT),
+			HttpHeaders.LAST_MODIFIED.toLowerCase(Locale.ROOT),
+			HttpHeaders.CACHE_CONTROL.toLowerCase(Locale.ROOT));
+	
+	/**
+	 * Copies a downstream body to the servlet output stream as-is, without binding it to DTOs.
+	 * Non-2xx answers are raised as {@link FeignException} so they keep going through the
+	 * existing exception handler.
+	 */
+	public static ResponseEntity<StreamingResponseBody> passThrough(final Response response) {
+		
+		if (response.status() < 200 || response.status() >= 300)
+			throw FeignException.errorStatus(methodKey(response), response);
+		
+		final HttpHeaders headers = new HttpHeaders();
+		response.headers().forEach((name, values) -> {
+			if (FORWARDED_HEADERS.contains(name.toLowerCase(Locale.ROOT)))
+				headers.addAll(name, List.copyOf(values));
+		});
+		
+		if (response.body() == null) {
+			response.close();
+			return ResponseEntity.status(response.status()).headers(headers).build();
+		}
+		
+		return ResponseEntity.status(response.status())
+				.headers(headers)
+				.body(outputStream -> {
+					try (response; final InputStream inputStream = response.body().asInputStream()) {
+						inputStream.transferTo(outputStream);
+					}
+				});
+	}
+	
+	private static String methodKey(final Response response) {
+		return (response.request() != null && response.request().requestTemplate() != null
+					&& response.request().requestTemplate().methodMetadata() != null) ?
+				response.request().requestTemplate().methodMetadata().configKey() : "passThrough";
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
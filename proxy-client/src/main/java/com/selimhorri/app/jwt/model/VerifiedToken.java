@@ -0,0 +1,27 @@
+package com.selimhorri.app.jwt.model;
+
+import java.util.Date;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public final class VerifiedToken {
+	
+	private final UserDetails userDetails;
+	private final Date expiration;
+	
+}
+
+
+
+
+
+
+
+
+
+
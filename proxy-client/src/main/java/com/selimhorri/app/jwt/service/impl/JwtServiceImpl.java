@@ -1,24 +1,47 @@
 package com.selimhorri.app.jwt.service.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.selimhorri.app.config.cache.TokenCacheProperties;
+import com.selimhorri.app.jwt.model.VerifiedToken;
 import com.selimhorri.app.jwt.service.JwtService;
 import com.selimhorri.app.jwt.util.JwtUtil;
 
 import io.jsonwebtoken.Claims;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class JwtServiceImpl implements JwtService {
 	
+	public static final String CACHE_NAME = "proxy.tokens";
+	
 	private final JwtUtil jwtUtil;
+	private final Cache<String, VerifiedToken> verifiedTokens;
+	
+	public JwtServiceImpl(final JwtUtil jwtUtil, final TokenCacheProperties properties, final MeterRegistry meterRegistry) {
+		this.jwtUtil = jwtUtil;
+		this.verifiedTokens = Caffeine.newBuilder()
+				.maximumSize(properties.getMaxSize())
+				.expireAfter(new VerifiedTokenExpiry(properties.getTtl().toNanos()))
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, this.verifiedTokens, CACHE_NAME);
+	}
 	
 	@Override
 	public String extractUsername(final String token) {
@@ -50,6 +73,51 @@ public class JwtServiceImpl implements JwtService {
 		return this.jwtUtil.validateToken(token, userDetails);
 	}
 	
+	@Override
+	public UserDetails extractUserDetails(final String token) {
+		log.info("**UserDetails, jwt service extract userDetails from given token claims!*");
+		return this.verifiedTokens.get(digest(token), key -> this.jwtUtil.verifyToken(token))
+				.getUserDetails();
+	}
+	
+	private static String digest(final String token) {
+		try {
+			return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256")
+					.digest(token.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	private static final class VerifiedTokenExpiry implements Expiry<String, VerifiedToken> {
+		
+		private final long ttlNanos;
+		
+		private VerifiedTokenExpiry(final long ttlNanos) {
+			this.ttlNanos = ttlNanos;
+		}
+		
+		@Override
+		public long expireAfterCreate(final String key, final VerifiedToken value, final long currentTime) {
+			// never serve a cached verification past the token's own expiration
+			final long untilExpiration = TimeUnit.MILLISECONDS.toNanos(
+					value.getExpiration().getTime() - System.currentTimeMillis());
+			return Math.max(0L, Math.min(this.ttlNanos, untilExpiration));
+		}
+		
+		@Override
+		public long expireAfterUpdate(final String key, final VerifiedToken value, final long currentTime, final long currentDuration) {
+			return currentDuration;
+		}
+		
+		@Override
+		public long expireAfterRead(final String key, final VerifiedToken value, final long currentTime, final long currentDuration) {
+			return currentDuration;
+		}
+		
+	}
+	
 	
 	
 }
@@ -2,12 +2,18 @@ package com.selimhorri.app.jwt.util.impl;
 
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.selimhorri.app.jwt.model.VerifiedToken;
 import com.selimhorri.app.jwt.util.JwtUtil;
 
 import io.jsonwebtoken.Claims;
@@ -18,6 +24,9 @@ import io.jsonwebtoken.SignatureAlgorithm;
 public class JwtUtilImpl implements JwtUtil {
 	
 	private static final String SECRET_KEY = "secret";
+	private static final String ROLES_CLAIM = "roles";
+	private static final String ENABLED_CLAIM = "enabled";
+	private static final String ACCOUNT_NON_LOCKED_CLAIM = "accountNonLocked";
 	
 	@Override
 	public String extractUsername(final String token) {
@@ -39,13 +48,18 @@ public class JwtUtilImpl implements JwtUtil {
 		return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
 	}
 	
-	private Boolean isTokenExpired(final String token) {
-		return this.extractExpiration(token).before(new Date());
+	private Boolean isTokenExpired(final Claims claims) {
+		return claims.getExpiration().before(new Date());
 	}
 	
 	@Override
 	public String generateToken(final UserDetails userDetails) {
 		final Map<String, Object> claims = new HashMap<>();
+		claims.put(ROLES_CLAIM, userDetails.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority)
+				.collect(Collectors.toUnmodifiableList()));
+		claims.put(ENABLED_CLAIM, userDetails.isEnabled());
+		claims.put(ACCOUNT_NON_LOCKED_CLAIM, userDetails.isAccountNonLocked());
 		return this.createToken(claims, userDetails.getUsername());
 	}
 	
@@ -61,12 +75,39 @@ public class JwtUtilImpl implements JwtUtil {
 	
 	@Override
 	public Boolean validateToken(final String token, final UserDetails userDetails) {
-		final String username = this.extractUsername(token);
+		final Claims claims = this.extractAllClaims(token);
 		return (
-			username.equals(userDetails.getUsername()) && !isTokenExpired(token)
+			claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims)
 		);
 	}
 	
+	@Override
+	public VerifiedToken verifyToken(final String token) {
+		final Claims claims = this.extractAllClaims(token);
+		return new VerifiedToken(this.extractUserDetails(claims), claims.getExpiration());
+	}
+	
+	@SuppressWarnings("unchecked")
+	private UserDetails extractUserDetails(final Claims claims) {
+		
+		final List<String> roles = claims.get(ROLES_CLAIM, List.class);
+		final Boolean enabled = claims.get(ENABLED_CLAIM, Boolean.class);
+		final Boolean accountNonLocked = claims.get(ACCOUNT_NON_LOCKED_CLAIM, Boolean.class);
+		
+		// tokens issued before roles/flags were embedded must go through the credential lookup
+		if (roles == null || enabled == null || accountNonLocked == null)
+			return null;
+		
+		return User.withUsername(claims.getSubject())
+				.password("")
+				.authorities(roles.stream()
+						.map(SimpleGrantedAuthority::new)
+						.collect(Collectors.toUnmodifiableList()))
+				.disabled(!enabled)
+				.accountLocked(!accountNonLocked)
+				.build();
+	}
+	
 	
 	
 }
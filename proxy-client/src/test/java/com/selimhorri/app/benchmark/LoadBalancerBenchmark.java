@@ -0,0 +1,162 @@
+package com.selimhorri.app.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+import com.selimhorri.app.config.loadbalancer.LatencyAwareLoadBalancer;
+import com.selimhorri.app.config.loadbalancer.LatencyAwareLoadBalancerProperties;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tail latency of round-robin versus the latency-aware balancer when one of four local stub instances is 
+ * unhealthy: it answers ten times slower and stalls for 250ms out of every second, as a GC-pausing JVM would. 
+ * Calls go over real loopback HTTP and report lifecycle callbacks the way the load-balanced clients do; 
+ * compare the p0.99 and p0.999 rows.
+ * 
+ * Run with: mvn -pl proxy-client test-compile exec:java -Dexec.classpathScope=test 
+ *   -Dexec.mainClass=com.selimhorri.app.benchmark.LoadBalancerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(16)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class LoadBalancerBenchmark {
+
+    private static final String SERVICE_ID = "STUB-SERVICE";
+    private static final int INSTANCES = 4;
+    private static final long HEALTHY_MILLIS = 2L;
+    private static final long DEGRADED_MILLIS = 20L;
+    private static final long PAUSE_PERIOD_MILLIS = 1_000L;
+    private static final long PAUSE_MILLIS = 250L;
+
+    @Param({"round-robin", "latency-aware"})
+    private String strategy;
+
+    private final List<HttpServer> servers = new ArrayList<>();
+    private ExecutorService serverExecutor;
+    private HttpClient httpClient;
+    private ReactorServiceInstanceLoadBalancer loadBalancer;
+    private LatencyAwareLoadBalancer lifecycle;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.serverExecutor = Executors.newCachedThreadPool();
+        final long startNanos = System.nanoTime();
+        final ServiceInstance[] instances = new ServiceInstance[INSTANCES];
+        for (int i = 0; i < INSTANCES; i++) {
+            final boolean degraded = i == 0;
+            final HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 256);
+            server.createContext("/", exchange -> {
+                if (degraded)
+                    stall(startNanos);
+                sleep(degraded ? DEGRADED_MILLIS : HEALTHY_MILLIS);
+                exchange.sendResponseHeaders(200, 2);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write("{}".getBytes());
+                }
+            });
+            server.setExecutor(this.serverExecutor);
+            server.start();
+            this.servers.add(server);
+            instances[i] = new DefaultServiceInstance("stub-" + i, SERVICE_ID, "127.0.0.1", server.getAddress().getPort(), false);
+        }
+
+        final ObjectProvider<ServiceInstanceListSupplier> supplier = ServiceInstanceListSuppliers.toProvider(SERVICE_ID, instances);
+        if ("round-robin".equals(this.strategy))
+            this.loadBalancer = new RoundRobinLoadBalancer(supplier, SERVICE_ID);
+        else {
+            this.lifecycle = new LatencyAwareLoadBalancer(supplier, SERVICE_ID, new LatencyAwareLoadBalancerProperties());
+            this.loadBalancer = this.lifecycle;
+        }
+        this.httpClient = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(4))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.servers.forEach(server -> server.stop(0));
+        this.serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public int call() throws IOException, InterruptedException {
+        final Request<Object> request = new DefaultRequest<>(new RequestDataContext());
+        final Response<ServiceInstance> response = this.loadBalancer.choose(request).block();
+        if (this.lifecycle != null)
+            this.lifecycle.onStartRequest(request, response);
+        final ServiceInstance instance = response.getServer();
+        final HttpResponse<Void> httpResponse = this.httpClient.send(
+                HttpRequest.newBuilder(URI.create("http://" + instance.getHost() + ":" + instance.getPort() + "/")).build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (this.lifecycle != null)
+            this.lifecycle.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, request, response));
+        return httpResponse.statusCode();
+    }
+
+    // holds the request until the current pause window is over
+    private static void stall(final long startNanos) {
+        final long phase = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) % PAUSE_PERIOD_MILLIS;
+        if (phase < PAUSE_MILLIS)
+            sleep(PAUSE_MILLIS - phase);
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoadBalancerBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+}
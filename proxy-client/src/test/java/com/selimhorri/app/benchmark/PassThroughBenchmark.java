@@ -0,0 +1,95 @@
+package com.selimhorri.app.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
+
+/**
+ * Compares the two ways a proxy-client controller can relay a large findAll body: binding it to 
+ * DTOs and re-serializing (the typed Feign path) versus copying the bytes through untouched 
+ * (the pass-through path). Network cost is identical for both and is left out.
+ * 
+ * Run with: mvn -pl proxy-client test-compile exec:java -Dexec.classpathScope=test 
+ *   -Dexec.mainClass=com.selimhorri.app.benchmark.PassThroughBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PassThroughBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private byte[] payload;
+
+    // stands in for the servlet output buffer; writing into it keeps the copy observable to the JIT
+    private ByteArrayOutputStream sink;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.objectMapper = new ObjectMapper().findAndRegisterModules();
+        final List<OrderDto> orderDtos = new ArrayList<>(this.size);
+        for (int i = 1; i <= this.size; i++)
+            orderDtos.add(OrderDto.builder()
+                    .orderId(i)
+                    .orderDate(LocalDateTime.now())
+                    .orderDesc("order description " + i)
+                    .orderFee(i * 1.5)
+                    .cartDto(CartDto.builder().cartId(i).userId(i).build())
+                    .build());
+        this.payload = this.objectMapper.writeValueAsBytes(new OrderOrderServiceDtoCollectionResponse(orderDtos, null));
+        this.sink = new ByteArrayOutputStream(this.payload.length * 2);
+    }
+
+    @Benchmark
+    public int deserializeAndReserialize() throws IOException {
+        this.sink.reset();
+        final OrderOrderServiceDtoCollectionResponse body = this.objectMapper
+                .readValue(new ByteArrayInputStream(this.payload), OrderOrderServiceDtoCollectionResponse.class);
+        this.objectMapper.writeValue(this.sink, body);
+        return this.sink.size();
+    }
+
+    @Benchmark
+    public int passThrough() throws IOException {
+        this.sink.reset();
+        new ByteArrayInputStream(this.payload).transferTo(this.sink);
+        return this.sink.size();
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PassThroughBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+}
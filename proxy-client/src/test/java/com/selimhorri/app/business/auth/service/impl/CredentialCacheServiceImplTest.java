@@ -0,0 +1,111 @@
+package com.selimhorri.app.business.auth.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.RoleBasedAuthority;
+import com.selimhorri.app.business.user.model.UserDetailsImpl;
+import com.selimhorri.app.config.cache.CredentialCacheProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class CredentialCacheServiceImplTest {
+
+    private static final String USERNAME = "selimhorri";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CredentialCacheServiceImpl credentialCacheService;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.credentialCacheService = new CredentialCacheServiceImpl(
+                this.userDetailsService, new CredentialCacheProperties(), this.meterRegistry);
+    }
+
+    @Test
+    void loadUserByUsername_shouldCallUserServiceOnce_whenCalledRepeatedly() {
+        when(this.userDetailsService.loadUserByUsername(USERNAME)).thenReturn(userDetails(1));
+
+        for (int i = 0; i < 10; i++)
+            assertThat(this.credentialCacheService.loadUserByUsername(USERNAME).getUsername()).isEqualTo(USERNAME);
+
+        verify(this.userDetailsService, times(1)).loadUserByUsername(USERNAME);
+        assertThat(this.meterRegistry.get("cache.gets").tag("cache", CredentialCacheServiceImpl.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(9.0);
+    }
+
+    @Test
+    void loadUserByUsername_shouldShareOneLoad_whenCalledConcurrently() throws Exception {
+        final var release = new CountDownLatch(1);
+        when(this.userDetailsService.loadUserByUsername(USERNAME)).thenAnswer(invocation -> {
+            release.await();
+            return userDetails(1);
+        });
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<UserDetails>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++)
+                futures.add(executor.submit(() -> this.credentialCacheService.loadUserByUsername(USERNAME)));
+            Thread.sleep(100);
+            release.countDown();
+            for (final Future<UserDetails> future : futures)
+                assertThat(future.get().getUsername()).isEqualTo(USERNAME);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        verify(this.userDetailsService, times(1)).loadUserByUsername(USERNAME);
+    }
+
+    @Test
+    void invalidateByCredentialId_shouldForceReload() {
+        when(this.userDetailsService.loadUserByUsername(USERNAME)).thenReturn(userDetails(1));
+
+        this.credentialCacheService.loadUserByUsername(USERNAME);
+        this.credentialCacheService.invalidateByCredentialId(2);
+        this.credentialCacheService.loadUserByUsername(USERNAME);
+        this.credentialCacheService.invalidateByCredentialId(1);
+        this.credentialCacheService.loadUserByUsername(USERNAME);
+
+        verify(this.userDetailsService, times(2)).loadUserByUsername(USERNAME);
+    }
+
+    private static UserDetails userDetails(final Integer credentialId) {
+        return new UserDetailsImpl(CredentialDto.builder()
+                .credentialId(credentialId)
+                .username(USERNAME)
+                .password("password")
+                .roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+                .isEnabled(true)
+                .isAccountNonExpired(true)
+                .isAccountNonLocked(true)
+                .isCredentialsNonExpired(true)
+                .build());
+    }
+
+}
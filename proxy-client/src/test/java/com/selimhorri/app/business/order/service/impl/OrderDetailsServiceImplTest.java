@@ -0,0 +1,117 @@
+package com.selimhorri.app.business.order.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import com.selimhorri.app.business.order.model.OrderDetailsDto;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.orderItem.model.response.OrderItemOrderItemServiceDtoCollectionResponse;
+import com.selimhorri.app.business.orderItem.service.OrderItemClientService;
+import com.selimhorri.app.business.payment.model.PaymentDto;
+import com.selimhorri.app.business.payment.model.response.PaymentPaymentServiceDtoCollectionResponse;
+import com.selimhorri.app.business.payment.service.PaymentClientService;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.service.CatalogCacheService;
+import com.selimhorri.app.config.aggregation.AggregationProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class OrderDetailsServiceImplTest {
+
+    private static final String ORDER_ID = "1";
+
+    @Mock
+    private OrderClientService orderClientService;
+
+    @Mock
+    private PaymentClientService paymentClientService;
+
+    @Mock
+    private OrderItemClientService orderItemClientService;
+
+    @Mock
+    private CatalogCacheService catalogCacheService;
+
+    private ExecutorService executor;
+    private OrderDetailsServiceImpl orderDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        this.executor = Executors.newFixedThreadPool(8);
+        final var properties = new AggregationProperties();
+        properties.setTimeBudget(Duration.ofMillis(300));
+        this.orderDetailsService = new OrderDetailsServiceImpl(this.orderClientService, this.paymentClientService,
+                this.orderItemClientService, this.catalogCacheService, this.executor, properties,
+                new SimpleMeterRegistry());
+
+        when(this.orderClientService.findById(ORDER_ID))
+                .thenReturn(ResponseEntity.ok(OrderDto.builder().orderId(1).build()));
+        when(this.orderItemClientService.findAllByOrderId(ORDER_ID))
+                .thenReturn(ResponseEntity.ok(new OrderItemOrderItemServiceDtoCollectionResponse(List.of(
+                        OrderItemDto.builder().orderId(1).productId(1).orderedQuantity(2).build(),
+                        OrderItemDto.builder().orderId(1).productId(2).orderedQuantity(1).build()), null)));
+        when(this.catalogCacheService.findProductById("1"))
+                .thenReturn(ProductDto.builder().productId(1).build());
+        when(this.catalogCacheService.findProductById("2"))
+                .thenReturn(ProductDto.builder().productId(2).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    void findDetailsById_shouldComposeEveryPart_whenDownstreamsAnswerInTime() {
+        when(this.paymentClientService.findAllByOrderId(ORDER_ID))
+                .thenReturn(ResponseEntity.ok(new PaymentPaymentServiceDtoCollectionResponse(
+                        List.of(PaymentDto.builder().paymentId(1).build()), null)));
+
+        final OrderDetailsDto orderDetailsDto = this.orderDetailsService.findDetailsById(ORDER_ID);
+
+        assertThat(orderDetailsDto.getPartial()).isFalse();
+        assertThat(orderDetailsDto.getOrderDto().getOrderId()).isEqualTo(1);
+        assertThat(orderDetailsDto.getPaymentDtos()).hasSize(1);
+        assertThat(orderDetailsDto.getOrderItemDtos()).hasSize(2);
+        assertThat(orderDetailsDto.getProductDtos()).extracting(ProductDto::getProductId).containsExactly(1, 2);
+    }
+
+    @Test
+    void findDetailsById_shouldMarkPartial_whenDownstreamExceedsTimeBudget() {
+        final var release = new CountDownLatch(1);
+        when(this.paymentClientService.findAllByOrderId(ORDER_ID)).thenAnswer(invocation -> {
+            release.await();
+            return ResponseEntity.ok(new PaymentPaymentServiceDtoCollectionResponse(List.of(), null));
+        });
+
+        final long start = System.nanoTime();
+        final OrderDetailsDto orderDetailsDto = this.orderDetailsService.findDetailsById(ORDER_ID);
+        final long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        release.countDown();
+
+        assertThat(elapsedMillis).isLessThan(1000L);
+        assertThat(orderDetailsDto.getPartial()).isTrue();
+        assertThat(orderDetailsDto.getMissing()).containsExactly(OrderDetailsServiceImpl.PART_PAYMENTS);
+        assertThat(orderDetailsDto.getPaymentDtos()).isNull();
+        assertThat(orderDetailsDto.getOrderDto()).isNotNull();
+        assertThat(orderDetailsDto.getProductDtos()).hasSize(2);
+    }
+
+}
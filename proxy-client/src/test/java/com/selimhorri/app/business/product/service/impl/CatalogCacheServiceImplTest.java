@@ -0,0 +1,122 @@
+package com.selimhorri.app.business.product.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.http.HttpHeaders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.product.service.CategoryClientService;
+import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.config.cache.CatalogCacheProperties;
+
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.RequestTemplate;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CatalogCacheServiceImplTest {
+
+    private static final String PRODUCT_ID = "1";
+    private static final String ETAG = "W/\"1-1.100-3.200\"";
+
+    @Mock
+    private ProductClientService productClientService;
+
+    @Mock
+    private CategoryClientService categoryClientService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CatalogCacheProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.properties = new CatalogCacheProperties();
+    }
+
+    @Test
+    void findProductById_shouldCallProductServiceOnce_whenCalledRepeatedly() {
+        when(this.productClientService.revalidateById(PRODUCT_ID, null))
+                .thenAnswer(invocation -> response(200, "{\"productId\":1,\"productTitle\":\"asus\"}"));
+        final var catalogCacheService = catalogCacheService();
+
+        for (int i = 0; i < 10; i++)
+            assertThat(catalogCacheService.findProductById(PRODUCT_ID).getProductTitle()).isEqualTo("asus");
+
+        verify(this.productClientService, times(1)).revalidateById(PRODUCT_ID, null);
+    }
+
+    @Test
+    void invalidateProduct_shouldForceReload() {
+        when(this.productClientService.revalidateById(PRODUCT_ID, null))
+                .thenAnswer(invocation -> response(200, "{\"productId\":1,\"productTitle\":\"asus\"}"));
+        final var catalogCacheService = catalogCacheService();
+
+        catalogCacheService.findProductById(PRODUCT_ID);
+        catalogCacheService.invalidateProduct("2");
+        catalogCacheService.findProductById(PRODUCT_ID);
+        catalogCacheService.invalidateProduct(PRODUCT_ID);
+        catalogCacheService.findProductById(PRODUCT_ID);
+
+        verify(this.productClientService, times(2)).revalidateById(PRODUCT_ID, null);
+    }
+
+    @Test
+    void findProductById_shouldRevalidateWithETag_andKeepEntry_whenNotModified() throws Exception {
+        this.properties.setRefreshAfter(Duration.ofMillis(1));
+        when(this.productClientService.revalidateById(PRODUCT_ID, null))
+                .thenAnswer(invocation -> response(200, "{\"productId\":1,\"productTitle\":\"asus\"}"));
+        when(this.productClientService.revalidateById(PRODUCT_ID, ETAG))
+                .thenAnswer(invocation -> response(304, null));
+        final var catalogCacheService = catalogCacheService();
+
+        catalogCacheService.findProductById(PRODUCT_ID);
+        Thread.sleep(20);
+        assertThat(catalogCacheService.findProductById(PRODUCT_ID).getProductTitle()).isEqualTo("asus");
+
+        verify(this.productClientService, timeout(1000)).revalidateById(PRODUCT_ID, ETAG);
+        verify(this.productClientService, times(1)).revalidateById(PRODUCT_ID, null);
+        assertThat(this.meterRegistry.get(CatalogCacheServiceImpl.CACHE_NAME + ".revalidations")
+                .tag("result", "not_modified").counter().count()).isEqualTo(1.0);
+    }
+
+    private CatalogCacheServiceImpl catalogCacheService() {
+        return new CatalogCacheServiceImpl(this.productClientService, this.categoryClientService, 
+                new ObjectMapper().findAndRegisterModules(), this.properties, this.meterRegistry);
+    }
+
+    private static Response response(final int status, final String body) {
+        final Map<String, Collection<String>> headers = new HashMap<>();
+        headers.put(HttpHeaders.ETAG, List.of(ETAG));
+        return Response.builder()
+                .status(status)
+                .headers(headers)
+                .body(body, StandardCharsets.UTF_8)
+                .request(Request.create(HttpMethod.GET, "/product-service/api/products/1", 
+                        Collections.emptyMap(), null, StandardCharsets.UTF_8, new RequestTemplate()))
+                .build();
+    }
+
+}
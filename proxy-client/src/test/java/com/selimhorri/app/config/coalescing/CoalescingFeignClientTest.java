@@ -0,0 +1,188 @@
+package com.selimhorri.app.config.coalescing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.business.user.service.UserClientService;
+import com.selimhorri.app.config.deadline.Deadline;
+import com.selimhorri.app.config.deadline.DeadlineGuard;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Target.HardCodedTarget;
+import feign.Util;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CoalescingFeignClientTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private CoalescingFeignClient coalescingFeignClient;
+
+    @BeforeEach
+    void setUp() {
+        final Client delegate = (request, options) -> {
+            this.calls.incrementAndGet();
+            try {
+                this.release.await();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Response.builder()
+                    .status(200)
+                    .headers(Collections.emptyMap())
+                    .body("{\"productId\":1}", StandardCharsets.UTF_8)
+                    .request(request)
+                    .build();
+        };
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.coalescingFeignClient = new CoalescingFeignClient(delegate,
+                new RequestCoalescer(this.meterRegistry), Set.of("ProductClientService"));
+    }
+
+    @Test
+    void execute_shouldShareOneDownstreamCall_whenIdenticalGetsRunConcurrently() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++)
+                futures.add(executor.submit(() -> bodyOf(this.coalescingFeignClient
+                        .execute(request(HttpMethod.GET, ProductClientService.class, "/1"), new Request.Options()))));
+            Thread.sleep(200);
+            this.release.countDown();
+            for (final Future<String> future : futures)
+                assertThat(future.get()).isEqualTo("{\"productId\":1}");
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(this.calls.get()).isEqualTo(1);
+        assertThat(this.meterRegistry.get(RequestCoalescer.METRIC_NAME).tag("result", "coalesced")
+                .counter().count()).isEqualTo(7.0);
+    }
+
+    @Test
+    void execute_shouldShareOneDownstreamCall_whenOnlyTheRemainingDeadlineDiffers() throws Exception {
+        assertThat(concurrentCalls(Map.of(Deadline.HEADER, List.of("4200")), Map.of(Deadline.HEADER, List.of("3100"))))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void execute_shouldNotShareDownstreamCalls_whenConditionalHeadersDiffer() throws Exception {
+        assertThat(concurrentCalls(Map.of(HttpHeaders.IF_NONE_MATCH, List.of("\"1\"")), Collections.emptyMap()))
+                .isEqualTo(2);
+    }
+
+    @Test
+    void execute_shouldStopWaitingForTheLeader_whenTheWaitersDeadlinePasses() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<String> leader = executor.submit(() -> bodyOf(this.coalescingFeignClient
+                    .execute(request(HttpMethod.GET, ProductClientService.class, "/1"), new Request.Options())));
+            Thread.sleep(200);
+            final Future<Response> waiter = executor.submit(() -> {
+                final MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+                servletRequest.setAttribute(Deadline.ATTRIBUTE, Deadline.after(Duration.ofMillis(100)));
+                RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(servletRequest));
+                try {
+                    return this.coalescingFeignClient
+                            .execute(request(HttpMethod.GET, ProductClientService.class, "/1"), new Request.Options());
+                }
+                finally {
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            });
+
+            assertThatThrownBy(waiter::get).hasCauseInstanceOf(IOException.class);
+            assertThat(leader.isDone()).isFalse();
+            this.release.countDown();
+            assertThat(leader.get()).isEqualTo("{\"productId\":1}");
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(this.calls.get()).isEqualTo(1);
+        assertThat(this.meterRegistry.get(DeadlineGuard.METRIC).tag("stage", DeadlineGuard.OUTBOUND)
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void execute_shouldPassThrough_whenMethodOrClientIsNotCoalesced() throws Exception {
+        this.release.countDown();
+
+        this.coalescingFeignClient.execute(request(HttpMethod.POST, ProductClientService.class, ""), new Request.Options());
+        this.coalescingFeignClient.execute(request(HttpMethod.GET, UserClientService.class, "/1"), new Request.Options());
+
+        assertThat(this.calls.get()).isEqualTo(2);
+        assertThat(this.meterRegistry.find(RequestCoalescer.METRIC_NAME).counter()).isNull();
+    }
+
+    private int concurrentCalls(final Map<String, Collection<String>> first,
+            final Map<String, Collection<String>> second) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<String> firstCall = executor.submit(() -> bodyOf(this.coalescingFeignClient
+                    .execute(request(HttpMethod.GET, ProductClientService.class, "/1", first), new Request.Options())));
+            final Future<String> secondCall = executor.submit(() -> bodyOf(this.coalescingFeignClient
+                    .execute(request(HttpMethod.GET, ProductClientService.class, "/1", second), new Request.Options())));
+            Thread.sleep(200);
+            this.release.countDown();
+            assertThat(firstCall.get()).isEqualTo("{\"productId\":1}");
+            assertThat(secondCall.get()).isEqualTo("{\"productId\":1}");
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        return this.calls.get();
+    }
+
+    private static Request request(final HttpMethod method, final Class<?> type, final String path) {
+        return request(method, type, path, Collections.emptyMap());
+    }
+
+    private static Request request(final HttpMethod method, final Class<?> type, final String path,
+            final Map<String, Collection<String>> headers) {
+        final var template = new RequestTemplate();
+        template.feignTarget(new HardCodedTarget<>(type, "PRODUCT-SERVICE", "http://PRODUCT-SERVICE"));
+        return Request.create(method, "http://PRODUCT-SERVICE/product-service/api/products" + path,
+                headers, null, StandardCharsets.UTF_8, template);
+    }
+
+    private static String bodyOf(final Response response) throws Exception {
+        try (response) {
+            return Util.toString(response.body().asReader(StandardCharsets.UTF_8));
+        }
+    }
+
+}
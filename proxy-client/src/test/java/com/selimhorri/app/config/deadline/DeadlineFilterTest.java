@@ -0,0 +1,66 @@
+package com.selimhorri.app.config.deadline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DeadlineFilterTest {
+
+    private DeadlineFilter deadlineFilter;
+
+    @BeforeEach
+    void setUp() {
+        this.deadlineFilter = new DeadlineFilter(new DeadlineGuard(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void doFilter_shouldClampAnOverflowingBudgetInsteadOfFailing() throws Exception {
+        final MockHttpServletRequest request = this.request("9999999999999999");
+        final MockFilterChain chain = new MockFilterChain();
+
+        this.deadlineFilter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        final Deadline deadline = (Deadline) request.getAttribute(Deadline.ATTRIBUTE);
+        assertThat(deadline.isExpired()).isFalse();
+        assertThat(deadline.remaining()).isLessThanOrEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    void doFilter_shouldAnswerGatewayTimeoutForAnOverflowingNegativeBudget() throws Exception {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final MockFilterChain chain = new MockFilterChain();
+
+        this.deadlineFilter.doFilter(this.request("-9999999999999999"), response, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT.value());
+    }
+
+    @Test
+    void doFilter_shouldIgnoreAnUnreadableBudget() throws Exception {
+        final MockHttpServletRequest request = this.request("soon");
+        final MockFilterChain chain = new MockFilterChain();
+
+        this.deadlineFilter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(request.getAttribute(Deadline.ATTRIBUTE)).isNull();
+    }
+
+    private MockHttpServletRequest request(final String budget) {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/api/products");
+        request.addHeader(Deadline.HEADER, budget);
+        return request;
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.selimhorri.app.config.feign;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import feign.Feign;
+import feign.RequestLine;
+import feign.Target.HardCodedTarget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class FeignClientPoolsTest {
+
+    private static final String SERVICE_NAME = "PRODUCT-SERVICE";
+
+    interface PingClientService {
+
+        @RequestLine("GET /ping")
+        String ping();
+
+    }
+
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private FeignClientPools feignClientPools;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/ping", exchange -> {
+            final byte[] body = "pong".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        this.server.start();
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.feignClientPools = new FeignClientPools(new FeignPoolProperties(), this.meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        this.feignClientPools.close();
+        this.server.stop(0);
+    }
+
+    @Test
+    void execute_shouldReuseServicePoolAndTimeByClientAndMethod() {
+        final PingClientService client = Feign.builder()
+                .client(this.feignClientPools::execute)
+                .target(new HardCodedTarget<>(PingClientService.class, SERVICE_NAME,
+                        "http://localhost:" + this.server.getAddress().getPort()));
+
+        for (int i = 0; i < 3; i++)
+            assertThat(client.ping()).isEqualTo("pong");
+
+        assertThat(this.meterRegistry.get(FeignClientPools.METRIC_NAME)
+                .tag("client", "PingClientService")
+                .tag("method", "ping")
+                .tag("service", SERVICE_NAME)
+                .tag("status", "200")
+                .timer().count()).isEqualTo(3L);
+        assertThat(this.meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("httpclient", "feign-" + SERVICE_NAME)
+                .tag("state", "available")
+                .gauge().value()).isEqualTo(1.0);
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.selimhorri.app.config.feign;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.config.resilience.ResilientExecutor;
+import com.selimhorri.app.config.resilience.StaleResponseProperties;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import feign.Util;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ResilientFeignClientTest {
+
+    private static final String PRODUCT_URL = "http://PRODUCT-SERVICE/product-service/api/products/1";
+
+    private final AtomicBoolean down = new AtomicBoolean();
+
+    private ExecutorService executorService;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private SimpleMeterRegistry meterRegistry;
+    private ResilientFeignClient resilientFeignClient;
+
+    @BeforeEach
+    void setUp() {
+        final Client delegate = (request, options) -> {
+            if (this.down.get())
+                throw new IOException("Connection refused");
+            return Response.builder()
+                    .status(200)
+                    .headers(Collections.emptyMap())
+                    .body("{\"productId\":1}", StandardCharsets.UTF_8)
+                    .request(request)
+                    .build();
+        };
+        this.executorService = Executors.newCachedThreadPool();
+        this.circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.resilientFeignClient = new ResilientFeignClient(delegate, new ResilientExecutor(this.circuitBreakerRegistry,
+                BulkheadRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults(), this.executorService, this.meterRegistry),
+                new StaleResponseProperties(), this.meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.executorService.shutdownNow();
+    }
+
+    @Test
+    void execute_shouldServeTheLastGoodResponseMarkedStaleWhenTheServiceFails() throws IOException {
+        assertThat(body(this.resilientFeignClient.execute(get(PRODUCT_URL), new Request.Options()))).isEqualTo("{\"productId\":1}");
+
+        this.down.set(true);
+        final Response stale = this.resilientFeignClient.execute(get(PRODUCT_URL), new Request.Options());
+        this.circuitBreakerRegistry.circuitBreaker("PRODUCT-SERVICE").transitionToOpenState();
+        final Response rejected = this.resilientFeignClient.execute(get(PRODUCT_URL), new Request.Options());
+
+        assertThat(body(stale)).isEqualTo("{\"productId\":1}");
+        assertThat(stale.headers().get("Warning")).containsExactly(ResilientFeignClient.STALE_WARNING);
+        assertThat(body(rejected)).isEqualTo("{\"productId\":1}");
+        assertThat(this.meterRegistry.get("remote.stale.responses").tag("name", "PRODUCT-SERVICE").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void execute_shouldFailFastWhenNothingIsCached() {
+        this.circuitBreakerRegistry.circuitBreaker("PRODUCT-SERVICE").transitionToOpenState();
+
+        assertThatThrownBy(() -> this.resilientFeignClient.execute(get(PRODUCT_URL), new Request.Options()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("PRODUCT-SERVICE");
+    }
+
+    private static Request get(final String url) {
+        return Request.create(HttpMethod.GET, url, Collections.emptyMap(), null, StandardCharsets.UTF_8, null);
+    }
+
+    private static String body(final Response response) throws IOException {
+        return Util.toString(response.body().asReader(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.selimhorri.app.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.RequestTemplate;
+import feign.Response;
+
+class PassThroughHelperTest {
+
+    private static final String BODY = "{\"collection\":[{\"orderId\":1}]}";
+
+    @Test
+    void passThrough_shouldCopyBodyAndForwardRelevantHeadersOnly() throws Exception {
+        final ResponseEntity<StreamingResponseBody> entity = PassThroughHelper.passThrough(response(200, Map.of(
+                HttpHeaders.CONTENT_TYPE, List.of(MediaType.APPLICATION_JSON_VALUE),
+                HttpHeaders.ETAG, List.of("W/\"1\""),
+                HttpHeaders.TRANSFER_ENCODING, List.of("chunked"))));
+
+        final var outputStream = new ByteArrayOutputStream();
+        entity.getBody().writeTo(outputStream);
+
+        assertThat(entity.getStatusCodeValue()).isEqualTo(200);
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+        assertThat(entity.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(entity.getHeaders().getETag()).isEqualTo("W/\"1\"");
+        assertThat(entity.getHeaders()).doesNotContainKey(HttpHeaders.TRANSFER_ENCODING);
+    }
+
+    @Test
+    void passThrough_shouldRaiseFeignException_whenDownstreamFails() {
+        assertThatThrownBy(() -> PassThroughHelper.passThrough(response(400, Collections.emptyMap())))
+                .isInstanceOf(FeignException.BadRequest.class);
+    }
+
+    private static Response response(final int status, final Map<String, Collection<String>> headers) {
+        return Response.builder()
+                .status(status)
+                .headers(headers)
+                .body(BODY, StandardCharsets.UTF_8)
+                .request(Request.create(HttpMethod.GET, "/order-service/api/orders",
+                        Collections.emptyMap(), null, StandardCharsets.UTF_8, new RequestTemplate()))
+                .build();
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.selimhorri.app.jwt.util.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.RoleBasedAuthority;
+import com.selimhorri.app.business.user.model.UserDetailsImpl;
+import com.selimhorri.app.jwt.model.VerifiedToken;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+class JwtUtilImplTest {
+
+    private final JwtUtilImpl jwtUtil = new JwtUtilImpl();
+
+    @Test
+    void verifyToken_shouldRebuildUserDetailsFromClaims() {
+        final UserDetails userDetails = new UserDetailsImpl(CredentialDto.builder()
+                .username("selimhorri")
+                .password("password")
+                .roleBasedAuthority(RoleBasedAuthority.ROLE_ADMIN)
+                .isEnabled(true)
+                .isAccountNonExpired(true)
+                .isAccountNonLocked(false)
+                .isCredentialsNonExpired(true)
+                .build());
+
+        final String token = this.jwtUtil.generateToken(userDetails);
+        final VerifiedToken verifiedToken = this.jwtUtil.verifyToken(token);
+
+        assertThat(verifiedToken.getExpiration()).isAfter(new Date());
+        assertThat(verifiedToken.getUserDetails().getUsername()).isEqualTo("selimhorri");
+        assertThat(verifiedToken.getUserDetails().getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly(RoleBasedAuthority.ROLE_ADMIN.name());
+        assertThat(verifiedToken.getUserDetails().isEnabled()).isTrue();
+        assertThat(verifiedToken.getUserDetails().isAccountNonLocked()).isFalse();
+        assertThat(this.jwtUtil.validateToken(token, userDetails)).isTrue();
+    }
+
+    @Test
+    void verifyToken_shouldReturnNoUserDetails_whenTokenHasNoAuthorityClaims() {
+        final String legacyToken = Jwts.builder()
+                .setSubject("selimhorri")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(SignatureAlgorithm.HS256, "secret")
+                .compact();
+
+        assertThat(this.jwtUtil.verifyToken(legacyToken).getUserDetails()).isNull();
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.selimhorri.app.config.deadline;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+// The point by which the caller stops waiting for the current request. Between hops it travels as the
+// remaining budget in milliseconds rather than as a timestamp, so hosts never have to agree on the clock:
+// each hop turns the header back into a local System.nanoTime() deadline on arrival.
+public final class Deadline {
+	
+	public static final String HEADER = "X-Request-Timeout";
+	public static final String ATTRIBUTE = Deadline.class.getName();
+	
+	// far past the gateway's max-timeout; only there to keep a forged or garbled budget from overflowing the clock
+	private static final long MAX_BUDGET_MILLIS = Duration.ofHours(1).toMillis();
+	
+	// stands in for the deadline of a request that already completed: nobody is left to read the answer
+	private static final Deadline PASSED = new Deadline(System.nanoTime());
+	
+	private final long deadlineNanos;
+	
+	private Deadline(final long deadlineNanos) {
+		this.deadlineNanos = deadlineNanos;
+	}
+	
+	public static Deadline after(final Duration budget) {
+		return new Deadline(System.nanoTime() + budget.toNanos());
+	}
+	
+	// empty for a missing or unreadable header; such requests run without a deadline, as before
+	public static Optional<Deadline> fromHeader(final String value) {
+		if (value == null || value.isBlank())
+			return Optional.empty();
+		try {
+			final long budgetMillis = Long.parseLong(value.trim());
+			return Optional.of(after(Duration.ofMillis(Math.max(0L, Math.min(budgetMillis, MAX_BUDGET_MILLIS)))));
+		}
+		catch (NumberFormatException e) {
+			return Optional.empty();
+		}
+	}
+	
+	// the deadline of the request bound to this thread, also on workers its request attributes were handed to
+	public static Optional<Deadline> current() {
+		final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		if (requestAttributes == null)
+			return Optional.empty();
+		try {
+			return Optional.ofNullable((Deadline) requestAttributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+		}
+		catch (IllegalStateException e) {
+			// a worker still busy after the request it ran for completed
+			return Optional.of(PASSED);
+		}
+	}
+	
+	public Duration remaining() {
+		return Duration.ofNanos(Math.max(this.deadlineNanos - System.nanoTime(), 0L));
+	}
+	
+	public boolean isExpired() {
+		return this.deadlineNanos - System.nanoTime() <= 0L;
+	}
+	
+	// the budget handed on to the next hop
+	public String toHeader() {
+		return String.valueOf(this.remaining().toMillis());
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,189 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+// Power-of-two-choices over a peak-EWMA latency estimate: two random instances are compared on
+// latency x (outstanding + 1) and the cheaper one wins. A GC-pausing instance both answers slowly and
+// piles up in-flight calls, so it loses nearly every comparison until its estimate decays and a probe
+// finds it healthy again; comparing only two keeps the herd from all piling onto the single best instance.
+// Outstanding counts and latencies come from the client lifecycle callbacks, which the gateway filter,
+// the Feign client and the @LoadBalanced RestTemplate interceptor all invoke around the call.
+@Slf4j
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+		LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+	
+	// score of an instance with no latency sample yet but a call already in flight: one probe at a time
+	private static final double PENALTY = Long.MAX_VALUE >> 16;
+	
+	private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+	private final String serviceId;
+	private final long decayNanos;
+	private final long failurePenaltyNanos;
+	private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+	
+	public LatencyAwareLoadBalancer(final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+			final String serviceId, final LatencyAwareLoadBalancerProperties properties) {
+		this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+		this.serviceId = serviceId;
+		this.decayNanos = properties.getDecayTime().toNanos();
+		this.failurePenaltyNanos = properties.getFailurePenalty().toNanos();
+	}
+	
+	@Override
+	public Mono<Response<ServiceInstance>> choose(final Request request) {
+		final ServiceInstanceListSupplier supplier = this.serviceInstanceListSupplierProvider
+				.getIfAvailable(NoopServiceInstanceListSupplier::new);
+		return supplier.get(request).next().map(instances -> {
+			final Response<ServiceInstance> response = this.choose(instances, System.nanoTime());
+			if (supplier instanceof SelectedInstanceCallback && response.hasServer())
+				((SelectedInstanceCallback) supplier).selectedServiceInstance(response.getServer());
+			return response;
+		});
+	}
+	
+	Response<ServiceInstance> choose(final List<ServiceInstance> instances, final long nowNanos) {
+		if (instances.isEmpty()) {
+			log.warn("*** No servers available for service: {} *", this.serviceId);
+			return new EmptyResponse();
+		}
+		if (instances.size() == 1)
+			return new DefaultResponse(instances.get(0));
+		
+		this.evictDeparted(instances);
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		final int first = random.nextInt(instances.size());
+		int second = random.nextInt(instances.size() - 1);
+		if (second >= first)
+			second++;
+		
+		final ServiceInstance a = instances.get(first);
+		final ServiceInstance b = instances.get(second);
+		return new DefaultResponse(this.score(a, nowNanos) <= this.score(b, nowNanos) ? a : b);
+	}
+	
+	@Override
+	public boolean supports(final Class requestContextClass, final Class responseClass, final Class serverTypeClass) {
+		return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+	}
+	
+	@Override
+	public void onStart(final Request<Object> request) {
+		
+	}
+	
+	@Override
+	public void onStartRequest(final Request<Object> request, final Response<ServiceInstance> lbResponse) {
+		if (!lbResponse.hasServer())
+			return;
+		if (request.getContext() instanceof TimedRequestContext)
+			((TimedRequestContext) request.getContext()).setRequestStartTime(System.nanoTime());
+		this.stats.computeIfAbsent(key(lbResponse.getServer()), key -> new InstanceStats())
+				.outstanding.incrementAndGet();
+	}
+	
+	@Override
+	public void onComplete(final CompletionContext<Object, ServiceInstance, Object> completionContext) {
+		final Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+		if (lbResponse == null || !lbResponse.hasServer())
+			return;
+		final InstanceStats instanceStats = this.stats.get(key(lbResponse.getServer()));
+		if (instanceStats == null)
+			return;
+		instanceStats.outstanding.updateAndGet(outstanding -> Math.max(outstanding - 1, 0));
+		
+		final Object context = completionContext.getLoadBalancerRequest() == null ?
+				null : completionContext.getLoadBalancerRequest().getContext();
+		if (completionContext.status() == CompletionContext.Status.DISCARD
+				|| !(context instanceof TimedRequestContext) || ((TimedRequestContext) context).getRequestStartTime() == 0L)
+			return;
+		final long nowNanos = System.nanoTime();
+		final long rtt = nowNanos - ((TimedRequestContext) context).getRequestStartTime();
+		instanceStats.observe(completionContext.status() == CompletionContext.Status.FAILED ?
+				Math.max(rtt, this.failurePenaltyNanos) : rtt, nowNanos, this.decayNanos);
+	}
+	
+	double score(final ServiceInstance instance, final long nowNanos) {
+		final InstanceStats instanceStats = this.stats.get(key(instance));
+		if (instanceStats == null)
+			return 0.0;
+		final int outstanding = instanceStats.outstanding.get();
+		final double cost = instanceStats.cost(nowNanos, this.decayNanos);
+		if (cost < 0.0)
+			return outstanding == 0 ? 0.0 : PENALTY + outstanding;
+		return cost * (outstanding + 1);
+	}
+	
+	// instances that left the registry would otherwise keep their stats for the life of the process
+	private void evictDeparted(final List<ServiceInstance> instances) {
+		if (this.stats.size() <= instances.size())
+			return;
+		final Set<String> current = instances.stream()
+				.map(LatencyAwareLoadBalancer::key)
+				.collect(Collectors.toUnmodifiableSet());
+		this.stats.keySet().retainAll(current);
+	}
+	
+	private static String key(final ServiceInstance instance) {
+		return instance.getHost() + ":" + instance.getPort();
+	}
+	
+	static final class InstanceStats {
+		
+		private final AtomicInteger outstanding = new AtomicInteger();
+		// nanos; negative until the first sample
+		private double cost = -1.0;
+		private long stamp;
+		
+		// peak-sensitive: a slower sample replaces the estimate at once, faster ones blend in by elapsed time
+		synchronized void observe(final long rtt, final long nowNanos, final long decayNanos) {
+			if (this.cost < 0.0 || rtt > this.cost)
+				this.cost = rtt;
+			else {
+				final double weight = Math.exp(-Math.max(nowNanos - this.stamp, 0L) / (double) decayNanos);
+				this.cost = this.cost * weight + rtt * (1.0 - weight);
+			}
+			this.stamp = nowNanos;
+		}
+		
+		synchronized double cost(final long nowNanos, final long decayNanos) {
+			if (this.cost < 0.0)
+				return this.cost;
+			return this.cost * Math.exp(-Math.max(nowNanos - this.stamp, 0L) / (double) decayNanos);
+		}
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,24 @@
+package com.selimhorri.app.config.projection;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ProjectionProperties.class)
+public class ProjectionConfig {
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
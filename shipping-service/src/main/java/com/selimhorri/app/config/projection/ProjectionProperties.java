@@ -0,0 +1,29 @@
+package com.selimhorri.app.config.projection;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.projection")
+@Data
+public class ProjectionProperties {
+	
+	private int feedBatchSize = 500;
+	private int snapshotPageSize = 500;
+	private int maxPagesPerRun = 20;
+	// must stay under the producers' outbox retention, past which the feed has gaps and only a snapshot can catch up
+	private Duration resnapshotAfter = Duration.ofDays(1);
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,59 @@
+package com.selimhorri.app.config.resilience;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Configuration
+public class ResilienceConfig {
+	
+	public static final String REMOTE_CALL_EXECUTOR = "remoteCallExecutor";
+	public static final String EXECUTOR_NAME = "remote.calls";
+	
+	@Bean(name = REMOTE_CALL_EXECUTOR, destroyMethod = "shutdown")
+	public ExecutorService remoteCallExecutor(final MeterRegistry meterRegistry) {
+		// no queue and no thread cap of its own: every task already holds a bulkhead permit, 
+		// so the semaphore bulkheads are what bound this pool
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+				0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS,
+				new SynchronousQueue<>(),
+				new CustomizableThreadFactory("remote-call-"));
+		return ExecutorServiceMetrics.monitor(meterRegistry, executor, EXECUTOR_NAME);
+	}
+	
+	@Bean
+	public ResilientExecutor resilientExecutor(final CircuitBreakerRegistry circuitBreakerRegistry,
+			final BulkheadRegistry bulkheadRegistry, final TimeLimiterRegistry timeLimiterRegistry,
+			@Qualifier(REMOTE_CALL_EXECUTOR) final ExecutorService remoteCallExecutor, final MeterRegistry meterRegistry) {
+		return new ResilientExecutor(circuitBreakerRegistry, bulkheadRegistry, timeLimiterRegistry, 
+				remoteCallExecutor, meterRegistry);
+	}
+	
+	@Bean
+	public ResilienceInterceptor resilienceInterceptor(final ResilientExecutor resilientExecutor) {
+		return new ResilienceInterceptor(resilientExecutor);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
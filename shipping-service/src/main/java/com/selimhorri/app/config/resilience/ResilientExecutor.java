@@ -0,0 +1,182 @@
+package com.selimhorri.app.config.resilience;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.selimhorri.app.config.deadline.Deadline;
+import com.selimhorri.app.config.deadline.DeadlineGuard;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Runs one remote call under the circuit breaker, semaphore bulkhead and time limiter named after the
+// downstream service (resilience4j.*.instances.<name>, else configs.default). Breaker and bulkhead are
+// checked on the caller thread, so a rejected call costs nothing; only an admitted call hops to a worker,
+// since a time limiter can only walk away from a future. The bulkhead permit is returned when the worker
+// finishes rather than when the caller gives up, so abandoned calls keep counting against the service
+// until their socket timeout ends them; a response that still arrives after that is closed by whichever
+// of the two sides learns last that nobody will read it, so its pooled connection goes back. The time
+// limiter never waits past the deadline of the request the call is made for.
+public class ResilientExecutor {
+	
+	private static final Object ABANDONED = new Object();
+	
+	private final CircuitBreakerRegistry circuitBreakerRegistry;
+	private final BulkheadRegistry bulkheadRegistry;
+	private final TimeLimiterRegistry timeLimiterRegistry;
+	private final ExecutorService executorService;
+	private final DeadlineGuard deadlineGuard;
+	
+	public ResilientExecutor(final CircuitBreakerRegistry circuitBreakerRegistry, final BulkheadRegistry bulkheadRegistry,
+			final TimeLimiterRegistry timeLimiterRegistry, final ExecutorService executorService, final MeterRegistry meterRegistry) {
+		this.circuitBreakerRegistry = circuitBreakerRegistry;
+		this.bulkheadRegistry = bulkheadRegistry;
+		this.timeLimiterRegistry = timeLimiterRegistry;
+		this.executorService = executorService;
+		this.deadlineGuard = new DeadlineGuard(meterRegistry);
+		// resilience4j already exports available and max permits; the ratio is what alerts are written against
+		bulkheadRegistry.getEventPublisher().onEntryAdded(event -> Gauge
+				.builder("remote.bulkhead.saturation", event.getAddedEntry(), ResilientExecutor::saturation)
+				.description("Share of the bulkhead permits held by in-flight calls")
+				.tag("name", event.getAddedEntry().getName())
+				.register(meterRegistry));
+	}
+	
+	public <T> T execute(final String name, final Callable<T> call, final Predicate<T> failed) throws Exception {
+		final CircuitBreaker circuitBreaker = this.circuitBreakerRegistry.circuitBreaker(name);
+		final Bulkhead bulkhead = this.bulkheadRegistry.bulkhead(name);
+		final TimeLimiter configured = this.timeLimiterRegistry.timeLimiter(name);
+		final Duration budget = Deadline.current().map(Deadline::remaining).orElse(null);
+		final boolean deadlineBound = budget != null 
+				&& budget.compareTo(configured.getTimeLimiterConfig().getTimeoutDuration()) < 0;
+		final TimeLimiter timeLimiter = deadlineBound ? TimeLimiter.of(name, TimeLimiterConfig
+				.from(configured.getTimeLimiterConfig())
+				.timeoutDuration(budget)
+				.build()) : configured;
+		
+		circuitBreaker.acquirePermission();
+		try {
+			bulkhead.acquirePermission();
+		}
+		catch (BulkheadFullException e) {
+			circuitBreaker.releasePermission();
+			throw e;
+		}
+		
+		final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		final AtomicReference<Object> handoff = new AtomicReference<>();
+		final long start = System.nanoTime();
+		try {
+			final T result = timeLimiter.executeFutureSupplier(() -> this.submit(bulkhead, requestAttributes, call, handoff));
+			if (failed.test(result))
+				circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, new FailedResultException(name));
+			else
+				circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			return result;
+		}
+		catch (TimeoutException e) {
+			abandon(handoff);
+			// cut short by the caller's deadline, which says nothing about the health of the downstream
+			if (deadlineBound) {
+				circuitBreaker.releasePermission();
+				this.deadlineGuard.record(DeadlineGuard.OUTBOUND);
+			}
+			else
+				circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+			throw e;
+		}
+		catch (Exception e) {
+			abandon(handoff);
+			circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+			throw e;
+		}
+	}
+	
+	private <T> Future<T> submit(final Bulkhead bulkhead, final RequestAttributes requestAttributes, 
+			final Callable<T> call, final AtomicReference<Object> handoff) {
+		try {
+			return this.executorService.submit(() -> {
+				RequestContextHolder.setRequestAttributes(requestAttributes);
+				try {
+					final T result = call.call();
+					if (!handoff.compareAndSet(null, result))
+						closeQuietly(result);
+					return result;
+				}
+				finally {
+					RequestContextHolder.resetRequestAttributes();
+					bulkhead.onComplete();
+				}
+			});
+		}
+		catch (RejectedExecutionException e) {
+			bulkhead.onComplete();
+			throw e;
+		}
+	}
+	
+	// the caller gives up on the call: a result already handed over is closed here, a later one by the worker
+	private static void abandon(final AtomicReference<Object> handoff) {
+		final Object result = handoff.getAndSet(ABANDONED);
+		if (result != null)
+			closeQuietly(result);
+	}
+	
+	private static void closeQuietly(final Object result) {
+		if (result instanceof Closeable) {
+			try {
+				((Closeable) result).close();
+			}
+			catch (IOException e) {
+				// nothing left to tell anyone
+			}
+		}
+	}
+	
+	private static double saturation(final Bulkhead bulkhead) {
+		final int max = bulkhead.getBulkheadConfig().getMaxConcurrentCalls();
+		return (max == 0) ? 1.0 : 1.0 - (double) bulkhead.getMetrics().getAvailableConcurrentCalls() / max;
+	}
+	
+	// recorded by the breaker for responses that arrived but count as failures, e.g. a 5xx
+	static final class FailedResultException extends RuntimeException {
+		
+		private static final long serialVersionUID = 1L;
+		
+		FailedResultException(final String name) {
+			super("Failed response from " + name, null, false, false);
+		}
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,56 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Local copy of the product fields this service displays, kept current from the owner's change feed.
+@Entity
+@Table(name = "product_projections")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class ProductProjection implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "product_id", unique = true, nullable = false, updatable = false)
+	private Integer productId;
+	
+	@Column(name = "product_title")
+	private String productTitle;
+	
+	@Column(name = "image_url")
+	private String imageUrl;
+	
+	@Column(name = "sku")
+	private String sku;
+	
+	@Column(name = "price_unit")
+	private Double priceUnit;
+	
+	// snapshot generation that last wrote the row, see AbstractProjectionSyncService
+	@Column(name = "generation", nullable = false)
+	private Long generation;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,58 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// How far a local projection has followed its owner's change feed, and when it last did so.
+@Entity
+@Table(name = "projection_cursors")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class ProjectionCursor implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "projection", unique = true, nullable = false, updatable = false)
+	private String projection;
+	
+	@Column(name = "feed_position", nullable = false)
+	private Long feedPosition;
+	
+	@Column(name = "synced_at", nullable = false)
+	private Instant syncedAt;
+	
+	// generation of the rows the last finished snapshot wrote
+	@Column(name = "generation", nullable = false)
+	private Long generation;
+	
+	// feed position and listing cursor of a snapshot still in progress, both null otherwise
+	@Column(name = "snapshot_position")
+	private Long snapshotPosition;
+	
+	@Column(name = "snapshot_after")
+	private String snapshotAfter;
+	
+}
+
+
+
+
+
+
+
+
+
+
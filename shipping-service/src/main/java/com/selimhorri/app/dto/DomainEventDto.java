@@ -0,0 +1,37 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// one entry of a producing service's change feed; payload is the aggregate's DTO as JSON, null for deletions
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class DomainEventDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	private Long position;
+	private Long eventId;
+	private String aggregateType;
+	private String aggregateId;
+	private String eventType;
+	private String payload;
+	private Instant occurredAt;
+	
+}
+
+
+
+
+
+
+
+
+
+
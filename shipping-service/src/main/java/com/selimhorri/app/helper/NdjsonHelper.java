@@ -0,0 +1,34 @@
+package com.selimhorri.app.helper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+public interface NdjsonHelper {
+	
+	public static <T> Consumer<T> lineWriter(final ObjectWriter objectWriter, final OutputStream outputStream) {
+		return value -> {
+			try {
+				outputStream.write(objectWriter.writeValueAsBytes(value));
+				outputStream.write('\n');
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		};
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
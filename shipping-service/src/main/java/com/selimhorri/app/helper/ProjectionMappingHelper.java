@@ -0,0 +1,62 @@
+package com.selimhorri.app.helper;
+
+import com.selimhorri.app.domain.OrderProjection;
+import com.selimhorri.app.domain.ProductProjection;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.ProductDto;
+
+public interface ProjectionMappingHelper {
+	
+	public static ProductProjection map(final ProductDto productDto, final Long generation) {
+		return ProductProjection.builder()
+				.productId(productDto.getProductId())
+				.productTitle(productDto.getProductTitle())
+				.imageUrl(productDto.getImageUrl())
+				.sku(productDto.getSku())
+				.priceUnit(productDto.getPriceUnit())
+				.generation(generation)
+				.build();
+	}
+	
+	public static ProductDto map(final ProductProjection productProjection) {
+		return ProductDto.builder()
+				.productId(productProjection.getProductId())
+				.productTitle(productProjection.getProductTitle())
+				.imageUrl(productProjection.getImageUrl())
+				.sku(productProjection.getSku())
+				.priceUnit(productProjection.getPriceUnit())
+				.build();
+	}
+	
+	public static OrderProjection map(final OrderDto orderDto, final Long generation) {
+		return OrderProjection.builder()
+				.orderId(orderDto.getOrderId())
+				.orderDate(orderDto.getOrderDate())
+				.orderDesc(orderDto.getOrderDesc())
+				.orderFee(orderDto.getOrderFee())
+				.generation(generation)
+				.build();
+	}
+	
+	public static OrderDto map(final OrderProjection orderProjection) {
+		return OrderDto.builder()
+				.orderId(orderProjection.getOrderId())
+				.orderDate(orderProjection.getOrderDate())
+				.orderDesc(orderProjection.getOrderDesc())
+				.orderFee(orderProjection.getOrderFee())
+				.build();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
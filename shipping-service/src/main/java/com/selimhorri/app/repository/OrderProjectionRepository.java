@@ -0,0 +1,28 @@
+package com.selimhorri.app.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.OrderProjection;
+
+public interface OrderProjectionRepository extends JpaRepository<OrderProjection, Integer> {
+	
+	@Modifying
+	@Query("DELETE FROM OrderProjection p WHERE p.generation < :generation")
+	int deleteAllByGenerationBefore(@Param("generation") final Long generation);
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,31 @@
+package com.selimhorri.app.repository;
+
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.ProjectionCursor;
+
+public interface ProjectionCursorRepository extends JpaRepository<ProjectionCursor, String> {
+	
+	// held for the whole sync step, so one instance at a time writes a given projection
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT c FROM ProjectionCursor c WHERE c.projection = :projection")
+	Optional<ProjectionCursor> findByIdForUpdate(@Param("projection") final String projection);
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,8 +1,14 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,11 +17,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.domain.id.OrderItemId;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.KeysetPageHelper;
+import com.selimhorri.app.helper.NdjsonHelper;
 import com.selimhorri.app.service.OrderItemService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,11 +40,35 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderItemResource {
 	
 	private final OrderItemService orderItemService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			@RequestParam(value = "limit", required = false) final Integer limit) {
 		log.info("*** OrderItemDto List, controller; fetch all orderItems *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderItemService.findAll()));
+		if (after == null && limit == null)
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderItemService.findAll()));
+		final Slice<OrderItemDto> orderItemDtos = this.orderItemService.findAll(
+				(after == null) ? null : parseCursor(after), KeysetPageHelper.pageable(limit));
+		return ResponseEntity.ok(DtoCollectionResponse.of(orderItemDtos, 
+				o -> o.getProductId() + "," + o.getOrderId()));
+	}
+	
+	@GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> exportAll() {
+		log.info("*** OrderItemDto Stream, resource; export all orderItems *");
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(outputStream -> this.orderItemService.exportAll(NdjsonHelper
+						.lineWriter(this.objectMapper.writerFor(OrderItemDto.class), outputStream)));
+	}
+	
+	@GetMapping("/orders/{orderId}")
+	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> findAllByOrderId(
+			@PathVariable("orderId") final String orderId) {
+		log.info("*** OrderItemDto List, resource; fetch orderItems by orderId *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderItemService.findAllByOrderId(Integer.parseInt(orderId))));
 	}
 	
 	@GetMapping("/{orderId}/{productId}")
@@ -62,6 +98,16 @@ public class OrderItemResource {
 		return ResponseEntity.ok(this.orderItemService.save(orderItemDto));
 	}
 	
+	@PostMapping("/bulk")
+	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> saveAll(
+			@RequestBody 
+			@NotEmpty(message = "Input must not be empty") 
+			@Size(max = AppConstant.MAX_BULK_SIZE, message = "Input must not exceed " + AppConstant.MAX_BULK_SIZE + " rows") 
+			@Valid final List<OrderItemDto> orderItemDtos) {
+		log.info("*** OrderItemDto List, resource; save orderItems in bulk *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderItemService.saveAll(orderItemDtos)));
+	}
+	
 	@PutMapping
 	public ResponseEntity<OrderItemDto> update(
 			@RequestBody 
@@ -90,6 +136,10 @@ public class OrderItemResource {
 		return ResponseEntity.ok(true);
 	}
 	
+	private static OrderItemId parseCursor(final String cursor) {
+		return KeysetPageHelper.cursor(cursor, 2, keys -> new OrderItemId(Integer.parseInt(keys[0]), Integer.parseInt(keys[1])));
+	}
+	
 	
 	
 }
@@ -1,6 +1,10 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderItemDto;
@@ -8,8 +12,12 @@ import com.selimhorri.app.dto.OrderItemDto;
 public interface OrderItemService {
 	
 	List<OrderItemDto> findAll();
+	Slice<OrderItemDto> findAll(final OrderItemId after, final Pageable pageable);
+	List<OrderItemDto> findAllByOrderId(final Integer orderId);
+	void exportAll(final Consumer<OrderItemDto> consumer);
 	OrderItemDto findById(final OrderItemId orderItemId);
 	OrderItemDto save(final OrderItemDto orderItemDto);
+	List<OrderItemDto> saveAll(final List<OrderItemDto> orderItemDtos);
 	OrderItemDto update(final OrderItemDto orderItemDto);
 	void deleteById(final OrderItemId orderItemId);
 	
@@ -0,0 +1,17 @@
+package com.selimhorri.app.service;
+
+public interface ProjectionSyncService {
+	
+	void sync();
+	
+}
+
+
+
+
+
+
+
+
+
+
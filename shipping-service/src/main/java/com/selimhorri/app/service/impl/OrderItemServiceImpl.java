@@ -1,23 +1,45 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import javax.transaction.Transactional;
+import javax.persistence.EntityManager;
 
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.config.deadline.DeadlineGuard;
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoBatchResponse;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
 import com.selimhorri.app.helper.OrderItemMappingHelper;
+import com.selimhorri.app.helper.ProjectionMappingHelper;
 import com.selimhorri.app.repository.OrderItemRepository;
+import com.selimhorri.app.repository.OrderProjectionRepository;
+import com.selimhorri.app.repository.ProductProjectionRepository;
 import com.selimhorri.app.service.OrderItemService;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,37 +50,70 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderItemServiceImpl implements OrderItemService {
 	
 	private final OrderItemRepository orderItemRepository;
+	private final EntityManager entityManager;
+	private final ProductProjectionRepository productProjectionRepository;
+	private final OrderProjectionRepository orderProjectionRepository;
 	private final RestTemplate restTemplate;
+	private final MeterRegistry meterRegistry;
+	private final DeadlineGuard deadlineGuard;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<OrderItemDto> findAll() {
 		log.info("*** OrderItemDto List, service; fetch all orderItems *");
-		return this.orderItemRepository.findAll()
+		return this.enrich(this.orderItemRepository.findAll()
 				.stream()
 					.map(OrderItemMappingHelper::map)
-					.map(o -> {
-						o.setProductDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class));
-						o.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class));
-						return o;
-					})
 					.distinct()
+					.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public Slice<OrderItemDto> findAll(final OrderItemId after, final Pageable pageable) {
+		log.info("*** OrderItemDto Slice, service; fetch orderItems after cursor *");
+		final Slice<OrderItemDto> orderItemDtos = this.orderItemRepository.findAllAfter(
+					(after == null) ? Integer.MIN_VALUE : after.getProductId(), 
+					(after == null) ? Integer.MIN_VALUE : after.getOrderId(), pageable)
+				.map(OrderItemMappingHelper::map);
+		this.enrich(orderItemDtos.getContent());
+		return orderItemDtos;
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<OrderItemDto> findAllByOrderId(final Integer orderId) {
+		log.info("*** OrderItemDto List, service; fetch orderItems by orderId *");
+		// left unenriched: callers composing an order page resolve the order and products themselves
+		return this.orderItemRepository.findAllByOrderIdOrderByProductIdAsc(orderId)
+				.stream()
+					.map(OrderItemMappingHelper::map)
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
+	public void exportAll(final Consumer<OrderItemDto> consumer) {
+		log.info("*** Void, service; export all orderItems *");
+		try (final Stream<OrderItem> orderItems = this.orderItemRepository.streamAll()) {
+			final Iterator<OrderItem> iterator = orderItems.iterator();
+			for (int i = 1; iterator.hasNext(); i++) {
+				final OrderItem orderItem = iterator.next();
+				consumer.accept(OrderItemMappingHelper.map(orderItem));
+				this.entityManager.detach(orderItem);
+				if (i % AppConstant.EXPORT_CLEAR_INTERVAL == 0)
+					this.entityManager.clear();
+			}
+		}
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
 	public OrderItemDto findById(final OrderItemId orderItemId) {
 		log.info("*** OrderItemDto, service; fetch orderItem by id *");
 		return this.orderItemRepository.findById(null)
 				.map(OrderItemMappingHelper::map)
-				.map(o -> {
-					o.setProductDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class));
-					o.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class));
-					return o;
-				})
+				.map(o -> this.enrich(List.of(o)).get(0))
 				.orElseThrow(() -> new OrderItemNotFoundException(String.format("OrderItem with id: %s not found", orderItemId)));
 	}
 	
@@ -69,6 +124,24 @@ public class OrderItemServiceImpl implements OrderItemService {
 				.save(OrderItemMappingHelper.map(orderItemDto)));
 	}
 	
+	@Override
+	public List<OrderItemDto> saveAll(final List<OrderItemDto> orderItemDtos) {
+		log.info("*** OrderItemDto List, service; save orderItems in bulk *");
+		final List<OrderItemDto> savedOrderItemDtos = new ArrayList<>(orderItemDtos.size());
+		for (int from = 0; from < orderItemDtos.size(); from += AppConstant.BULK_CHUNK_SIZE) {
+			final List<OrderItem> orderItems = orderItemDtos.subList(from, Math.min(from + AppConstant.BULK_CHUNK_SIZE, orderItemDtos.size()))
+					.stream()
+						.map(OrderItemMappingHelper::map)
+						.collect(Collectors.toUnmodifiableList());
+			// persist rather than save(): no merge SELECT per row, inserts go out as JDBC batches on flush
+			orderItems.forEach(this.entityManager::persist);
+			this.entityManager.flush();
+			orderItems.forEach(orderItem -> savedOrderItemDtos.add(OrderItemMappingHelper.map(orderItem)));
+			this.entityManager.clear();
+		}
+		return savedOrderItemDtos;
+	}
+	
 	@Override
 	public OrderItemDto update(final OrderItemDto orderItemDto) {
 		log.info("*** OrderItemDto, service; update orderItem *");
@@ -82,6 +155,64 @@ public class OrderItemServiceImpl implements OrderItemService {
 		this.orderItemRepository.deleteById(orderItemId);
 	}
 	
+	// local projections first; only ids they do not hold yet go to the owning services, and only while
+	// the caller is still waiting: past its deadline the projection hits are all it gets
+	private List<OrderItemDto> enrich(final List<OrderItemDto> orderItemDtos) {
+		final boolean remote = !this.deadlineGuard.isExceeded(DeadlineGuard.ENRICHMENT);
+		final Map<Integer, ProductDto> productDtos = this.findByIds(AppConstant.Projection.PRODUCT, 
+				AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL, remote, 
+				orderItemDtos.stream()
+					.map(OrderItemDto::getProductId)
+					.filter(Objects::nonNull)
+					.distinct()
+					.collect(Collectors.toUnmodifiableList()), 
+				this.productProjectionRepository::findAllById, ProjectionMappingHelper::map, 
+				new ParameterizedTypeReference<DtoBatchResponse<ProductDto>>() {}, ProductDto::getProductId);
+		final Map<Integer, OrderDto> orderDtos = this.findByIds(AppConstant.Projection.ORDER, 
+				AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL, remote, 
+				orderItemDtos.stream()
+					.map(OrderItemDto::getOrderId)
+					.filter(Objects::nonNull)
+					.distinct()
+					.collect(Collectors.toUnmodifiableList()), 
+				this.orderProjectionRepository::findAllById, ProjectionMappingHelper::map, 
+				new ParameterizedTypeReference<DtoBatchResponse<OrderDto>>() {}, OrderDto::getOrderId);
+		orderItemDtos.forEach(o -> {
+			o.setProductDto(productDtos.getOrDefault(o.getProductId(), o.getProductDto()));
+			o.setOrderDto(orderDtos.getOrDefault(o.getOrderId(), o.getOrderDto()));
+		});
+		return orderItemDtos;
+	}
+	
+	private <E, T> Map<Integer, T> findByIds(final String projection, final String apiUrl, final boolean remote, final List<Integer> ids, 
+			final Function<List<Integer>, List<E>> finder, final Function<E, T> mapper, 
+			final ParameterizedTypeReference<DtoBatchResponse<T>> responseType, final Function<T, Integer> idExtractor) {
+		if (ids.isEmpty())
+			return Map.of();
+		final Map<Integer, T> found = finder.apply(ids).stream()
+				.map(mapper)
+				.collect(Collectors.toMap(idExtractor, Function.identity(), (a, b) -> a, HashMap::new));
+		final List<Integer> missingIds = ids.stream()
+				.filter(id -> !found.containsKey(id))
+				.collect(Collectors.toUnmodifiableList());
+		this.meterRegistry.counter("projection.lookups", "projection", projection, "result", "hit").increment(found.size());
+		this.meterRegistry.counter("projection.lookups", "projection", projection, "result", "miss").increment(missingIds.size());
+		for (int from = 0; remote && from < missingIds.size(); from += AppConstant.BATCH_LOOKUP_CHUNK_SIZE) {
+			final List<Integer> chunk = missingIds.subList(from, Math.min(missingIds.size(), from + AppConstant.BATCH_LOOKUP_CHUNK_SIZE));
+			try {
+				this.restTemplate.exchange(apiUrl + "/batch", HttpMethod.POST, new HttpEntity<>(chunk), responseType)
+						.getBody()
+						.getCollection()
+						.forEach(dto -> found.put(idExtractor.apply(dto), dto));
+			}
+			catch (RestClientException e) {
+				// the projection hits still apply; the misses keep their id-only dtos
+				log.warn("*** OrderItemDto List, service; {} unavailable, keeping ids only: {} *", apiUrl, e.getMessage());
+			}
+		}
+		return found;
+	}
+	
 	
 	
 }
@@ -94,3 +225,4 @@ public class OrderItemServiceImpl implements OrderItemService {
 
 
 
+
@@ -0,0 +1,89 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.config.projection.ProjectionProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.ProjectionMappingHelper;
+import com.selimhorri.app.repository.OrderProjectionRepository;
+import com.selimhorri.app.repository.ProjectionCursorRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Service
+public class OrderProjectionSyncServiceImpl extends AbstractProjectionSyncService<OrderDto> {
+	
+	private final OrderProjectionRepository orderProjectionRepository;
+	
+	public OrderProjectionSyncServiceImpl(final RestTemplate restTemplate, final TransactionTemplate transactionTemplate, 
+			final ProjectionCursorRepository projectionCursorRepository, final ObjectMapper objectMapper, 
+			final ProjectionProperties properties, final MeterRegistry meterRegistry, 
+			final OrderProjectionRepository orderProjectionRepository) {
+		super(restTemplate, transactionTemplate, projectionCursorRepository, objectMapper, properties, meterRegistry);
+		this.orderProjectionRepository = orderProjectionRepository;
+	}
+	
+	@Override
+	protected String projection() {
+		return AppConstant.Projection.ORDER;
+	}
+	
+	@Override
+	protected String host() {
+		return AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_HOST;
+	}
+	
+	@Override
+	protected String apiUrl() {
+		return AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL;
+	}
+	
+	@Override
+	protected Class<OrderDto> dtoType() {
+		return OrderDto.class;
+	}
+	
+	@Override
+	protected ParameterizedTypeReference<DtoCollectionResponse<OrderDto>> snapshotType() {
+		return new ParameterizedTypeReference<DtoCollectionResponse<OrderDto>>() {};
+	}
+	
+	@Override
+	protected void deleteAllBefore(final Long generation) {
+		this.orderProjectionRepository.deleteAllByGenerationBefore(generation);
+	}
+	
+	@Override
+	protected void upsertAll(final Collection<OrderDto> orderDtos, final Long generation) {
+		this.orderProjectionRepository.saveAll(orderDtos.stream()
+				.map(orderDto -> ProjectionMappingHelper.map(orderDto, generation))
+				.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@Override
+	protected void deleteAllById(final Collection<Integer> orderIds) {
+		this.orderProjectionRepository.deleteAllByIdInBatch(orderIds);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
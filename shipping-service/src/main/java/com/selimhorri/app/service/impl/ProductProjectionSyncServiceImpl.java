@@ -0,0 +1,89 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.config.projection.ProjectionProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.ProjectionMappingHelper;
+import com.selimhorri.app.repository.ProductProjectionRepository;
+import com.selimhorri.app.repository.ProjectionCursorRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Service
+public class ProductProjectionSyncServiceImpl extends AbstractProjectionSyncService<ProductDto> {
+	
+	private final ProductProjectionRepository productProjectionRepository;
+	
+	public ProductProjectionSyncServiceImpl(final RestTemplate restTemplate, final TransactionTemplate transactionTemplate, 
+			final ProjectionCursorRepository projectionCursorRepository, final ObjectMapper objectMapper, 
+			final ProjectionProperties properties, final MeterRegistry meterRegistry, 
+			final ProductProjectionRepository productProjectionRepository) {
+		super(restTemplate, transactionTemplate, projectionCursorRepository, objectMapper, properties, meterRegistry);
+		this.productProjectionRepository = productProjectionRepository;
+	}
+	
+	@Override
+	protected String projection() {
+		return AppConstant.Projection.PRODUCT;
+	}
+	
+	@Override
+	protected String host() {
+		return AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_HOST;
+	}
+	
+	@Override
+	protected String apiUrl() {
+		return AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL;
+	}
+	
+	@Override
+	protected Class<ProductDto> dtoType() {
+		return ProductDto.class;
+	}
+	
+	@Override
+	protected ParameterizedTypeReference<DtoCollectionResponse<ProductDto>> snapshotType() {
+		return new ParameterizedTypeReference<DtoCollectionResponse<ProductDto>>() {};
+	}
+	
+	@Override
+	protected void deleteAllBefore(final Long generation) {
+		this.productProjectionRepository.deleteAllByGenerationBefore(generation);
+	}
+	
+	@Override
+	protected void upsertAll(final Collection<ProductDto> productDtos, final Long generation) {
+		this.productProjectionRepository.saveAll(productDtos.stream()
+				.map(productDto -> ProjectionMappingHelper.map(productDto, generation))
+				.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@Override
+	protected void deleteAllById(final Collection<Integer> productIds) {
+		this.productProjectionRepository.deleteAllByIdInBatch(productIds);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
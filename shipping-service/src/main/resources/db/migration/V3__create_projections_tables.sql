@@ -0,0 +1,22 @@
+
+CREATE TABLE product_projections (
+	product_id INT(11) NOT NULL PRIMARY KEY,
+	product_title VARCHAR(255),
+	image_url VARCHAR(255),
+	sku VARCHAR(255),
+	price_unit DECIMAL(7, 2)
+);
+
+CREATE TABLE order_projections (
+	order_id INT(11) NOT NULL PRIMARY KEY,
+	order_date TIMESTAMP,
+	order_desc VARCHAR(255),
+	order_fee DECIMAL(7, 2)
+);
+
+CREATE TABLE projection_cursors (
+	projection VARCHAR(64) NOT NULL PRIMARY KEY,
+	feed_position BIGINT NOT NULL,
+	synced_at TIMESTAMP NOT NULL
+);
+
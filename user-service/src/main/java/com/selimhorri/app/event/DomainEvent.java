@@ -0,0 +1,26 @@
+package com.selimhorri.app.event;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.selimhorri.app.domain.OutboxEventType;
+
+import lombok.Builder;
+import lombok.Value;
+
+// payload is the entity's DTO as JSON, null for deletions; position is the change-feed offset, null until published
+@Value
+@Builder
+public class DomainEvent implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	Long position;
+	Long eventId;
+	String aggregateType;
+	String aggregateId;
+	OutboxEventType eventType;
+	String payload;
+	Instant occurredAt;
+	
+}
@@ -0,0 +1,10 @@
+package com.selimhorri.app.event;
+
+import java.util.List;
+
+// Delivery is at least once and in event id order: a batch is redelivered whole if any subscriber throws.
+public interface DomainEventSubscriber {
+	
+	void onEvents(final List<DomainEvent> domainEvents);
+	
+}
@@ -0,0 +1,47 @@
+package com.selimhorri.app.helper;
+
+import com.selimhorri.app.dto.CredentialDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.VerificationTokenDto;
+
+// Events outlive the request and fan out to other services, so passwords and tokens stay behind.
+public interface OutboxPayloadHelper {
+	
+	public static UserDto redact(final UserDto userDto) {
+		return UserDto.builder()
+				.userId(userDto.getUserId())
+				.firstName(userDto.getFirstName())
+				.lastName(userDto.getLastName())
+				.imageUrl(userDto.getImageUrl())
+				.email(userDto.getEmail())
+				.phone(userDto.getPhone())
+				.credentialDto((userDto.getCredentialDto() == null) ? null : redact(userDto.getCredentialDto()))
+				.build();
+	}
+	
+	public static CredentialDto redact(final CredentialDto credentialDto) {
+		return CredentialDto.builder()
+				.credentialId(credentialDto.getCredentialId())
+				.username(credentialDto.getUsername())
+				.roleBasedAuthority(credentialDto.getRoleBasedAuthority())
+				.isEnabled(credentialDto.getIsEnabled())
+				.isAccountNonExpired(credentialDto.getIsAccountNonExpired())
+				.isAccountNonLocked(credentialDto.getIsAccountNonLocked())
+				.isCredentialsNonExpired(credentialDto.getIsCredentialsNonExpired())
+				.userDto((credentialDto.getUserDto() == null) ? null : UserDto.builder()
+						.userId(credentialDto.getUserDto().getUserId())
+						.build())
+				.build();
+	}
+	
+	public static VerificationTokenDto redact(final VerificationTokenDto verificationTokenDto) {
+		return VerificationTokenDto.builder()
+				.verificationTokenId(verificationTokenDto.getVerificationTokenId())
+				.expireDate(verificationTokenDto.getExpireDate())
+				.credentialDto((verificationTokenDto.getCredentialDto() == null) ? null : CredentialDto.builder()
+						.credentialId(verificationTokenDto.getCredentialDto().getCredentialId())
+						.build())
+				.build();
+	}
+	
+}
@@ -1,11 +1,13 @@
 package com.selimhorri.app.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.selimhorri.app.domain.Address;
 
 public interface AddressRepository extends JpaRepository<Address, Integer> {
 	
-	
+	Slice<Address> findByAddressIdGreaterThanOrderByAddressIdAsc(final Integer addressId, final Pageable pageable);
 	
 }
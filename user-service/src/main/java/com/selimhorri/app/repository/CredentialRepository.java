@@ -1,13 +1,27 @@
 package com.selimhorri.app.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 import java.util.Optional;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Credential;
 
 public interface CredentialRepository extends JpaRepository<Credential, Integer> {
 	
+	@QueryHints({
+		@QueryHint(name = HINT_CACHEABLE, value = "true"),
+		@QueryHint(name = HINT_CACHE_REGION, value = AppConstant.CacheRegion.CREDENTIAL_BY_USERNAME)
+	})
 	Optional<Credential> findByUsername(final String username);
+	Slice<Credential> findByCredentialIdGreaterThanOrderByCredentialIdAsc(final Integer credentialId, final Pageable pageable);
 	
 }
@@ -1,10 +1,16 @@
 package com.selimhorri.app.resource;
 
+import java.util.Arrays;
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,16 +18,21 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoBatchResponse;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.KeysetPageHelper;
 import com.selimhorri.app.service.UserService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @RestController
+@Validated
 @RequestMapping(value = {"/api/users"})
 @Slf4j
 @RequiredArgsConstructor
@@ -30,9 +41,15 @@ public class UserResource {
 	private final UserService userService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<UserDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<UserDto>> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			@RequestParam(value = "limit", required = false) final Integer limit) {
 		log.info("*** UserDto List, controller; fetch all users *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.userService.findAll()));
+		if (after == null && limit == null)
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.userService.findAll()));
+		final Slice<UserDto> userDtos = this.userService.findAll(
+				(after == null) ? null : KeysetPageHelper.intCursor(after), KeysetPageHelper.pageable(limit));
+		return ResponseEntity.ok(DtoCollectionResponse.of(userDtos, d -> String.valueOf(d.getUserId())));
 	}
 	
 	@GetMapping("/{userId}")
@@ -44,6 +61,23 @@ public class UserResource {
 		return ResponseEntity.ok(this.userService.findById(Integer.parseInt(userId.strip())));
 	}
 	
+	@GetMapping("/batch")
+	public ResponseEntity<DtoBatchResponse<UserDto>> findAllByIds(
+			@RequestParam("ids") 
+			@NotNull(message = "Input must not be NULL") 
+			@Size(max = AppConstant.MAX_BATCH_SIZE, message = "Input must not exceed " + AppConstant.MAX_BATCH_SIZE + " ids") final List<Integer> userIds) {
+		log.info("*** UserDto List, resource; fetch users by ids *");
+		return ResponseEntity.ok(DtoBatchResponse.of(userIds, this.userService.findAllByIds(userIds), UserDto::getUserId));
+	}
+	
+	@PostMapping("/batch")
+	public ResponseEntity<DtoBatchResponse<UserDto>> findAllByIds(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Size(max = AppConstant.MAX_BATCH_SIZE, message = "Input must not exceed " + AppConstant.MAX_BATCH_SIZE + " ids") final Integer[] userIds) {
+		return this.findAllByIds(Arrays.asList(userIds));
+	}
+	
 	@PostMapping
 	public ResponseEntity<UserDto> save(
 			@RequestBody 
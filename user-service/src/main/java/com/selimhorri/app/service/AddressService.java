@@ -2,11 +2,15 @@ package com.selimhorri.app.service;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
 import com.selimhorri.app.dto.AddressDto;
 
 public interface AddressService {
 	
 	List<AddressDto> findAll();
+	Slice<AddressDto> findAll(final Integer after, final Pageable pageable);
 	AddressDto findById(final Integer addressId);
 	AddressDto save(final AddressDto addressDto);
 	AddressDto update(final AddressDto addressDto);
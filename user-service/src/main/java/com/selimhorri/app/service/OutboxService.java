@@ -0,0 +1,19 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import com.selimhorri.app.domain.OutboxEventType;
+import com.selimhorri.app.event.DomainEvent;
+
+public interface OutboxService {
+	
+	void record(final String aggregateType, final Object aggregateId, final OutboxEventType eventType, final Object payload);
+	void relay();
+	void purge();
+	Slice<DomainEvent> findAllPublishedAfter(final long position, final List<String> aggregateTypes, final Pageable pageable);
+	long findLatestPosition();
+	
+}
@@ -2,12 +2,17 @@ package com.selimhorri.app.service;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
 import com.selimhorri.app.dto.UserDto;
 
 public interface UserService {
 	
 	List<UserDto> findAll();
+	Slice<UserDto> findAll(final Integer after, final Pageable pageable);
 	UserDto findById(final Integer userId);
+	List<UserDto> findAllByIds(final List<Integer> userIds);
 	UserDto save(final UserDto userDto);
 	UserDto update(final UserDto userDto);
 	UserDto update(final Integer userId, final UserDto userDto);
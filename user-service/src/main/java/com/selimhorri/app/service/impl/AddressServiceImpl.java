@@ -3,15 +3,19 @@ package com.selimhorri.app.service.impl;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OutboxEventType;
 import com.selimhorri.app.dto.AddressDto;
 import com.selimhorri.app.exception.wrapper.AddressNotFoundException;
 import com.selimhorri.app.helper.AddressMappingHelper;
 import com.selimhorri.app.repository.AddressRepository;
 import com.selimhorri.app.service.AddressService;
+import com.selimhorri.app.service.OutboxService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,8 +27,10 @@ import lombok.extern.slf4j.Slf4j;
 public class AddressServiceImpl implements AddressService {
 	
 	private final AddressRepository addressRepository;
+	private final OutboxService outboxService;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<AddressDto> findAll() {
 		log.info("*** AddressDto List, service; fetch all addresss *");
 		return this.addressRepository.findAll()
@@ -35,6 +41,15 @@ public class AddressServiceImpl implements AddressService {
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
+	public Slice<AddressDto> findAll(final Integer after, final Pageable pageable) {
+		log.info("*** AddressDto Slice, service; fetch addresss after cursor *");
+		return this.addressRepository.findByAddressIdGreaterThanOrderByAddressIdAsc((after == null) ? Integer.MIN_VALUE : after, pageable)
+				.map(AddressMappingHelper::map);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
 	public AddressDto findById(final Integer addressId) {
 		log.info("*** AddressDto, service; fetch address by id *");
 		return this.addressRepository.findById(addressId)
@@ -45,26 +60,38 @@ public class AddressServiceImpl implements AddressService {
 	@Override
 	public AddressDto save(final AddressDto addressDto) {
 		log.info("*** AddressDto, service; save address *");
-		return AddressMappingHelper.map(this.addressRepository.save(AddressMappingHelper.map(addressDto)));
+		final AddressDto savedAddressDto = AddressMappingHelper.map(this.addressRepository
+				.save(AddressMappingHelper.map(addressDto)));
+		this.outboxService.record(AppConstant.Outbox.ADDRESS, savedAddressDto.getAddressId(), 
+				OutboxEventType.CREATED, savedAddressDto);
+		return savedAddressDto;
 	}
 	
 	@Override
 	public AddressDto update(final AddressDto addressDto) {
 		log.info("*** AddressDto, service; update address *");
-		return AddressMappingHelper.map(this.addressRepository.save(AddressMappingHelper.map(addressDto)));
+		final AddressDto updatedAddressDto = AddressMappingHelper.map(this.addressRepository
+				.save(AddressMappingHelper.map(addressDto)));
+		this.outboxService.record(AppConstant.Outbox.ADDRESS, updatedAddressDto.getAddressId(), 
+				OutboxEventType.UPDATED, updatedAddressDto);
+		return updatedAddressDto;
 	}
 	
 	@Override
 	public AddressDto update(final Integer addressId, final AddressDto addressDto) {
 		log.info("*** AddressDto, service; update address with addressId *");
-		return AddressMappingHelper.map(this.addressRepository.save(
+		final AddressDto updatedAddressDto = AddressMappingHelper.map(this.addressRepository.save(
 				AddressMappingHelper.map(this.findById(addressId))));
+		this.outboxService.record(AppConstant.Outbox.ADDRESS, updatedAddressDto.getAddressId(), 
+				OutboxEventType.UPDATED, updatedAddressDto);
+		return updatedAddressDto;
 	}
 	
 	@Override
 	public void deleteById(final Integer addressId) {
 		log.info("*** Void, service; delete address by id *");
 		this.addressRepository.deleteById(addressId);
+		this.outboxService.record(AppConstant.Outbox.ADDRESS, addressId, OutboxEventType.DELETED, null);
 	}
 	
 	
@@ -3,16 +3,21 @@ package com.selimhorri.app.service.impl;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OutboxEventType;
 import com.selimhorri.app.dto.CredentialDto;
 import com.selimhorri.app.exception.wrapper.CredentialNotFoundException;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.helper.CredentialMappingHelper;
+import com.selimhorri.app.helper.OutboxPayloadHelper;
 import com.selimhorri.app.repository.CredentialRepository;
 import com.selimhorri.app.service.CredentialService;
+import com.selimhorri.app.service.OutboxService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,8 +29,10 @@ import lombok.extern.slf4j.Slf4j;
 public class CredentialServiceImpl implements CredentialService {
 	
 	private final CredentialRepository credentialRepository;
+	private final OutboxService outboxService;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<CredentialDto> findAll() {
 		log.info("*** CredentialDto List, service; fetch all credentials *");
 		return this.credentialRepository.findAll()
@@ -36,6 +43,15 @@ public class CredentialServiceImpl implements CredentialService {
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
+	public Slice<CredentialDto> findAll(final Integer after, final Pageable pageable) {
+		log.info("*** CredentialDto Slice, service; fetch credentials after cursor *");
+		return this.credentialRepository.findByCredentialIdGreaterThanOrderByCredentialIdAsc((after == null) ? Integer.MIN_VALUE : after, pageable)
+				.map(CredentialMappingHelper::map);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
 	public CredentialDto findById(final Integer credentialId) {
 		log.info("*** CredentialDto, service; fetch credential by ids *");
 		return this.credentialRepository.findById(credentialId)
@@ -46,29 +62,42 @@ public class CredentialServiceImpl implements CredentialService {
 	@Override
 	public CredentialDto save(final CredentialDto credentialDto) {
 		log.info("*** CredentialDto, service; save credential *");
-		return CredentialMappingHelper.map(this.credentialRepository.save(CredentialMappingHelper.map(credentialDto)));
+		final CredentialDto savedCredentialDto = CredentialMappingHelper.map(this.credentialRepository
+				.save(CredentialMappingHelper.map(credentialDto)));
+		this.outboxService.record(AppConstant.Outbox.CREDENTIAL, savedCredentialDto.getCredentialId(), 
+				OutboxEventType.CREATED, OutboxPayloadHelper.redact(savedCredentialDto));
+		return savedCredentialDto;
 	}
 	
 	@Override
 	public CredentialDto update(final CredentialDto credentialDto) {
 		log.info("*** CredentialDto, service; update credential *");
-		return CredentialMappingHelper.map(this.credentialRepository.save(CredentialMappingHelper.map(credentialDto)));
+		final CredentialDto updatedCredentialDto = CredentialMappingHelper.map(this.credentialRepository
+				.save(CredentialMappingHelper.map(credentialDto)));
+		this.outboxService.record(AppConstant.Outbox.CREDENTIAL, updatedCredentialDto.getCredentialId(), 
+				OutboxEventType.UPDATED, OutboxPayloadHelper.redact(updatedCredentialDto));
+		return updatedCredentialDto;
 	}
 	
 	@Override
 	public CredentialDto update(final Integer credentialId, final CredentialDto credentialDto) {
 		log.info("*** CredentialDto, service; update credential with credentialId *");
-		return CredentialMappingHelper.map(this.credentialRepository.save(
+		final CredentialDto updatedCredentialDto = CredentialMappingHelper.map(this.credentialRepository.save(
 				CredentialMappingHelper.map(this.findById(credentialId))));
+		this.outboxService.record(AppConstant.Outbox.CREDENTIAL, updatedCredentialDto.getCredentialId(), 
+				OutboxEventType.UPDATED, OutboxPayloadHelper.redact(updatedCredentialDto));
+		return updatedCredentialDto;
 	}
 	
 	@Override
 	public void deleteById(final Integer credentialId) {
 		log.info("*** Void, service; delete credential by id *");
 		this.credentialRepository.deleteById(credentialId);
+		this.outboxService.record(AppConstant.Outbox.CREDENTIAL, credentialId, OutboxEventType.DELETED, null);
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public CredentialDto findByUsername(final String username) {
 		return CredentialMappingHelper.map(this.credentialRepository.findByUsername(username)
 				.orElseThrow(() -> new UserObjectNotFoundException(String.format("#### Credential with username: %s not found! ####", username))));
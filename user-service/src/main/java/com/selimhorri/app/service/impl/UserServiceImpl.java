@@ -1,16 +1,24 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OutboxEventType;
 import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
+import com.selimhorri.app.helper.OutboxPayloadHelper;
 import com.selimhorri.app.helper.UserMappingHelper;
 import com.selimhorri.app.repository.UserRepository;
+import com.selimhorri.app.service.OutboxService;
 import com.selimhorri.app.service.UserService;
 
 import lombok.RequiredArgsConstructor;
@@ -23,8 +31,10 @@ import lombok.extern.slf4j.Slf4j;
 public class UserServiceImpl implements UserService {
 	
 	private final UserRepository userRepository;
+	private final OutboxService outboxService;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<UserDto> findAll() {
 		log.info("*** UserDto List, service; fetch all users *");
 		return this.userRepository.findAll()
@@ -35,6 +45,15 @@ public class UserServiceImpl implements UserService {
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
+	public Slice<UserDto> findAll(final Integer after, final Pageable pageable) {
+		log.info("*** UserDto Slice, service; fetch users after cursor *");
+		return this.userRepository.findByUserIdGreaterThanOrderByUserIdAsc((after == null) ? Integer.MIN_VALUE : after, pageable)
+				.map(UserMappingHelper::map);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
 	public UserDto findById(final Integer userId) {
 		log.info("*** UserDto, service; fetch user by id *");
 		return this.userRepository.findById(userId)
@@ -42,32 +61,63 @@ public class UserServiceImpl implements UserService {
 				.orElseThrow(() -> new UserObjectNotFoundException(String.format("User with id: %d not found", userId)));
 	}
 	
+	@Override
+	@Transactional(readOnly = true)
+	public List<UserDto> findAllByIds(final List<Integer> userIds) {
+		log.info("*** UserDto List, service; fetch users by ids *");
+		final Map<Integer, UserDto> userDtos = this.userRepository.findAllById(userIds.stream()
+					.filter(Objects::nonNull)
+					.collect(Collectors.toUnmodifiableSet()))
+				.stream()
+					.map(UserMappingHelper::map)
+					.collect(Collectors.toMap(UserDto::getUserId, Function.identity()));
+		return userIds.stream()
+				.filter(Objects::nonNull)
+				.distinct()
+				.filter(userDtos::containsKey)
+				.map(userDtos::get)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public UserDto save(final UserDto userDto) {
 		log.info("*** UserDto, service; save user *");
-		return UserMappingHelper.map(this.userRepository.save(UserMappingHelper.map(userDto)));
+		final UserDto savedUserDto = UserMappingHelper.map(this.userRepository
+				.save(UserMappingHelper.map(userDto)));
+		this.outboxService.record(AppConstant.Outbox.USER, savedUserDto.getUserId(), 
+				OutboxEventType.CREATED, OutboxPayloadHelper.redact(savedUserDto));
+		return savedUserDto;
 	}
 	
 	@Override
 	public UserDto update(final UserDto userDto) {
 		log.info("*** UserDto, service; update user *");
-		return UserMappingHelper.map(this.userRepository.save(UserMappingHelper.map(userDto)));
+		final UserDto updatedUserDto = UserMappingHelper.map(this.userRepository
+				.save(UserMappingHelper.map(userDto)));
+		this.outboxService.record(AppConstant.Outbox.USER, updatedUserDto.getUserId(), 
+				OutboxEventType.UPDATED, OutboxPayloadHelper.redact(updatedUserDto));
+		return updatedUserDto;
 	}
 	
 	@Override
 	public UserDto update(final Integer userId, final UserDto userDto) {
 		log.info("*** UserDto, service; update user with userId *");
-		return UserMappingHelper.map(this.userRepository.save(
+		final UserDto updatedUserDto = UserMappingHelper.map(this.userRepository.save(
 				UserMappingHelper.map(this.findById(userId))));
+		this.outboxService.record(AppConstant.Outbox.USER, updatedUserDto.getUserId(), 
+				OutboxEventType.UPDATED, OutboxPayloadHelper.redact(updatedUserDto));
+		return updatedUserDto;
 	}
 	
 	@Override
 	public void deleteById(final Integer userId) {
 		log.info("*** Void, service; delete user by id *");
 		this.userRepository.deleteById(userId);
+		this.outboxService.record(AppConstant.Outbox.USER, userId, OutboxEventType.DELETED, null);
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public UserDto findByUsername(final String username) {
 		log.info("*** UserDto, service; fetch user with username *");
 		return UserMappingHelper.map(this.userRepository.findByCredentialUsername(username)
@@ -3,14 +3,19 @@ package com.selimhorri.app.service.impl;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import javax.transaction.Transactional;
-
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OutboxEventType;
 import com.selimhorri.app.dto.VerificationTokenDto;
 import com.selimhorri.app.exception.wrapper.VerificationTokenNotFoundException;
+import com.selimhorri.app.helper.OutboxPayloadHelper;
 import com.selimhorri.app.helper.VerificationTokenMappingHelper;
 import com.selimhorri.app.repository.VerificationTokenRepository;
+import com.selimhorri.app.service.OutboxService;
 import com.selimhorri.app.service.VerificationTokenService;
 
 import lombok.RequiredArgsConstructor;
@@ -23,8 +28,10 @@ import lombok.extern.slf4j.Slf4j;
 public class VerificationTokenServiceImpl implements VerificationTokenService {
 	
 	private final VerificationTokenRepository verificationTokenRepository;
+	private final OutboxService outboxService;
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<VerificationTokenDto> findAll() {
 		log.info("*** VerificationTokenDto List, service; fetch all verificationTokens *");
 		return this.verificationTokenRepository.findAll()
@@ -35,6 +42,15 @@ public class VerificationTokenServiceImpl implements VerificationTokenService {
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
+	public Slice<VerificationTokenDto> findAll(final Integer after, final Pageable pageable) {
+		log.info("*** VerificationTokenDto Slice, service; fetch verificationTokens after cursor *");
+		return this.verificationTokenRepository.findByVerificationTokenIdGreaterThanOrderByVerificationTokenIdAsc((after == null) ? Integer.MIN_VALUE : after, pageable)
+				.map(VerificationTokenMappingHelper::map);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
 	public VerificationTokenDto findById(final Integer verificationTokenId) {
 		log.info("*** VerificationTokenDto, service; fetch verificationToken by ids *");
 		return this.verificationTokenRepository.findById(verificationTokenId)
@@ -46,28 +62,39 @@ public class VerificationTokenServiceImpl implements VerificationTokenService {
 	@Override
 	public VerificationTokenDto save(final VerificationTokenDto verificationTokenDto) {
 		log.info("*** VerificationTokenDto, service; save verificationToken *");
-		return VerificationTokenMappingHelper.map(this.verificationTokenRepository
+		final VerificationTokenDto savedVerificationTokenDto = VerificationTokenMappingHelper.map(this.verificationTokenRepository
 				.save(VerificationTokenMappingHelper.map(verificationTokenDto)));
+		this.outboxService.record(AppConstant.Outbox.VERIFICATION_TOKEN, savedVerificationTokenDto.getVerificationTokenId(), 
+				OutboxEventType.CREATED, OutboxPayloadHelper.redact(savedVerificationTokenDto));
+		return savedVerificationTokenDto;
 	}
 	
 	@Override
 	public VerificationTokenDto update(final VerificationTokenDto verificationTokenDto) {
 		log.info("*** VerificationTokenDto, service; update verificationToken *");
-		return VerificationTokenMappingHelper.map(this.verificationTokenRepository
+		final VerificationTokenDto updatedVerificationTokenDto = VerificationTokenMappingHelper.map(this.verificationTokenRepository
 				.save(VerificationTokenMappingHelper.map(verificationTokenDto)));
+		this.outboxService.record(AppConstant.Outbox.VERIFICATION_TOKEN, updatedVerificationTokenDto.getVerificationTokenId(), 
+				OutboxEventType.UPDATED, OutboxPayloadHelper.redact(updatedVerificationTokenDto));
+		return updatedVerificationTokenDto;
 	}
 	
 	@Override
 	public VerificationTokenDto update(final Integer verificationTokenId, final VerificationTokenDto verificationTokenDto) {
 		log.info("*** VerificationTokenDto, service; update verificationToken with verificationTokenId *");
-		return VerificationTokenMappingHelper.map(this.verificationTokenRepository.save(
+		final VerificationTokenDto updatedVerificationTokenDto = VerificationTokenMappingHelper.map(this.verificationTokenRepository.save(
 				VerificationTokenMappingHelper.map(this.findById(verificationTokenId))));
+		this.outboxService.record(AppConstant.Outbox.VERIFICATION_TOKEN, updatedVerificationTokenDto.getVerificationTokenId(), 
+				OutboxEventType.UPDATED, OutboxPayloadHelper.redact(updatedVerificationTokenDto));
+		return updatedVerificationTokenDto;
 	}
 	
 	@Override
 	public void deleteById(final Integer verificationTokenId) {
 		log.info("*** Void, service; delete verificationToken by id *");
 		this.verificationTokenRepository.deleteById(verificationTokenId);
+		this.outboxService.record(AppConstant.Outbox.VERIFICATION_TOKEN, verificationTokenId, 
+				OutboxEventType.DELETED, null);
 	}
 	
 	
@@ -0,0 +1,7 @@
+
+ALTER TABLE outbox ADD COLUMN feed_position BIGINT;
+
+CREATE UNIQUE INDEX idx_outbox_feed_position ON outbox (feed_position);
+
+CREATE SEQUENCE outbox_feed_position_seq START WITH 1 INCREMENT BY 1;
+
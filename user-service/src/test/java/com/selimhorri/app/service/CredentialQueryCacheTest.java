@@ -0,0 +1,104 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.domain.RoleBasedAuthority;
+import com.selimhorri.app.domain.User;
+import com.selimhorri.app.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Deliberately not @Transactional: every service call must open its own session,
+// otherwise the persistence context answers the second lookup instead of the L2 cache.
+@SpringBootTest
+@ActiveProfiles("test")
+class CredentialQueryCacheTest {
+
+    private static final String USERNAME = "l2-cache-user";
+
+    // User.credential is the inverse side of the one-to-one; without bytecode enhancement Hibernate
+    // resolves it by a unique-key select on credentials.user_id, which the entity cache cannot answer.
+    private static final long INVERSE_ONE_TO_ONE_LOOKUPS = 1;
+
+    @Autowired
+    private CredentialService credentialService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        Credential credential = Credential.builder()
+                .username(USERNAME)
+                .password("password")
+                .roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+                .isEnabled(true)
+                .isAccountNonExpired(true)
+                .isAccountNonLocked(true)
+                .isCredentialsNonExpired(true)
+                .build();
+        User transientUser = User.builder()
+                .firstName("Cache")
+                .lastName("User")
+                .email("l2-cache-user@example.com")
+                .credential(credential)
+                .build();
+        credential.setUser(transientUser);
+        user = userRepository.save(transientUser);
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(user.getUserId());
+    }
+
+    @Test
+    void credentialFindByUsername_shouldHitQueryCacheOnRepeatedLookup() {
+        credentialService.findByUsername(USERNAME);
+        long coldStatements = statistics.getPrepareStatementCount();
+
+        assertThat(credentialService.findByUsername(USERNAME).getUserDto().getEmail())
+                .isEqualTo("l2-cache-user@example.com");
+        assertThat(statistics.getPrepareStatementCount() - coldStatements).isEqualTo(INVERSE_ONE_TO_ONE_LOOKUPS);
+        assertThat(coldStatements).isGreaterThan(INVERSE_ONE_TO_ONE_LOOKUPS);
+        assertThat(statistics.getQueryRegionStatistics(AppConstant.CacheRegion.CREDENTIAL_BY_USERNAME).getHitCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void userFindByUsername_shouldHitQueryCacheOnRepeatedLookup() {
+        userService.findByUsername(USERNAME);
+        long coldStatements = statistics.getPrepareStatementCount();
+
+        assertThat(userService.findByUsername(USERNAME).getCredentialDto().getUsername()).isEqualTo(USERNAME);
+        assertThat(statistics.getPrepareStatementCount() - coldStatements).isEqualTo(INVERSE_ONE_TO_ONE_LOOKUPS);
+        assertThat(coldStatements).isGreaterThan(INVERSE_ONE_TO_ONE_LOOKUPS);
+        assertThat(statistics.getQueryRegionStatistics(AppConstant.CacheRegion.USER_BY_CREDENTIAL_USERNAME).getHitCount())
+                .isEqualTo(1);
+    }
+
+}
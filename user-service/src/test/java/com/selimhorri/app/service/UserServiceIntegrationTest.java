@@ -1,20 +1,28 @@
 package com.selimhorri.app.service;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Credential;
 import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.CredentialDto;
 import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.repository.UserRepository;
+import com.selimhorri.app.resource.UserResource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.validation.ConstraintViolationException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -30,6 +38,9 @@ class UserServiceIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserResource userResource;
+
     private UserDto userDto;
     private User user;
 
@@ -222,4 +233,45 @@ class UserServiceIntegrationTest {
         assertThat(users.stream().anyMatch(u -> u.getFirstName().equals("Jane"))).isTrue();
     }
 
+    @Test
+    void findAllByIds_shouldPreserveRequestedOrderAndSkipMissingIds() {
+        User savedUser1 = userRepository.saveAndFlush(user);
+
+        Credential credential2 = Credential.builder().username("janedoe").password("pw").isEnabled(true).isAccountNonExpired(true).isAccountNonLocked(true).isCredentialsNonExpired(true).build();
+        User user2 = User.builder().firstName("Jane").lastName("Doe").email("jane@example.com").phone("0987654321").imageUrl("http://example.com/jane.jpg").credential(credential2).build();
+        credential2.setUser(user2);
+        User savedUser2 = userRepository.saveAndFlush(user2);
+
+        List<UserDto> users = userService.findAllByIds(List.of(savedUser2.getUserId(), -99, savedUser1.getUserId(), savedUser2.getUserId()));
+
+        assertThat(users).extracting(UserDto::getUserId)
+                .containsExactly(savedUser2.getUserId(), savedUser1.getUserId());
+    }
+
+    @Test
+    void findAllByIds_shouldRejectBatchesOverTheLimit() {
+        List<Integer> ids = IntStream.rangeClosed(1, AppConstant.MAX_BATCH_SIZE + 1).boxed().collect(Collectors.toList());
+
+        assertThrows(ConstraintViolationException.class, () -> userResource.findAllByIds(ids));
+        assertThrows(ConstraintViolationException.class, () -> userResource.findAllByIds(ids.toArray(Integer[]::new)));
+    }
+
+    @Test
+    void findAllAfterCursor_shouldWalkUsersInIdOrder() {
+        User savedUser1 = userRepository.saveAndFlush(user);
+
+        Credential credential2 = Credential.builder().username("janedoe").password("pw").isEnabled(true).isAccountNonExpired(true).isAccountNonLocked(true).isCredentialsNonExpired(true).build();
+        User user2 = User.builder().firstName("Jane").lastName("Doe").email("jane@example.com").phone("0987654321").imageUrl("http://example.com/jane.jpg").credential(credential2).build();
+        credential2.setUser(user2);
+        User savedUser2 = userRepository.saveAndFlush(user2);
+
+        Slice<UserDto> firstPage = userService.findAll(null, PageRequest.of(0, 1));
+        assertThat(firstPage.getContent()).extracting(UserDto::getUserId).containsExactly(savedUser1.getUserId());
+        assertThat(firstPage.hasNext()).isTrue();
+
+        Slice<UserDto> secondPage = userService.findAll(savedUser1.getUserId(), PageRequest.of(0, 1));
+        assertThat(secondPage.getContent()).extracting(UserDto::getUserId).containsExactly(savedUser2.getUserId());
+        assertThat(secondPage.hasNext()).isFalse();
+    }
+
 }
@@ -2,8 +2,10 @@ package com.selimhorri.app.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -16,17 +18,21 @@ import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.domain.OutboxEventType;
 import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.CredentialDto;
 import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.helper.UserMappingHelper;
 import com.selimhorri.app.repository.UserRepository;
+import com.selimhorri.app.service.OutboxService;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceImplTest {
@@ -34,6 +40,9 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private OutboxService outboxService;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -162,6 +171,12 @@ class UserServiceImplTest {
         // Add more assertions for other credential fields if necessary
 
         verify(this.userRepository, times(1)).save(any(User.class));
+
+        // the outbox copy travels to other services and must not carry the password
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(this.outboxService).record(eq(AppConstant.Outbox.USER), eq(1), eq(OutboxEventType.CREATED), payload.capture());
+        assertNull(((UserDto) payload.getValue()).getCredentialDto().getPassword());
+        assertEquals("testsaveuser", ((UserDto) payload.getValue()).getCredentialDto().getUsername());
     }
 
     @Test
@@ -170,6 +185,7 @@ class UserServiceImplTest {
         doNothing().when(this.userRepository).deleteById(userId);
         this.userService.deleteById(userId);
         verify(this.userRepository, times(1)).deleteById(userId);
+        verify(this.outboxService, times(1)).record(AppConstant.Outbox.USER, userId, OutboxEventType.DELETED, null);
     }
 
 }